@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * {@code CollapseSpliterator}: runs of 10 equal elements. As the input is
+ * sorted, JDK grouping into {@code LinkedHashMap} produces the same groups.
+ */
+public class CollapseBenchmark extends SourceState {
+    @Override
+    protected Integer element(int index) {
+        return index / 10;
+    }
+
+    @Benchmark
+    public long streamExGroupRuns() {
+        return streamEx().groupRuns(Integer::equals).count();
+    }
+
+    @Benchmark
+    public long streamExCollapse() {
+        return streamEx().collapse(Integer::equals).count();
+    }
+
+    @Benchmark
+    public long streamExRunLengths() {
+        return streamEx().runLengths().count();
+    }
+
+    @Benchmark
+    public int jdkGroupingBy() {
+        return jdk().collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.toList()))
+                .size();
+    }
+
+    @Benchmark
+    public long jdkDistinct() {
+        return jdk().distinct().count();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import one.util.streamex.IntStreamEx;
+import one.util.streamex.StreamEx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@code CollapseSpliterator} scalability: the same parallel operation is
+ * executed in the pools of different size. Short runs make most of the split
+ * boundaries fall into the middle of the run, long runs make many splits
+ * consist of a single run, so the boundaries are carried over several splits.
+ */
+@State(Scope.Benchmark)
+public class CollapseScalingBenchmark {
+    @Param({"1", "2", "4", "8", "16", "32", "48"})
+    private int threads;
+
+    @Param({"1", "10", "10000"})
+    private int runLength;
+
+    @Param({"10000000"})
+    private int N;
+
+    private List<Integer> data;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        data = IntStreamEx.range(N).mapToObj(i -> i / runLength).toList();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private StreamEx<Integer> stream() {
+        return StreamEx.of(data).parallel(pool);
+    }
+
+    @Benchmark
+    public long groupRuns() {
+        return stream().groupRuns(Integer::equals).count();
+    }
+
+    @Benchmark
+    public long collapse() {
+        return stream().collapse(Integer::equals).count();
+    }
+
+    @Benchmark
+    public long runLengths() {
+        return stream().runLengths().count();
+    }
+}
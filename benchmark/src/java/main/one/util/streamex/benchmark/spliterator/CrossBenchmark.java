@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import one.util.streamex.IntStreamEx;
+import one.util.streamex.StreamEx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@code CrossSpliterator}: all pairs from a collection of sqrt(N) elements
+ * compared to the nested JDK {@code flatMap}. The sources are always
+ * collections, so there's no unsized variant.
+ */
+@State(Scope.Benchmark)
+public class CrossBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int N;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private List<Integer> dimension;
+
+    @Setup
+    public void setUp() {
+        dimension = IntStreamEx.range((int) Math.sqrt(N)).boxed().toList();
+    }
+
+    @Benchmark
+    public int streamExCartesianPower() {
+        StreamEx<List<Integer>> tuples = StreamEx.cartesianPower(2, dimension);
+        return (parallel ? tuples.parallel() : tuples).mapToInt(t -> t.get(0) + t.get(1)).sum();
+    }
+
+    @Benchmark
+    public int streamExCartesianProduct() {
+        StreamEx<List<Integer>> tuples = StreamEx.cartesianProduct(Arrays.asList(dimension, dimension));
+        return (parallel ? tuples.parallel() : tuples).mapToInt(t -> t.get(0) + t.get(1)).sum();
+    }
+
+    @Benchmark
+    public int streamExCartesianPowerReduce() {
+        StreamEx<Integer> sums = StreamEx.cartesianPower(2, dimension, 0, Integer::sum);
+        return (parallel ? sums.parallel() : sums).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int jdkFlatMap() {
+        Stream<List<Integer>> tuples = dimension.stream().flatMap(a -> dimension.stream().map(b -> Arrays.asList(a,
+            b)));
+        return (parallel ? tuples.parallel() : tuples).mapToInt(t -> t.get(0) + t.get(1)).sum();
+    }
+}
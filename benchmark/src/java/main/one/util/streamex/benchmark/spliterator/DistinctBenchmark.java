@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * {@code DistinctSpliterator}: elements repeating at least twice, while every
+ * third element is unique.
+ */
+public class DistinctBenchmark extends SourceState {
+    @Override
+    protected Integer element(int index) {
+        return index % 3 == 0 ? index : index % (N / 3 + 1);
+    }
+
+    @Benchmark
+    public long streamExDistinctAtLeast() {
+        return streamEx().distinct(2).count();
+    }
+
+    @Benchmark
+    public long jdkGroupingCounting() {
+        return jdk().collect(Collectors.groupingBy(Function.identity(), Collectors.counting())).values().stream()
+                .filter(cnt -> cnt >= 2).count();
+    }
+
+    @Benchmark
+    public long jdkDistinct() {
+        return jdk().distinct().count();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import one.util.streamex.StreamEx;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@code HeadTailSpliterator}: {@code map} and {@code takeWhile} expressed
+ * via recursive {@code headTail} calls (relying on tail-stream optimization)
+ * compared to the built-in operations.
+ */
+public class HeadTailBenchmark extends SourceState {
+    @Override
+    protected Integer element(int index) {
+        return index;
+    }
+
+    private static <T, R> StreamEx<R> map(StreamEx<T> input, Function<T, R> mapper) {
+        return input.headTail((head, tail) -> map(tail, mapper).prepend(mapper.apply(head)));
+    }
+
+    private static <T> StreamEx<T> takeWhile(StreamEx<T> input, Predicate<T> predicate) {
+        return input.headTail((head, tail) -> predicate.test(head) ? takeWhile(tail, predicate).prepend(head)
+                : null);
+    }
+
+    @Benchmark
+    public int streamExHeadTailMap() {
+        return map(streamEx(), x -> x * 2).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int streamExHeadTailTakeWhile() {
+        int limit = N / 2;
+        return takeWhile(streamEx(), x -> x < limit).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int jdkMap() {
+        return jdk().map(x -> x * 2).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int jdkLimit() {
+        return jdk().limit(N / 2).mapToInt(Integer::intValue).sum();
+    }
+}
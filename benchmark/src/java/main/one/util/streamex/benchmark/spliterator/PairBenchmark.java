@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import one.util.streamex.IntStreamEx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * {@code PairSpliterator}: differences between adjacent elements. JDK has no
+ * adjacent pairs operation, so the baseline indexes the source list directly.
+ * The primitive benchmarks are expected to allocate nothing per element, which
+ * can be checked running them with {@code -prof gc}.
+ */
+public class PairBenchmark extends SourceState {
+    private int[] ints;
+
+    @Setup
+    public void setUpInts() {
+        ints = data.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private IntStreamEx intStreamEx() {
+        IntStreamEx stream = sized ? IntStreamEx.of(ints) : IntStreamEx.of(Arrays.stream(ints).iterator());
+        return parallel ? stream.parallel() : stream;
+    }
+
+    @Override
+    protected Integer element(int index) {
+        return index * 3;
+    }
+
+    @Benchmark
+    public int streamExPairMap() {
+        return streamEx().pairMap((a, b) -> b - a).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int streamExMapLast() {
+        return streamEx().mapLast(x -> -x).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int intStreamExPairMap() {
+        return intStreamEx().pairMap((a, b) -> b - a).sum();
+    }
+
+    @Benchmark
+    public int intStreamExMapFirst() {
+        return intStreamEx().mapFirst(x -> -x).sum();
+    }
+
+    @Benchmark
+    public int intStreamExMapLast() {
+        return intStreamEx().mapLast(x -> -x).sum();
+    }
+
+    @Benchmark
+    public int jdkIndexed() {
+        IntStream indices = IntStream.range(1, N);
+        return (parallel ? indices.parallel() : indices).map(i -> data.get(i) - data.get(i - 1)).sum();
+    }
+}
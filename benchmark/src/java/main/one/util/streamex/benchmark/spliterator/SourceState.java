@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import one.util.streamex.IntStreamEx;
+import one.util.streamex.StreamEx;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Common parameters for the spliterator benchmarks: the source size, the
+ * execution mode and whether the source reports its size (list-based) or not
+ * (iterator-based).
+ */
+@State(Scope.Benchmark)
+public abstract class SourceState {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    protected int N;
+
+    @Param({"false", "true"})
+    protected boolean parallel;
+
+    @Param({"true", "false"})
+    protected boolean sized;
+
+    protected List<Integer> data;
+
+    @Setup
+    public void setUp() {
+        data = IntStreamEx.range(N).mapToObj(this::element).toList();
+    }
+
+    /**
+     * @param index element index
+     * @return the source element at given index
+     */
+    protected abstract Integer element(int index);
+
+    protected StreamEx<Integer> streamEx() {
+        StreamEx<Integer> stream = sized ? StreamEx.of(data) : StreamEx.of(data.iterator());
+        return parallel ? stream.parallel() : stream;
+    }
+
+    protected Stream<Integer> jdk() {
+        Stream<Integer> stream = sized ? data.stream() : StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+            data.iterator(), Spliterator.ORDERED), false);
+        return parallel ? stream.parallel() : stream;
+    }
+}
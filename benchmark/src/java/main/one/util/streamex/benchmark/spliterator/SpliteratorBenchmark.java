@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class SpliteratorBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CollapseBenchmark.class.getSimpleName())
+                .include(PairBenchmark.class.getSimpleName())
+                .include(ZipBenchmark.class.getSimpleName())
+                .include(DistinctBenchmark.class.getSimpleName())
+                .include(TakeDropBenchmark.class.getSimpleName())
+                .include(HeadTailBenchmark.class.getSimpleName())
+                .include(TreeBenchmark.class.getSimpleName())
+                .include(CrossBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
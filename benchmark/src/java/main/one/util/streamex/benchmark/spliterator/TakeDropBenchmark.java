@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * {@code TakeDrop}: the predicate holds for the first half of the ascending
+ * source. As the benchmark module targets Java 8, the baseline uses
+ * {@code limit}/{@code skip} which select the same elements.
+ */
+public class TakeDropBenchmark extends SourceState {
+    @Override
+    protected Integer element(int index) {
+        return index;
+    }
+
+    @Benchmark
+    public int streamExTakeWhile() {
+        int limit = N / 2;
+        return streamEx().takeWhile(x -> x < limit).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int streamExTakeWhileInclusive() {
+        int limit = N / 2;
+        return streamEx().takeWhileInclusive(x -> x < limit).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int streamExDropWhile() {
+        int limit = N / 2;
+        return streamEx().dropWhile(x -> x < limit).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int jdkLimit() {
+        return jdk().limit(N / 2).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int jdkSkip() {
+        return jdk().skip(N / 2).mapToInt(Integer::intValue).sum();
+    }
+}
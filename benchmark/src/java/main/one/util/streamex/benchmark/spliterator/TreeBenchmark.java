@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import one.util.streamex.StreamEx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.stream.Stream;
+
+/**
+ * {@code TreeSpliterator}: depth-first traversal of the implicit binary tree of
+ * N nodes (node i has children 2i+1 and 2i+2) compared to the recursive JDK
+ * {@code flatMap}. The tree is generated on the fly, so there's no sized
+ * variant.
+ */
+@State(Scope.Benchmark)
+public class TreeBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int N;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private Stream<Integer> children(int node) {
+        int left = node * 2 + 1;
+        if (left >= N)
+            return null;
+        return left + 1 >= N ? Stream.of(left) : Stream.of(left, left + 1);
+    }
+
+    private Stream<Integer> jdkTree(int node) {
+        Stream<Integer> children = children(node);
+        return children == null ? Stream.of(node) : Stream.concat(Stream.of(node), children.flatMap(this::jdkTree));
+    }
+
+    @Benchmark
+    public int streamExOfTree() {
+        StreamEx<Integer> tree = StreamEx.ofTree(0, this::children);
+        return (parallel ? tree.parallel() : tree).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int jdkFlatMap() {
+        Stream<Integer> tree = jdkTree(0);
+        return (parallel ? tree.parallel() : tree).mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015, 2020 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package one.util.streamex.benchmark.spliterator;
+
+import one.util.streamex.StreamEx;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.stream.IntStream;
+
+/**
+ * {@code ZipSpliterator}: element-wise sum of the source with itself. JDK has
+ * no zip operation, so the baseline indexes the source list directly.
+ */
+public class ZipBenchmark extends SourceState {
+    @Override
+    protected Integer element(int index) {
+        return index;
+    }
+
+    @Benchmark
+    public int streamExZipWith() {
+        StreamEx<Integer> other = sized ? StreamEx.of(data) : StreamEx.of(data.iterator());
+        return streamEx().zipWith(other, Integer::sum).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int streamExZipLists() {
+        StreamEx<Integer> zip = StreamEx.zip(data, data, Integer::sum);
+        return (parallel ? zip.parallel() : zip).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int jdkIndexed() {
+        IntStream indices = IntStream.range(0, N);
+        return (parallel ? indices.parallel() : indices).map(i -> data.get(i) + data.get(i)).sum();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.flow;
+
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber which buffers at most prefetch elements for the stream. The
+ * demand is replenished in batches of three quarters of prefetch, so the
+ * publisher is not bothered by every consumed element. Being run, it cancels
+ * the subscription.
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class PublisherSpliterator<T> implements Spliterator<T>, Flow.Subscriber<T>, Runnable {
+    private static final Object COMPLETE = new Object();
+
+    private final Flow.Publisher<? extends T> publisher;
+    // the extra slot is for the terminal signal
+    private final BlockingQueue<Object> queue;
+    private final int prefetch, batch;
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+    private volatile IllegalStateException overflow;
+    private boolean subscribed, done;
+    private int consumed;
+
+    PublisherSpliterator(Flow.Publisher<? extends T> publisher, int prefetch) {
+        this.publisher = publisher;
+        this.queue = new ArrayBlockingQueue<>(prefetch + 1);
+        this.prefetch = prefetch;
+        this.batch = prefetch - (prefetch >> 2);
+    }
+
+    private static final class Failure {
+        final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription s) {
+        if (subscription != null) {
+            s.cancel();
+            return;
+        }
+        subscription = s;
+        if (cancelled)
+            s.cancel();
+        else
+            s.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!queue.offer(item) && overflow == null) {
+            overflow = new IllegalStateException("The publisher emitted more elements than requested");
+            run();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        queue.offer(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.offer(COMPLETE);
+    }
+
+    @Override
+    public void run() {
+        cancelled = true;
+        Flow.Subscription s = subscription;
+        if (s != null)
+            s.cancel();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (done)
+            return false;
+        if (!subscribed) {
+            subscribed = true;
+            publisher.subscribe(this);
+        }
+        Object next;
+        try {
+            next = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run();
+            throw new CompletionException(e);
+        }
+        if (overflow != null) {
+            done = true;
+            throw overflow;
+        }
+        if (next == COMPLETE) {
+            done = true;
+            return false;
+        }
+        if (next instanceof Failure) {
+            done = true;
+            throw new CompletionException(((Failure) next).error);
+        }
+        if (++consumed == batch) {
+            consumed = 0;
+            subscription.request(batch);
+        }
+        @SuppressWarnings("unchecked")
+        T t = (T) next;
+        action.accept(t);
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.flow;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import one.util.streamex.StreamEx;
+
+/**
+ * Methods to bridge {@link StreamEx} and the {@link Flow} API.
+ *
+ * <p>
+ * This class is shipped in the separate {@code streamex-flow} artifact which
+ * requires Java 9 or later.
+ *
+ * @author Tagir Valeev
+ * @since 0.7.4
+ */
+public final class StreamExFlow {
+    private StreamExFlow() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} which emits the elements of the
+     * supplied stream to its subscriber.
+     *
+     * <p>
+     * This is a terminal operation which is deferred until the subscription:
+     * the stream is traversed by the tasks submitted to the supplied
+     * {@link Executor}, and only as many elements are taken from the stream as
+     * the subscriber has requested. No thread is blocked while the subscriber
+     * has no demand. When the stream is exhausted, fails or the subscription is
+     * cancelled, the stream is closed, so its close handlers are executed.
+     *
+     * <p>
+     * As the stream can be traversed only once, the returned publisher
+     * supports only one subscriber. Other subscribers are signalled an
+     * {@link IllegalStateException}. The stream is traversed sequentially
+     * regardless of its parallel mode.
+     *
+     * @param <T> the type of stream elements
+     * @param stream the stream to publish
+     * @param executor the executor to traverse the stream in
+     * @return the publisher of the stream elements
+     * @see #ofPublisher(Flow.Publisher, int)
+     */
+    public static <T> Flow.Publisher<T> toPublisher(StreamEx<T> stream, Executor executor) {
+        Objects.requireNonNull(stream);
+        Objects.requireNonNull(executor);
+        return new StreamPublisher<>(stream, executor);
+    }
+
+    /**
+     * Returns a sequential ordered {@code StreamEx} of the elements emitted by
+     * the supplied {@link Flow.Publisher}.
+     *
+     * <p>
+     * The publisher is subscribed to when the terminal operation starts. At
+     * most {@code prefetch} elements are requested in advance, and the demand
+     * is replenished in batches as the elements are consumed by the stream. The
+     * thread performing the terminal operation is blocked while the publisher
+     * has not emitted the next element yet. An error signalled by the
+     * publisher is rethrown from the terminal operation wrapped into the
+     * {@link java.util.concurrent.CompletionException}.
+     *
+     * <p>
+     * Closing the returned stream cancels the subscription, so it's advisable
+     * to close it if it's not fully consumed (e.g. due to a short-circuiting
+     * operation).
+     *
+     * @param <T> the type of stream elements
+     * @param publisher the publisher to subscribe to
+     * @param prefetch the maximal number of elements requested in advance,
+     *        must be positive
+     * @return the new stream
+     * @throws IllegalArgumentException if prefetch is not positive
+     * @see #toPublisher(StreamEx, Executor)
+     */
+    public static <T> StreamEx<T> ofPublisher(Flow.Publisher<? extends T> publisher, int prefetch) {
+        Objects.requireNonNull(publisher);
+        if (prefetch <= 0)
+            throw new IllegalArgumentException("prefetch = " + prefetch);
+        PublisherSpliterator<T> spliterator = new PublisherSpliterator<>(publisher, prefetch);
+        return StreamEx.of(spliterator).onClose(spliterator);
+    }
+}
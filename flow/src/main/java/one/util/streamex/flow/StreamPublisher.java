@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.flow;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import one.util.streamex.StreamEx;
+
+/**
+ * Publisher of the stream elements. The stream is traversed by the executor
+ * tasks which emit as many elements as requested and then exit, so no thread
+ * waits for the demand.
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class StreamPublisher<T> implements Flow.Publisher<T> {
+    private static final Flow.Subscription EMPTY = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+            // nothing to emit
+        }
+
+        @Override
+        public void cancel() {
+            // nothing to cancel
+        }
+    };
+
+    private final StreamEx<T> stream;
+    private final Spliterator<T> spliterator;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    StreamPublisher(StreamEx<T> stream, Executor executor) {
+        this.stream = stream;
+        this.spliterator = stream.spliterator();
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(EMPTY);
+            subscriber.onError(new IllegalStateException("The stream publisher supports only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new StreamSubscription<>(this, subscriber));
+    }
+
+    /**
+     * The value is the outstanding demand. The drain task is scheduled by the
+     * request which increases it from zero, and exits when it returns to zero,
+     * so at most one task runs at a time. Cancellation and invalid requests
+     * also increase the demand to wake up the drain task. Negative value means
+     * that the subscription is terminated.
+     */
+    static final class StreamSubscription<T> extends AtomicLong implements Flow.Subscription, Runnable,
+            Consumer<T> {
+        private static final long serialVersionUID = 1L;
+        private static final long TERMINATED = Long.MIN_VALUE;
+
+        private final StreamPublisher<T> publisher;
+        private final Flow.Subscriber<? super T> subscriber;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        StreamSubscription(StreamPublisher<T> publisher, Flow.Subscriber<? super T> subscriber) {
+            this.publisher = publisher;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Non-positive request: " + n);
+                cancelled = true;
+                n = 1;
+            }
+            while (true) {
+                long demand = get();
+                if (demand < 0)
+                    return;
+                long next = demand + n;
+                if (compareAndSet(demand, next < 0 ? Long.MAX_VALUE : next)) {
+                    if (demand == 0)
+                        schedule();
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            request(1);
+        }
+
+        private void schedule() {
+            try {
+                publisher.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // no drain task is running, so it's safe to terminate here
+                finish(e, true);
+            }
+        }
+
+        @Override
+        public void accept(T t) {
+            subscriber.onNext(Objects.requireNonNull(t, "The stream publisher cannot emit null elements"));
+        }
+
+        @Override
+        public void run() {
+            long emitted = 0;
+            long requested = get();
+            while (true) {
+                if (error != null) {
+                    finish(error, true);
+                    return;
+                }
+                if (cancelled) {
+                    finish(null, false);
+                    return;
+                }
+                try {
+                    while (emitted != requested && !cancelled) {
+                        if (!publisher.spliterator.tryAdvance(this)) {
+                            finish(null, true);
+                            return;
+                        }
+                        emitted++;
+                    }
+                } catch (Throwable t) {
+                    finish(t, true);
+                    return;
+                }
+                if (emitted == requested) {
+                    requested = addAndGet(-emitted);
+                    emitted = 0;
+                    if (requested == 0)
+                        return;
+                }
+            }
+        }
+
+        private void finish(Throwable failure, boolean signal) {
+            set(TERMINATED);
+            try {
+                publisher.stream.close();
+            } catch (Throwable t) {
+                if (failure == null)
+                    failure = t;
+                else if (failure != t)
+                    failure.addSuppressed(t);
+            }
+            if (!signal)
+                return;
+            if (failure == null)
+                subscriber.onComplete();
+            else
+                subscriber.onError(failure);
+        }
+    }
+}
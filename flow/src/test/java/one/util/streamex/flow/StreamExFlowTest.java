@@ -0,0 +1,334 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import one.util.streamex.IntStreamEx;
+import one.util.streamex.StreamEx;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Tagir Valeev
+ */
+public class StreamExFlowTest {
+    private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean complete;
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+    }
+
+    private static final class NoDemandSubscription implements Flow.Subscription {
+        boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            // the elements are pushed regardless of the demand
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Synchronous publisher of integers from 0 to size-1 which records the
+     * requests and the cancellation.
+     */
+    private static final class RangePublisher implements Flow.Publisher<Integer>, Flow.Subscription {
+        final List<Long> requests = new ArrayList<>();
+        final int size;
+        Flow.Subscriber<? super Integer> subscriber;
+        int next;
+        boolean cancelled, complete;
+
+        RangePublisher(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> s) {
+            subscriber = s;
+            s.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            requests.add(n);
+            for (long i = 0; i < n && next < size && !cancelled; i++) {
+                subscriber.onNext(next++);
+            }
+            if (next == size && !complete) {
+                complete = true;
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static <T extends Throwable> T assertThrows(Class<T> exception, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Throwable t) {
+            if (exception.isInstance(t))
+                return exception.cast(t);
+            throw new AssertionError("Unexpected exception: " + t, t);
+        }
+        fail("Exception " + exception.getName() + " is not thrown");
+        return null;
+    }
+
+    @Test
+    public void testToPublisherDemand() {
+        AtomicInteger closed = new AtomicInteger();
+        Flow.Publisher<Integer> publisher = StreamExFlow.toPublisher(IntStreamEx.range(10).boxed().onClose(
+            closed::incrementAndGet), Runnable::run);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        assertEquals(Collections.emptyList(), subscriber.items);
+        subscriber.subscription.request(3);
+        assertEquals(asList(0, 1, 2), subscriber.items);
+        subscriber.subscription.request(2);
+        assertEquals(asList(0, 1, 2, 3, 4), subscriber.items);
+        assertFalse(subscriber.complete);
+        assertEquals(0, closed.get());
+        // the overflowing demand is capped at Long.MAX_VALUE
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(IntStreamEx.range(10).boxed().toList(), subscriber.items);
+        assertTrue(subscriber.complete);
+        assertNull(subscriber.error);
+        assertEquals(1, closed.get());
+        // requests and cancellation after the completion are no-op
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        assertEquals(1, closed.get());
+        assertEquals(10, subscriber.items.size());
+    }
+
+    @Test
+    public void testToPublisherSecondSubscriber() {
+        Flow.Publisher<Integer> publisher = StreamExFlow.toPublisher(StreamEx.of(1, 2, 3), Runnable::run);
+        RecordingSubscriber<Integer> first = new RecordingSubscriber<>();
+        publisher.subscribe(first);
+        RecordingSubscriber<Integer> second = new RecordingSubscriber<>();
+        publisher.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+        assertFalse(second.complete);
+        second.subscription.request(1);
+        assertEquals(Collections.emptyList(), second.items);
+
+        first.subscription.request(3);
+        assertEquals(asList(1, 2, 3), first.items);
+        // the exhaustion is detected only when the next element is requested
+        assertFalse(first.complete);
+        first.subscription.request(1);
+        assertTrue(first.complete);
+        assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+    }
+
+    @Test
+    public void testToPublisherCancel() {
+        AtomicInteger closed = new AtomicInteger();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        StreamExFlow.toPublisher(StreamEx.of(1, 2, 3).onClose(closed::incrementAndGet), Runnable::run).subscribe(
+            subscriber);
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        assertEquals(1, closed.get());
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        assertEquals(asList(1), subscriber.items);
+        assertFalse(subscriber.complete);
+        assertNull(subscriber.error);
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testToPublisherErrors() {
+        AtomicInteger closed = new AtomicInteger();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        StreamExFlow.toPublisher(StreamEx.of(1, 2, 3).onClose(closed::incrementAndGet), Runnable::run).subscribe(
+            subscriber);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertEquals(Collections.emptyList(), subscriber.items);
+        assertEquals(1, closed.get());
+
+        subscriber = new RecordingSubscriber<>();
+        StreamExFlow.toPublisher(StreamEx.of(1, null, 3), Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(5);
+        assertEquals(asList(1), subscriber.items);
+        assertTrue(subscriber.error instanceof NullPointerException);
+
+        subscriber = new RecordingSubscriber<>();
+        StreamExFlow.toPublisher(StreamEx.of(1, 2, 3).peek(x -> {
+            if (x == 2)
+                throw new IllegalArgumentException("boom");
+        }).onClose(closed::incrementAndGet), Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(5);
+        assertEquals(asList(1), subscriber.items);
+        assertEquals("boom", subscriber.error.getMessage());
+        assertEquals(2, closed.get());
+
+        subscriber = new RecordingSubscriber<>();
+        StreamExFlow.toPublisher(StreamEx.of(1, 2, 3).onClose(closed::incrementAndGet), task -> {
+            throw new RejectedExecutionException();
+        }).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.error instanceof RejectedExecutionException);
+        assertEquals(3, closed.get());
+
+        assertThrows(NullPointerException.class, () -> StreamExFlow.toPublisher(null, Runnable::run));
+        assertThrows(NullPointerException.class, () -> StreamExFlow.toPublisher(StreamEx.of(1), null));
+    }
+
+    @Test
+    public void testOfPublisher() throws InterruptedException {
+        assertThrows(IllegalArgumentException.class, () -> StreamExFlow.ofPublisher(subscriber -> {
+        }, 0));
+        assertThrows(NullPointerException.class, () -> StreamExFlow.ofPublisher(null, 1));
+        List<Integer> input = IntStreamEx.range(1000).boxed().toList();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int prefetch : new int[] { 1, 2, 7, 256 }) {
+                assertEquals(input, StreamExFlow.ofPublisher(StreamExFlow.toPublisher(StreamEx.of(input), executor),
+                    prefetch).toList());
+                assertEquals(input, StreamExFlow.ofPublisher(StreamExFlow.toPublisher(StreamEx.of(input).parallel(),
+                    executor), prefetch).parallel().map(x -> x).toList());
+            }
+            assertEquals(input, StreamExFlow.ofPublisher(StreamExFlow.toPublisher(StreamEx.of(input), Runnable::run),
+                16).toList());
+
+            CountDownLatch closed = new CountDownLatch(1);
+            try (StreamEx<Integer> stream = StreamExFlow.ofPublisher(StreamExFlow.toPublisher(StreamEx.of(input)
+                    .onClose(closed::countDown), executor), 4)) {
+                assertEquals(Optional.of(0), stream.findFirst());
+            }
+            assertTrue(closed.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOfPublisherDemand() {
+        RangePublisher publisher = new RangePublisher(10);
+        assertEquals(IntStreamEx.range(10).boxed().toList(), StreamExFlow.ofPublisher(publisher, 4).toList());
+        // prefetch first, then replenished by three quarters of prefetch
+        assertEquals(asList(4L, 3L, 3L, 3L), publisher.requests);
+        assertFalse(publisher.cancelled);
+
+        publisher = new RangePublisher(10);
+        try (StreamEx<Integer> stream = StreamExFlow.ofPublisher(publisher, 4)) {
+            assertEquals(asList(0, 1), stream.limit(2).toList());
+            assertFalse(publisher.cancelled);
+        }
+        assertTrue(publisher.cancelled);
+
+        // not subscribed yet: nothing to cancel
+        publisher = new RangePublisher(10);
+        StreamExFlow.ofPublisher(publisher, 4).close();
+        assertNull(publisher.subscriber);
+    }
+
+    @Test
+    public void testOfPublisherErrors() {
+        CompletionException ex = assertThrows(CompletionException.class, () -> StreamExFlow.ofPublisher(
+            subscriber -> {
+                subscriber.onSubscribe(new NoDemandSubscription());
+                subscriber.onNext(1);
+                subscriber.onError(new IllegalArgumentException("boom"));
+            }, 2).toList());
+        assertEquals("boom", ex.getCause().getMessage());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ex = assertThrows(CompletionException.class, () -> StreamExFlow.ofPublisher(StreamExFlow.toPublisher(
+                StreamEx.of(1, 2, 3).peek(x -> {
+                    if (x == 3)
+                        throw new IllegalArgumentException("boom");
+                }), executor), 2).toList());
+            assertEquals("boom", ex.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the publisher ignores the demand
+        NoDemandSubscription subscription = new NoDemandSubscription();
+        assertThrows(IllegalStateException.class, () -> StreamExFlow.ofPublisher(subscriber -> {
+            subscriber.onSubscribe(subscription);
+            for (int i = 0; i < 5; i++) {
+                subscriber.onNext(i);
+            }
+        }, 1).toList());
+        assertTrue(subscription.cancelled);
+
+        // the second subscription is cancelled
+        NoDemandSubscription second = new NoDemandSubscription();
+        assertEquals(asList(0), StreamExFlow.ofPublisher(subscriber -> {
+            RangePublisher first = new RangePublisher(1);
+            first.subscribe(subscriber);
+            subscriber.onSubscribe(second);
+        }, 2).toList());
+        assertTrue(second.cancelled);
+    }
+}
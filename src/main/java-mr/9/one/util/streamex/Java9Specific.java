@@ -15,6 +15,10 @@
  */
 package one.util.streamex;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.DoublePredicate;
 import java.util.function.IntPredicate;
 import java.util.function.LongPredicate;
@@ -31,29 +35,42 @@ import java.util.stream.Stream;
     @Override
     <T, S extends AbstractStreamEx<T, S>> S callWhile(AbstractStreamEx<T, S> stream, Predicate<? super T> predicate, boolean drop) {
         Stream<T> upStream = stream.stream();
-        return stream.supply(drop ? upStream.dropWhile(predicate) : upStream.takeWhile(predicate));
+        return stream.supply(drop ? upStream.dropWhile(predicate) : upStream.takeWhile(predicate),
+                drop ? "dropWhile" : "takeWhile");
     }
 
     @Override
     final IntStreamEx callWhile(IntStreamEx stream, IntPredicate predicate, boolean drop) {
         IntStream upStream = stream.stream();
-        return new IntStreamEx(drop ? upStream.dropWhile(predicate) : upStream.takeWhile(predicate), stream.context);
+        return new IntStreamEx(drop ? upStream.dropWhile(predicate) : upStream.takeWhile(predicate), stream.context,
+                drop ? "dropWhile" : "takeWhile");
     }
 
     @Override
     final LongStreamEx callWhile(LongStreamEx stream, LongPredicate predicate, boolean drop) {
         LongStream upStream = stream.stream();
-        return new LongStreamEx(drop ? upStream.dropWhile(predicate) : upStream.takeWhile(predicate), stream.context);
+        return new LongStreamEx(drop ? upStream.dropWhile(predicate) : upStream.takeWhile(predicate), stream.context,
+                drop ? "dropWhile" : "takeWhile");
     }
 
     @Override
     final DoubleStreamEx callWhile(DoubleStreamEx stream, DoublePredicate predicate, boolean drop) {
         DoubleStream upStream = stream.stream();
-        return new DoubleStreamEx(drop ? upStream.dropWhile(predicate) : upStream.takeWhile(predicate), stream.context);
+        return new DoubleStreamEx(drop ? upStream.dropWhile(predicate) : upStream.takeWhile(predicate), stream.context,
+                drop ? "dropWhile" : "takeWhile");
     }
 
     @Override
     IntStream ofChars(CharSequence seq) {
         return seq.chars();
     }
+
+    @Override
+    StreamEx<String> ofLines(Path path, Charset charset) throws IOException {
+        // Since JDK 9 Files.lines() memory maps and splits the regular files,
+        // but only those which can be mapped into a single buffer
+        if (LinesSpliterator.isSupported(charset) && Files.isRegularFile(path) && Files.size(path) > Integer.MAX_VALUE)
+            return StreamEx.ofLines(path, charset, LinesSpliterator.WINDOW_SIZE);
+        return StreamEx.of(Files.lines(path, charset));
+    }
 }
@@ -29,6 +29,7 @@ import java.util.OptionalLong;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -52,7 +53,7 @@ import java.util.stream.StreamSupport;
 
 import static one.util.streamex.Internals.ArrayCollection;
 import static one.util.streamex.Internals.Box;
-import static one.util.streamex.Internals.CancelException;
+import static one.util.streamex.Internals.CancellableSpliterator;
 import static one.util.streamex.Internals.CancellableCollectorImpl;
 import static one.util.streamex.Internals.NONE;
 import static one.util.streamex.Internals.NO_CHARACTERISTICS;
@@ -60,6 +61,7 @@ import static one.util.streamex.Internals.ObjDoubleBox;
 import static one.util.streamex.Internals.ObjIntBox;
 import static one.util.streamex.Internals.ObjLongBox;
 import static one.util.streamex.Internals.PairBox;
+import static one.util.streamex.Internals.SkippableSpliterator;
 import static one.util.streamex.Internals.finished;
 import static one.util.streamex.Internals.none;
 
@@ -73,14 +75,17 @@ import static one.util.streamex.Internals.none;
  */
 public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> extends
         BaseStreamEx<T, Stream<T>, Spliterator<T>, S> implements Stream<T>, Iterable<T> {
+    // the number of elements buffered at a time when traversing from the end
+    private static final int REVERSED_BUFFER_SIZE = 1024;
+
     @SuppressWarnings("unchecked")
-    AbstractStreamEx(Stream<? extends T> stream, StreamContext context) {
-        super((Stream<T>) stream, context);
+    AbstractStreamEx(Stream<? extends T> stream, StreamContext context, String operation) {
+        super((Stream<T>) stream, context, operation);
     }
 
     @SuppressWarnings("unchecked")
-    AbstractStreamEx(Spliterator<? extends T> spliterator, StreamContext context) {
-        super((Spliterator<T>) spliterator, context);
+    AbstractStreamEx(Spliterator<? extends T> spliterator, StreamContext context, String operation) {
+        super((Spliterator<T>) spliterator, context, operation);
     }
 
     @Override
@@ -109,7 +114,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
     }
 
     @SuppressWarnings("unchecked")
-    S appendSpliterator(Stream<? extends T> other, Spliterator<? extends T> right) {
+    S appendSpliterator(Stream<? extends T> other, Spliterator<? extends T> right, String operation) {
         if (right.getExactSizeIfKnown() == 0)
             return (S) this;
         Spliterator<T> left = spliterator();
@@ -119,11 +124,11 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         else
             result = new TailConcatSpliterator<>(left, right);
         context = context.combine(other);
-        return supply(result);
+        return supply(result, operation);
     }
 
     @SuppressWarnings("unchecked")
-    S prependSpliterator(Stream<? extends T> other, Spliterator<? extends T> left) {
+    S prependSpliterator(Stream<? extends T> other, Spliterator<? extends T> left, String operation) {
         if (left.getExactSizeIfKnown() == 0)
             return (S) this;
         Spliterator<T> right = spliterator();
@@ -133,7 +138,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         else
             result = new TailConcatSpliterator<>(left, right);
         context = context.combine(other);
-        return supply(result);
+        return supply(result, operation);
     }
 
     @SuppressWarnings("unchecked")
@@ -147,12 +152,12 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         else
             result = new IfEmptySpliterator<>(left, right);
         context = context.combine(other);
-        return supply(result);
+        return supply(result, "ifEmpty");
     }
 
-    abstract S supply(Stream<T> stream);
+    abstract S supply(Stream<T> stream, String operation);
 
-    abstract S supply(Spliterator<T> spliterator);
+    abstract S supply(Spliterator<T> spliterator, String operation);
 
     @Override
     public Iterator<T> iterator() {
@@ -177,6 +182,12 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         return (S) super.parallel(fjp);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public S instrumented(StreamMetrics metrics) {
+        return (S) super.instrumented(metrics);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public S unordered() {
@@ -196,47 +207,96 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      */
     @Override
     public S filter(Predicate<? super T> predicate) {
-        return supply(stream().filter(predicate));
+        return supply(stream().filter(predicate), "filter");
     }
 
     @Override
     public <R> StreamEx<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper) {
-        return new StreamEx<>(stream().flatMap(mapper), context);
+        return new StreamEx<>(stream().flatMap(mapper), context, "flatMap");
     }
 
     @Override
     public <R> StreamEx<R> map(Function<? super T, ? extends R> mapper) {
-        return new StreamEx<>(stream().map(mapper), context);
+        return new StreamEx<>(stream().map(mapper), context, "map");
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, where the function is executed
+     * by the supplied {@link Executor} for at most {@code maxConcurrency}
+     * elements at once.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * <p>
+     * This operation is intended for blocking (e.g. I/O-bound) per-element
+     * work which should not occupy the {@link ForkJoinPool} threads. The
+     * upstream elements are read by the thread which performs the terminal
+     * operation, then mapped asynchronously by the executor. The resulting
+     * stream never splits, so the downstream operations are performed
+     * sequentially. If this stream is ordered, the encounter order is
+     * preserved, otherwise the results are emitted as soon as they are ready.
+     * Using an executor which starts a new virtual thread per task (available
+     * since Java 21) is a good choice for this operation.
+     *
+     * <p>
+     * If the mapper function throws an exception, it's propagated to the
+     * caller of the terminal operation, and the other tasks which are still
+     * running are cancelled. The tasks are also cancelled when the resulting
+     * stream is closed, so it's advisable to close it if it's not fully
+     * consumed (e.g. due to a short-circuiting operation).
+     *
+     * @param <R> The element type of the new stream
+     * @param maxConcurrency the maximal number of elements which are mapped
+     *        concurrently, must be positive
+     * @param executor the executor to run the mapper function in
+     * @param mapper a non-interfering, stateless function to apply to each
+     *        element
+     * @return the new stream
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     * @since 0.7.4
+     */
+    public <R> StreamEx<R> mapConcurrent(int maxConcurrency, Executor executor,
+            Function<? super T, ? extends R> mapper) {
+        if (maxConcurrency <= 0)
+            throw new IllegalArgumentException("maxConcurrency = " + maxConcurrency);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(mapper);
+        MapConcurrentSpliterator<T, R> spliterator = new MapConcurrentSpliterator<>(spliterator(), maxConcurrency,
+                executor, mapper);
+        return new StreamEx<>(spliterator, context.onClose(spliterator), "mapConcurrent");
     }
 
     @Override
     public IntStreamEx mapToInt(ToIntFunction<? super T> mapper) {
-        return new IntStreamEx(stream().mapToInt(mapper), context);
+        return new IntStreamEx(stream().mapToInt(mapper), context, "mapToInt");
     }
 
     @Override
     public LongStreamEx mapToLong(ToLongFunction<? super T> mapper) {
-        return new LongStreamEx(stream().mapToLong(mapper), context);
+        return new LongStreamEx(stream().mapToLong(mapper), context, "mapToLong");
     }
 
     @Override
     public DoubleStreamEx mapToDouble(ToDoubleFunction<? super T> mapper) {
-        return new DoubleStreamEx(stream().mapToDouble(mapper), context);
+        return new DoubleStreamEx(stream().mapToDouble(mapper), context, "mapToDouble");
     }
 
     @Override
     public IntStreamEx flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
-        return new IntStreamEx(stream().flatMapToInt(mapper), context);
+        return new IntStreamEx(stream().flatMapToInt(mapper), context, "flatMapToInt");
     }
 
     @Override
     public LongStreamEx flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
-        return new LongStreamEx(stream().flatMapToLong(mapper), context);
+        return new LongStreamEx(stream().flatMapToLong(mapper), context, "flatMapToLong");
     }
 
     @Override
     public DoubleStreamEx flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
-        return new DoubleStreamEx(stream().flatMapToDouble(mapper), context);
+        return new DoubleStreamEx(stream().flatMapToDouble(mapper), context, "flatMapToDouble");
     }
 
     /**
@@ -255,12 +315,12 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @since 0.6.6
      */
     public S intersperse(T delimiter) {
-        return supply(stream().flatMap(s -> StreamEx.of(delimiter, s)).skip(1));
+        return supply(stream().flatMap(s -> StreamEx.of(delimiter, s)).skip(1), "intersperse");
     }
 
     @Override
     public S distinct() {
-        return supply(stream().distinct());
+        return supply(stream().distinct(), "distinct");
     }
 
     /**
@@ -283,7 +343,8 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @since 0.3.8
      */
     public S distinct(Function<? super T, ?> keyExtractor) {
-        return supply(stream().map(t -> new PairBox<>(t, keyExtractor.apply(t))).distinct().map(box -> box.a));
+        return supply(stream().map(t -> new PairBox<>(t, keyExtractor.apply(t))).distinct().map(box -> box.a),
+                "distinct");
     }
 
     /**
@@ -317,32 +378,38 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
             result = Spliterators.emptySpliterator();
         else
             result = new DistinctSpliterator<>(spliterator, atLeast);
-        return supply(result);
+        return supply(result, "distinct");
     }
 
     @Override
     public S sorted() {
-        return supply(stream().sorted());
+        return supply(stream().sorted(), "sorted");
     }
 
     @Override
     public S sorted(Comparator<? super T> comparator) {
-        return supply(stream().sorted(comparator));
+        return supply(stream().sorted(comparator), "sorted");
     }
 
     @Override
     public S peek(Consumer<? super T> action) {
-        return supply(stream().peek(action));
+        return supply(stream().peek(action), "peek");
     }
 
     @Override
     public S limit(long maxSize) {
-        return supply(stream().limit(maxSize));
+        return supply(stream().limit(maxSize), "limit");
     }
 
     @Override
     public S skip(long n) {
-        return supply(stream().skip(n));
+        if (n > 0 && spliterator instanceof SkippableSpliterator) {
+            // jump to the position instead of generating the skipped elements
+            SkippableSpliterator<T> s = (SkippableSpliterator<T>) spliterator();
+            s.skip(n);
+            return supply(s, "skip");
+        }
+        return supply(stream().skip(n), "skip");
     }
 
     @Override
@@ -481,6 +548,12 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      */
     @Override
     public <R, A> R collect(Collector<? super T, A, R> collector) {
+        if (collector instanceof Joining.AppendingCollector) {
+            // write the elements directly instead of accumulating them
+            @SuppressWarnings("unchecked")
+            R result = (R) ((Joining.AppendingCollector<?>) collector).appendAll(this);
+            return result;
+        }
         Predicate<A> finished = finished(collector);
         if (finished != null) {
             BiConsumer<A, ? super T> acc = collector.accumulator();
@@ -489,18 +562,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
             if (!isParallel()) {
                 A a = collector.supplier().get();
                 if (!finished.test(a)) {
-                    try {
-                        // forEachRemaining can be much faster
-                        // and take much less memory than tryAdvance for certain
-                        // spliterators
-                        spliterator.forEachRemaining(e -> {
-                            acc.accept(a, e);
-                            if (finished.test(a))
-                                throw new CancelException();
-                        });
-                    } catch (CancelException ex) {
-                        // ignore
-                    }
+                    CancellableSpliterator.traverseUntil(spliterator, e -> acc.accept(a, e), () -> finished.test(a));
                 }
                 return collector.finisher().apply(a);
             }
@@ -513,7 +575,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
                 spltr = new OrderedCancellableSpliterator<>(spliterator, collector.supplier(), acc, combiner, finished);
             }
             return collector.finisher().apply(
-                new StreamEx<>(StreamSupport.stream(spltr, true), context).findFirst().get());
+                new StreamEx<>(StreamSupport.stream(spltr, true), context, "collect").findFirst().get());
         }
         return rawCollect(collector);
     }
@@ -717,7 +779,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      */
     public <R> StreamEx<R> mapPartial(Function<? super T, ? extends Optional<? extends R>> mapper) {
         return new StreamEx<>(stream().map(value -> mapper.apply(value).orElse(null)).filter(Objects::nonNull),
-                context);
+                context, "mapPartial");
     }
 
     /**
@@ -740,7 +802,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      */
     public <R> StreamEx<R> pairMap(BiFunction<? super T, ? super T, ? extends R> mapper) {
         PairSpliterator.PSOfRef<T, R> spliterator = new PairSpliterator.PSOfRef<>(mapper, spliterator());
-        return new StreamEx<>(spliterator, context);
+        return new StreamEx<>(spliterator, context, "pairMap");
     }
 
     /**
@@ -889,8 +951,12 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a <a
      *        href="package-summary.html#NonInterference">non-interfering </a>,
@@ -899,7 +965,8 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @return the new stream
      */
     public S sortedByInt(ToIntFunction<? super T> keyExtractor) {
-        return sorted(Comparator.comparingInt(keyExtractor));
+        Objects.requireNonNull(keyExtractor);
+        return supply(RadixSort.sorted(stream(), t -> RadixSort.intKey(keyExtractor.applyAsInt(t))), "sortedByInt");
     }
 
     /**
@@ -911,8 +978,12 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a <a
      *        href="package-summary.html#NonInterference">non-interfering </a>,
@@ -921,7 +992,8 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @return the new stream
      */
     public S sortedByLong(ToLongFunction<? super T> keyExtractor) {
-        return sorted(Comparator.comparingLong(keyExtractor));
+        Objects.requireNonNull(keyExtractor);
+        return supply(RadixSort.sorted(stream(), t -> RadixSort.longKey(keyExtractor.applyAsLong(t))), "sortedByLong");
     }
 
     /**
@@ -933,8 +1005,12 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a <a
      *        href="package-summary.html#NonInterference">non-interfering </a>,
@@ -943,7 +1019,9 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @return the new stream
      */
     public S sortedByDouble(ToDoubleFunction<? super T> keyExtractor) {
-        return sorted(Comparator.comparingDouble(keyExtractor));
+        Objects.requireNonNull(keyExtractor);
+        return supply(RadixSort.sorted(stream(), t -> RadixSort.doubleKey(keyExtractor.applyAsDouble(t))),
+                "sortedByDouble");
     }
 
     /**
@@ -1246,7 +1324,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @see Stream#concat(Stream, Stream)
      */
     public S append(Stream<? extends T> other) {
-        return appendSpliterator(other, other.spliterator());
+        return appendSpliterator(other, other.spliterator(), "append");
     }
 
     /**
@@ -1269,7 +1347,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @see Stream#concat(Stream, Stream)
      */
     public S prepend(Stream<? extends T> other) {
-        return prependSpliterator(other, other.spliterator());
+        return prependSpliterator(other, other.spliterator(), "prepend");
     }
 
     /**
@@ -1567,7 +1645,11 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * As this method must process elements strictly right to left, it cannot
      * start processing till all the previous stream stages complete. Also it
      * requires intermediate memory to store the whole content of the stream as
-     * the stream natural order is left to right. If your accumulator function
+     * the stream natural order is left to right. The exception is the
+     * sequential stream created directly from the {@code List}, the array or
+     * another source which spliterator is {@code SUBSIZED}: it's split into
+     * the parts which are processed starting from the last one, so only a
+     * small part of the stream is stored at a time. If your accumulator function
      * is associative and you can provide a combiner function, consider using
      * {@link #reduce(Object, BiFunction, BinaryOperator)} method.
      *
@@ -1588,12 +1670,17 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @since 0.2.2
      */
     public <U> U foldRight(U seed, BiFunction<? super T, U, U> accumulator) {
-        return toListAndThen(list -> {
-            U result = seed;
-            for (int i = list.size() - 1; i >= 0; i--)
-                result = accumulator.apply(list.get(i), result);
-            return result;
-        });
+        if (isParallel()) {
+            return toListAndThen(list -> {
+                U result = seed;
+                for (int i = list.size() - 1; i >= 0; i--)
+                    result = accumulator.apply(list.get(i), result);
+                return result;
+            });
+        }
+        Box<U> box = new Box<>(seed);
+        forEachReversed(spliterator(), t -> box.a = accumulator.apply(t, box.a));
+        return box.a;
     }
 
     /**
@@ -1607,7 +1694,11 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * As this method must process elements strictly right to left, it cannot
      * start processing till all the previous stream stages complete. Also it
      * requires intermediate memory to store the whole content of the stream as
-     * the stream natural order is left to right. If your accumulator function
+     * the stream natural order is left to right. The exception is the
+     * sequential stream created directly from the {@code List}, the array or
+     * another source which spliterator is {@code SUBSIZED}: it's split into
+     * the parts which are processed starting from the last one, so only a
+     * small part of the stream is stored at a time. If your accumulator function
      * is associative, consider using {@link #reduce(BinaryOperator)} method.
      *
      * <p>
@@ -1625,15 +1716,20 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @since 0.4.0
      */
     public Optional<T> foldRight(BinaryOperator<T> accumulator) {
-        return toListAndThen(list -> {
-            if (list.isEmpty())
-                return Optional.empty();
-            int i = list.size() - 1;
-            T result = list.get(i--);
-            for (; i >= 0; i--)
-                result = accumulator.apply(list.get(i), result);
-            return Optional.of(result);
-        });
+        if (isParallel()) {
+            return toListAndThen(list -> {
+                if (list.isEmpty())
+                    return Optional.empty();
+                int i = list.size() - 1;
+                T result = list.get(i--);
+                for (; i >= 0; i--)
+                    result = accumulator.apply(list.get(i), result);
+                return Optional.of(result);
+            });
+        }
+        Box<T> box = new Box<>(none());
+        forEachReversed(spliterator(), t -> box.a = box.a == NONE ? t : accumulator.apply(t, box.a));
+        return box.a == NONE ? Optional.empty() : Optional.of(box.a);
     }
 
     /**
@@ -1706,6 +1802,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @see #foldLeft(BinaryOperator)
      * @see #scanRight(BinaryOperator)
      * @see #prefix(BinaryOperator)
+     * @see #toPrefixList(BinaryOperator)
      * @since 0.4.0
      */
     public List<T> scanLeft(BinaryOperator<T> accumulator) {
@@ -1719,6 +1816,56 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         return result;
     }
 
+    /**
+     * Produces a list containing cumulative results of applying the
+     * associative accumulation function going left to right.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * The resulting {@link List} is guaranteed to be mutable.
+     *
+     * <p>
+     * The result is the same as the result of {@link #scanLeft(BinaryOperator)}
+     * or {@code prefix(op).toList()}, but the parallel stream is processed in
+     * two parallel passes: the elements are stored into the array first, then
+     * the cumulative results are computed in-place by
+     * {@link Arrays#parallelPrefix(Object[], BinaryOperator)}. Thus unlike
+     * {@code scanLeft} the parallel processing is not restricted to go
+     * strictly left to right.
+     *
+     * @param op an <a href="package-summary.html#Associativity">associative</a>
+     *        , <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        function for computing the next element based on the previous one
+     * @return the {@code List} where the first element is the first element of
+     *         this stream and every successor element is the result of applying
+     *         op function to the previous list element and the corresponding
+     *         stream element. The resulting list has the same size as this
+     *         stream.
+     * @see #scanLeft(BinaryOperator)
+     * @see #prefix(BinaryOperator)
+     * @since 0.7.4
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toPrefixList(BinaryOperator<T> op) {
+        Objects.requireNonNull(op);
+        if (!isParallel())
+            return scanLeft(op);
+        T[] array = (T[]) toArray();
+        if (context.fjp != null) {
+            context.terminate(array, a -> {
+                Arrays.parallelPrefix(a, op);
+                return a;
+            });
+        } else {
+            Arrays.parallelPrefix(array, op);
+        }
+        // the prefixed array becomes the list storage like in toList()
+        return new ArrayList<>((Collection<T>) new ArrayCollection(array));
+    }
+
     /**
      * Produces a list containing cumulative results of applying the
      * accumulation function going right to left using given seed value.
@@ -1735,7 +1882,10 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      *
      * <p>
      * This method cannot take all the advantages of parallel streams as it must
-     * process elements strictly right to left.
+     * process elements strictly right to left. For the sequential stream
+     * created directly from the {@code List}, the array or another source
+     * which spliterator is {@code SUBSIZED} the results are stored directly
+     * without storing the whole stream content first.
      *
      * @param <U> The type of the result
      * @param seed the starting value
@@ -1754,7 +1904,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      */
     @SuppressWarnings("unchecked")
     public <U> List<U> scanRight(U seed, BiFunction<? super T, U, U> accumulator) {
-        return toListAndThen(list -> {
+        Function<List<T>, List<U>> finisher = list -> {
             // Reusing the list for different object type as it will save memory
             List<U> result = (List<U>) list;
             result.add(seed);
@@ -1762,7 +1912,19 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
                 result.set(i, accumulator.apply((T) result.get(i), result.get(i + 1)));
             }
             return result;
-        });
+        };
+        if (isParallel())
+            return toListAndThen(finisher);
+        Spliterator<T> spliterator = spliterator();
+        long size = spliterator.getExactSizeIfKnown();
+        if (size < 0 || size >= Integer.MAX_VALUE - 1)
+            return supply(spliterator, "scanRight").toListAndThen(finisher);
+        // the results are stored from the end as the elements arrive
+        List<U> result = nulls((int) size + 1);
+        result.set((int) size, seed);
+        ObjIntBox<U> box = new ObjIntBox<>(seed, (int) size);
+        forEachReversed(spliterator, t -> result.set(--box.b, box.a = accumulator.apply(t, box.a)));
+        return result;
     }
 
     /**
@@ -1781,7 +1943,10 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      *
      * <p>
      * This method cannot take all the advantages of parallel streams as it must
-     * process elements strictly right to left.
+     * process elements strictly right to left. For the sequential stream
+     * created directly from the {@code List}, the array or another source
+     * which spliterator is {@code SUBSIZED} the results are stored directly
+     * without storing the whole stream content first.
      *
      * @param accumulator a <a
      *        href="package-summary.html#NonInterference">non-interfering </a>,
@@ -1797,12 +1962,62 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
      * @since 0.4.0
      */
     public List<T> scanRight(BinaryOperator<T> accumulator) {
-        return toListAndThen(list -> {
+        Function<List<T>, List<T>> finisher = list -> {
             for (int i = list.size() - 2; i >= 0; i--) {
                 list.set(i, accumulator.apply(list.get(i), list.get(i + 1)));
             }
             return list;
-        });
+        };
+        if (isParallel())
+            return toListAndThen(finisher);
+        Spliterator<T> spliterator = spliterator();
+        long size = spliterator.getExactSizeIfKnown();
+        if (size < 0 || size >= Integer.MAX_VALUE)
+            return supply(spliterator, "scanRight").toListAndThen(finisher);
+        List<T> result = nulls((int) size);
+        ObjIntBox<T> box = new ObjIntBox<>(none(), (int) size);
+        forEachReversed(spliterator, t -> result.set(--box.b, box.a = box.a == NONE ? t : accumulator.apply(t,
+            box.a)));
+        return result;
+    }
+
+    private static <T> List<T> nulls(int size) {
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(null);
+        }
+        return list;
+    }
+
+    /**
+     * Feeds the elements to the action from the last to the first. The
+     * SUBSIZED spliterator is split to the parts which are traversed from the
+     * last one, so only a small part of it is buffered at a time. Other
+     * spliterators are buffered completely.
+     */
+    static <T> void forEachReversed(Spliterator<T> spliterator, Consumer<? super T> action) {
+        List<Spliterator<T>> prefixes = new ArrayList<>();
+        if (spliterator.hasCharacteristics(Spliterator.SUBSIZED)) {
+            while (spliterator.estimateSize() > REVERSED_BUFFER_SIZE) {
+                Spliterator<T> prefix = spliterator.trySplit();
+                if (prefix == null)
+                    break;
+                prefixes.add(prefix);
+            }
+        }
+        forEachBuffered(spliterator, action);
+        for (int i = prefixes.size() - 1; i >= 0; i--) {
+            forEachReversed(prefixes.remove(i), action);
+        }
+    }
+
+    private static <T> void forEachBuffered(Spliterator<T> spliterator, Consumer<? super T> action) {
+        long size = spliterator.getExactSizeIfKnown();
+        ArrayList<T> buffer = size >= 0 && size < Integer.MAX_VALUE ? new ArrayList<>((int) size) : new ArrayList<>();
+        spliterator.forEachRemaining(buffer::add);
+        for (int i = buffer.size() - 1; i >= 0; i--) {
+            action.accept(buffer.get(i));
+        }
     }
 
     /**
@@ -1860,7 +2075,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         Spliterator<T> spltr = spliterator();
         return supply(
             spltr.hasCharacteristics(Spliterator.ORDERED) ? new TakeDrop.TDOfRef<>(spltr, false, true, predicate)
-                    : new TakeDrop.UnorderedTDOfRef<T>(spltr, false, true, predicate));
+                    : new TakeDrop.UnorderedTDOfRef<T>(spltr, false, true, predicate), "takeWhileInclusive");
     }
 
     /**
@@ -1922,7 +2137,7 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
     public S prefix(BinaryOperator<T> op) {
         Spliterator<T> spltr = spliterator();
         return supply(spltr.hasCharacteristics(Spliterator.ORDERED) ? new PrefixOps.OfRef<>(spltr, op)
-                : new PrefixOps.OfUnordRef<T>(spltr, op));
+                : new PrefixOps.OfUnordRef<T>(spltr, op), "prefix");
     }
 
     // Necessary to generate proper JavaDoc
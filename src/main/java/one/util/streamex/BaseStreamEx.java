@@ -15,6 +15,7 @@
  */
 package one.util.streamex;
 
+import java.util.Objects;
 import java.util.Spliterator;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
@@ -31,13 +32,23 @@ import java.util.stream.BaseStream;
     SPLTR spliterator;
     StreamContext context;
 
-    BaseStreamEx(S stream, StreamContext context) {
-        this.stream = stream;
+    /**
+     * @param stream the stream to wrap
+     * @param context the stream context
+     * @param operation the name of the operation which created this stream
+     *        from another one, or null if it's not created by an operation
+     */
+    @SuppressWarnings("unchecked")
+    BaseStreamEx(S stream, StreamContext context, String operation) {
+        if (context.metrics == null)
+            this.stream = stream;
+        else
+            this.spliterator = context.instrument((SPLTR) stream.spliterator(), operation);
         this.context = context;
     }
 
-    BaseStreamEx(SPLTR spliterator, StreamContext context) {
-        this.spliterator = spliterator;
+    BaseStreamEx(SPLTR spliterator, StreamContext context, String operation) {
+        this.spliterator = context.instrument(spliterator, operation);
         this.context = context;
     }
 
@@ -124,6 +135,37 @@ import java.util.stream.BaseStream;
         return (S) this;
     }
 
+    /**
+     * Returns an equivalent stream which reports the execution statistics of
+     * this and every subsequent stage of the stream pipeline to the supplied
+     * {@link StreamMetrics}.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The stream on which this method is called becomes stage zero. Every
+     * subsequent operation which creates a new stream adds a new stage.
+     * Elements produced by every stage are counted and the traversal is timed
+     * for every part the stage was split into. Note that the stages are not
+     * fused anymore, so the instrumented pipeline is slower than usual. The
+     * streams which are not instrumented have no overhead.
+     *
+     * @param metrics a {@code StreamMetrics} to report the statistics to
+     * @return an instrumented stream
+     * @since 0.7.4
+     */
+    @SuppressWarnings("unchecked")
+    public S instrumented(StreamMetrics metrics) {
+        Objects.requireNonNull(metrics);
+        SPLTR source = spliterator();
+        stream = null;
+        context = context.instrumented(metrics);
+        spliterator = context.instrument(source, "source");
+        return (S) this;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public S unordered() {
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Unsigned bytes of the {@link ByteBuffer} or of the memory mapped
+ * {@link FileChannel}. The buffer is read by absolute index, so the split
+ * parts share it without copying. The file range is mapped by windows of
+ * bounded size, thus only a small part of the file is mapped by every split
+ * part at a time and files larger than 2Gb are supported as well.
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class BytesSpliterator implements Spliterator.OfInt {
+    static final int WINDOW_SIZE = 1 << 22;
+
+    // null if the window is the supplied buffer covering the whole range
+    private final FileChannel fc;
+    private final int windowSize;
+    private ByteBuffer window;
+    private long windowStart;
+    private long index;
+    private final long fence;
+
+    BytesSpliterator(ByteBuffer buf) {
+        // duplicate, so the later changes of the buffer limit don't affect us
+        this(null, buf.duplicate(), buf.position(), buf.limit(), 0);
+    }
+
+    BytesSpliterator(FileChannel fc, long index, long fence, int windowSize) {
+        this(fc, null, index, fence, windowSize);
+    }
+
+    private BytesSpliterator(FileChannel fc, ByteBuffer window, long index, long fence, int windowSize) {
+        this.fc = fc;
+        this.window = window;
+        this.index = index;
+        this.fence = fence;
+        this.windowSize = windowSize;
+    }
+
+    private ByteBuffer window() {
+        if (fc != null && (window == null || index >= windowStart + window.limit())) {
+            try {
+                window = fc.map(MapMode.READ_ONLY, index, Math.min(fence - index, windowSize));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            windowStart = index;
+        }
+        return window;
+    }
+
+    /**
+     * Reads the bytes in bulk up to the end of the current window.
+     *
+     * @param dst array to write the bytes to
+     * @param off offset in the array
+     * @param len maximal number of bytes to read, positive
+     * @return number of bytes read or -1 if there are no more bytes
+     */
+    int read(byte[] dst, int off, int len) {
+        if (index >= fence)
+            return -1;
+        ByteBuffer w = window();
+        int n = (int) Math.min(len, Math.min(fence, windowStart + w.limit()) - index);
+        ByteBuffer dup = w.duplicate();
+        // cast to Buffer, as the covariant override does not exist in Java 8
+        ((Buffer) dup).position((int) (index - windowStart));
+        dup.get(dst, off, n);
+        index += n;
+        return n;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (index >= fence)
+            return false;
+        ByteBuffer w = window();
+        action.accept(w.get((int) (index++ - windowStart)) & 0xFF);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        while (index < fence) {
+            ByteBuffer w = window();
+            int pos = (int) (index - windowStart);
+            int end = (int) (Math.min(fence, windowStart + w.limit()) - windowStart);
+            index += end - pos;
+            for (; pos < end; pos++) {
+                action.accept(w.get(pos) & 0xFF);
+            }
+        }
+        // release the mapping as soon as possible
+        if (fc != null)
+            window = null;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        long mid = (index + fence) >>> 1;
+        if (mid <= index)
+            return null;
+        BytesSpliterator prefix = new BytesSpliterator(fc, fc == null ? window : null, index, mid, windowSize);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
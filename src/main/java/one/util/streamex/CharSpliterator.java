@@ -18,12 +18,24 @@ package one.util.streamex;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
+import static one.util.streamex.Internals.CancellableSpliterator;
+
 /**
+ * Splits the {@link CharSequence} around the occurrences of the delimiter
+ * (single char or literal string). The split point is the delimiter which is
+ * nearest to the middle of the range, so only the distance to it is scanned.
+ * The delimiter strings which may overlap themselves (like {@code "--"}) are
+ * not split, as the occurrence found in the middle might not be the one found
+ * by the sequential scan.
+ *
  * @author Tagir Valeev
  */
-/* package */class CharSpliterator implements Spliterator<String> {
+/* package */class CharSpliterator implements CancellableSpliterator<String> {
     private final CharSequence source;
-    private final char delimiter;
+    private final String delimiter;
+    private final char first;
+    private final int length;
+    private final boolean splittable;
     private int pos;
     private final int fence;
     private int nEmpty;
@@ -31,8 +43,15 @@ import java.util.function.Consumer;
     private final boolean trimEmpty;
 
     CharSpliterator(CharSequence source, char delimiter, boolean trimEmpty) {
+        this(source, String.valueOf(delimiter), trimEmpty);
+    }
+
+    CharSpliterator(CharSequence source, String delimiter, boolean trimEmpty) {
         this.source = source;
         this.delimiter = delimiter;
+        this.first = delimiter.charAt(0);
+        this.length = delimiter.length();
+        this.splittable = !hasBorder(delimiter);
         this.fence = source.length();
         this.trimEmpty = trimEmpty;
     }
@@ -41,6 +60,9 @@ import java.util.function.Consumer;
     private CharSpliterator(CharSpliterator suffix, int fence, boolean trimEmpty, int suffixNEmpty, int suffixPos) {
         this.source = suffix.source;
         this.delimiter = suffix.delimiter;
+        this.first = suffix.first;
+        this.length = suffix.length;
+        this.splittable = suffix.splittable;
         this.fence = fence;
         this.trimEmpty = trimEmpty;
         
@@ -52,21 +74,52 @@ import java.util.function.Consumer;
         suffix.next = null;
     }
 
+    // whether some proper prefix of the string is also its suffix
+    private static boolean hasBorder(String str) {
+        for (int i = 1; i < str.length(); i++) {
+            if (str.startsWith(str.substring(i)))
+                return true;
+        }
+        return false;
+    }
+
+    private boolean isDelimiter(int pos) {
+        if (pos + length > fence || source.charAt(pos) != first)
+            return false;
+        for (int i = 1; i < length; i++) {
+            if (source.charAt(pos + i) != delimiter.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
     private int next(int pos) {
         if (pos == fence)
             return pos;
         if (source instanceof String) {
-            int nextPos = ((String) source).indexOf(delimiter, pos);
+            int nextPos = length == 1 ? ((String) source).indexOf(first, pos) : ((String) source).indexOf(
+                delimiter, pos);
             return nextPos == -1 ? fence : nextPos;
         }
         while (pos < fence) {
-            if (source.charAt(pos) == delimiter)
+            if (isDelimiter(pos))
                 return pos;
             pos++;
         }
         return fence;
     }
 
+    // the delimiter nearest to mid or fence if there's none
+    private int nearest(int mid) {
+        for (int i = 0; mid + i < fence || mid - i > pos; i++) {
+            if (isDelimiter(mid + i))
+                return mid + i;
+            if (mid - i > pos && isDelimiter(mid - i - 1))
+                return mid - i - 1;
+        }
+        return fence;
+    }
+
     @Override
     public boolean tryAdvance(Consumer<? super String> action) {
         if (nEmpty > 0) {
@@ -86,11 +139,12 @@ import java.util.function.Consumer;
         if (trimEmpty) {
             while (nextPos == pos && nextPos != fence) {
                 nEmpty++;
-                nextPos = next(++pos);
+                pos += length;
+                nextPos = next(pos);
             }
         }
         String str = source.subSequence(pos, nextPos).toString();
-        pos = nextPos + 1;
+        pos = nextPos + length;
         if (trimEmpty && nextPos == fence && str.isEmpty()) {
             nEmpty = 0; // discard empty strings at the end
             return false;
@@ -106,18 +160,23 @@ import java.util.function.Consumer;
 
     @Override
     public Spliterator<String> trySplit() {
-        int mid = (pos + fence) >>> 1;
-        int nextPos = next(mid);
+        if (!splittable || pos >= fence)
+            return null;
+        int nextPos = nearest((pos + fence) >>> 1);
         if (nextPos == fence)
             return null;
-        if (trimEmpty && nextPos == mid) {
-            while (nextPos < fence && source.charAt(nextPos) == delimiter)
-                nextPos++;
+        if (trimEmpty) {
+            // split before the run of delimiters, so the trailing empty strings are known to the prefix
+            while (nextPos - length >= pos && isDelimiter(nextPos - length))
+                nextPos -= length;
+            int mid = nextPos;
+            while (nextPos < fence && isDelimiter(nextPos))
+                nextPos += length;
             return nextPos == fence ? 
                     new CharSpliterator(this, mid, true, 0, nextPos + 1) : 
-                        new CharSpliterator(this, mid, false, nextPos - mid - 1, nextPos);
+                        new CharSpliterator(this, mid, false, (nextPos - mid) / length - 1, nextPos);
         }
-        return new CharSpliterator(this, nextPos, false, 0, nextPos + 1);
+        return new CharSpliterator(this, nextPos, false, 0, nextPos + length);
     }
 
     @Override
@@ -15,7 +15,10 @@
  */
 package one.util.streamex;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.BinaryOperator;
@@ -26,43 +29,56 @@ import static one.util.streamex.Internals.Box;
 import static one.util.streamex.Internals.NONE;
 import static one.util.streamex.Internals.none;
 
+/**
+ * Collapses the runs of mergeable elements. The runs which cross the split
+ * boundaries are stitched without locking: every boundary is a
+ * {@link Connector} which is visited exactly twice, once by the spliterator on
+ * the left (or whoever finished its last run) and once by the spliterator on
+ * the right (after its first run is read). The first visitor deposits its half
+ * of the boundary via CAS, the second one takes it and combines the runs. If
+ * the whole part between two boundaries appeared to be a single run (or
+ * empty), the combined run is carried further to the next boundary, so the
+ * user functions are never called under lock.
+ *
+ * @author Tagir Valeev
+ */
 /* package */final class CollapseSpliterator<T, R> extends Box<T> implements Spliterator<R> {
     private final Spliterator<T> source;
-    private final CollapseSpliterator<T, R> root; // used as lock
+    private Connector<T, R> left;
+    private Connector<T, R> right;
+    private boolean started, finished;
     private R acc;
-    volatile Connector<T, R> left;
-    volatile Connector<T, R> right;
+    // runs completed on the boundaries; R may be null, so no ArrayDeque
+    private List<R> pending;
+    private int pendingPos;
     private final Function<T, R> mapper;
     private final BiFunction<R, T, R> accumulator;
     private final BinaryOperator<R> combiner;
     private final BiPredicate<? super T, ? super T> mergeable;
 
-    private static final class Connector<T, R> {
-        CollapseSpliterator<T, R> lhs, rhs;
-        T left = none(), right = none();
-        R acc;
+    /**
+     * Part of the run adjacent to the boundary. The right half describes the
+     * first run of the spliterator: if it's not closed, the spliterator
+     * reached its end within this run, so the run continues to the next
+     * boundary. The left half carries the run which ends at the boundary.
+     */
+    private static final class Half<T, R> {
+        final T first, last;
+        final R acc;
+        final boolean closed;
+        final Connector<T, R> next;
 
-        Connector(CollapseSpliterator<T, R> lhs, R acc, CollapseSpliterator<T, R> rhs) {
-            this.lhs = lhs;
-            this.rhs = rhs;
+        Half(T first, R acc, T last, boolean closed, Connector<T, R> next) {
+            this.first = first;
             this.acc = acc;
+            this.last = last;
+            this.closed = closed;
+            this.next = next;
         }
+    }
 
-        R drain() {
-            if (lhs != null)
-                lhs.right = null;
-            if (rhs != null)
-                rhs.left = null;
-            return acc;
-        }
-
-        R drainLeft() {
-            return left == NONE ? drain() : none();
-        }
-
-        R drainRight() {
-            return right == NONE ? drain() : none();
-        }
+    private static final class Connector<T, R> extends AtomicReference<Half<T, R>> {
+        private static final long serialVersionUID = 1L;
     }
 
     CollapseSpliterator(BiPredicate<? super T, ? super T> mergeable, Function<T, R> mapper,
@@ -73,63 +89,62 @@ import static one.util.streamex.Internals.none;
         this.mapper = mapper;
         this.accumulator = accumulator;
         this.combiner = combiner;
-        this.root = this;
     }
 
-    private CollapseSpliterator(CollapseSpliterator<T, R> root, Spliterator<T> source, Connector<T, R> left,
+    private CollapseSpliterator(CollapseSpliterator<T, R> parent, Spliterator<T> source, Connector<T, R> left,
             Connector<T, R> right) {
         super(none());
         this.source = source;
-        this.root = root;
-        this.mergeable = root.mergeable;
-        this.mapper = root.mapper;
-        this.accumulator = root.accumulator;
-        this.combiner = root.combiner;
+        this.mergeable = parent.mergeable;
+        this.mapper = parent.mapper;
+        this.accumulator = parent.accumulator;
+        this.combiner = parent.combiner;
         this.left = left;
         this.right = right;
-        if (left != null)
-            left.rhs = this;
-        right.lhs = this;
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super R> action) {
-        if (left != null) {
-            if (accept(handleLeft(), action)) {
+        while (true) {
+            if (pending != null && pendingPos < pending.size()) {
+                R next = pending.get(pendingPos++);
+                if (pendingPos == pending.size()) {
+                    pending.clear();
+                    pendingPos = 0;
+                }
+                action.accept(next);
                 return true;
             }
-        }
-        if (a == NONE) { // start
-            if (!source.tryAdvance(this)) {
-                return accept(pushRight(none(), none()), action);
+            if (finished)
+                return false;
+            if (!started) {
+                start();
+                continue;
             }
-        }
-        T first = a;
-        R acc = mapper.apply(a);
-        T last = first;
-        while (source.tryAdvance(this)) {
-            if (!this.mergeable.test(last, a)) {
-                action.accept(acc);
-                return true;
+            T last = a;
+            R acc = mapper.apply(last);
+            while (source.tryAdvance(this)) {
+                if (!mergeable.test(last, a)) {
+                    action.accept(acc);
+                    return true;
+                }
+                last = a;
+                acc = accumulator.apply(acc, last);
             }
-            last = a;
-            acc = this.accumulator.apply(acc, last);
+            finish(acc, last);
         }
-        return accept(pushRight(acc, last), action);
     }
 
     @Override
     public void forEachRemaining(Consumer<? super R> action) {
-        while (left != null) {
-            accept(handleLeft(), action);
-        }
-        if (a != NONE) {
-            acc = mapper.apply(a);
-        }
+        if (!started)
+            start();
+        drain(action);
+        if (finished)
+            return;
+        acc = mapper.apply(a);
         source.forEachRemaining(next -> {
-            if (a == NONE) {
-                acc = mapper.apply(next);
-            } else if (!this.mergeable.test(a, next)) {
+            if (!mergeable.test(a, next)) {
                 action.accept(acc);
                 acc = mapper.apply(next);
             } else {
@@ -137,215 +152,122 @@ import static one.util.streamex.Internals.none;
             }
             a = next;
         });
-        if (a == NONE) {
-            accept(pushRight(none(), none()), action);
-        } else if (accept(pushRight(acc, a), action)) {
-            if (right != null) {
-                action.accept(right.acc);
-                right = null;
-            }
-        }
+        R last = acc;
+        acc = null;
+        finish(last, a);
+        drain(action);
     }
 
-    private boolean accept(R acc, Consumer<? super R> action) {
-        if (acc != NONE) {
-            action.accept(acc);
-            return true;
+    private void drain(Consumer<? super R> action) {
+        if (pending == null)
+            return;
+        for (int i = pendingPos; i < pending.size(); i++) {
+            action.accept(pending.get(i));
         }
-        return false;
+        pending.clear();
+        pendingPos = 0;
     }
 
-    private R handleLeft() {
-        synchronized (root) {
-            Connector<T, R> l = left;
-            if (l == null) {
-                return none();
-            }
-            if (l.left == NONE && l.right == NONE && l.acc != NONE) {
-                return l.drain();
-            }
-        }
-        if (source.tryAdvance(this)) {
-            T first = this.a;
-            T last = first;
-            R acc = this.mapper.apply(first);
-            while (source.tryAdvance(this)) {
-                if (!this.mergeable.test(last, a))
-                    return pushLeft(first, acc);
-                last = a;
-                acc = this.accumulator.apply(acc, last);
-            }
-            a = none();
-            return connectOne(first, acc, last);
-        }
-        return connectEmpty();
+    private void push(R acc) {
+        if (pending == null)
+            pending = new ArrayList<>();
+        pending.add(acc);
     }
 
-    // l + <first|acc|?>
-    private R pushLeft(T first, R acc) {
-        synchronized (root) {
-            Connector<T, R> l = left;
-            if (l == null)
-                return acc;
-            left = null;
-            l.rhs = null;
-            T laright = l.right;
-            l.right = none();
-            if (l.acc == NONE) {
-                l.acc = acc;
-                l.left = first;
-                return none();
-            }
-            if (this.mergeable.test(laright, first)) {
-                l.acc = this.combiner.apply(l.acc, acc);
-                return l.drainLeft();
-            }
-            if (l.left == NONE) {
-                left = new Connector<>(null, acc, this);
-                return l.drain();
+    // reads the first run and passes it to the left boundary
+    private void start() {
+        started = true;
+        if (!source.tryAdvance(this)) {
+            finished = true;
+            arriveRight(new Half<>(none(), none(), none(), false, right));
+            return;
+        }
+        T first = a;
+        T last = first;
+        R acc = mapper.apply(first);
+        while (source.tryAdvance(this)) {
+            if (!mergeable.test(last, a)) {
+                arriveRight(new Half<>(first, acc, last, true, null));
+                return;
             }
+            last = a;
+            acc = accumulator.apply(acc, last);
         }
-        return acc;
+        finished = true;
+        arriveRight(new Half<>(first, acc, last, false, right));
     }
 
-    // <?|acc|last> + r
-    private R pushRight(R acc, T last) {
+    // passes the last run to the right boundary
+    private void finish(R acc, T last) {
+        finished = true;
         a = none();
-        if (right == null)
-            return acc;
-        synchronized (root) {
-            Connector<T, R> r = right;
-            if (r == null)
-                return acc;
-            right = null;
-            r.lhs = null;
-            T raleft = r.left;
-            r.left = none();
-            if (r.acc == NONE) {
-                if (acc == NONE) {
-                    r.drain();
-                } else {
-                    r.acc = acc;
-                    r.right = last;
-                }
-                return none();
-            }
-            if (acc == NONE) {
-                return r.drainRight();
-            }
-            if (mergeable.test(last, raleft)) {
-                r.acc = combiner.apply(acc, r.acc);
-                return r.drainRight();
-            }
-            if (r.right == NONE)
-                right = new Connector<>(this, r.drain(), null);
-            return acc;
+        Connector<T, R> r = right;
+        if (r == null) {
+            push(acc);
+        } else if (!r.compareAndSet(null, new Half<>(none(), acc, last, false, null))) {
+            resolve(acc, last, r.get());
         }
     }
 
-    // l + <first|acc|last> + r
-    private R connectOne(T first, R acc, T last) {
-        synchronized (root) {
-            Connector<T, R> l = left;
-            if (l == null) {
-                return pushRight(acc, last);
-            }
-            if (l.acc == NONE) {
-                l.acc = acc;
-                l.left = first;
-                l.right = last;
-                return connectEmpty();
-            }
-            T laright = l.right;
-            if (mergeable.test(laright, first)) {
-                l.acc = combiner.apply(l.acc, acc);
-                l.right = last;
-                return connectEmpty();
-            }
-            left = null;
-            l.rhs = null;
-            l.right = none();
-            if (l.left != NONE) {
-                return pushRight(acc, last);
-            }
-            acc = pushRight(acc, last);
-            if (acc != NONE)
-                left = new Connector<>(null, acc, this);
-            return l.drain();
+    private void arriveRight(Half<T, R> half) {
+        Connector<T, R> l = left;
+        if (l == null) {
+            resolve(none(), none(), half);
+        } else if (!l.compareAndSet(null, half)) {
+            Half<T, R> carry = l.get();
+            resolve(carry.acc, carry.last, half);
         }
     }
 
-    // l + r
-    private R connectEmpty() {
-        synchronized (root) {
-            Connector<T, R> l = left, r = right;
-            if (l == null) {
-                return pushRight(none(), none());
-            }
-            left = right = null;
-            l.rhs = null;
-            T laright = l.right;
-            l.right = none();
-            if (l.acc == NONE) {
-                if (r == null)
-                    l.drain();
-                else {
-                    if (l.lhs != null) {
-                        l.lhs.right = r;
-                        r.lhs = l.lhs;
-                    }
-                }
-                return none();
-            }
-            if (r == null) {
-                return l.drainLeft();
-            }
-            r.lhs = null;
-            if (r.acc == NONE) {
-                if (r.rhs != null) {
-                    r.rhs.left = l;
-                    l.rhs = r.rhs;
-                    l.right = laright;
+    /**
+     * Combines the run ending at the boundary with the right half of the
+     * boundary. The runs which are complete are pushed to this spliterator
+     * output and the incomplete run is passed to the next boundary.
+     *
+     * @param carry the run ending at the boundary, NONE if there's no such run
+     * @param carryLast the last element of the carried run
+     * @param half the right half of the boundary
+     */
+    private void resolve(R carry, T carryLast, Half<T, R> half) {
+        while (true) {
+            if (half.acc != NONE) {
+                if (carry == NONE) {
+                    carry = half.acc;
+                } else if (mergeable.test(carryLast, half.first)) {
+                    carry = combiner.apply(carry, half.acc);
+                } else {
+                    push(carry);
+                    carry = half.acc;
                 }
-                return none();
+                carryLast = half.last;
             }
-            T raleft = r.left;
-            r.left = none();
-            if (mergeable.test(laright, raleft)) {
-                R acc = combiner.apply(l.acc, r.acc);
-                if (l.left == NONE && r.right == NONE) {
-                    l.drain();
-                    r.drain();
-                    return acc;
-                }
-                l.acc = acc;
-                l.right = r.right;
-                if (r.rhs != null) {
-                    r.rhs.left = l;
-                    l.rhs = r.rhs;
-                }
-                return none();
+            if (half.closed) {
+                push(carry);
+                return;
             }
-            if (l.left == NONE) {
-                if (r.right == NONE)
-                    right = new Connector<>(this, r.drain(), null);
-                return l.drain();
+            Connector<T, R> next = half.next;
+            if (next == null) {
+                if (carry != NONE)
+                    push(carry);
+                return;
             }
-            return r.drainRight();
+            if (next.compareAndSet(null, new Half<>(none(), carry, carryLast, false, null)))
+                return;
+            half = next.get();
         }
     }
 
     @Override
     public Spliterator<R> trySplit() {
+        if (started)
+            return null;
         Spliterator<T> prefix = source.trySplit();
         if (prefix == null)
             return null;
-        Connector<T, R> newBox = new Connector<>(null, none(), this);
-        synchronized (root) {
-            CollapseSpliterator<T, R> result = new CollapseSpliterator<>(root, prefix, left, newBox);
-            this.left = newBox;
-            return result;
-        }
+        Connector<T, R> connector = new Connector<>();
+        CollapseSpliterator<T, R> result = new CollapseSpliterator<>(this, prefix, left, connector);
+        this.left = connector;
+        return result;
     }
 
     @Override
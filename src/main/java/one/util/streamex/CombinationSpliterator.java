@@ -17,9 +17,13 @@
 package one.util.streamex;
 
 import java.util.Spliterator;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
-/* package */ final class CombinationSpliterator implements Spliterator<int[]> {
+import static one.util.streamex.Internals.CancellableSpliterator;
+import static one.util.streamex.Internals.SkippableSpliterator;
+
+/* package */ final class CombinationSpliterator implements SkippableSpliterator<int[]>, CancellableSpliterator<int[]> {
     private long pos;
     private int[] value;
     private final long fence;
@@ -44,6 +48,19 @@ import java.util.function.Consumer;
         }
     }
 
+    @Override
+    public boolean forEachUntil(Consumer<? super int[]> action, BooleanSupplier stop) {
+        while (pos > fence) {
+            action.accept(value.clone());
+            if (--pos > fence) {
+                step(value, n);
+            }
+            if (stop.getAsBoolean())
+                return true;
+        }
+        return false;
+    }
+
     @Override
     public Spliterator<int[]> trySplit() {
         if (pos - fence < 2) return null;
@@ -55,6 +72,16 @@ import java.util.function.Consumer;
         return result;
     }
 
+    @Override
+    public void skip(long count) {
+        if (count >= pos - fence) {
+            pos = fence;
+        } else {
+            pos -= count;
+            value = jump(pos - 1, value.length, n);
+        }
+    }
+
     @Override
     public long estimateSize() {
         return pos - fence;
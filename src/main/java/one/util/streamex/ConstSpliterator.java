@@ -16,11 +16,13 @@
 package one.util.streamex;
 
 import java.util.Spliterator;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.LongConsumer;
 
+import one.util.streamex.Internals.CancellableSpliterator;
 import one.util.streamex.Internals.CloneableSpliterator;
 
 /**
@@ -59,7 +61,7 @@ import one.util.streamex.Internals.CloneableSpliterator;
         return SIZED | SUBSIZED | IMMUTABLE | (ordered ? ORDERED : 0);
     }
 
-    static final class OfRef<T> extends ConstSpliterator<T, OfRef<T>> {
+    static final class OfRef<T> extends ConstSpliterator<T, OfRef<T>> implements CancellableSpliterator<T> {
         private final T value;
 
         OfRef(T value, long count, boolean ordered) {
@@ -83,6 +85,17 @@ import one.util.streamex.Internals.CloneableSpliterator;
             }
             remaining = 0;
         }
+
+        @Override
+        public boolean forEachUntil(Consumer<? super T> action, BooleanSupplier stop) {
+            while (remaining > 0) {
+                remaining--;
+                action.accept(value);
+                if (stop.getAsBoolean())
+                    return true;
+            }
+            return false;
+        }
     }
 
     static final class OfInt extends ConstSpliterator<Integer, OfInt> implements Spliterator.OfInt {
@@ -22,10 +22,16 @@ import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 
 import static one.util.streamex.Internals.Box;
 
 /* package */final class DistinctSpliterator<T> extends Box<T> implements Spliterator<T> {
+    // number of independently locked parts of the primitive counting tables
+    // shared between the splits
+    private static final int STRIPE_BITS = 6;
+
     private final Spliterator<T> source;
     private AtomicLong nullCounter;
     private Map<T, Long> counts;
@@ -110,4 +116,340 @@ import static one.util.streamex.Internals.Box;
     public Comparator<? super T> getComparator() {
         return source.getComparator();
     }
+
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int hash(long key) {
+        return hash((int) (key ^ (key >>> 32)));
+    }
+
+    /**
+     * Open-addressing table counting occurrences of int keys up to the given
+     * limit. Zero count marks the free slot.
+     */
+    static final class IntCounts {
+        private int[] keys;
+        private int[] counts;
+        private int size;
+
+        IntCounts(int capacity) {
+            keys = new int[capacity];
+            counts = new int[capacity];
+        }
+
+        /**
+         * @param key key to count
+         * @param limit the maximal count to track
+         * @return true if the count of given key just reached the limit
+         */
+        boolean increment(int key, int limit) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+                int count = counts[i];
+                if (count == 0) {
+                    keys[i] = key;
+                    counts[i] = 1;
+                    if (++size > keys.length >> 1)
+                        resize();
+                    return limit == 1;
+                }
+                if (keys[i] == key) {
+                    if (count >= limit)
+                        return false;
+                    counts[i] = ++count;
+                    return count == limit;
+                }
+            }
+        }
+
+        private void put(int key, int count) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (counts[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            counts[i] = count;
+            size++;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys, oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0)
+                    put(oldKeys[i], oldCounts[i]);
+            }
+        }
+
+        IntCounts[] stripes() {
+            IntCounts[] stripes = new IntCounts[1 << STRIPE_BITS];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new IntCounts(Internals.INITIAL_SIZE);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] != 0) {
+                    IntCounts stripe = stripes[hash(keys[i]) >>> (Integer.SIZE - STRIPE_BITS)];
+                    if (stripe.size + 1 > stripe.keys.length >> 1)
+                        stripe.resize();
+                    stripe.put(keys[i], counts[i]);
+                }
+            }
+            return stripes;
+        }
+    }
+
+    /**
+     * Open-addressing table counting occurrences of long keys up to the given
+     * limit. Zero count marks the free slot.
+     */
+    static final class LongCounts {
+        private long[] keys;
+        private int[] counts;
+        private int size;
+
+        LongCounts(int capacity) {
+            keys = new long[capacity];
+            counts = new int[capacity];
+        }
+
+        /**
+         * @param key key to count
+         * @param limit the maximal count to track
+         * @return true if the count of given key just reached the limit
+         */
+        boolean increment(long key, int limit) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+                int count = counts[i];
+                if (count == 0) {
+                    keys[i] = key;
+                    counts[i] = 1;
+                    if (++size > keys.length >> 1)
+                        resize();
+                    return limit == 1;
+                }
+                if (keys[i] == key) {
+                    if (count >= limit)
+                        return false;
+                    counts[i] = ++count;
+                    return count == limit;
+                }
+            }
+        }
+
+        private void put(long key, int count) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (counts[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            counts[i] = count;
+            size++;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0)
+                    put(oldKeys[i], oldCounts[i]);
+            }
+        }
+
+        LongCounts[] stripes() {
+            LongCounts[] stripes = new LongCounts[1 << STRIPE_BITS];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new LongCounts(Internals.INITIAL_SIZE);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] != 0) {
+                    LongCounts stripe = stripes[hash(keys[i]) >>> (Integer.SIZE - STRIPE_BITS)];
+                    if (stripe.size + 1 > stripe.keys.length >> 1)
+                        stripe.resize();
+                    stripe.put(keys[i], counts[i]);
+                }
+            }
+            return stripes;
+        }
+    }
+
+    /**
+     * Until the first split the counts are stored in the single unsynchronized
+     * table. After that all the splits share the striped table: each stripe is
+     * locked separately, so concurrent splits rarely contend.
+     */
+    static final class OfInt implements Spliterator.OfInt, IntConsumer {
+        private final Spliterator.OfInt source;
+        private final int atLeast;
+        private IntCounts counts;
+        private IntCounts[] stripes;
+        private int cur;
+
+        OfInt(Spliterator.OfInt source, int atLeast) {
+            this.source = source;
+            this.atLeast = atLeast;
+            this.counts = new IntCounts(Internals.INITIAL_SIZE);
+        }
+
+        private OfInt(Spliterator.OfInt source, int atLeast, IntCounts[] stripes) {
+            this.source = source;
+            this.atLeast = atLeast;
+            this.stripes = stripes;
+        }
+
+        private boolean add(int key) {
+            if (stripes == null)
+                return counts.increment(key, atLeast);
+            IntCounts stripe = stripes[hash(key) >>> (Integer.SIZE - STRIPE_BITS)];
+            synchronized (stripe) {
+                return stripe.increment(key, atLeast);
+            }
+        }
+
+        @Override
+        public void accept(int t) {
+            cur = t;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (source.tryAdvance(this)) {
+                if (add(cur)) {
+                    action.accept(cur);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            source.forEachRemaining((int e) -> {
+                if (add(e))
+                    action.accept(e);
+            });
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            Spliterator.OfInt split = source.trySplit();
+            if (split == null)
+                return null;
+            if (stripes == null) {
+                stripes = counts.stripes();
+                counts = null;
+            }
+            return new DistinctSpliterator.OfInt(split, atLeast, stripes);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | (source.characteristics() & (NONNULL | CONCURRENT | IMMUTABLE | ORDERED | SORTED));
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return source.getComparator();
+        }
+    }
+
+    /**
+     * Until the first split the counts are stored in the single unsynchronized
+     * table. After that all the splits share the striped table: each stripe is
+     * locked separately, so concurrent splits rarely contend.
+     */
+    static final class OfLong implements Spliterator.OfLong, LongConsumer {
+        private final Spliterator.OfLong source;
+        private final int atLeast;
+        private LongCounts counts;
+        private LongCounts[] stripes;
+        private long cur;
+
+        OfLong(Spliterator.OfLong source, int atLeast) {
+            this.source = source;
+            this.atLeast = atLeast;
+            this.counts = new LongCounts(Internals.INITIAL_SIZE);
+        }
+
+        private OfLong(Spliterator.OfLong source, int atLeast, LongCounts[] stripes) {
+            this.source = source;
+            this.atLeast = atLeast;
+            this.stripes = stripes;
+        }
+
+        private boolean add(long key) {
+            if (stripes == null)
+                return counts.increment(key, atLeast);
+            LongCounts stripe = stripes[hash(key) >>> (Integer.SIZE - STRIPE_BITS)];
+            synchronized (stripe) {
+                return stripe.increment(key, atLeast);
+            }
+        }
+
+        @Override
+        public void accept(long t) {
+            cur = t;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            while (source.tryAdvance(this)) {
+                if (add(cur)) {
+                    action.accept(cur);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            source.forEachRemaining((long e) -> {
+                if (add(e))
+                    action.accept(e);
+            });
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            Spliterator.OfLong split = source.trySplit();
+            if (split == null)
+                return null;
+            if (stripes == null) {
+                stripes = counts.stripes();
+                counts = null;
+            }
+            return new DistinctSpliterator.OfLong(split, atLeast, stripes);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | (source.characteristics() & (NONNULL | CONCURRENT | IMMUTABLE | ORDERED | SORTED));
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return source.getComparator();
+        }
+    }
 }
@@ -36,6 +36,7 @@ import static one.util.streamex.Internals.DoubleBuffer;
 import static one.util.streamex.Internals.DoubleCollectorImpl;
 import static one.util.streamex.Internals.FloatBuffer;
 import static one.util.streamex.Internals.ID_CHARACTERISTICS;
+import static one.util.streamex.Internals.LongBuffer;
 import static one.util.streamex.Internals.NO_CHARACTERISTICS;
 import static one.util.streamex.Internals.PartialCollector;
 import static one.util.streamex.Internals.PrimitiveBox;
@@ -516,4 +517,64 @@ public interface DoubleCollector<A, R> extends MergingCollector<Double, A, R> {
             box.b = StrictMath.addExact(box.b, 1);
         });
     }
+
+    /**
+     * Returns an {@code DoubleCollector} which computes the exact quantiles of the
+     * input elements for the given probabilities.
+     *
+     * <p>
+     * The quantile for probability {@code p} is computed by the linear
+     * interpolation between the elements which ranks are closest to
+     * {@code (n - 1) * p} where {@code n} is the number of input elements.
+     * Probability 0 corresponds to the minimal element, probability 1
+     * corresponds to the maximal one. The input elements are buffered, then
+     * the quantiles are found by selection which is faster than sorting.
+     *
+     * @param probabilities the probabilities of the quantiles to compute, each
+     *        between 0 and 1 inclusive.
+     * @return an {@code DoubleCollector} which produces an array of quantiles, in the
+     *         same order as the supplied probabilities. If no elements are
+     *         present, the array is filled with {@code NaN}.
+     * @throws IllegalArgumentException if any of the probabilities is out of
+     *         range.
+     * @see #approxQuantiles(int, double...)
+     * @since 0.7.4
+     */
+    static DoubleCollector<?, double[]> quantiles(double... probabilities) {
+        double[] ps = Quantiles.checkProbabilities(probabilities);
+        return of(LongBuffer::new, (buf, d) -> buf.add(Quantiles.doubleToKey(d)), LongBuffer::addAll, buf -> Quantiles.exact(buf, ps, Quantiles::keyToDouble));
+    }
+
+    /**
+     * Returns an {@code DoubleCollector} which estimates the quantiles of the input
+     * elements for the given probabilities using the bounded amount of
+     * memory.
+     *
+     * <p>
+     * The returned collector maintains a mergeable sketch of O(k) elements
+     * (in the spirit of the KLL sketch), so it's suitable for the streams of
+     * any length and for the parallel collection. The result for each
+     * probability is one of the input elements which rank differs from the
+     * requested one by the value proportional to {@code n / k}, where
+     * {@code n} is the number of input elements. For example, for
+     * {@code k = 200} the rank error usually does not exceed 1% of {@code n}.
+     * Probabilities 0 and 1 always produce the exact minimum and maximum.
+     *
+     * @param k the sketch size parameter controlling the accuracy, at least 8.
+     * @param probabilities the probabilities of the quantiles to compute, each
+     *        between 0 and 1 inclusive.
+     * @return an {@code DoubleCollector} which produces an array of estimated
+     *         quantiles, in the same order as the supplied probabilities. If no
+     *         elements are present, the array is filled with {@code NaN}.
+     * @throws IllegalArgumentException if k is less than 8 or any of the
+     *         probabilities is out of range.
+     * @see #quantiles(double...)
+     * @since 0.7.4
+     */
+    static DoubleCollector<?, double[]> approxQuantiles(int k, double... probabilities) {
+        Quantiles.checkSketchSize(k);
+        double[] ps = Quantiles.checkProbabilities(probabilities);
+        return of(() -> new Quantiles.Sketch(k), (s, d) -> s.add(Quantiles.doubleToKey(d)), Quantiles.Sketch::merge, sketch -> sketch.quantiles(ps,
+            Quantiles::keyToDouble));
+    }
 }
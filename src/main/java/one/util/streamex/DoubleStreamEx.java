@@ -69,11 +69,19 @@ import static one.util.streamex.Internals.rangeCheck;
 public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterator.OfDouble, DoubleStreamEx> implements
         DoubleStream {
     DoubleStreamEx(DoubleStream stream, StreamContext context) {
-        super(stream, context);
+        this(stream, context, null);
+    }
+
+    DoubleStreamEx(DoubleStream stream, StreamContext context, String operation) {
+        super(stream, context, operation);
     }
 
     DoubleStreamEx(Spliterator.OfDouble spliterator, StreamContext context) {
-        super(spliterator, context);
+        this(spliterator, context, null);
+    }
+
+    DoubleStreamEx(Spliterator.OfDouble spliterator, StreamContext context, String operation) {
+        super(spliterator, context, operation);
     }
 
     @Override
@@ -85,8 +93,8 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return new DoubleStreamEx(stream, StreamContext.SEQUENTIAL);
     }
 
-    final DoubleStreamEx delegate(Spliterator.OfDouble spliterator) {
-        return new DoubleStreamEx(spliterator, context);
+    final DoubleStreamEx delegate(Spliterator.OfDouble spliterator, String operation) {
+        return new DoubleStreamEx(spliterator, context, operation);
     }
 
     @Override
@@ -101,7 +109,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public DoubleStreamEx filter(DoublePredicate predicate) {
-        return new DoubleStreamEx(stream().filter(predicate), context);
+        return new DoubleStreamEx(stream().filter(predicate), context, "filter");
     }
 
     /**
@@ -181,7 +189,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public DoubleStreamEx map(DoubleUnaryOperator mapper) {
-        return new DoubleStreamEx(stream().map(mapper), context);
+        return new DoubleStreamEx(stream().map(mapper), context, "map");
     }
 
     /**
@@ -201,7 +209,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      */
     public DoubleStreamEx mapFirst(DoubleUnaryOperator mapper) {
         return delegate(new PairSpliterator.PSOfDouble((a, b) -> b, mapper, spliterator(),
-                PairSpliterator.MODE_MAP_FIRST));
+                PairSpliterator.MODE_MAP_FIRST), "mapFirst");
     }
 
     /**
@@ -225,22 +233,22 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      */
     public DoubleStreamEx mapLast(DoubleUnaryOperator mapper) {
         return delegate(new PairSpliterator.PSOfDouble((a, b) -> a, mapper, spliterator(),
-                PairSpliterator.MODE_MAP_LAST));
+                PairSpliterator.MODE_MAP_LAST), "mapLast");
     }
 
     @Override
     public <U> StreamEx<U> mapToObj(DoubleFunction<? extends U> mapper) {
-        return new StreamEx<>(stream().mapToObj(mapper), context);
+        return new StreamEx<>(stream().mapToObj(mapper), context, "mapToObj");
     }
 
     @Override
     public IntStreamEx mapToInt(DoubleToIntFunction mapper) {
-        return new IntStreamEx(stream().mapToInt(mapper), context);
+        return new IntStreamEx(stream().mapToInt(mapper), context, "mapToInt");
     }
 
     @Override
     public LongStreamEx mapToLong(DoubleToLongFunction mapper) {
-        return new LongStreamEx(stream().mapToLong(mapper), context);
+        return new LongStreamEx(stream().mapToLong(mapper), context, "mapToLong");
     }
 
     /**
@@ -263,12 +271,12 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
     public <K, V> EntryStream<K, V> mapToEntry(DoubleFunction<? extends K> keyMapper,
             DoubleFunction<? extends V> valueMapper) {
         return new EntryStream<>(stream().mapToObj(t -> new AbstractMap.SimpleImmutableEntry<>(keyMapper.apply(t),
-                valueMapper.apply(t))), context);
+                valueMapper.apply(t))), context, "mapToEntry");
     }
 
     @Override
     public DoubleStreamEx flatMap(DoubleFunction<? extends DoubleStream> mapper) {
-        return new DoubleStreamEx(stream().flatMap(mapper), context);
+        return new DoubleStreamEx(stream().flatMap(mapper), context, "flatMap");
     }
 
     /**
@@ -287,7 +295,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @since 0.3.0
      */
     public IntStreamEx flatMapToInt(DoubleFunction<? extends IntStream> mapper) {
-        return new IntStreamEx(stream().mapToObj(mapper).flatMapToInt(Function.identity()), context);
+        return new IntStreamEx(stream().mapToObj(mapper).flatMapToInt(Function.identity()), context, "flatMapToInt");
     }
 
     /**
@@ -306,7 +314,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @since 0.3.0
      */
     public LongStreamEx flatMapToLong(DoubleFunction<? extends LongStream> mapper) {
-        return new LongStreamEx(stream().mapToObj(mapper).flatMapToLong(Function.identity()), context);
+        return new LongStreamEx(stream().mapToObj(mapper).flatMapToLong(Function.identity()), context, "flatMapToLong");
     }
 
     /**
@@ -326,7 +334,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @since 0.3.0
      */
     public <R> StreamEx<R> flatMapToObj(DoubleFunction<? extends Stream<R>> mapper) {
-        return new StreamEx<>(stream().mapToObj(mapper).flatMap(Function.identity()), context);
+        return new StreamEx<>(stream().mapToObj(mapper).flatMap(Function.identity()), context, "flatMapToObj");
     }
 
     /**
@@ -345,17 +353,18 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @since 0.6.6
      */
     public DoubleStreamEx intersperse(int delimiter) {
-        return new DoubleStreamEx(stream().flatMap(s -> DoubleStreamEx.of(delimiter, s)).skip(1), context);
+        return new DoubleStreamEx(stream().flatMap(s -> DoubleStreamEx.of(delimiter, s)).skip(1), context,
+                "intersperse");
     }
 
     @Override
     public DoubleStreamEx distinct() {
-        return new DoubleStreamEx(stream().distinct(), context);
+        return new DoubleStreamEx(stream().distinct(), context, "distinct");
     }
 
     @Override
     public DoubleStreamEx sorted() {
-        return new DoubleStreamEx(stream().sorted(), context);
+        return new DoubleStreamEx(stream().sorted(), context, "sorted");
     }
 
     /**
@@ -378,7 +387,8 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @return the new stream
      */
     public DoubleStreamEx sorted(Comparator<Double> comparator) {
-        return new DoubleStreamEx(stream().boxed().sorted(comparator).mapToDouble(Double::doubleValue), context);
+        return new DoubleStreamEx(stream().boxed().sorted(comparator).mapToDouble(Double::doubleValue), context,
+                "sorted");
     }
 
     /**
@@ -399,7 +409,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         }).sorted().mapToDouble(l -> {
             l -= 0xfffffffffffffL;
             return Double.longBitsToDouble(l ^ ((-(l >>> 63)) | Long.MIN_VALUE));
-        }), context);
+        }), context, "reverseSorted");
     }
 
     /**
@@ -435,8 +445,12 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -445,7 +459,9 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @return the new stream
      */
     public DoubleStreamEx sortedByInt(DoubleToIntFunction keyExtractor) {
-        return sorted(Comparator.comparingInt(keyExtractor::applyAsInt));
+        Objects.requireNonNull(keyExtractor);
+        return new DoubleStreamEx(RadixSort.sorted(stream(), x -> RadixSort.intKey(keyExtractor.applyAsInt(x))),
+                context, "sortedByInt");
     }
 
     /**
@@ -457,8 +473,12 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -467,7 +487,9 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @return the new stream
      */
     public DoubleStreamEx sortedByLong(DoubleToLongFunction keyExtractor) {
-        return sorted(Comparator.comparingLong(keyExtractor::applyAsLong));
+        Objects.requireNonNull(keyExtractor);
+        return new DoubleStreamEx(RadixSort.sorted(stream(), x -> RadixSort.longKey(keyExtractor.applyAsLong(x))),
+                context, "sortedByLong");
     }
 
     /**
@@ -479,8 +501,12 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -489,12 +515,14 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @return the new stream
      */
     public DoubleStreamEx sortedByDouble(DoubleUnaryOperator keyExtractor) {
-        return sorted(Comparator.comparingDouble(keyExtractor::applyAsDouble));
+        Objects.requireNonNull(keyExtractor);
+        return new DoubleStreamEx(RadixSort.sorted(stream(), x -> RadixSort.doubleKey(keyExtractor.applyAsDouble(x))),
+                context, "sortedByDouble");
     }
 
     @Override
     public DoubleStreamEx peek(DoubleConsumer action) {
-        return new DoubleStreamEx(stream().peek(action), context);
+        return new DoubleStreamEx(stream().peek(action), context, "peek");
     }
 
     /**
@@ -573,12 +601,12 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public DoubleStreamEx limit(long maxSize) {
-        return new DoubleStreamEx(stream().limit(maxSize), context);
+        return new DoubleStreamEx(stream().limit(maxSize), context, "limit");
     }
 
     @Override
     public DoubleStreamEx skip(long n) {
-        return new DoubleStreamEx(stream().skip(n), context);
+        return new DoubleStreamEx(stream().skip(n), context, "skip");
     }
 
     @Override
@@ -781,13 +809,14 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      *         corresponding stream element. The resulting array has the same
      *         length as this stream.
      * @see #foldLeft(DoubleBinaryOperator)
+     * @see #toPrefixArray(DoubleBinaryOperator)
      * @since 0.5.1
      */
     public double[] scanLeft(DoubleBinaryOperator accumulator) {
         Spliterator.OfDouble spliterator = spliterator();
         int size = intSize(spliterator);
         DoubleBuffer buf = new DoubleBuffer(size == -1 ? INITIAL_SIZE : size);
-        delegate(spliterator).forEachOrdered(i -> buf.add(buf.size == 0 ? i
+        delegate(spliterator, "scanLeft").forEachOrdered(i -> buf.add(buf.size == 0 ? i
                 : accumulator.applyAsDouble(buf.data[buf.size - 1], i)));
         return buf.toArray();
     }
@@ -823,6 +852,53 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return prepend(seed).scanLeft(accumulator);
     }
 
+    /**
+     * Produces an array containing cumulative results of applying the
+     * associative accumulation function going left to right.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * The result is the same as the result of {@link #scanLeft(DoubleBinaryOperator)} or
+     * {@code prefix(op).toArray()}, but the parallel stream is processed in two
+     * parallel passes: the elements are stored into the array first, then the
+     * cumulative results are computed in-place by
+     * {@link Arrays#parallelPrefix(double[], DoubleBinaryOperator)}. Thus unlike
+     * {@code scanLeft} the parallel processing is not restricted to go
+     * strictly left to right and no intermediate values are boxed.
+     *
+     * @param op an <a href="package-summary.html#Associativity">associative</a>
+     *        , <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        function for computing the next element based on the previous one
+     * @return the array where the first element is the first element of this
+     *         stream and every successor element is the result of applying
+     *         op function to the previous array element and the corresponding
+     *         stream element. The resulting array has the same length as this
+     *         stream.
+     * @see #scanLeft(DoubleBinaryOperator)
+     * @see #prefix(DoubleBinaryOperator)
+     * @since 0.7.4
+     */
+    public double[] toPrefixArray(DoubleBinaryOperator op) {
+        Objects.requireNonNull(op);
+        double[] array = toArray();
+        if (!isParallel()) {
+            for (int i = 1; i < array.length; i++) {
+                array[i] = op.applyAsDouble(array[i - 1], array[i]);
+            }
+        } else if (context.fjp != null) {
+            context.terminate(array, a -> {
+                Arrays.parallelPrefix(a, op);
+                return a;
+            });
+        } else {
+            Arrays.parallelPrefix(array, op);
+        }
+        return array;
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -1253,7 +1329,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public StreamEx<Double> boxed() {
-        return new StreamEx<>(stream().boxed(), context);
+        return new StreamEx<>(stream().boxed(), context, "boxed");
     }
 
     @Override
@@ -1271,6 +1347,11 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return (DoubleStreamEx) super.parallel(fjp);
     }
 
+    @Override
+    public DoubleStreamEx instrumented(StreamMetrics metrics) {
+        return (DoubleStreamEx) super.instrumented(metrics);
+    }
+
     @Override
     public OfDouble iterator() {
         return Spliterators.iterator(spliterator());
@@ -1290,7 +1371,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
     public DoubleStreamEx append(double... values) {
         if (values.length == 0)
             return this;
-        return new DoubleStreamEx(DoubleStream.concat(stream(), DoubleStream.of(values)), context);
+        return new DoubleStreamEx(DoubleStream.concat(stream(), DoubleStream.of(values)), context, "append");
     }
 
     /**
@@ -1305,7 +1386,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @see DoubleStream#concat(DoubleStream, DoubleStream)
      */
     public DoubleStreamEx append(DoubleStream other) {
-        return new DoubleStreamEx(DoubleStream.concat(stream(), other), context.combine(other));
+        return new DoubleStreamEx(DoubleStream.concat(stream(), other), context.combine(other), "append");
     }
 
     /**
@@ -1322,7 +1403,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
     public DoubleStreamEx prepend(double... values) {
         if (values.length == 0)
             return this;
-        return new DoubleStreamEx(DoubleStream.concat(DoubleStream.of(values), stream()), context);
+        return new DoubleStreamEx(DoubleStream.concat(DoubleStream.of(values), stream()), context, "prepend");
     }
 
     /**
@@ -1337,7 +1418,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @see DoubleStream#concat(DoubleStream, DoubleStream)
      */
     public DoubleStreamEx prepend(DoubleStream other) {
-        return new DoubleStreamEx(DoubleStream.concat(other, stream()), context.combine(other));
+        return new DoubleStreamEx(DoubleStream.concat(other, stream()), context.combine(other), "prepend");
     }
 
     /**
@@ -1358,7 +1439,48 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @since 0.2.1
      */
     public DoubleStreamEx pairMap(DoubleBinaryOperator mapper) {
-        return delegate(new PairSpliterator.PSOfDouble(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
+        return delegate(new PairSpliterator.PSOfDouble(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS),
+                "pairMap");
+    }
+    /**
+     * Returns a stream consisting of the results of reducing every sliding
+     * window of {@code size} adjacent elements of this stream with the
+     * supplied collector. For example, {@code windowed(3, DoubleCollector.averaging())}
+     * produces the moving averages.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     * 
+     * <p>
+     * If this stream has less than {@code size} elements, the output stream
+     * will be empty. The windows are not materialized: the elements are
+     * accumulated into single-element containers which are merged in a way
+     * that every stream element costs a constant number of merges regardless
+     * of the window size. Thus the collector merger must not modify its
+     * second argument.
+     *
+     * @param <A> the intermediate accumulation type of the collector
+     * @param <R> type of the window reduction result
+     * @param size the number of elements in each window (must be positive
+     *        number).
+     * @param collector the {@code DoubleCollector} describing the window
+     *        reduction
+     * @return the new stream
+     * @throws IllegalArgumentException if size is negative or zero.
+     * @since 0.7.4
+     */
+    public <A, R> StreamEx<R> windowed(int size, DoubleCollector<A, R> collector) {
+        WindowSpliterator.checkSize("size", size);
+        Supplier<A> supplier = collector.supplier();
+        ObjDoubleConsumer<A> accumulator = collector.doubleAccumulator();
+        Spliterator<A> containers = stream().mapToObj(t -> {
+            A acc = supplier.get();
+            accumulator.accept(acc, t);
+            return acc;
+        }).spliterator();
+        return new StreamEx<>(new WindowSpliterator.OfCollector<>(containers, size, supplier, collector.merger(),
+                collector.finisher()), context, "windowed");
     }
 
     /**
@@ -1447,7 +1569,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      */
     public DoubleStreamEx takeWhileInclusive(DoublePredicate predicate) {
         Objects.requireNonNull(predicate);
-        return delegate(new TakeDrop.TDOfDouble(spliterator(), false, true, predicate));
+        return delegate(new TakeDrop.TDOfDouble(spliterator(), false, true, predicate), "takeWhileInclusive");
     }
 
     /**
@@ -1504,7 +1626,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @since 0.6.1
      */
     public DoubleStreamEx prefix(DoubleBinaryOperator op) {
-        return delegate(new PrefixOps.OfDouble(spliterator(), op));
+        return delegate(new PrefixOps.OfDouble(spliterator(), op), "prefix");
     }
 
     // Necessary to generate proper JavaDoc
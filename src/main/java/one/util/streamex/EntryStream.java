@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -69,21 +70,29 @@ import static one.util.streamex.Internals.checkLength;
  */
 public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream<K, V>> {
     EntryStream(Stream<? extends Entry<K, V>> stream, StreamContext context) {
-        super(stream, context);
+        this(stream, context, null);
+    }
+
+    EntryStream(Stream<? extends Entry<K, V>> stream, StreamContext context, String operation) {
+        super(stream, context, operation);
     }
 
     EntryStream(Spliterator<? extends Entry<K, V>> spliterator, StreamContext context) {
-        super(spliterator, context);
+        this(spliterator, context, null);
+    }
+
+    EntryStream(Spliterator<? extends Entry<K, V>> spliterator, StreamContext context, String operation) {
+        super(spliterator, context, operation);
     }
 
     @Override
-    EntryStream<K, V> supply(Stream<Map.Entry<K, V>> stream) {
-        return new EntryStream<>(stream, context);
+    EntryStream<K, V> supply(Stream<Map.Entry<K, V>> stream, String operation) {
+        return new EntryStream<>(stream, context, operation);
     }
 
     @Override
-    EntryStream<K, V> supply(Spliterator<Entry<K, V>> spliterator) {
-        return new EntryStream<>(spliterator, context);
+    EntryStream<K, V> supply(Spliterator<Entry<K, V>> spliterator, String operation) {
+        return new EntryStream<>(spliterator, context, operation);
     }
 
     static <K, V> Consumer<? super Entry<K, V>> toConsumer(BiConsumer<? super K, ? super V> action) {
@@ -169,7 +178,8 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * @return the new stream
      */
     public <KK> EntryStream<KK, V> flatMapKeys(Function<? super K, ? extends Stream<? extends KK>> mapper) {
-        return new EntryStream<>(stream().flatMap(e -> withValue(mapper.apply(e.getKey()), e.getValue())), context);
+        return new EntryStream<>(stream().flatMap(e -> withValue(mapper.apply(e.getKey()), e.getValue())), context,
+                "flatMapKeys");
     }
 
     /**
@@ -195,7 +205,8 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      */
     public <KK> EntryStream<KK, V> flatMapToKey(BiFunction<? super K, ? super V, ? extends Stream<? extends KK>> mapper) {
         return new EntryStream<>(
-                stream().flatMap(e -> withValue(mapper.apply(e.getKey(), e.getValue()), e.getValue())), context);
+                stream().flatMap(e -> withValue(mapper.apply(e.getKey(), e.getValue()), e.getValue())), context,
+                "flatMapToKey");
     }
 
     /**
@@ -220,7 +231,8 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * @return the new stream
      */
     public <VV> EntryStream<K, VV> flatMapValues(Function<? super V, ? extends Stream<? extends VV>> mapper) {
-        return new EntryStream<>(stream().flatMap(e -> withKey(e.getKey(), mapper.apply(e.getValue()))), context);
+        return new EntryStream<>(stream().flatMap(e -> withKey(e.getKey(), mapper.apply(e.getValue()))), context,
+                "flatMapValues");
     }
 
     /**
@@ -247,7 +259,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
     public <VV> EntryStream<K, VV> flatMapToValue(
             BiFunction<? super K, ? super V, ? extends Stream<? extends VV>> mapper) {
         return new EntryStream<>(stream().flatMap(e -> withKey(e.getKey(), mapper.apply(e.getKey(), e.getValue()))),
-                context);
+                context, "flatMapToValue");
     }
 
     /**
@@ -287,7 +299,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * @since 0.2.1
      */
     public EntryStream<K, V> append(Map<K, V> map) {
-        return appendSpliterator(null, map.entrySet().spliterator());
+        return appendSpliterator(null, map.entrySet().spliterator(), "append");
     }
 
     /**
@@ -303,7 +315,8 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * @return the new stream
      */
     public EntryStream<K, V> append(K key, V value) {
-        return appendSpliterator(null, new ConstSpliterator.OfRef<>(new SimpleImmutableEntry<>(key, value), 1, true));
+        return appendSpliterator(null, new ConstSpliterator.OfRef<>(new SimpleImmutableEntry<>(key, value), 1, true),
+                "append");
     }
 
     /**
@@ -325,7 +338,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         @SuppressWarnings("unchecked")
         SimpleImmutableEntry<K, V>[] array = new SimpleImmutableEntry[] { new SimpleImmutableEntry<>(k1, v1),
                 new SimpleImmutableEntry<>(k2, v2) };
-        return appendSpliterator(null, Spliterators.spliterator(array, Spliterator.ORDERED));
+        return appendSpliterator(null, Spliterators.spliterator(array, Spliterator.ORDERED), "append");
     }
 
     /**
@@ -349,7 +362,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         @SuppressWarnings("unchecked")
         SimpleImmutableEntry<K, V>[] array = new SimpleImmutableEntry[] { new SimpleImmutableEntry<>(k1, v1),
                 new SimpleImmutableEntry<>(k2, v2), new SimpleImmutableEntry<>(k3, v3) };
-        return appendSpliterator(null, Spliterators.spliterator(array, Spliterator.ORDERED));
+        return appendSpliterator(null, Spliterators.spliterator(array, Spliterator.ORDERED), "append");
     }
 
     /**
@@ -369,7 +382,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * @since 0.2.1
      */
     public EntryStream<K, V> prepend(Map<K, V> map) {
-        return prependSpliterator(null, map.entrySet().spliterator());
+        return prependSpliterator(null, map.entrySet().spliterator(), "prepend");
     }
 
     /**
@@ -386,7 +399,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * @return the new stream
      */
     public EntryStream<K, V> prepend(K key, V value) {
-        return supply(new PrependSpliterator<>(spliterator(), new SimpleImmutableEntry<>(key, value)));
+        return supply(new PrependSpliterator<>(spliterator(), new SimpleImmutableEntry<>(key, value)), "prepend");
     }
 
     /**
@@ -409,7 +422,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         @SuppressWarnings("unchecked")
         SimpleImmutableEntry<K, V>[] array = new SimpleImmutableEntry[] { new SimpleImmutableEntry<>(k1, v1),
                 new SimpleImmutableEntry<>(k2, v2) };
-        return prependSpliterator(null, Spliterators.spliterator(array, Spliterator.ORDERED));
+        return prependSpliterator(null, Spliterators.spliterator(array, Spliterator.ORDERED), "prepend");
     }
 
     /**
@@ -434,7 +447,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         @SuppressWarnings("unchecked")
         SimpleImmutableEntry<K, V>[] array = new SimpleImmutableEntry[] { new SimpleImmutableEntry<>(k1, v1),
                 new SimpleImmutableEntry<>(k2, v2), new SimpleImmutableEntry<>(k3, v3) };
-        return prependSpliterator(null, Spliterators.spliterator(array, Spliterator.ORDERED));
+        return prependSpliterator(null, Spliterators.spliterator(array, Spliterator.ORDERED), "prepend");
     }
 
     /**
@@ -494,7 +507,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      */
     public <KK> EntryStream<KK, V> mapKeys(Function<? super K, ? extends KK> keyMapper) {
         return new EntryStream<>(stream().map(
-            e -> new SimpleImmutableEntry<>(keyMapper.apply(e.getKey()), e.getValue())), context);
+            e -> new SimpleImmutableEntry<>(keyMapper.apply(e.getKey()), e.getValue())), context, "mapKeys");
     }
 
     /**
@@ -512,7 +525,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      */
     public <VV> EntryStream<K, VV> mapValues(Function<? super V, ? extends VV> valueMapper) {
         return new EntryStream<>(stream().map(
-            e -> new SimpleImmutableEntry<>(e.getKey(), valueMapper.apply(e.getValue()))), context);
+            e -> new SimpleImmutableEntry<>(e.getKey(), valueMapper.apply(e.getValue()))), context, "mapValues");
     }
 
     /**
@@ -583,7 +596,8 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      */
     public <KK> EntryStream<KK, V> mapToKey(BiFunction<? super K, ? super V, ? extends KK> keyMapper) {
         return new EntryStream<>(stream().map(
-            e -> new SimpleImmutableEntry<>(keyMapper.apply(e.getKey(), e.getValue()), e.getValue())), context);
+            e -> new SimpleImmutableEntry<>(keyMapper.apply(e.getKey(), e.getValue()), e.getValue())), context,
+                "mapToKey");
     }
 
     /**
@@ -620,7 +634,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
                     KK mapping = keyMapper.apply(e.getKey(), e.getValue()).orElse(null);
                     return mapping != null ? new SimpleImmutableEntry<>(mapping, e.getValue()) : null;
                 }
-        ).filter(Objects::nonNull), context);
+        ).filter(Objects::nonNull), context, "mapToKeyPartial");
     }
 
     /**
@@ -639,7 +653,8 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      */
     public <VV> EntryStream<K, VV> mapToValue(BiFunction<? super K, ? super V, ? extends VV> valueMapper) {
         return new EntryStream<>(stream().map(
-            e -> new SimpleImmutableEntry<>(e.getKey(), valueMapper.apply(e.getKey(), e.getValue()))), context);
+            e -> new SimpleImmutableEntry<>(e.getKey(), valueMapper.apply(e.getKey(), e.getValue()))), context,
+                "mapToValue");
     }
 
     /**
@@ -676,7 +691,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
                     VV mapping = valueMapper.apply(e.getKey(), e.getValue()).orElse(null);
                     return mapping != null ? new SimpleImmutableEntry<>(e.getKey(), mapping) : null;
                 }
-        ).filter(Objects::nonNull), context);
+        ).filter(Objects::nonNull), context, "mapToValuePartial");
     }
 
     /**
@@ -690,7 +705,8 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
      * @return the new stream
      */
     public EntryStream<V, K> invert() {
-        return new EntryStream<>(stream().map(e -> new SimpleImmutableEntry<>(e.getValue(), e.getKey())), context);
+        return new EntryStream<>(stream().map(e -> new SimpleImmutableEntry<>(e.getValue(), e.getKey())), context,
+                "invert");
     }
 
     /**
@@ -1113,7 +1129,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
             }
             pb1.b.addAll(pb2.b);
             return pb1;
-        }, spliterator()), context).mapToEntry(pb -> pb.a, pb -> pb.b);
+        }, spliterator()), context, "collapseKeys").mapToEntry(pb -> pb.a, pb -> pb.b);
     }
 
     /**
@@ -1140,7 +1156,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         BinaryOperator<Entry<K, V>> entryMerger = (e1, e2) -> new SimpleImmutableEntry<>(e1.getKey(), merger.apply(e1
                 .getValue(), e2.getValue()));
         return new EntryStream<>(new CollapseSpliterator<>(equalKeys(), Function.identity(), entryMerger, entryMerger,
-                spliterator()), context);
+                spliterator()), context, "collapseKeys");
     }
 
     /**
@@ -1179,7 +1195,7 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         }, (pb1, pb2) -> {
             pb1.b = combiner.apply(pb1.b, pb2.b);
             return pb1;
-        }, spliterator()), context).mapToEntry(pb -> pb.a, pb -> finisher.apply(pb.b));
+        }, spliterator()), context, "collapseKeys").mapToEntry(pb -> pb.a, pb -> finisher.apply(pb.b));
     }
 
     /**
@@ -1240,6 +1256,137 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         return prefix((a, b) -> new SimpleImmutableEntry<>(b.getKey(), op.apply(a.getValue(), b.getValue())));
     }
 
+    /**
+     * Returns a new {@code EntryStream} which contains an entry for every pair
+     * of this stream entry and other stream entry having equal keys (inner
+     * join). The key of the resulting entry is the common key and the value is
+     * the result of applying the mapper function to the values of the pair.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are compared using {@link Object#equals(Object)}. The smaller
+     * of two streams (according to {@link Spliterator#estimateSize()}) is
+     * collected into the hash table when the resulting stream is traversed,
+     * then the larger stream is processed entry by entry looking up the
+     * table. The resulting stream follows the encounter order of the larger
+     * stream and is split for parallel processing the same way.
+     *
+     * <p>
+     * The resulting stream is parallel if either of the input streams is
+     * parallel. When the resulting stream is closed, the close handlers for
+     * both input streams are invoked.
+     *
+     * @param <VV> the type of other stream values
+     * @param <R> the type of the resulting stream values
+     * @param other the stream to join with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        value of this stream entry and the value of other stream entry
+     *        having the same key
+     * @return the new stream
+     * @see #leftJoin(Stream, BiFunction)
+     * @see #mergeJoin(Stream, Comparator, BiFunction)
+     * @since 0.7.4
+     */
+    public <VV, R> EntryStream<K, R> join(Stream<? extends Entry<K, VV>> other,
+            BiFunction<? super V, ? super VV, ? extends R> mapper) {
+        Spliterator<Entry<K, V>> left = spliterator();
+        Spliterator<? extends Entry<K, VV>> right = other.spliterator();
+        Spliterator<Entry<K, R>> result;
+        if (right.estimateSize() <= left.estimateSize()) {
+            result = new JoinSpliterator<>(left, right, other.isParallel(), false, mapper);
+        } else {
+            result = new JoinSpliterator<K, VV, V, R>(right, left, isParallel(), false, (vv, v) -> mapper.apply(v,
+                vv));
+        }
+        return new EntryStream<>(result, context.combine(other), "join");
+    }
+
+    /**
+     * Returns a new {@code EntryStream} which contains an entry for every pair
+     * of this stream entry and other stream entry having equal keys, plus an
+     * entry for every entry of this stream having no matching key in other
+     * stream (left outer join). The key of the resulting entry is the common
+     * key and the value is the result of applying the mapper function to the
+     * values of the pair, or to this stream value and {@code null} if there's
+     * no matching key.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are compared using {@link Object#equals(Object)}. Other stream
+     * is collected into the hash table when the resulting stream is traversed,
+     * then this stream is processed entry by entry looking up the table. The
+     * resulting stream follows the encounter order of this stream and is
+     * split for parallel processing the same way.
+     *
+     * <p>
+     * The resulting stream is parallel if either of the input streams is
+     * parallel. When the resulting stream is closed, the close handlers for
+     * both input streams are invoked.
+     *
+     * @param <VV> the type of other stream values
+     * @param <R> the type of the resulting stream values
+     * @param other the stream to join with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        value of this stream entry and the value of other stream entry
+     *        having the same key (or {@code null})
+     * @return the new stream
+     * @see #join(Stream, BiFunction)
+     * @since 0.7.4
+     */
+    public <VV, R> EntryStream<K, R> leftJoin(Stream<? extends Entry<K, VV>> other,
+            BiFunction<? super V, ? super VV, ? extends R> mapper) {
+        return new EntryStream<>(new JoinSpliterator<>(spliterator(), other.spliterator(), other.isParallel(), true,
+                mapper), context.combine(other), "leftJoin");
+    }
+
+    /**
+     * Returns a new {@code EntryStream} which contains an entry for every pair
+     * of this stream entry and other stream entry having equal keys (inner
+     * join) assuming that both streams are sorted by key according to the
+     * supplied comparator. The key of the resulting entry is the key of this
+     * stream entry and the value is the result of applying the mapper
+     * function to the values of the pair.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * Both streams are traversed only once and only the other stream entries
+     * having the current key are retained, so if the keys of other stream are
+     * unique, this operation works in constant memory. The traversal stops as
+     * soon as either of the streams is exhausted. The result is unspecified if
+     * either of the streams is not sorted.
+     *
+     * <p>
+     * This operation is sequential: the resulting stream is not split for the
+     * parallel processing. When the resulting stream is closed, the close
+     * handlers for both input streams are invoked.
+     *
+     * @param <VV> the type of other stream values
+     * @param <R> the type of the resulting stream values
+     * @param other the stream to join with which is sorted by key
+     * @param comparator a non-interfering, stateless {@link Comparator} which
+     *        both streams keys are sorted with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        value of this stream entry and the value of other stream entry
+     *        having the same key
+     * @return the new stream
+     * @see #join(Stream, BiFunction)
+     * @since 0.7.4
+     */
+    public <VV, R> EntryStream<K, R> mergeJoin(Stream<? extends Entry<K, VV>> other,
+            Comparator<? super K> comparator, BiFunction<? super V, ? super VV, ? extends R> mapper) {
+        return new EntryStream<>(new JoinSpliterator.Merge<>(spliterator(), other.spliterator(), comparator, mapper),
+                context.combine(other), "mergeJoin");
+    }
+
     /**
      * Returns a {@link Map} containing the elements of this stream. There are
      * no guarantees on the type or serializability of the {@code Map} returned;
@@ -1767,8 +1914,8 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
             @SuppressWarnings("unchecked")
             AbstractStreamEx<Entry<K, V>, ?> ase = (AbstractStreamEx<Entry<K, V>, ?>) stream;
             if (ase.spliterator != null)
-                return new EntryStream<>(ase.spliterator(), ase.context);
-            return new EntryStream<>(ase.stream(), ase.context);
+                return new EntryStream<>(ase.spliterator(), ase.context, "of");
+            return new EntryStream<>(ase.stream(), ase.context, "of");
         }
         return new EntryStream<>(stream, StreamContext.of(stream));
     }
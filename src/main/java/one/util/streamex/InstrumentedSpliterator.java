@@ -0,0 +1,329 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Spliterator of the single pipeline stage which reports the statistics to
+ * {@link StreamMetrics}. The time spent in the downstream consumer is
+ * excluded, so only the time of this and previous stages is counted.
+ *
+ * <p>
+ * To keep the overhead low, only every {@code SAMPLE_RATE}-th element is
+ * timed: for the {@code tryAdvance} traversal the sampled calls are timed as a
+ * whole, for the {@code forEachRemaining} traversal the whole part is timed
+ * and the downstream time is measured for the sampled elements only. The time
+ * of the other elements is extrapolated.
+ *
+ * @author Tagir Valeev
+ */
+/* package */abstract class InstrumentedSpliterator<T, S extends Spliterator<T>> implements Spliterator<T> {
+    private static final int SAMPLE_RATE = 16;
+
+    final S source;
+    final Stage stage;
+    long elements;
+    // the tryAdvance calls, the sampled ones and their time without downstream
+    private long advances, sampledAdvances, advanceNanos;
+    // the time of forEachRemaining, the elements it produced, the sampled ones
+    // and their downstream time
+    private long bulkNanos, bulkElements, sampledElements, bulkDownstream;
+    // the downstream time of the current sampled element
+    long downstream;
+    private boolean reported;
+
+    static final class Stage {
+        final StreamMetrics metrics;
+        final int index;
+        final String operation;
+
+        Stage(StreamMetrics metrics, int index, String operation) {
+            this.metrics = metrics;
+            this.index = index;
+            this.operation = operation;
+        }
+    }
+
+    InstrumentedSpliterator(S source, Stage stage) {
+        this.source = source;
+        this.stage = stage;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, S extends Spliterator<T>> S wrap(S source, Stage stage) {
+        if (source instanceof Spliterator.OfInt)
+            return (S) new OfInt((Spliterator.OfInt) source, stage);
+        if (source instanceof Spliterator.OfLong)
+            return (S) new OfLong((Spliterator.OfLong) source, stage);
+        if (source instanceof Spliterator.OfDouble)
+            return (S) new OfDouble((Spliterator.OfDouble) source, stage);
+        return (S) new OfRef<>(source, stage);
+    }
+
+    abstract S wrap(S prefix);
+
+    long nanos() {
+        double nanos = bulkNanos;
+        if (sampledElements > 0)
+            nanos -= (double) bulkDownstream * bulkElements / sampledElements;
+        if (sampledAdvances > 0)
+            nanos += (double) advanceNanos * advances / sampledAdvances;
+        return Math.max(0, (long) nanos);
+    }
+
+    void done() {
+        if (!reported) {
+            reported = true;
+            stage.metrics.traversed(stage.index, stage.operation, elements, nanos(), Thread.currentThread());
+        }
+    }
+
+    /**
+     * @return true if the current tryAdvance call should be timed
+     */
+    boolean sampleAdvance() {
+        return advances++ % SAMPLE_RATE == 0;
+    }
+
+    /**
+     * @return true if the downstream time of the current element of
+     *         forEachRemaining should be measured
+     */
+    boolean sampleElement() {
+        elements++;
+        if (bulkElements++ % SAMPLE_RATE != 0)
+            return false;
+        sampledElements++;
+        return true;
+    }
+
+    void sampled(long start) {
+        downstream += System.nanoTime() - start;
+    }
+
+    boolean advanced(boolean result) {
+        if (result)
+            elements++;
+        else
+            done();
+        return result;
+    }
+
+    boolean advanced(boolean result, long start) {
+        sampledAdvances++;
+        advanceNanos += System.nanoTime() - start - downstream;
+        downstream = 0;
+        return advanced(result);
+    }
+
+    void finished(long start) {
+        bulkNanos += System.nanoTime() - start;
+        bulkDownstream += downstream;
+        downstream = 0;
+        done();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public S trySplit() {
+        S prefix = (S) source.trySplit();
+        if (prefix == null)
+            return null;
+        stage.metrics.split(stage.index, stage.operation);
+        return wrap(prefix);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return source.getExactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics();
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return source.getComparator();
+    }
+
+    static final class OfRef<T> extends InstrumentedSpliterator<T, Spliterator<T>> {
+        OfRef(Spliterator<T> source, Stage stage) {
+            super(source, stage);
+        }
+
+        @Override
+        Spliterator<T> wrap(Spliterator<T> prefix) {
+            return new OfRef<>(prefix, stage);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!sampleAdvance())
+                return advanced(source.tryAdvance(action));
+            long start = System.nanoTime();
+            return advanced(source.tryAdvance(t -> {
+                long s = System.nanoTime();
+                action.accept(t);
+                sampled(s);
+            }), start);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            long start = System.nanoTime();
+            source.forEachRemaining(t -> {
+                if (sampleElement()) {
+                    long s = System.nanoTime();
+                    action.accept(t);
+                    sampled(s);
+                } else {
+                    action.accept(t);
+                }
+            });
+            finished(start);
+        }
+    }
+
+    static final class OfInt extends InstrumentedSpliterator<Integer, Spliterator.OfInt> implements
+            Spliterator.OfInt {
+        OfInt(Spliterator.OfInt source, Stage stage) {
+            super(source, stage);
+        }
+
+        @Override
+        Spliterator.OfInt wrap(Spliterator.OfInt prefix) {
+            return new InstrumentedSpliterator.OfInt(prefix, stage);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (!sampleAdvance())
+                return advanced(source.tryAdvance(action));
+            long start = System.nanoTime();
+            return advanced(source.tryAdvance((int t) -> {
+                long s = System.nanoTime();
+                action.accept(t);
+                sampled(s);
+            }), start);
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            long start = System.nanoTime();
+            source.forEachRemaining((int t) -> {
+                if (sampleElement()) {
+                    long s = System.nanoTime();
+                    action.accept(t);
+                    sampled(s);
+                } else {
+                    action.accept(t);
+                }
+            });
+            finished(start);
+        }
+    }
+
+    static final class OfLong extends InstrumentedSpliterator<Long, Spliterator.OfLong> implements
+            Spliterator.OfLong {
+        OfLong(Spliterator.OfLong source, Stage stage) {
+            super(source, stage);
+        }
+
+        @Override
+        Spliterator.OfLong wrap(Spliterator.OfLong prefix) {
+            return new InstrumentedSpliterator.OfLong(prefix, stage);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (!sampleAdvance())
+                return advanced(source.tryAdvance(action));
+            long start = System.nanoTime();
+            return advanced(source.tryAdvance((long t) -> {
+                long s = System.nanoTime();
+                action.accept(t);
+                sampled(s);
+            }), start);
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            long start = System.nanoTime();
+            source.forEachRemaining((long t) -> {
+                if (sampleElement()) {
+                    long s = System.nanoTime();
+                    action.accept(t);
+                    sampled(s);
+                } else {
+                    action.accept(t);
+                }
+            });
+            finished(start);
+        }
+    }
+
+    static final class OfDouble extends InstrumentedSpliterator<Double, Spliterator.OfDouble> implements
+            Spliterator.OfDouble {
+        OfDouble(Spliterator.OfDouble source, Stage stage) {
+            super(source, stage);
+        }
+
+        @Override
+        Spliterator.OfDouble wrap(Spliterator.OfDouble prefix) {
+            return new InstrumentedSpliterator.OfDouble(prefix, stage);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (!sampleAdvance())
+                return advanced(source.tryAdvance(action));
+            long start = System.nanoTime();
+            return advanced(source.tryAdvance((double t) -> {
+                long s = System.nanoTime();
+                action.accept(t);
+                sampled(s);
+            }), start);
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            long start = System.nanoTime();
+            source.forEachRemaining((double t) -> {
+                if (sampleElement()) {
+                    long s = System.nanoTime();
+                    action.accept(t);
+                    sampled(s);
+                } else {
+                    action.accept(t);
+                }
+            });
+            finished(start);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A read-only map with primitive {@code int} keys produced by the primitive
+ * grouping operations like {@link IntStreamEx#groupingToCounts()}. The keys and
+ * the values are stored in two compact arrays sorted by key, so the map is
+ * iterated in ascending key order and the lookup by primitive key takes
+ * O(log(n)) time without boxing. Only the {@code Map<Integer, V>} view methods
+ * box the keys.
+ *
+ * <p>
+ * All the mutating methods throw {@link UnsupportedOperationException}.
+ *
+ * @author Tagir Valeev
+ *
+ * @param <V> the type of mapped values
+ * @see IntCollector#groupingByInt(java.util.function.IntUnaryOperator, IntCollector)
+ * @since 0.7.4
+ */
+public final class IntKeyMap<V> extends AbstractMap<Integer, V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int[] keys;
+    private final Object[] values;
+
+    IntKeyMap(int[] keys, Object[] values) {
+        int size = keys.length;
+        long[] unsigned = new long[size];
+        for (int i = 0; i < size; i++) {
+            unsigned[i] = keys[i] ^ Long.MIN_VALUE;
+        }
+        int[] order = RadixSort.sortedIndices(unsigned, false);
+        this.keys = new int[size];
+        this.values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            this.keys[i] = keys[order[i]];
+            this.values[i] = values[order[i]];
+        }
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key
+     */
+    public boolean containsKey(int key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    public V get(int key) {
+        int idx = Arrays.binarySearch(keys, key);
+        return idx < 0 ? null : value(idx);
+    }
+
+    /**
+     * Returns an {@link IntStreamEx} of the keys of this map in ascending
+     * order.
+     *
+     * @return a stream of the keys
+     */
+    public IntStreamEx keys() {
+        return IntStreamEx.of(keys);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey(((Integer) key).intValue());
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Entry<Integer, V>>() {
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new Iterator<Entry<Integer, V>>() {
+                    private int idx;
+
+                    @Override
+                    public boolean hasNext() {
+                        return idx < keys.length;
+                    }
+
+                    @Override
+                    public Entry<Integer, V> next() {
+                        if (idx == keys.length)
+                            throw new NoSuchElementException();
+                        Entry<Integer, V> entry = new SimpleImmutableEntry<>(keys[idx], value(idx));
+                        idx++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int idx) {
+        return (V) values[idx];
+    }
+
+    /**
+     * Open-addressing table which keeps the mutable container for every key.
+     * Null container marks the free slot.
+     *
+     * @param <A> type of containers
+     */
+    static final class Table<A> {
+        private int[] keys = new int[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * @param key key to find
+         * @param supplier supplier of the new non-null container
+         * @return the container for given key, created if absent
+         */
+        A get(int key, Supplier<A> supplier) {
+            int mask = keys.length - 1;
+            for (int i = DistinctSpliterator.hash(key) & mask;; i = (i + 1) & mask) {
+                Object value = values[i];
+                if (value == null) {
+                    A container = supplier.get();
+                    keys[i] = key;
+                    values[i] = container;
+                    if (++size > keys.length >> 1)
+                        resize();
+                    return container;
+                }
+                if (keys[i] == key) {
+                    @SuppressWarnings("unchecked")
+                    A container = (A) value;
+                    return container;
+                }
+            }
+        }
+
+        Table<A> merge(Table<A> other, BiConsumer<A, A> merger) {
+            for (int i = 0; i < other.keys.length; i++) {
+                @SuppressWarnings("unchecked")
+                A right = (A) other.values[i];
+                if (right != null) {
+                    A left = get(other.keys[i], () -> right);
+                    if (left != right)
+                        merger.accept(left, right);
+                }
+            }
+            return this;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new Object[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    int j = DistinctSpliterator.hash(oldKeys[i]) & mask;
+                    while (values[j] != null) {
+                        j = (j + 1) & mask;
+                    }
+                    keys[j] = oldKeys[i];
+                    values[j] = oldValues[i];
+                }
+            }
+        }
+
+        <R> IntKeyMap<R> finish(Function<A, R> finisher) {
+            int[] resultKeys = new int[size];
+            Object[] resultValues = new Object[size];
+            int j = 0;
+            for (int i = 0; i < keys.length; i++) {
+                @SuppressWarnings("unchecked")
+                A container = (A) values[i];
+                if (container != null) {
+                    resultKeys[j] = keys[i];
+                    resultValues[j++] = finisher.apply(container);
+                }
+            }
+            return new IntKeyMap<>(resultKeys, resultValues);
+        }
+    }
+
+    /**
+     * Open-addressing table counting occurrences of int keys. Zero count marks
+     * the free slot.
+     */
+    static final class Counts {
+        private int[] keys = new int[INITIAL_CAPACITY];
+        private long[] counts = new long[INITIAL_CAPACITY];
+        private int size;
+
+        void add(int key) {
+            add(key, 1);
+        }
+
+        private void add(int key, long count) {
+            int mask = keys.length - 1;
+            for (int i = DistinctSpliterator.hash(key) & mask;; i = (i + 1) & mask) {
+                if (counts[i] == 0) {
+                    keys[i] = key;
+                    counts[i] = count;
+                    if (++size > keys.length >> 1)
+                        resize();
+                    return;
+                }
+                if (keys[i] == key) {
+                    counts[i] += count;
+                    return;
+                }
+            }
+        }
+
+        Counts merge(Counts other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.counts[i] != 0)
+                    add(other.keys[i], other.counts[i]);
+            }
+            return this;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new long[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int j = DistinctSpliterator.hash(oldKeys[i]) & mask;
+                    while (counts[j] != 0) {
+                        j = (j + 1) & mask;
+                    }
+                    keys[j] = oldKeys[i];
+                    counts[j] = oldCounts[i];
+                }
+            }
+        }
+
+        IntKeyMap<Long> finish() {
+            int[] resultKeys = new int[size];
+            Object[] resultValues = new Object[size];
+            int j = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] != 0) {
+                    resultKeys[j] = keys[i];
+                    resultValues[j++] = counts[i];
+                }
+            }
+            return new IntKeyMap<>(resultKeys, resultValues);
+        }
+    }
+}
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -61,7 +63,6 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static one.util.streamex.Internals.Box;
-import static one.util.streamex.Internals.ByteBuffer;
 import static one.util.streamex.Internals.CharBuffer;
 import static one.util.streamex.Internals.INITIAL_SIZE;
 import static one.util.streamex.Internals.IntBuffer;
@@ -79,11 +80,19 @@ import static one.util.streamex.Internals.rangeCheck;
  */
 public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.OfInt, IntStreamEx> implements IntStream {
     IntStreamEx(IntStream stream, StreamContext context) {
-        super(stream, context);
+        this(stream, context, null);
+    }
+
+    IntStreamEx(IntStream stream, StreamContext context, String operation) {
+        super(stream, context, operation);
     }
 
     IntStreamEx(Spliterator.OfInt spliterator, StreamContext context) {
-        super(spliterator, context);
+        this(spliterator, context, null);
+    }
+
+    IntStreamEx(Spliterator.OfInt spliterator, StreamContext context, String operation) {
+        super(spliterator, context, operation);
     }
 
     @Override
@@ -95,8 +104,8 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return new IntStreamEx(stream, StreamContext.SEQUENTIAL);
     }
 
-    final IntStreamEx delegate(Spliterator.OfInt spliterator) {
-        return new IntStreamEx(spliterator, context);
+    final IntStreamEx delegate(Spliterator.OfInt spliterator, String operation) {
+        return new IntStreamEx(spliterator, context, operation);
     }
 
     private <A> A collectSized(Supplier<A> supplier, ObjIntConsumer<A> accumulator, BiConsumer<A, A> combiner,
@@ -128,7 +137,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public IntStreamEx filter(IntPredicate predicate) {
-        return new IntStreamEx(stream().filter(predicate), context);
+        return new IntStreamEx(stream().filter(predicate), context, "filter");
     }
 
     /**
@@ -276,22 +285,22 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public IntStreamEx map(IntUnaryOperator mapper) {
-        return new IntStreamEx(stream().map(mapper), context);
+        return new IntStreamEx(stream().map(mapper), context, "map");
     }
 
     @Override
     public <U> StreamEx<U> mapToObj(IntFunction<? extends U> mapper) {
-        return new StreamEx<>(stream().mapToObj(mapper), context);
+        return new StreamEx<>(stream().mapToObj(mapper), context, "mapToObj");
     }
 
     @Override
     public LongStreamEx mapToLong(IntToLongFunction mapper) {
-        return new LongStreamEx(stream().mapToLong(mapper), context);
+        return new LongStreamEx(stream().mapToLong(mapper), context, "mapToLong");
     }
 
     @Override
     public DoubleStreamEx mapToDouble(IntToDoubleFunction mapper) {
-        return new DoubleStreamEx(stream().mapToDouble(mapper), context);
+        return new DoubleStreamEx(stream().mapToDouble(mapper), context, "mapToDouble");
     }
 
     /**
@@ -314,12 +323,12 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
     public <K, V> EntryStream<K, V> mapToEntry(IntFunction<? extends K> keyMapper,
             IntFunction<? extends V> valueMapper) {
         return new EntryStream<>(stream().mapToObj(t -> new AbstractMap.SimpleImmutableEntry<>(keyMapper.apply(t),
-                valueMapper.apply(t))), context);
+                valueMapper.apply(t))), context, "mapToEntry");
     }
 
     @Override
     public IntStreamEx flatMap(IntFunction<? extends IntStream> mapper) {
-        return new IntStreamEx(stream().flatMap(mapper), context);
+        return new IntStreamEx(stream().flatMap(mapper), context, "flatMap");
     }
 
     /**
@@ -338,7 +347,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.3.0
      */
     public LongStreamEx flatMapToLong(IntFunction<? extends LongStream> mapper) {
-        return new LongStreamEx(stream().mapToObj(mapper).flatMapToLong(Function.identity()), context);
+        return new LongStreamEx(stream().mapToObj(mapper).flatMapToLong(Function.identity()), context, "flatMapToLong");
     }
 
     /**
@@ -357,7 +366,8 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.3.0
      */
     public DoubleStreamEx flatMapToDouble(IntFunction<? extends DoubleStream> mapper) {
-        return new DoubleStreamEx(stream().mapToObj(mapper).flatMapToDouble(Function.identity()), context);
+        return new DoubleStreamEx(stream().mapToObj(mapper).flatMapToDouble(Function.identity()), context,
+                "flatMapToDouble");
     }
 
     /**
@@ -377,7 +387,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.3.0
      */
     public <R> StreamEx<R> flatMapToObj(IntFunction<? extends Stream<R>> mapper) {
-        return new StreamEx<>(stream().mapToObj(mapper).flatMap(Function.identity()), context);
+        return new StreamEx<>(stream().mapToObj(mapper).flatMap(Function.identity()), context, "flatMapToObj");
     }
 
     /**
@@ -396,17 +406,48 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.6.6
      */
     public IntStreamEx intersperse(int delimiter) {
-        return new IntStreamEx(stream().flatMap(s -> IntStreamEx.of(delimiter, s)).skip(1), context);
+        return new IntStreamEx(stream().flatMap(s -> IntStreamEx.of(delimiter, s)).skip(1), context, "intersperse");
     }
 
     @Override
     public IntStreamEx distinct() {
-        return new IntStreamEx(stream().distinct(), context);
+        return new IntStreamEx(stream().distinct(), context, "distinct");
+    }
+
+    /**
+     * Returns a stream consisting of the distinct elements of this stream
+     * which appear at least specified number of times in this stream.
+     *
+     * <p>
+     * If this stream is ordered then order is preserved.
+     *
+     * <p>
+     * This is a stateful <a
+     * href="package-summary.html#StreamOps">quasi-intermediate</a> operation.
+     *
+     * @param atLeast minimal number of occurrences required to select the
+     *        element. If atLeast is 1 or less, then this method is equivalent
+     *        to {@link #distinct()}.
+     * @return the new stream
+     * @see #distinct()
+     * @since 0.7.4
+     */
+    public IntStreamEx distinct(long atLeast) {
+        if (atLeast <= 1)
+            return distinct();
+        if (atLeast > Integer.MAX_VALUE)
+            // primitive spliterator stores the counts as ints
+            return boxed().distinct(atLeast).mapToInt(Integer::intValue);
+        Spliterator.OfInt spliterator = spliterator();
+        if (spliterator.hasCharacteristics(Spliterator.DISTINCT))
+            // already distinct: cannot have any repeating elements
+            return delegate(Spliterators.emptyIntSpliterator(), "distinct");
+        return delegate(new DistinctSpliterator.OfInt(spliterator, (int) atLeast), "distinct");
     }
 
     @Override
     public IntStreamEx sorted() {
-        return new IntStreamEx(stream().sorted(), context);
+        return new IntStreamEx(stream().sorted(), context, "sorted");
     }
 
     /**
@@ -429,7 +470,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @return the new stream
      */
     public IntStreamEx sorted(Comparator<Integer> comparator) {
-        return new IntStreamEx(stream().boxed().sorted(comparator).mapToInt(Integer::intValue), context);
+        return new IntStreamEx(stream().boxed().sorted(comparator).mapToInt(Integer::intValue), context, "sorted");
     }
 
     /**
@@ -444,7 +485,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      */
     public IntStreamEx reverseSorted() {
         IntUnaryOperator inv = x -> ~x;
-        return new IntStreamEx(stream().map(inv).sorted().map(inv), context);
+        return new IntStreamEx(stream().map(inv).sorted().map(inv), context, "reverseSorted");
     }
 
     /**
@@ -480,8 +521,12 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -490,7 +535,9 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @return the new stream
      */
     public IntStreamEx sortedByInt(IntUnaryOperator keyExtractor) {
-        return sorted(Comparator.comparingInt(keyExtractor::applyAsInt));
+        Objects.requireNonNull(keyExtractor);
+        return new IntStreamEx(RadixSort.sorted(stream(), x -> RadixSort.intKey(keyExtractor.applyAsInt(x))), context,
+                "sortedByInt");
     }
 
     /**
@@ -502,8 +549,12 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -512,7 +563,9 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @return the new stream
      */
     public IntStreamEx sortedByLong(IntToLongFunction keyExtractor) {
-        return sorted(Comparator.comparingLong(keyExtractor::applyAsLong));
+        Objects.requireNonNull(keyExtractor);
+        return new IntStreamEx(RadixSort.sorted(stream(), x -> RadixSort.longKey(keyExtractor.applyAsLong(x))), context,
+                "sortedByLong");
     }
 
     /**
@@ -524,8 +577,12 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -534,12 +591,14 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @return the new stream
      */
     public IntStreamEx sortedByDouble(IntToDoubleFunction keyExtractor) {
-        return sorted(Comparator.comparingDouble(keyExtractor::applyAsDouble));
+        Objects.requireNonNull(keyExtractor);
+        return new IntStreamEx(RadixSort.sorted(stream(), x -> RadixSort.doubleKey(keyExtractor.applyAsDouble(x))),
+                context, "sortedByDouble");
     }
 
     @Override
     public IntStreamEx peek(IntConsumer action) {
-        return new IntStreamEx(stream().peek(action), context);
+        return new IntStreamEx(stream().peek(action), context, "peek");
     }
 
     /**
@@ -618,12 +677,12 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public IntStreamEx limit(long maxSize) {
-        return new IntStreamEx(stream().limit(maxSize), context);
+        return new IntStreamEx(stream().limit(maxSize), context, "limit");
     }
 
     @Override
     public IntStreamEx skip(long n) {
-        return new IntStreamEx(stream().skip(n), context);
+        return new IntStreamEx(stream().skip(n), context, "skip");
     }
 
     @Override
@@ -676,8 +735,8 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.3.0
      */
     public byte[] toByteArray() {
-        return collectSized(ByteBuffer::new, ByteBuffer::add, ByteBuffer::addAll, ByteBuffer::new,
-            ByteBuffer::addUnsafe).toArray();
+        return collectSized(Internals.ByteBuffer::new, Internals.ByteBuffer::add, Internals.ByteBuffer::addAll,
+            Internals.ByteBuffer::new, Internals.ByteBuffer::addUnsafe).toArray();
     }
 
     /**
@@ -724,6 +783,28 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return collect(BitSet::new, BitSet::set, BitSet::or);
     }
 
+    /**
+     * Returns a read-only map which keys are the distinct elements of this
+     * stream and values are the numbers of their occurrences.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * The result is the same as
+     * {@code boxed().groupingBy(Function.identity(), Collectors.counting())},
+     * but the elements are counted in the primitive open-addressing hash
+     * table without boxing, and the resulting map stores the keys in the
+     * compact sorted array.
+     *
+     * @return a {@code IntKeyMap} of the element counts
+     * @see IntCollector#groupingByInt(IntUnaryOperator, IntCollector)
+     * @since 0.7.4
+     */
+    public IntKeyMap<Long> groupingToCounts() {
+        return collect(IntKeyMap.Counts::new, IntKeyMap.Counts::add, IntKeyMap.Counts::merge).finish();
+    }
+
     /**
      * Returns an {@code InputStream} lazily populated from the current
      * {@code IntStreamEx}.
@@ -741,6 +822,13 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * When the resulting {@code InputStream} is closed, this
      * {@code IntStreamEx} is closed as well.
      *
+     * <p>
+     * The bulk {@link InputStream#read(byte[], int, int)} drains the stream
+     * into the supplied array without the intermediate buffering. If this
+     * stream was created by {@link #ofBytes(ByteBuffer)} or
+     * {@link #ofBytes(FileChannel)} and no intermediate operations were
+     * applied, the bytes are copied from the source buffer in bulk.
+     *
      * @return a new {@code InputStream}.
      * @see #of(InputStream)
      * @since 0.6.1
@@ -748,11 +836,35 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
     public InputStream asByteInputStream() {
         Spliterator.OfInt spltr = spliterator();
         return new InputStream() {
-            private int last;
+            private final byte[] single = new byte[1];
+            private byte[] buf;
+            private int pos;
+            private final IntConsumer writer = val -> buf[pos++] = (byte) val;
 
             @Override
             public int read() {
-                return spltr.tryAdvance((int val) -> last = val) ? (last & 0xFF) : -1;
+                return read(single, 0, 1) == -1 ? -1 : (single[0] & 0xFF);
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (off < 0 || len < 0 || len > b.length - off)
+                    throw new IndexOutOfBoundsException();
+                if (len == 0)
+                    return 0;
+                if (spltr instanceof BytesSpliterator)
+                    return ((BytesSpliterator) spltr).read(b, off, len);
+                buf = b;
+                pos = off;
+                int end = off + len;
+                try {
+                    while (pos < end && spltr.tryAdvance(writer)) {
+                        // the writer advances the position
+                    }
+                } finally {
+                    buf = null;
+                }
+                return pos == off ? -1 : pos - off;
             }
 
             @Override
@@ -897,13 +1009,14 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      *         corresponding stream element. The resulting array has the same
      *         length as this stream.
      * @see #foldLeft(IntBinaryOperator)
+     * @see #toPrefixArray(IntBinaryOperator)
      * @since 0.5.1
      */
     public int[] scanLeft(IntBinaryOperator accumulator) {
         Spliterator.OfInt spliterator = spliterator();
         int size = intSize(spliterator);
         IntBuffer buf = new IntBuffer(size >= 0 ? size : INITIAL_SIZE);
-        delegate(spliterator).forEachOrdered(i -> buf.add(buf.size == 0 ? i
+        delegate(spliterator, "scanLeft").forEachOrdered(i -> buf.add(buf.size == 0 ? i
                 : accumulator.applyAsInt(buf.data[buf.size - 1], i)));
         return buf.toArray();
     }
@@ -939,6 +1052,53 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return prepend(seed).scanLeft(accumulator);
     }
 
+    /**
+     * Produces an array containing cumulative results of applying the
+     * associative accumulation function going left to right.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * The result is the same as the result of {@link #scanLeft(IntBinaryOperator)} or
+     * {@code prefix(op).toArray()}, but the parallel stream is processed in two
+     * parallel passes: the elements are stored into the array first, then the
+     * cumulative results are computed in-place by
+     * {@link Arrays#parallelPrefix(int[], IntBinaryOperator)}. Thus unlike
+     * {@code scanLeft} the parallel processing is not restricted to go
+     * strictly left to right and no intermediate values are boxed.
+     *
+     * @param op an <a href="package-summary.html#Associativity">associative</a>
+     *        , <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        function for computing the next element based on the previous one
+     * @return the array where the first element is the first element of this
+     *         stream and every successor element is the result of applying
+     *         op function to the previous array element and the corresponding
+     *         stream element. The resulting array has the same length as this
+     *         stream.
+     * @see #scanLeft(IntBinaryOperator)
+     * @see #prefix(IntBinaryOperator)
+     * @since 0.7.4
+     */
+    public int[] toPrefixArray(IntBinaryOperator op) {
+        Objects.requireNonNull(op);
+        int[] array = toArray();
+        if (!isParallel()) {
+            for (int i = 1; i < array.length; i++) {
+                array[i] = op.applyAsInt(array[i - 1], array[i]);
+            }
+        } else if (context.fjp != null) {
+            context.terminate(array, a -> {
+                Arrays.parallelPrefix(a, op);
+                return a;
+            });
+        } else {
+            Arrays.parallelPrefix(array, op);
+        }
+        return array;
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -1384,17 +1544,17 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public LongStreamEx asLongStream() {
-        return new LongStreamEx(stream().asLongStream(), context);
+        return new LongStreamEx(stream().asLongStream(), context, "asLongStream");
     }
 
     @Override
     public DoubleStreamEx asDoubleStream() {
-        return new DoubleStreamEx(stream().asDoubleStream(), context);
+        return new DoubleStreamEx(stream().asDoubleStream(), context, "asDoubleStream");
     }
 
     @Override
     public StreamEx<Integer> boxed() {
-        return new StreamEx<>(stream().boxed(), context);
+        return new StreamEx<>(stream().boxed(), context, "boxed");
     }
 
     @Override
@@ -1412,6 +1572,11 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return (IntStreamEx) super.parallel(fjp);
     }
 
+    @Override
+    public IntStreamEx instrumented(StreamMetrics metrics) {
+        return (IntStreamEx) super.instrumented(metrics);
+    }
+
     @Override
     public OfInt iterator() {
         return Spliterators.iterator(spliterator());
@@ -1431,7 +1596,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
     public IntStreamEx append(int... values) {
         if (values.length == 0)
             return this;
-        return new IntStreamEx(IntStream.concat(stream(), IntStream.of(values)), context);
+        return new IntStreamEx(IntStream.concat(stream(), IntStream.of(values)), context, "append");
     }
 
     /**
@@ -1446,7 +1611,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @see IntStream#concat(IntStream, IntStream)
      */
     public IntStreamEx append(IntStream other) {
-        return new IntStreamEx(IntStream.concat(stream(), other), context.combine(other));
+        return new IntStreamEx(IntStream.concat(stream(), other), context.combine(other), "append");
     }
 
     /**
@@ -1463,7 +1628,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
     public IntStreamEx prepend(int... values) {
         if (values.length == 0)
             return this;
-        return new IntStreamEx(IntStream.concat(IntStream.of(values), stream()), context);
+        return new IntStreamEx(IntStream.concat(IntStream.of(values), stream()), context, "prepend");
     }
 
     /**
@@ -1478,7 +1643,42 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @see IntStream#concat(IntStream, IntStream)
      */
     public IntStreamEx prepend(IntStream other) {
-        return new IntStreamEx(IntStream.concat(other, stream()), context.combine(other));
+        return new IntStreamEx(IntStream.concat(other, stream()), context.combine(other), "prepend");
+    }
+
+    /**
+     * Creates a new {@code IntStreamEx} which is the result of applying of the
+     * mapper {@code IntBinaryOperator} to the corresponding elements of this
+     * stream and the supplied other stream. The resulting stream is ordered if
+     * both of the input streams are ordered, and parallel if either of the
+     * input streams is parallel. When the resulting stream is closed, the close
+     * handlers for both input streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * <p>
+     * The resulting stream finishes when either of the input streams finish:
+     * the rest of the longer stream is discarded. It's unspecified whether the
+     * rest elements of the longer stream are actually consumed.
+     *
+     * <p>
+     * Unlike {@code boxed().zipWith(other.boxed(), mapper)} this operation
+     * never boxes the elements. If the input streams cannot be split at the
+     * same positions (e.g. their size is unknown), they are read in aligned
+     * chunks which are processed in parallel.
+     *
+     * @param other the stream to zip this stream with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        corresponding pairs of this stream and other stream elements
+     * @return the new stream
+     * @see #zip(int[], int[], IntBinaryOperator)
+     * @since 0.7.4
+     */
+    public IntStreamEx zipWith(IntStream other, IntBinaryOperator mapper) {
+        return new IntStreamEx(new ZipSpliterator.OfInt(spliterator(), other.spliterator(), mapper), context
+                .combine(other), "zipWith");
     }
 
     /**
@@ -1612,7 +1812,49 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.2.1
      */
     public IntStreamEx pairMap(IntBinaryOperator mapper) {
-        return delegate(new PairSpliterator.PSOfInt(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
+        return delegate(new PairSpliterator.PSOfInt(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS),
+                "pairMap");
+    }
+
+    /**
+     * Returns a stream consisting of the results of reducing every sliding
+     * window of {@code size} adjacent elements of this stream with the
+     * supplied collector. For example, {@code windowed(3, IntCollector.averaging())}
+     * produces the moving averages.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     * 
+     * <p>
+     * If this stream has less than {@code size} elements, the output stream
+     * will be empty. The windows are not materialized: the elements are
+     * accumulated into single-element containers which are merged in a way
+     * that every stream element costs a constant number of merges regardless
+     * of the window size. Thus the collector merger must not modify its
+     * second argument.
+     *
+     * @param <A> the intermediate accumulation type of the collector
+     * @param <R> type of the window reduction result
+     * @param size the number of elements in each window (must be positive
+     *        number).
+     * @param collector the {@code IntCollector} describing the window
+     *        reduction
+     * @return the new stream
+     * @throws IllegalArgumentException if size is negative or zero.
+     * @since 0.7.4
+     */
+    public <A, R> StreamEx<R> windowed(int size, IntCollector<A, R> collector) {
+        WindowSpliterator.checkSize("size", size);
+        Supplier<A> supplier = collector.supplier();
+        ObjIntConsumer<A> accumulator = collector.intAccumulator();
+        Spliterator<A> containers = stream().mapToObj(t -> {
+            A acc = supplier.get();
+            accumulator.accept(acc, t);
+            return acc;
+        }).spliterator();
+        return new StreamEx<>(new WindowSpliterator.OfCollector<>(containers, size, supplier, collector.merger(),
+                collector.finisher()), context, "windowed");
     }
 
     /**
@@ -1701,7 +1943,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      */
     public IntStreamEx takeWhileInclusive(IntPredicate predicate) {
         Objects.requireNonNull(predicate);
-        return delegate(new TakeDrop.TDOfInt(spliterator(), false, true, predicate));
+        return delegate(new TakeDrop.TDOfInt(spliterator(), false, true, predicate), "takeWhileInclusive");
     }
 
     /**
@@ -1746,7 +1988,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      */
     public IntStreamEx mapFirst(IntUnaryOperator mapper) {
         return delegate(new PairSpliterator.PSOfInt((a, b) -> b, mapper, spliterator(),
-                PairSpliterator.MODE_MAP_FIRST));
+                PairSpliterator.MODE_MAP_FIRST), "mapFirst");
     }
 
     /**
@@ -1769,7 +2011,8 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.4.1
      */
     public IntStreamEx mapLast(IntUnaryOperator mapper) {
-        return delegate(new PairSpliterator.PSOfInt((a, b) -> a, mapper, spliterator(), PairSpliterator.MODE_MAP_LAST));
+        return delegate(new PairSpliterator.PSOfInt((a, b) -> a, mapper, spliterator(), PairSpliterator.MODE_MAP_LAST),
+                "mapLast");
     }
 
     /**
@@ -1803,7 +2046,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
     public IntStreamEx prefix(IntBinaryOperator op) {
         Spliterator.OfInt spltr = spliterator();
         return delegate(spltr.hasCharacteristics(Spliterator.ORDERED) ? new PrefixOps.OfInt(spltr, op)
-                : new PrefixOps.OfUnordInt(spltr, op));
+                : new PrefixOps.OfUnordInt(spltr, op), "prefix");
     }
 
     // Necessary to generate proper JavaDoc
@@ -1980,6 +2223,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @param is an {@code InputStream} to create an {@code IntStreamEx} on.
      * @return the new stream
      * @see #asByteInputStream()
+     * @see #ofBytes(FileChannel)
      * @since 0.6.1
      */
     public static IntStreamEx of(InputStream is) {
@@ -2007,6 +2251,78 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         });
     }
 
+    /**
+     * Returns a sequential ordered {@code IntStreamEx} containing the bytes of
+     * the supplied {@link ByteBuffer}.
+     *
+     * <p>
+     * The resulting stream contains int values between 0 and 255 (0xFF)
+     * inclusive like the stream created by {@link #of(InputStream)}. It covers
+     * only a portion of {@code ByteBuffer} content which starts with
+     * {@linkplain Buffer#position() position} (inclusive) and ends with
+     * {@linkplain Buffer#limit() limit} (exclusive). Changes in position and
+     * limit after the stream creation don't affect the stream.
+     *
+     * <p>
+     * The buffer content is read in place, without copying, so the stream
+     * works well with direct and memory mapped buffers. The resulting stream
+     * is {@code SIZED} and can be efficiently parallelized. It does not change
+     * the internal {@code ByteBuffer} state.
+     *
+     * @param buf the {@code ByteBuffer} to create a stream from
+     * @return the new stream
+     * @see #asByteInputStream()
+     * @since 0.7.4
+     */
+    public static IntStreamEx ofBytes(ByteBuffer buf) {
+        return of(new BytesSpliterator(buf));
+    }
+
+    /**
+     * Returns a sequential ordered {@code IntStreamEx} containing the bytes of
+     * the file read by the supplied {@link FileChannel} starting from its
+     * current position.
+     *
+     * <p>
+     * The resulting stream contains int values between 0 and 255 (0xFF)
+     * inclusive like the stream created by {@link #of(InputStream)}. The file
+     * is memory mapped on demand, so it's read without copying into the
+     * intermediate buffers. The resulting stream is {@code SIZED} and can be
+     * efficiently parallelized. The channel position is not changed. The file
+     * size is determined once when this method is called.
+     *
+     * <p>
+     * If an {@link IOException} occurs during the stream traversal, it will be
+     * rethrown as {@link UncheckedIOException}.
+     *
+     * <p>
+     * When the returned {@code IntStreamEx} is closed the supplied
+     * {@code FileChannel} is closed as well. If {@link FileChannel#close()}
+     * method throws an {@code IOException}, it will be rethrown as
+     * {@link UncheckedIOException}.
+     *
+     * @param fc a {@code FileChannel} opened for reading
+     * @return the new stream
+     * @throws IOException if an I/O error occurs querying the channel size or
+     *         position
+     * @see #asByteInputStream()
+     * @since 0.7.4
+     */
+    public static IntStreamEx ofBytes(FileChannel fc) throws IOException {
+        return ofBytes(fc, BytesSpliterator.WINDOW_SIZE);
+    }
+
+    static IntStreamEx ofBytes(FileChannel fc, int windowSize) throws IOException {
+        long size = fc.size();
+        return of(new BytesSpliterator(fc, Math.min(fc.position(), size), size, windowSize)).onClose(() -> {
+            try {
+                fc.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     /**
      * Returns a sequential ordered {@code IntStreamEx} whose elements are the
      * unboxed elements of supplied array.
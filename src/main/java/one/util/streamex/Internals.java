@@ -37,6 +37,7 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.ObjDoubleConsumer;
@@ -923,6 +924,82 @@ import java.util.stream.Collector.Characteristics;
         }
     }
 
+    /**
+     * A spliterator which bulk traversal can be stopped by the condition, so
+     * the short-circuiting operations don't need to throw an exception to stop
+     * it. The implementations traverse the elements in a loop checking the
+     * condition; the spliterators backed by another spliterator may pass the
+     * condition down to it. The default implementation pulls the elements via
+     * tryAdvance, it's used only where tryAdvance is as cheap as the bulk
+     * traversal.
+     *
+     * <p>
+     * Only some sources and operations of this library implement it: the
+     * split strings, the constant, list-based, iterator-based, permutation,
+     * combination, Cartesian product and file lines sources and the
+     * {@code pairMap}, {@code mapFirst} and {@code mapLast} over them. Any
+     * other spliterator, including every JDK pipeline (e.g. after {@code map}
+     * or {@code filter}), is still stopped by {@link CancelException} thrown from
+     * forEachRemaining: advancing the JDK pipeline via tryAdvance may buffer
+     * the whole output of {@code flatMap}, and before Java 10 its
+     * short-circuiting ignores the flat-mapped streams.
+     *
+     * @param <T> the type of elements returned by this spliterator
+     */
+    interface CancellableSpliterator<T> extends Spliterator<T> {
+        /**
+         * Performs the action for the remaining elements until the condition
+         * becomes true. The condition is checked after every element fed to
+         * the action.
+         *
+         * @param action to feed the elements into
+         * @param stop the condition to stop the traversal
+         * @return true if the traversal was stopped by the condition, false if
+         *         all the elements were traversed
+         */
+        default boolean forEachUntil(Consumer<? super T> action, BooleanSupplier stop) {
+            while (tryAdvance(action)) {
+                if (stop.getAsBoolean())
+                    return true;
+            }
+            return false;
+        }
+
+        static <T> boolean traverseUntil(Spliterator<T> target, Consumer<? super T> action, BooleanSupplier stop) {
+            if (target instanceof CancellableSpliterator) {
+                return ((CancellableSpliterator<T>) target).forEachUntil(action, stop);
+            }
+            try {
+                // forEachRemaining can be much faster and take much less
+                // memory than tryAdvance for certain spliterators
+                target.forEachRemaining(t -> {
+                    action.accept(t);
+                    if (stop.getAsBoolean())
+                        throw new CancelException();
+                });
+            } catch (CancelException ex) {
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A sized spliterator which can skip the elements without generating
+     * them, as they are computed from their position.
+     *
+     * @param <T> the type of elements returned by this spliterator
+     */
+    interface SkippableSpliterator<T> extends Spliterator<T> {
+        /**
+         * Skips the elements, so the traversal continues from the element at
+         * the given distance from the current position, if any.
+         *
+         * @param n number of elements to skip, positive
+         */
+        void skip(long n);
+    }
+
     abstract class CloneableSpliterator<T, S extends CloneableSpliterator<T, ?>> implements Spliterator<T>,
             Cloneable {
         @SuppressWarnings("unchecked")
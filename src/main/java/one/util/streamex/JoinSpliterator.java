@@ -0,0 +1,256 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+import static one.util.streamex.Internals.Box;
+
+/**
+ * Hash join: the entries of the build side are collected into the hash table
+ * on the first access, then every probe entry is combined with the build
+ * entries having the same key. The probe side is split as usual, so it's
+ * processed in parallel, while all the splits share the same table.
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class JoinSpliterator<K, P, B, R> implements Spliterator<Entry<K, R>> {
+    private final Spliterator<? extends Entry<K, P>> probe;
+    private Spliterator<? extends Entry<K, B>> build;
+    private final boolean parallel;
+    private final boolean outer;
+    private final BiFunction<? super P, ? super B, ? extends R> mapper;
+    private Map<K, List<B>> table;
+    private final Box<Entry<K, P>> box = new Box<>();
+    // build values for the current probe entry which are not emitted yet
+    private List<B> matches;
+    private int pos;
+
+    /**
+     * @param probe the probe side
+     * @param build the build side
+     * @param parallel whether to collect the build side in parallel
+     * @param outer if true, the probe entries without match are emitted with
+     *        null build value
+     * @param mapper function to combine the probe and build values
+     */
+    JoinSpliterator(Spliterator<? extends Entry<K, P>> probe, Spliterator<? extends Entry<K, B>> build,
+            boolean parallel, boolean outer, BiFunction<? super P, ? super B, ? extends R> mapper) {
+        this.probe = probe;
+        this.build = build;
+        this.parallel = parallel;
+        this.outer = outer;
+        this.mapper = mapper;
+    }
+
+    private JoinSpliterator(JoinSpliterator<K, P, B, R> parent, Spliterator<? extends Entry<K, P>> probe) {
+        this.probe = probe;
+        this.parallel = parent.parallel;
+        this.outer = parent.outer;
+        this.mapper = parent.mapper;
+        this.table = parent.table;
+    }
+
+    private Map<K, List<B>> table() {
+        if (table == null) {
+            table = StreamSupport.stream(build, parallel).collect(HashMap::new, (Map<K, List<B>> map,
+                    Entry<K, B> e) -> map.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(e.getValue()), (
+                    m1, m2) -> m2.forEach((k, list) -> m1.merge(k, list, (l1, l2) -> {
+                        l1.addAll(l2);
+                        return l1;
+                    })));
+            build = null;
+        }
+        return table;
+    }
+
+    private Entry<K, R> entry(B value) {
+        return new SimpleImmutableEntry<>(box.a.getKey(), mapper.apply(box.a.getValue(), value));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Entry<K, R>> action) {
+        Map<K, List<B>> table = table();
+        while (true) {
+            if (matches != null) {
+                B value = matches.get(pos++);
+                if (pos == matches.size())
+                    matches = null;
+                action.accept(entry(value));
+                return true;
+            }
+            if (!probe.tryAdvance(box))
+                return false;
+            List<B> list = table.get(box.a.getKey());
+            if (list == null) {
+                if (outer) {
+                    action.accept(entry(null));
+                    return true;
+                }
+            } else {
+                matches = list;
+                pos = 0;
+            }
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Entry<K, R>> action) {
+        Map<K, List<B>> table = table();
+        while (matches != null) {
+            B value = matches.get(pos++);
+            if (pos == matches.size())
+                matches = null;
+            action.accept(entry(value));
+        }
+        probe.forEachRemaining(e -> {
+            List<B> list = table.get(e.getKey());
+            if (list == null) {
+                if (outer)
+                    action.accept(new SimpleImmutableEntry<>(e.getKey(), mapper.apply(e.getValue(), null)));
+            } else {
+                for (B value : list) {
+                    action.accept(new SimpleImmutableEntry<>(e.getKey(), mapper.apply(e.getValue(), value)));
+                }
+            }
+        });
+    }
+
+    @Override
+    public Spliterator<Entry<K, R>> trySplit() {
+        if (matches != null)
+            return null;
+        Spliterator<? extends Entry<K, P>> prefix = probe.trySplit();
+        if (prefix == null)
+            return null;
+        // build the table before the splits are passed to other threads
+        table();
+        return new JoinSpliterator<>(this, prefix);
+    }
+
+    @Override
+    public long estimateSize() {
+        return probe.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return probe.characteristics() & (ORDERED | NONNULL);
+    }
+
+    /**
+     * Merge join of the sources sorted by key. Only the build entries having
+     * the current key are retained.
+     */
+    static final class Merge<K, P, B, R> implements Spliterator<Entry<K, R>> {
+        private final Spliterator<? extends Entry<K, P>> probe;
+        private final Spliterator<? extends Entry<K, B>> build;
+        private final Comparator<? super K> comparator;
+        private final BiFunction<? super P, ? super B, ? extends R> mapper;
+        private final Box<Entry<K, P>> left = new Box<>();
+        private final Box<Entry<K, B>> right = new Box<>();
+        // right.a holds the build entry which is not in the run yet
+        private boolean lookahead;
+        private boolean finished;
+        private final List<B> run = new ArrayList<>();
+        private K runKey;
+        // position in the run for the current probe entry, -1 if none
+        private int pos = -1;
+
+        Merge(Spliterator<? extends Entry<K, P>> probe, Spliterator<? extends Entry<K, B>> build,
+                Comparator<? super K> comparator, BiFunction<? super P, ? super B, ? extends R> mapper) {
+            this.probe = probe;
+            this.build = build;
+            this.comparator = comparator;
+            this.mapper = mapper;
+        }
+
+        /**
+         * Moves the run to the first build key which is not less than the
+         * supplied key.
+         *
+         * @param key the probe key
+         * @return true if the run has the supplied key
+         */
+        private boolean seek(K key) {
+            if (!run.isEmpty()) {
+                int cmp = comparator.compare(runKey, key);
+                if (cmp >= 0)
+                    return cmp == 0;
+            }
+            run.clear();
+            while (true) {
+                if (!lookahead && !(lookahead = build.tryAdvance(right))) {
+                    finished = true;
+                    return false;
+                }
+                if (comparator.compare(right.a.getKey(), key) >= 0)
+                    break;
+                lookahead = false;
+            }
+            runKey = right.a.getKey();
+            do {
+                run.add(right.a.getValue());
+            } while ((lookahead = build.tryAdvance(right)) && comparator.compare(right.a.getKey(), runKey) == 0);
+            return comparator.compare(runKey, key) == 0;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<K, R>> action) {
+            while (true) {
+                if (pos >= 0) {
+                    B value = run.get(pos++);
+                    if (pos == run.size())
+                        pos = -1;
+                    action.accept(new SimpleImmutableEntry<>(left.a.getKey(), mapper.apply(left.a.getValue(),
+                        value)));
+                    return true;
+                }
+                if (finished || !probe.tryAdvance(left)) {
+                    finished = true;
+                    return false;
+                }
+                if (seek(left.a.getKey()))
+                    pos = 0;
+            }
+        }
+
+        @Override
+        public Spliterator<Entry<K, R>> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return finished ? 0 : probe.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return probe.characteristics() & build.characteristics() & (ORDERED | NONNULL);
+        }
+    }
+}
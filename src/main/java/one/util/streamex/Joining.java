@@ -15,19 +15,24 @@
  */
 package one.util.streamex;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.BreakIterator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
+import static one.util.streamex.Internals.CancellableSpliterator;
 import static one.util.streamex.Internals.alwaysTrue;
 import static one.util.streamex.Internals.checkNonNegative;
 
@@ -204,6 +209,48 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
         return pos + endPos;
     }
 
+    /**
+     * Copies the elements which fit into the limit followed by the ellipsis.
+     *
+     * @param data the elements following the already written part
+     * @param used the length of the already written part
+     * @param delimited whether the already written part contains any elements,
+     *        so the first element must be preceded by the delimiter
+     * @return the new position in the buffer
+     */
+    private int copyOverflow(char[] buf, int pos, List<CharSequence> data, int used, boolean delimited) {
+        int rest = limit - length(ellipsis, false);
+        if (rest < 0)
+            return copyCut(buf, pos, ellipsis, limit, CUT_ANYWHERE);
+        rest -= used;
+        int size = data.size();
+        for (int i = 0; i < size; i++) {
+            String s = data.get(i).toString();
+            int count = length(s, true);
+            if (i > 0 || delimited) {
+                if (cutStrategy == CUT_BEFORE_DELIMITER && delimCount + count > rest) {
+                    break;
+                }
+                if (delimCount > rest) {
+                    pos = copyCut(buf, pos, delimiter, rest, cutStrategy);
+                    break;
+                }
+                rest -= delimCount;
+                pos = copy(buf, pos, delimiter);
+            }
+            if (cutStrategy == CUT_AFTER_DELIMITER && delimCount + count > rest) {
+                break;
+            }
+            if (count > rest) {
+                pos = copyCut(buf, pos, s, rest, cutStrategy);
+                break;
+            }
+            pos = copy(buf, pos, s);
+            rest -= count;
+        }
+        return copy(buf, pos, ellipsis);
+    }
+
     private String finisherNoOverflow(Accumulator acc) {
         char[] buf = new char[acc.chars + prefix.length() + suffix.length()];
         int size = acc.data.size();
@@ -511,6 +558,37 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
         return withCut(CUT_AFTER_DELIMITER);
     }
 
+    /**
+     * Returns a {@code Collector} which behaves like this collector, but
+     * appends the resulting string to the specified {@link Appendable} (like
+     * {@link StringBuilder} or {@link java.io.Writer}) and returns it.
+     *
+     * <p>
+     * When used with {@link AbstractStreamEx#collect(Collector)}, the collector writes
+     * the elements to the {@code Appendable} as soon as they are consumed, so
+     * the memory footprint does not depend on the stream size. If the length
+     * limit is set, only the elements which may be cut or replaced with the
+     * ellipsis are held until the end of the stream. Parallel {@code StreamEx}
+     * is consumed in the encounter order; if the length limit is set, it's
+     * collected in short-circuiting manner and the limited string is appended
+     * at once. For other streams the string is built in memory as usual and
+     * appended at once.
+     *
+     * <p>
+     * The {@code Appendable} is neither flushed nor closed. The
+     * {@link java.io.IOException} thrown by the {@code Appendable} is wrapped
+     * into the {@link UncheckedIOException}.
+     *
+     * @param <A> the type of the {@code Appendable}
+     * @param appendable the {@code Appendable} to write to
+     * @return a new {@code Collector} which appends the resulting string to
+     *         the specified {@code Appendable}
+     * @since 0.7.4
+     */
+    public <A extends Appendable> Collector<CharSequence, ?, A> to(A appendable) {
+        return new AppendingCollector<>(this, Objects.requireNonNull(appendable));
+    }
+
     @Override
     public Supplier<Accumulator> supplier() {
         return Accumulator::new;
@@ -590,40 +668,9 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
         return acc -> {
             if (acc.count <= limit)
                 return finisherNoOverflow(acc);
-            char[] buf = new char[acc.chars + prefix.length() + suffix.length()];
-            int size = acc.data.size();
+            char[] buf = new char[acc.chars + prefix.length() + suffix.length() + ellipsis.length()];
             int pos = copy(buf, 0, prefix);
-            int ellipsisCount = length(ellipsis, false);
-            int rest = limit - ellipsisCount;
-            if (rest < 0) {
-                pos = copyCut(buf, pos, ellipsis, limit, CUT_ANYWHERE);
-            } else {
-                for (int i = 0; i < size; i++) {
-                    String s = acc.data.get(i).toString();
-                    int count = length(s, true);
-                    if (i > 0) {
-                        if (cutStrategy == CUT_BEFORE_DELIMITER && delimCount + count > rest) {
-                            break;
-                        }
-                        if (delimCount > rest) {
-                            pos = copyCut(buf, pos, delimiter, rest, cutStrategy);
-                            break;
-                        }
-                        rest -= delimCount;
-                        pos = copy(buf, pos, delimiter);
-                    }
-                    if (cutStrategy == CUT_AFTER_DELIMITER && delimCount + count > rest) {
-                        break;
-                    }
-                    if (count > rest) {
-                        pos = copyCut(buf, pos, s, rest, cutStrategy);
-                        break;
-                    }
-                    pos = copy(buf, pos, s);
-                    rest -= count;
-                }
-                pos = copy(buf, pos, ellipsis);
-            }
+            pos = copyOverflow(buf, pos, acc.data, 0, false);
             pos = copy(buf, pos, suffix);
             return new String(buf, 0, pos);
         };
@@ -646,4 +693,164 @@ public class Joining extends CancellableCollector<CharSequence, Joining.Accumula
             return alwaysTrue();
         return acc -> acc.count > limit;
     }
+
+    private static void append(Appendable out, CharSequence str) {
+        try {
+            out.append(str);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the elements directly to the {@code Appendable}. The element is
+     * written as soon as it's known that it will not be cut, so only the
+     * elements which may be replaced with the ellipsis are held.
+     */
+    private final class Appender implements Consumer<Object> {
+        private final Appendable out;
+        private final List<CharSequence> pending = new ArrayList<>();
+        private final boolean constant;
+        private final int rest;
+        // the length of the accepted and of the written content, like Accumulator.count
+        private int count, used;
+        private boolean empty = true, written;
+
+        Appender(Appendable out) {
+            init();
+            this.out = out;
+            this.constant = maxLength != -1 && limit <= 0 && lenStrategy != LENGTH_ELEMENTS;
+            this.rest = limit - length(ellipsis, false);
+            if (!constant)
+                append(out, prefix);
+        }
+
+        boolean finished() {
+            return constant || maxLength != -1 && count > limit;
+        }
+
+        @Override
+        public void accept(Object t) {
+            CharSequence str = (CharSequence) t;
+            if (maxLength == -1) {
+                if (!empty)
+                    append(out, delimiter);
+                empty = false;
+                append(out, str);
+                return;
+            }
+            if (finished())
+                return;
+            int len = length(str, true);
+            int delta = empty ? len : len + delimCount;
+            // cutAfterDelimiter keeps the element only if the next delimiter fits as well
+            int need = cutStrategy == CUT_AFTER_DELIMITER ? delta + delimCount : delta;
+            count += delta;
+            if (pending.isEmpty() && rest >= 0 && used + need <= rest) {
+                if (!empty)
+                    append(out, delimiter);
+                append(out, str);
+                used += delta;
+                written = true;
+            } else {
+                pending.add(str);
+            }
+            empty = false;
+        }
+
+        void finish() {
+            if (constant) {
+                append(out, finisher().apply(null));
+                return;
+            }
+            if (maxLength == -1 || count <= limit) {
+                for (CharSequence str : pending) {
+                    if (written)
+                        append(out, delimiter);
+                    written = true;
+                    append(out, str);
+                }
+            } else {
+                int chars = ellipsis.length();
+                for (CharSequence str : pending) {
+                    chars += delimiter.length() + str.length();
+                }
+                char[] buf = new char[chars];
+                append(out, new String(buf, 0, copyOverflow(buf, 0, pending, used, written)));
+            }
+            append(out, suffix);
+        }
+    }
+
+    static final class AppendingCollector<A extends Appendable> extends
+            CancellableCollector<CharSequence, Accumulator, A> {
+        private final Joining joining;
+        private final A appendable;
+
+        AppendingCollector(Joining joining, A appendable) {
+            this.joining = joining;
+            this.appendable = appendable;
+        }
+
+        /**
+         * Writes the stream elements without accumulating them.
+         *
+         * @param stream the stream of {@code CharSequence} elements
+         * @return the appendable
+         */
+        A appendAll(AbstractStreamEx<?, ?> stream) {
+            if (stream.isParallel() && joining.maxLength != -1) {
+                // forEachOrdered cannot be stopped, so the limited result is
+                // collected by the short-circuiting collect and written at once
+                @SuppressWarnings("unchecked")
+                AbstractStreamEx<CharSequence, ?> s = (AbstractStreamEx<CharSequence, ?>) stream;
+                append(appendable, s.collect(joining));
+                return appendable;
+            }
+            Appender appender = joining.new Appender(appendable);
+            if (!appender.finished()) {
+                if (stream.isParallel()) {
+                    stream.forEachOrdered(appender);
+                } else {
+                    CancellableSpliterator.traverseUntil(stream.spliterator(), appender, appender::finished);
+                }
+            }
+            appender.finish();
+            return appendable;
+        }
+
+        @Override
+        public Supplier<Accumulator> supplier() {
+            return joining.supplier();
+        }
+
+        @Override
+        public BiConsumer<Accumulator, CharSequence> accumulator() {
+            return joining.accumulator();
+        }
+
+        @Override
+        public BinaryOperator<Accumulator> combiner() {
+            return joining.combiner();
+        }
+
+        @Override
+        public Function<Accumulator, A> finisher() {
+            Function<Accumulator, String> finisher = joining.finisher();
+            return acc -> {
+                append(appendable, finisher.apply(acc));
+                return appendable;
+            };
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return joining.characteristics();
+        }
+
+        @Override
+        Predicate<Accumulator> finished() {
+            return joining.finished();
+        }
+    }
 }
@@ -84,22 +84,45 @@ import java.util.Iterator;
     /**
      * Merge other {@code Limiter} object into this (other object becomes unusable after that).
      * 
+     * <p>
+     * Both objects are sorted, then their sorted parts are merged in linear
+     * time, so combining the partial results of the parallel stream is cheap.
+     * 
      * @param ls other object to merge
      * @return this object
      */
     public Limiter<T> putAll(Limiter<T> ls) {
-        int i = 0;
-        if (!ls.initial) {
-            // sorted part
-            for (; i < limit; i++) {
-                if (!put(ls.data[i]))
-                    break;
-            }
-            i = limit;
+        int n2 = ls.size();
+        if (n2 == 0)
+            return this;
+        int n1 = size();
+        if (n1 == 0) {
+            data = ls.data;
+            size = ls.size;
+            initial = ls.initial;
+            return this;
+        }
+        sort();
+        ls.sort();
+        int total = Math.min(limit, n1 + n2);
+        @SuppressWarnings("unchecked")
+        T[] buf = (T[]) new Object[Math.max(data.length, Math.min(limit, total) * 2)];
+        T[] d1 = data, d2 = ls.data;
+        Comparator<? super T> cmp = comparator;
+        int i = 0, j = 0, k = 0;
+        // elements of this object precede in the encounter order, so they win the ties
+        while (k < total && i < n1 && j < n2) {
+            buf[k++] = cmp.compare(d1[i], d2[j]) <= 0 ? d1[i++] : d2[j++];
         }
-        for (; i < ls.size; i++) {
-            put(ls.data[i]);
+        if (k < total) {
+            if (i < n1)
+                System.arraycopy(d1, i, buf, k, total - k);
+            else
+                System.arraycopy(d2, j, buf, k, total - k);
         }
+        data = buf;
+        size = total;
+        initial = total < limit;
         return this;
     }
 
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static one.util.streamex.Internals.CancellableSpliterator;
+
+/**
+ * Lines of the memory mapped file. The file is split right after the first
+ * line terminator following the middle of the byte range, so the parallel
+ * traversal is balanced even though the number of lines is unknown. The range
+ * is mapped by windows of bounded size, thus only a small part of the file is
+ * mapped by every split part at a time and files larger than 2Gb are supported
+ * as well. The window is enlarged only to fit a line which is longer than the
+ * window.
+ *
+ * <p>
+ * Only the charsets in which '\n' and '\r' bytes always encode the line
+ * terminators are supported (see {@link #isSupported(Charset)}).
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class LinesSpliterator implements CancellableSpliterator<String> {
+    static final int WINDOW_SIZE = 1 << 22;
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+    private static final int SCAN_SIZE = 8192;
+
+    private final FileChannel fc;
+    private final Charset charset;
+    private final int windowSize;
+    private long index;
+    private final long fence;
+    private CharsetDecoder decoder;
+    private ByteBuffer window;
+    // duplicate of the window to decode the lines from
+    private ByteBuffer view;
+    private long windowStart;
+    // reused for the reads bypassing the window
+    private ByteBuffer buf;
+
+    LinesSpliterator(FileChannel fc, Charset charset, long index, long fence, int windowSize) {
+        this.fc = fc;
+        this.charset = charset;
+        this.index = index;
+        this.fence = fence;
+        this.windowSize = windowSize;
+    }
+
+    static boolean isSupported(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1)
+            || charset.equals(StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isTerminator(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    private void map(long from, int size) {
+        try {
+            window = fc.map(MapMode.READ_ONLY, from, Math.min(fence - from, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        view = window.duplicate();
+        windowStart = from;
+    }
+
+    private ByteBuffer buffer() {
+        if (buf == null)
+            buf = ByteBuffer.allocate(SCAN_SIZE);
+        // cast to Buffer, as the covariant overrides do not exist in Java 8
+        ((Buffer) buf).clear();
+        return buf;
+    }
+
+    private byte read(long pos) {
+        ByteBuffer buf = buffer();
+        ((Buffer) buf).limit(1);
+        try {
+            if (fc.read(buf, pos) != 1)
+                throw new IOException("Unexpected end of file at " + pos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buf.get(0);
+    }
+
+    private String decode(int from, int to) {
+        if (decoder == null) {
+            decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(
+                CodingErrorAction.REPORT);
+        }
+        ((Buffer) view).limit(to).position(from);
+        try {
+            return decoder.decode(view).toString();
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String readLine() {
+        while (index < fence) {
+            if (window == null || index >= windowStart + window.limit())
+                map(index, windowSize);
+            int start = (int) (index - windowStart);
+            int limit = window.limit();
+            int end = start;
+            while (end < limit && !isTerminator(window.get(end))) {
+                end++;
+            }
+            if (end == limit && windowStart + limit < fence) {
+                // the line continues after the window end
+                if (start > 0)
+                    map(index, windowSize);
+                else if (limit == MAX_WINDOW_SIZE)
+                    throw new UncheckedIOException(new IOException("Line is longer than " + MAX_WINDOW_SIZE
+                        + " bytes at " + index));
+                else
+                    map(index, (int) Math.min(MAX_WINDOW_SIZE, limit * 2L));
+                continue;
+            }
+            String line = decode(start, end);
+            long next = windowStart + end;
+            if (end < limit) {
+                next++;
+                if (window.get(end) == '\r' && next < fence
+                    && (end + 1 < limit ? window.get(end + 1) : read(next)) == '\n')
+                    next++;
+            }
+            index = next;
+            return line;
+        }
+        // release the mapping as soon as possible
+        window = view = null;
+        return null;
+    }
+
+    /**
+     * @param from position to start the search from
+     * @return position right after the first line terminator found at or
+     *         after the supplied position; fence if not found
+     */
+    private long nextLineStart(long from) {
+        ByteBuffer buf = buffer();
+        long pos = from;
+        try {
+            while (pos < fence) {
+                ((Buffer) buf).clear().limit((int) Math.min(SCAN_SIZE, fence - pos));
+                int read = fc.read(buf, pos);
+                if (read <= 0)
+                    return fence;
+                for (int i = 0; i < read; i++) {
+                    byte b = buf.get(i);
+                    if (isTerminator(b)) {
+                        long next = pos + i + 1;
+                        // read(next) overwrites buf, but it's not used afterwards
+                        if (b == '\r' && next < fence && (i + 1 < read ? buf.get(i + 1) : read(next)) == '\n')
+                            next++;
+                        return next;
+                    }
+                }
+                pos += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        String line = readLine();
+        if (line == null)
+            return false;
+        action.accept(line);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super String> action) {
+        for (String line = readLine(); line != null; line = readLine()) {
+            action.accept(line);
+        }
+    }
+
+    @Override
+    public boolean forEachUntil(Consumer<? super String> action, BooleanSupplier stop) {
+        for (String line = readLine(); line != null; line = readLine()) {
+            action.accept(line);
+            if (stop.getAsBoolean())
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        long mid = (index + fence) >>> 1;
+        if (mid <= index)
+            return null;
+        long split = nextLineStart(mid);
+        if (split >= fence)
+            return null;
+        LinesSpliterator prefix = new LinesSpliterator(fc, charset, index, split, windowSize);
+        index = split;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // exact number of lines is unknown, but the number of bytes is an
+        // upper bound, which also reflects the balance of the splits
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
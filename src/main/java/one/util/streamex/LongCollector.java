@@ -15,6 +15,7 @@
  */
 package one.util.streamex;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LongSummaryStatistics;
 import java.util.Map;
@@ -476,6 +477,64 @@ public interface LongCollector<A, R> extends MergingCollector<Long, A, R> {
         return PartialCollector.grouping(mapFactory, downstream).asLong(accumulator);
     }
 
+    /**
+     * Returns an {@code LongCollector} implementing a "group by" operation on input
+     * numbers, grouping them according to a primitive classification function,
+     * and returning the results in an {@link LongKeyMap}.
+     *
+     * <p>
+     * The resulting {@code LongKeyMap} keys are the values resulting from
+     * applying the classification function to the input numbers, and the
+     * corresponding values are arrays containing the input numbers which map
+     * to the associated key under the classification function.
+     *
+     * <p>
+     * Unlike {@link #groupingBy(LongFunction)} this collector never boxes the
+     * keys during the accumulation: they are kept in the primitive
+     * open-addressing hash table.
+     *
+     * @param classifier the classifier function mapping input elements to keys
+     * @return an {@code LongCollector} implementing the group-by operation
+     * @since 0.7.4
+     */
+    static LongCollector<?, LongKeyMap<long[]>> groupingByLong(LongUnaryOperator classifier) {
+        return groupingByLong(classifier, toArray());
+    }
+
+    /**
+     * Returns an {@code LongCollector} implementing a cascaded "group by" operation
+     * on input numbers, grouping them according to a primitive classification
+     * function, and then performing a reduction operation on the values
+     * associated with a given key using the specified downstream
+     * {@code LongCollector}.
+     *
+     * <p>
+     * The downstream collector produces a result of type {@code D}. The
+     * resulting collector produces a read-only {@code LongKeyMap<D>} sorted by key.
+     * The keys are never boxed during the accumulation: the downstream
+     * containers are kept in the primitive open-addressing hash table, so
+     * this collector is usually much faster than
+     * {@link #groupingBy(LongFunction, LongCollector)} when the number of the input
+     * elements is much bigger than the number of distinct keys.
+     *
+     * @param <A> the intermediate accumulation type of the downstream collector
+     * @param <D> the result type of the downstream reduction
+     * @param classifier a classifier function mapping input elements to keys
+     * @param downstream an {@code LongCollector} implementing the downstream
+     *        reduction
+     * @return an {@code LongCollector} implementing the cascaded group-by
+     *         operation
+     * @see LongStreamEx#groupingToCounts()
+     * @since 0.7.4
+     */
+    static <A, D> LongCollector<?, LongKeyMap<D>> groupingByLong(LongUnaryOperator classifier, LongCollector<A, D> downstream) {
+        Supplier<A> supplier = downstream.supplier();
+        ObjLongConsumer<A> accumulator = downstream.longAccumulator();
+        BiConsumer<A, A> merger = downstream.merger();
+        return of(LongKeyMap.Table<A>::new, (table, t) -> accumulator.accept(table.get(classifier.applyAsLong(t),
+            supplier), t), (left, right) -> left.merge(right, merger), table -> table.finish(downstream.finisher()));
+    }
+
     /**
      * Returns a {@code LongCollector} that produces the array of the input
      * elements. If no elements are present, the result is an empty array.
@@ -506,4 +565,165 @@ public interface LongCollector<A, R> extends MergingCollector<Long, A, R> {
             box.b = StrictMath.addExact(box.b, 1);
         });
     }
+
+    /**
+     * Returns an {@code LongCollector} which estimates a number of distinct input
+     * elements using the HyperLogLog algorithm.
+     *
+     * <p>
+     * The returned collector uses 2<sup>precision</sup> bytes per accumulation
+     * and the partial results are cheaply merged in parallel stream. The
+     * relative standard error of the estimate is about
+     * 1.04/sqrt(2<sup>precision</sup>): 6.5% for precision 8, 1.6% for
+     * precision 12, 0.41% for precision 16 and 0.2% for precision 18.
+     *
+     * @param precision the number of bits used to select the register, from 4
+     *        to 18 inclusive.
+     * @return an {@code LongCollector} which estimates a number of distinct input
+     *         elements.
+     * @throws IllegalArgumentException if precision is out of range.
+     * @see MoreCollectors#approxDistinctCount(java.util.function.Function, int)
+     * @since 0.7.4
+     */
+    static LongCollector<?, Long> approxDistinctCount(int precision) {
+        HyperLogLog.checkPrecision(precision);
+        return of(() -> new HyperLogLog(precision), HyperLogLog::add, HyperLogLog::merge, HyperLogLog::estimate);
+    }
+
+    /**
+     * Returns an {@code LongCollector} which computes the exact quantiles of the
+     * input elements for the given probabilities.
+     *
+     * <p>
+     * The quantile for probability {@code p} is computed by the linear
+     * interpolation between the elements which ranks are closest to
+     * {@code (n - 1) * p} where {@code n} is the number of input elements.
+     * Probability 0 corresponds to the minimal element, probability 1
+     * corresponds to the maximal one. The input elements are buffered, then
+     * the quantiles are found by selection which is faster than sorting.
+     *
+     * @param probabilities the probabilities of the quantiles to compute, each
+     *        between 0 and 1 inclusive.
+     * @return an {@code LongCollector} which produces an array of quantiles, in the
+     *         same order as the supplied probabilities. If no elements are
+     *         present, the array is filled with {@code NaN}.
+     * @throws IllegalArgumentException if any of the probabilities is out of
+     *         range.
+     * @see #approxQuantiles(int, double...)
+     * @since 0.7.4
+     */
+    static LongCollector<?, double[]> quantiles(double... probabilities) {
+        double[] ps = Quantiles.checkProbabilities(probabilities);
+        return of(LongBuffer::new, LongBuffer::add, LongBuffer::addAll, buf -> Quantiles.exact(buf, ps, key -> key));
+    }
+
+    /**
+     * Returns an {@code LongCollector} which estimates the quantiles of the input
+     * elements for the given probabilities using the bounded amount of
+     * memory.
+     *
+     * <p>
+     * The returned collector maintains a mergeable sketch of O(k) elements
+     * (in the spirit of the KLL sketch), so it's suitable for the streams of
+     * any length and for the parallel collection. The result for each
+     * probability is one of the input elements which rank differs from the
+     * requested one by the value proportional to {@code n / k}, where
+     * {@code n} is the number of input elements. For example, for
+     * {@code k = 200} the rank error usually does not exceed 1% of {@code n}.
+     * Probabilities 0 and 1 always produce the exact minimum and maximum.
+     *
+     * @param k the sketch size parameter controlling the accuracy, at least 8.
+     * @param probabilities the probabilities of the quantiles to compute, each
+     *        between 0 and 1 inclusive.
+     * @return an {@code LongCollector} which produces an array of estimated
+     *         quantiles, in the same order as the supplied probabilities. If no
+     *         elements are present, the array is filled with {@code NaN}.
+     * @throws IllegalArgumentException if k is less than 8 or any of the
+     *         probabilities is out of range.
+     * @see #quantiles(double...)
+     * @since 0.7.4
+     */
+    static LongCollector<?, double[]> approxQuantiles(int k, double... probabilities) {
+        Quantiles.checkSketchSize(k);
+        double[] ps = Quantiles.checkProbabilities(probabilities);
+        return of(() -> new Quantiles.Sketch(k), Quantiles.Sketch::add, Quantiles.Sketch::merge, sketch -> sketch.quantiles(ps,
+            key -> key));
+    }
+
+    /**
+     * Returns an {@code LongCollector} which collects at most specified number of
+     * the least input elements into the array sorted in ascending order.
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted().limit(n).toArray()}, but it stores only O(n)
+     * elements in the primitive array and takes O(n) time to combine the
+     * partial results of the parallel stream, so it's usually much faster if
+     * {@code n} is much less than the stream size.
+     *
+     * @param n maximum number of elements to preserve. If it's less or equal to
+     *        zero, an empty array is produced.
+     * @return an {@code LongCollector} which produces the array of the least n
+     *         input elements, or less if there were less elements.
+     * @see MoreCollectors#leastByLong(java.util.function.ToLongFunction, int)
+     * @since 0.7.4
+     */
+    static LongCollector<?, long[]> least(int n) {
+        if (n >= Integer.MAX_VALUE / 2)
+            return toArray().andThen(array -> {
+                Arrays.sort(array);
+                return array.length <= n ? array : Arrays.copyOf(array, n);
+            });
+        return of(() -> new PrimitiveLimiter<Void>(Math.max(n, 0), false), (limiter, x) -> limiter.put(x),
+            PrimitiveLimiter::putAll, limiter -> {
+                long[] keys = limiter.sortedKeys();
+                long[] result = new long[keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    long key = keys[i];
+                    result[i] = key;
+                }
+                return result;
+            });
+    }
+
+    /**
+     * Returns an {@code LongCollector} which collects at most specified number of
+     * the greatest input elements into the array sorted in descending order.
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * taking the first {@code n} elements of the stream sorted in descending
+     * order, but it stores only O(n) elements in the primitive array and takes
+     * O(n) time to combine the partial results of the parallel stream, so it's
+     * usually much faster if {@code n} is much less than the stream size.
+     *
+     * @param n maximum number of elements to preserve. If it's less or equal to
+     *        zero, an empty array is produced.
+     * @return an {@code LongCollector} which produces the array of the greatest n
+     *         input elements, or less if there were less elements.
+     * @see MoreCollectors#greatestByLong(java.util.function.ToLongFunction, int)
+     * @since 0.7.4
+     */
+    static LongCollector<?, long[]> greatest(int n) {
+        if (n >= Integer.MAX_VALUE / 2)
+            return toArray().andThen(array -> {
+                Arrays.sort(array);
+                for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+                    long tmp = array[i];
+                    array[i] = array[j];
+                    array[j] = tmp;
+                }
+                return array.length <= n ? array : Arrays.copyOf(array, n);
+            });
+        return of(() -> new PrimitiveLimiter<Void>(Math.max(n, 0), false), (limiter, x) -> limiter.put(~x),
+            PrimitiveLimiter::putAll, limiter -> {
+                long[] keys = limiter.sortedKeys();
+                long[] result = new long[keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    long key = keys[i];
+                    result[i] = ~key;
+                }
+                return result;
+            });
+    }
 }
@@ -67,11 +67,19 @@ import static one.util.streamex.Internals.intSize;
 public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfLong, LongStreamEx> implements
         LongStream {
     LongStreamEx(LongStream stream, StreamContext context) {
-        super(stream, context);
+        this(stream, context, null);
+    }
+
+    LongStreamEx(LongStream stream, StreamContext context, String operation) {
+        super(stream, context, operation);
     }
 
     LongStreamEx(Spliterator.OfLong spliterator, StreamContext context) {
-        super(spliterator, context);
+        this(spliterator, context, null);
+    }
+
+    LongStreamEx(Spliterator.OfLong spliterator, StreamContext context, String operation) {
+        super(spliterator, context, operation);
     }
 
     @Override
@@ -83,8 +91,8 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return new LongStreamEx(stream, StreamContext.SEQUENTIAL);
     }
 
-    final LongStreamEx delegate(Spliterator.OfLong spliterator) {
-        return new LongStreamEx(spliterator, context);
+    final LongStreamEx delegate(Spliterator.OfLong spliterator, String operation) {
+        return new LongStreamEx(spliterator, context, operation);
     }
 
     @Override
@@ -99,7 +107,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public LongStreamEx filter(LongPredicate predicate) {
-        return new LongStreamEx(stream().filter(predicate), context);
+        return new LongStreamEx(stream().filter(predicate), context, "filter");
     }
 
     /**
@@ -247,7 +255,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public LongStreamEx map(LongUnaryOperator mapper) {
-        return new LongStreamEx(stream().map(mapper), context);
+        return new LongStreamEx(stream().map(mapper), context, "map");
     }
 
     /**
@@ -267,7 +275,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      */
     public LongStreamEx mapFirst(LongUnaryOperator mapper) {
         return delegate(new PairSpliterator.PSOfLong((a, b) -> b, mapper, spliterator(),
-                PairSpliterator.MODE_MAP_FIRST));
+                PairSpliterator.MODE_MAP_FIRST), "mapFirst");
     }
 
     /**
@@ -291,22 +299,22 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      */
     public LongStreamEx mapLast(LongUnaryOperator mapper) {
         return delegate(new PairSpliterator.PSOfLong((a, b) -> a, mapper, spliterator(),
-                PairSpliterator.MODE_MAP_LAST));
+                PairSpliterator.MODE_MAP_LAST), "mapLast");
     }
 
     @Override
     public <U> StreamEx<U> mapToObj(LongFunction<? extends U> mapper) {
-        return new StreamEx<>(stream().mapToObj(mapper), context);
+        return new StreamEx<>(stream().mapToObj(mapper), context, "mapToObj");
     }
 
     @Override
     public IntStreamEx mapToInt(LongToIntFunction mapper) {
-        return new IntStreamEx(stream().mapToInt(mapper), context);
+        return new IntStreamEx(stream().mapToInt(mapper), context, "mapToInt");
     }
 
     @Override
     public DoubleStreamEx mapToDouble(LongToDoubleFunction mapper) {
-        return new DoubleStreamEx(stream().mapToDouble(mapper), context);
+        return new DoubleStreamEx(stream().mapToDouble(mapper), context, "mapToDouble");
     }
 
     /**
@@ -329,12 +337,12 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
     public <K, V> EntryStream<K, V> mapToEntry(LongFunction<? extends K> keyMapper,
             LongFunction<? extends V> valueMapper) {
         return new EntryStream<>(stream().mapToObj(t -> new AbstractMap.SimpleImmutableEntry<>(keyMapper.apply(t),
-                valueMapper.apply(t))), context);
+                valueMapper.apply(t))), context, "mapToEntry");
     }
 
     @Override
     public LongStreamEx flatMap(LongFunction<? extends LongStream> mapper) {
-        return new LongStreamEx(stream().flatMap(mapper), context);
+        return new LongStreamEx(stream().flatMap(mapper), context, "flatMap");
     }
 
     /**
@@ -353,7 +361,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @since 0.3.0
      */
     public IntStreamEx flatMapToInt(LongFunction<? extends IntStream> mapper) {
-        return new IntStreamEx(stream().mapToObj(mapper).flatMapToInt(Function.identity()), context);
+        return new IntStreamEx(stream().mapToObj(mapper).flatMapToInt(Function.identity()), context, "flatMapToInt");
     }
 
     /**
@@ -372,7 +380,8 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @since 0.3.0
      */
     public DoubleStreamEx flatMapToDouble(LongFunction<? extends DoubleStream> mapper) {
-        return new DoubleStreamEx(stream().mapToObj(mapper).flatMapToDouble(Function.identity()), context);
+        return new DoubleStreamEx(stream().mapToObj(mapper).flatMapToDouble(Function.identity()), context,
+                "flatMapToDouble");
     }
 
     /**
@@ -392,7 +401,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @since 0.3.0
      */
     public <R> StreamEx<R> flatMapToObj(LongFunction<? extends Stream<R>> mapper) {
-        return new StreamEx<>(stream().mapToObj(mapper).flatMap(Function.identity()), context);
+        return new StreamEx<>(stream().mapToObj(mapper).flatMap(Function.identity()), context, "flatMapToObj");
     }
 
     /**
@@ -411,17 +420,48 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @since 0.6.6
      */
     public LongStreamEx intersperse(int delimiter) {
-        return new LongStreamEx(stream().flatMap(s -> LongStreamEx.of(delimiter, s)).skip(1), context);
+        return new LongStreamEx(stream().flatMap(s -> LongStreamEx.of(delimiter, s)).skip(1), context, "intersperse");
     }
 
     @Override
     public LongStreamEx distinct() {
-        return new LongStreamEx(stream().distinct(), context);
+        return new LongStreamEx(stream().distinct(), context, "distinct");
+    }
+
+    /**
+     * Returns a stream consisting of the distinct elements of this stream
+     * which appear at least specified number of times in this stream.
+     *
+     * <p>
+     * If this stream is ordered then order is preserved.
+     *
+     * <p>
+     * This is a stateful <a
+     * href="package-summary.html#StreamOps">quasi-intermediate</a> operation.
+     *
+     * @param atLeast minimal number of occurrences required to select the
+     *        element. If atLeast is 1 or less, then this method is equivalent
+     *        to {@link #distinct()}.
+     * @return the new stream
+     * @see #distinct()
+     * @since 0.7.4
+     */
+    public LongStreamEx distinct(long atLeast) {
+        if (atLeast <= 1)
+            return distinct();
+        if (atLeast > Integer.MAX_VALUE)
+            // primitive spliterator stores the counts as ints
+            return boxed().distinct(atLeast).mapToLong(Long::longValue);
+        Spliterator.OfLong spliterator = spliterator();
+        if (spliterator.hasCharacteristics(Spliterator.DISTINCT))
+            // already distinct: cannot have any repeating elements
+            return delegate(Spliterators.emptyLongSpliterator(), "distinct");
+        return delegate(new DistinctSpliterator.OfLong(spliterator, (int) atLeast), "distinct");
     }
 
     @Override
     public LongStreamEx sorted() {
-        return new LongStreamEx(stream().sorted(), context);
+        return new LongStreamEx(stream().sorted(), context, "sorted");
     }
 
     /**
@@ -444,7 +484,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @return the new stream
      */
     public LongStreamEx sorted(Comparator<Long> comparator) {
-        return new LongStreamEx(stream().boxed().sorted(comparator).mapToLong(Long::longValue), context);
+        return new LongStreamEx(stream().boxed().sorted(comparator).mapToLong(Long::longValue), context, "sorted");
     }
 
     /**
@@ -459,7 +499,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      */
     public LongStreamEx reverseSorted() {
         LongUnaryOperator inv = x -> ~x;
-        return new LongStreamEx(stream().map(inv).sorted().map(inv), context);
+        return new LongStreamEx(stream().map(inv).sorted().map(inv), context, "reverseSorted");
     }
 
     /**
@@ -495,8 +535,12 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -505,7 +549,9 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @return the new stream
      */
     public LongStreamEx sortedByInt(LongToIntFunction keyExtractor) {
-        return sorted(Comparator.comparingInt(keyExtractor::applyAsInt));
+        Objects.requireNonNull(keyExtractor);
+        return new LongStreamEx(RadixSort.sorted(stream(), x -> RadixSort.intKey(keyExtractor.applyAsInt(x))), context,
+                "sortedByInt");
     }
 
     /**
@@ -517,8 +563,12 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -527,7 +577,9 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @return the new stream
      */
     public LongStreamEx sortedByLong(LongUnaryOperator keyExtractor) {
-        return sorted(Comparator.comparingLong(keyExtractor::applyAsLong));
+        Objects.requireNonNull(keyExtractor);
+        return new LongStreamEx(RadixSort.sorted(stream(), x -> RadixSort.longKey(keyExtractor.applyAsLong(x))),
+                context, "sortedByLong");
     }
 
     /**
@@ -539,8 +591,12 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * stability guarantees are made.
      *
      * <p>
-     * This is a <a href="package-summary.html#StreamOps">stateful intermediate
-     * operation</a>.
+     * This is a stateful <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * <p>
+     * The keys are extracted only once per element, then the elements are
+     * sorted using the radix sort by the extracted keys.
      *
      * @param keyExtractor a
      *        <a href="package-summary.html#NonInterference">non-interfering
@@ -549,12 +605,14 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @return the new stream
      */
     public LongStreamEx sortedByDouble(LongToDoubleFunction keyExtractor) {
-        return sorted(Comparator.comparingDouble(keyExtractor::applyAsDouble));
+        Objects.requireNonNull(keyExtractor);
+        return new LongStreamEx(RadixSort.sorted(stream(), x -> RadixSort.doubleKey(keyExtractor.applyAsDouble(x))),
+                context, "sortedByDouble");
     }
 
     @Override
     public LongStreamEx peek(LongConsumer action) {
-        return new LongStreamEx(stream().peek(action), context);
+        return new LongStreamEx(stream().peek(action), context, "peek");
     }
 
     /**
@@ -633,12 +691,12 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public LongStreamEx limit(long maxSize) {
-        return new LongStreamEx(stream().limit(maxSize), context);
+        return new LongStreamEx(stream().limit(maxSize), context, "limit");
     }
 
     @Override
     public LongStreamEx skip(long n) {
-        return new LongStreamEx(stream().skip(n), context);
+        return new LongStreamEx(stream().skip(n), context, "skip");
     }
 
     @Override
@@ -680,6 +738,28 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return stream().toArray();
     }
 
+    /**
+     * Returns a read-only map which keys are the distinct elements of this
+     * stream and values are the numbers of their occurrences.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * The result is the same as
+     * {@code boxed().groupingBy(Function.identity(), Collectors.counting())},
+     * but the elements are counted in the primitive open-addressing hash
+     * table without boxing, and the resulting map stores the keys in the
+     * compact sorted array.
+     *
+     * @return a {@code LongKeyMap} of the element counts
+     * @see LongCollector#groupingByLong(LongUnaryOperator, LongCollector)
+     * @since 0.7.4
+     */
+    public LongKeyMap<Long> groupingToCounts() {
+        return collect(LongKeyMap.Counts::new, LongKeyMap.Counts::add, LongKeyMap.Counts::merge).finish();
+    }
+
     @Override
     public long reduce(long identity, LongBinaryOperator op) {
         if (context.fjp != null)
@@ -815,13 +895,14 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      *         corresponding stream element. The resulting array has the same
      *         length as this stream.
      * @see #foldLeft(LongBinaryOperator)
+     * @see #toPrefixArray(LongBinaryOperator)
      * @since 0.5.1
      */
     public long[] scanLeft(LongBinaryOperator accumulator) {
         Spliterator.OfLong spliterator = spliterator();
         int size = intSize(spliterator);
         LongBuffer buf = new LongBuffer(size >= 0 ? size : INITIAL_SIZE);
-        delegate(spliterator).forEachOrdered(i -> buf.add(buf.size == 0 ? i
+        delegate(spliterator, "scanLeft").forEachOrdered(i -> buf.add(buf.size == 0 ? i
                 : accumulator.applyAsLong(buf.data[buf.size - 1], i)));
         return buf.toArray();
     }
@@ -857,6 +938,53 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return prepend(seed).scanLeft(accumulator);
     }
 
+    /**
+     * Produces an array containing cumulative results of applying the
+     * associative accumulation function going left to right.
+     *
+     * <p>
+     * This is a terminal operation.
+     *
+     * <p>
+     * The result is the same as the result of {@link #scanLeft(LongBinaryOperator)} or
+     * {@code prefix(op).toArray()}, but the parallel stream is processed in two
+     * parallel passes: the elements are stored into the array first, then the
+     * cumulative results are computed in-place by
+     * {@link Arrays#parallelPrefix(long[], LongBinaryOperator)}. Thus unlike
+     * {@code scanLeft} the parallel processing is not restricted to go
+     * strictly left to right and no intermediate values are boxed.
+     *
+     * @param op an <a href="package-summary.html#Associativity">associative</a>
+     *        , <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        function for computing the next element based on the previous one
+     * @return the array where the first element is the first element of this
+     *         stream and every successor element is the result of applying
+     *         op function to the previous array element and the corresponding
+     *         stream element. The resulting array has the same length as this
+     *         stream.
+     * @see #scanLeft(LongBinaryOperator)
+     * @see #prefix(LongBinaryOperator)
+     * @since 0.7.4
+     */
+    public long[] toPrefixArray(LongBinaryOperator op) {
+        Objects.requireNonNull(op);
+        long[] array = toArray();
+        if (!isParallel()) {
+            for (int i = 1; i < array.length; i++) {
+                array[i] = op.applyAsLong(array[i - 1], array[i]);
+            }
+        } else if (context.fjp != null) {
+            context.terminate(array, a -> {
+                Arrays.parallelPrefix(a, op);
+                return a;
+            });
+        } else {
+            Arrays.parallelPrefix(array, op);
+        }
+        return array;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1305,12 +1433,12 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public DoubleStreamEx asDoubleStream() {
-        return new DoubleStreamEx(stream().asDoubleStream(), context);
+        return new DoubleStreamEx(stream().asDoubleStream(), context, "asDoubleStream");
     }
 
     @Override
     public StreamEx<Long> boxed() {
-        return new StreamEx<>(stream().boxed(), context);
+        return new StreamEx<>(stream().boxed(), context, "boxed");
     }
 
     @Override
@@ -1328,6 +1456,11 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return (LongStreamEx) super.parallel(fjp);
     }
 
+    @Override
+    public LongStreamEx instrumented(StreamMetrics metrics) {
+        return (LongStreamEx) super.instrumented(metrics);
+    }
+
     @Override
     public OfLong iterator() {
         return Spliterators.iterator(spliterator());
@@ -1347,7 +1480,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
     public LongStreamEx append(long... values) {
         if (values.length == 0)
             return this;
-        return new LongStreamEx(LongStream.concat(stream(), LongStream.of(values)), context);
+        return new LongStreamEx(LongStream.concat(stream(), LongStream.of(values)), context, "append");
     }
 
     /**
@@ -1362,7 +1495,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @see LongStream#concat(LongStream, LongStream)
      */
     public LongStreamEx append(LongStream other) {
-        return new LongStreamEx(LongStream.concat(stream(), other), context.combine(other));
+        return new LongStreamEx(LongStream.concat(stream(), other), context.combine(other), "append");
     }
 
     /**
@@ -1379,7 +1512,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
     public LongStreamEx prepend(long... values) {
         if (values.length == 0)
             return this;
-        return new LongStreamEx(LongStream.concat(LongStream.of(values), stream()), context);
+        return new LongStreamEx(LongStream.concat(LongStream.of(values), stream()), context, "prepend");
     }
 
     /**
@@ -1394,7 +1527,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @see LongStream#concat(LongStream, LongStream)
      */
     public LongStreamEx prepend(LongStream other) {
-        return new LongStreamEx(LongStream.concat(other, stream()), context.combine(other));
+        return new LongStreamEx(LongStream.concat(other, stream()), context.combine(other), "prepend");
     }
 
     /**
@@ -1415,7 +1548,48 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @since 0.2.1
      */
     public LongStreamEx pairMap(LongBinaryOperator mapper) {
-        return delegate(new PairSpliterator.PSOfLong(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
+        return delegate(new PairSpliterator.PSOfLong(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS),
+                "pairMap");
+    }
+    /**
+     * Returns a stream consisting of the results of reducing every sliding
+     * window of {@code size} adjacent elements of this stream with the
+     * supplied collector. For example, {@code windowed(3, LongCollector.averaging())}
+     * produces the moving averages.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     * 
+     * <p>
+     * If this stream has less than {@code size} elements, the output stream
+     * will be empty. The windows are not materialized: the elements are
+     * accumulated into single-element containers which are merged in a way
+     * that every stream element costs a constant number of merges regardless
+     * of the window size. Thus the collector merger must not modify its
+     * second argument.
+     *
+     * @param <A> the intermediate accumulation type of the collector
+     * @param <R> type of the window reduction result
+     * @param size the number of elements in each window (must be positive
+     *        number).
+     * @param collector the {@code LongCollector} describing the window
+     *        reduction
+     * @return the new stream
+     * @throws IllegalArgumentException if size is negative or zero.
+     * @since 0.7.4
+     */
+    public <A, R> StreamEx<R> windowed(int size, LongCollector<A, R> collector) {
+        WindowSpliterator.checkSize("size", size);
+        Supplier<A> supplier = collector.supplier();
+        ObjLongConsumer<A> accumulator = collector.longAccumulator();
+        Spliterator<A> containers = stream().mapToObj(t -> {
+            A acc = supplier.get();
+            accumulator.accept(acc, t);
+            return acc;
+        }).spliterator();
+        return new StreamEx<>(new WindowSpliterator.OfCollector<>(containers, size, supplier, collector.merger(),
+                collector.finisher()), context, "windowed");
     }
 
     /**
@@ -1504,7 +1678,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      */
     public LongStreamEx takeWhileInclusive(LongPredicate predicate) {
         Objects.requireNonNull(predicate);
-        return delegate(new TakeDrop.TDOfLong(spliterator(), false, true, predicate));
+        return delegate(new TakeDrop.TDOfLong(spliterator(), false, true, predicate), "takeWhileInclusive");
     }
 
     /**
@@ -1563,7 +1737,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
     public LongStreamEx prefix(LongBinaryOperator op) {
         Spliterator.OfLong spltr = spliterator();
         return delegate(spltr.hasCharacteristics(Spliterator.ORDERED) ? new PrefixOps.OfLong(spltr, op)
-                : new PrefixOps.OfUnordLong(spltr, op));
+                : new PrefixOps.OfUnordLong(spltr, op), "prefix");
     }
 
     // Necessary to generate proper JavaDoc
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Maps the source elements submitting at most maxConcurrency tasks to the
+ * executor at once. The source is consumed in the thread which traverses this
+ * spliterator, thus it never splits.
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class MapConcurrentSpliterator<T, R> implements Spliterator<R>, Consumer<T>, Runnable {
+    private final Spliterator<T> source;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final Function<? super T, ? extends R> mapper;
+    // submitted tasks in encounter order; null for unordered source
+    private final ArrayDeque<FutureTask<R>> pending;
+    // completed tasks in completion order; null for ordered source
+    private final BlockingQueue<Task> completed;
+    // the list of submitted tasks for unordered source, so any of them can be
+    // removed in constant time
+    private Task head;
+    // number of submitted tasks which results were not consumed yet
+    private int inFlight;
+    private boolean exhausted;
+
+    MapConcurrentSpliterator(Spliterator<T> source, int maxConcurrency, Executor executor,
+            Function<? super T, ? extends R> mapper) {
+        this.source = source;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+        this.mapper = mapper;
+        if (source.hasCharacteristics(ORDERED)) {
+            this.pending = new ArrayDeque<>(Math.min(maxConcurrency, Internals.INITIAL_SIZE));
+            this.completed = null;
+        } else {
+            this.pending = null;
+            this.completed = new LinkedBlockingQueue<>();
+        }
+    }
+
+    /**
+     * The task of the unordered source which reports its completion.
+     */
+    private final class Task extends FutureTask<R> {
+        Task prev, next;
+
+        Task(T t) {
+            super(() -> mapper.apply(t));
+        }
+
+        @Override
+        protected void done() {
+            completed.add(this);
+        }
+    }
+
+    @Override
+    public void accept(T t) {
+        FutureTask<R> task = pending != null ? new FutureTask<>(() -> mapper.apply(t)) : new Task(t);
+        // the task is registered only after it's accepted by the executor;
+        // the links of the Task are touched by the traversing thread only, so
+        // it's safe if it completes before being linked
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            run();
+            throw e;
+        }
+        if (pending != null) {
+            pending.add(task);
+        } else {
+            Task node = (Task) task;
+            if ((node.next = head) != null)
+                head.prev = node;
+            head = node;
+        }
+        inFlight++;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        while (!exhausted && inFlight < maxConcurrency) {
+            exhausted = !source.tryAdvance(this);
+        }
+        if (inFlight == 0)
+            return false;
+        FutureTask<R> task = pending != null ? pending.poll() : takeCompleted();
+        inFlight--;
+        action.accept(result(task));
+        return true;
+    }
+
+    private Task takeCompleted() {
+        Task task;
+        try {
+            task = completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run();
+            throw new CompletionException(e);
+        }
+        if (task.prev == null)
+            head = task.next;
+        else
+            task.prev.next = task.next;
+        if (task.next != null)
+            task.next.prev = task.prev;
+        return task;
+    }
+
+    private R result(FutureTask<R> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            run();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * Cancels the tasks which results were not consumed yet.
+     */
+    @Override
+    public void run() {
+        if (pending != null) {
+            for (FutureTask<R> task = pending.poll(); task != null; task = pending.poll()) {
+                task.cancel(true);
+            }
+        } else {
+            for (Task task = head; task != null; task = task.next) {
+                task.cancel(true);
+            }
+            head = null;
+        }
+        inFlight = 0;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = source.estimateSize();
+        return size == Long.MAX_VALUE ? size : size + inFlight;
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & (ORDERED | SIZED);
+    }
+}
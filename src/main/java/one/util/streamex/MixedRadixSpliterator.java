@@ -0,0 +1,247 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static one.util.streamex.Internals.CancellableSpliterator;
+import static one.util.streamex.Internals.CloneableSpliterator;
+import static one.util.streamex.Internals.SkippableSpliterator;
+
+/**
+ * Enumerates the index tuples of the Cartesian product in lexicographic order
+ * by mixed-radix counting. The tuples are numbered, so the range of numbers is
+ * split in halves and the parallel parts are balanced regardless of the
+ * dimension sizes. Within the part the next tuple is produced by incrementing
+ * the digits with carry, so no division is performed per tuple.
+ *
+ * <p>
+ * If the number of tuples exceeds {@code Long.MAX_VALUE}, the spliterator is
+ * not sized and cannot be split; the traversal stops when the counter
+ * overflows.
+ *
+ * @author Tagir Valeev
+ */
+/* package */abstract class MixedRadixSpliterator<A> extends CloneableSpliterator<A, MixedRadixSpliterator<A>>
+        implements CancellableSpliterator<A>, SkippableSpliterator<A> {
+    private final int[] radices;
+    private final boolean sized;
+    private long cur, fence;
+    // the digits of the tuple number cur, created on the first advance
+    private int[] digits;
+
+    MixedRadixSpliterator(int[] radices) {
+        this.radices = radices;
+        long total = 1;
+        boolean sized = true;
+        for (int radix : radices) {
+            if (radix == 0) {
+                total = 0;
+                sized = true;
+                break;
+            }
+            if (sized) {
+                try {
+                    total = StrictMath.multiplyExact(total, radix);
+                } catch (ArithmeticException e) {
+                    sized = false;
+                    total = Long.MAX_VALUE;
+                }
+            }
+        }
+        this.sized = sized;
+        this.fence = total;
+    }
+
+    /**
+     * @param digits the digits of the current tuple, owned by this
+     *        spliterator
+     * @return the stream element for the current tuple
+     */
+    abstract A get(int[] digits);
+
+    private int[] digits() {
+        int[] d = digits;
+        if (d == null) {
+            d = digits = new int[radices.length];
+            long c = cur;
+            for (int i = d.length - 1; i >= 0 && c > 0; i--) {
+                d[i] = (int) (c % radices[i]);
+                c /= radices[i];
+            }
+        }
+        return d;
+    }
+
+    private void next(int[] d) {
+        if (++cur == fence)
+            return;
+        for (int i = d.length - 1; i >= 0; i--) {
+            if (++d[i] < radices[i])
+                return;
+            d[i] = 0;
+        }
+        // the counter overflowed
+        fence = cur;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super A> action) {
+        if (cur >= fence)
+            return false;
+        int[] d = digits();
+        A a = get(d);
+        next(d);
+        action.accept(a);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super A> action) {
+        if (cur >= fence)
+            return;
+        int[] d = digits();
+        while (cur < fence) {
+            A a = get(d);
+            next(d);
+            action.accept(a);
+        }
+    }
+
+    @Override
+    public boolean forEachUntil(Consumer<? super A> action, BooleanSupplier stop) {
+        if (cur >= fence)
+            return false;
+        int[] d = digits();
+        while (cur < fence) {
+            A a = get(d);
+            next(d);
+            action.accept(a);
+            if (stop.getAsBoolean())
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public MixedRadixSpliterator<A> trySplit() {
+        long mid = (cur + fence) >>> 1;
+        if (!sized || mid <= cur)
+            return null;
+        MixedRadixSpliterator<A> prefix = doClone();
+        prefix.fence = mid;
+        // the prefix keeps the digits, they are recalculated for the suffix
+        cur = mid;
+        digits = null;
+        return prefix;
+    }
+
+    @Override
+    public void skip(long n) {
+        cur += Math.min(n, fence - cur);
+        digits = null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - cur;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | IMMUTABLE | NONNULL | (sized ? SIZED | SUBSIZED : 0);
+    }
+
+    static final class OfIndices extends MixedRadixSpliterator<int[]> {
+        OfIndices(int[] sizes) {
+            super(sizes);
+        }
+
+        @Override
+        int[] get(int[] digits) {
+            return digits.clone();
+        }
+    }
+
+    static final class Mapping<T, R> extends MixedRadixSpliterator<R> {
+        private final Object[][] values;
+        private final Function<? super List<T>, ? extends R> mapper;
+        private TupleView<T> view;
+
+        Mapping(Collection<? extends Collection<T>> source, Function<? super List<T>, ? extends R> mapper) {
+            this(source.stream().map(Collection::toArray).toArray(Object[][]::new), mapper);
+        }
+
+        private Mapping(Object[][] values, Function<? super List<T>, ? extends R> mapper) {
+            super(sizes(values));
+            this.values = values;
+            this.mapper = mapper;
+        }
+
+        private static int[] sizes(Object[][] values) {
+            int[] sizes = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                sizes[i] = values[i].length;
+            }
+            return sizes;
+        }
+
+        @Override
+        R get(int[] digits) {
+            TupleView<T> v = view;
+            if (v == null || v.digits != digits)
+                v = view = new TupleView<>(values, digits);
+            return mapper.apply(v);
+        }
+
+        @Override
+        public int characteristics() {
+            // the mapper may return null
+            return super.characteristics() & ~NONNULL;
+        }
+    }
+
+    /**
+     * Read-only list view of the current tuple which changes as the
+     * spliterator advances.
+     */
+    static final class TupleView<T> extends AbstractList<T> implements RandomAccess {
+        final Object[][] values;
+        final int[] digits;
+
+        TupleView(Object[][] values, int[] digits) {
+            this.values = values;
+            this.digits = digits;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            return (T) values[index][digits[index]];
+        }
+
+        @Override
+        public int size() {
+            return digits.length;
+        }
+    }
+}
@@ -52,8 +52,8 @@ import java.util.stream.Stream;
 import static one.util.streamex.AbstractStreamEx.addToMap;
 import static one.util.streamex.Internals.BooleanMap;
 import static one.util.streamex.Internals.Box;
-import static one.util.streamex.Internals.CancelException;
 import static one.util.streamex.Internals.CancellableCollectorImpl;
+import static one.util.streamex.Internals.CancellableSpliterator;
 import static one.util.streamex.Internals.ID_CHARACTERISTICS;
 import static one.util.streamex.Internals.NONE;
 import static one.util.streamex.Internals.NO_CHARACTERISTICS;
@@ -314,6 +314,43 @@ public final class MoreCollectors {
         return Collectors.collectingAndThen(Collectors.mapping(mapper, Collectors.toSet()), Set::size);
     }
 
+    /**
+     * Returns a {@code Collector} which estimates a number of distinct values
+     * the mapper function returns for the stream elements using the
+     * HyperLogLog algorithm.
+     *
+     * <p>
+     * Unlike {@link #distinctCount(Function)} this collector uses a fixed
+     * amount of memory: 2<sup>precision</sup> bytes per accumulation, which
+     * are cheaply merged in parallel stream. The relative standard error of
+     * the estimate is about 1.04/sqrt(2<sup>precision</sup>): 6.5% for
+     * precision 8 (256 bytes), 1.6% for precision 12 (4 Kb), 0.41% for
+     * precision 16 (64 Kb) and 0.2% for precision 18 (256 Kb).
+     *
+     * <p>
+     * The values are distinguished by their {@link Object#hashCode()}, thus
+     * unequal values having the same hash code are counted once. For
+     * 10<sup>8</sup> distinct values such collisions cause about 1% of
+     * additional underestimation.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper a function which classifies input elements.
+     * @param precision the number of bits used to select the register, from 4
+     *        to 18 inclusive.
+     * @return a collector which estimates a number of distinct classes the
+     *         mapper function returns for the stream elements.
+     * @throws NullPointerException if mapper is null.
+     * @throws IllegalArgumentException if precision is out of range.
+     * @see #distinctCount(Function)
+     * @since 0.7.4
+     */
+    public static <T> Collector<T, ?, Long> approxDistinctCount(Function<? super T, ?> mapper, int precision) {
+        Objects.requireNonNull(mapper);
+        HyperLogLog.checkPrecision(precision);
+        return Collector.of(() -> new HyperLogLog(precision), (hll, t) -> hll.addObject(mapper.apply(t)),
+            HyperLogLog::merge, HyperLogLog::estimate, Characteristics.UNORDERED);
+    }
+
     /**
      * Returns a {@code Collector} which collects into the {@link List} the
      * input elements for which given mapper function returns distinct results.
@@ -957,6 +994,170 @@ public final class MoreCollectors {
         return least(Comparator.<T>naturalOrder(), n);
     }
 
+    /**
+     * Returns a {@code Collector} which collects at most specified number of
+     * the least stream elements according to the int keys extracted by the
+     * supplied function into the {@link List}. The resulting {@code List} is
+     * sorted by key in ascending order (least element is the first). The
+     * order of elements with equal keys is the same as in the input stream.
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted(comparator).limit(n).collect(Collectors.toList())}
+     * where {@code comparator} is {@code Comparator.comparingInt(keyExtractor)}, but
+     * the keys are extracted only once per element and stored in the
+     * primitive array, so it's usually much faster than
+     * {@link #least(Comparator, int)}. Combining the partial results of
+     * the parallel stream takes O(n) time.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code List} returned.
+     *
+     * <p>
+     * When supplied {@code n} is less or equal to zero, this method returns a
+     * <a href="package-summary.html#ShortCircuitReduction">short-circuiting
+     * collector</a> which ignores the input and produces an empty list.
+     *
+     * @param <T> the type of the input elements
+     * @param keyExtractor a function to extract the int key from the element
+     * @param n maximum number of stream elements to preserve
+     * @return a collector which returns a {@code List} containing the least n
+     *         stream elements or less if the stream was shorter.
+     * @throws NullPointerException if keyExtractor is null.
+     * @since 0.7.4
+     */
+    public static <T> Collector<T, ?, List<T>> leastByInt(ToIntFunction<? super T> keyExtractor, int n) {
+        Objects.requireNonNull(keyExtractor);
+        return leastByKey(n, Comparator.comparingInt(keyExtractor), (limiter, t) -> limiter.put(keyExtractor
+                .applyAsInt(t), t));
+    }
+
+    /**
+     * Returns a {@code Collector} which collects at most specified number of
+     * the greatest stream elements according to the int keys extracted by the
+     * supplied function into the {@link List}. The resulting {@code List} is
+     * sorted by key in descending order (greatest element is the first). The
+     * order of elements with equal keys is the same as in the input stream.
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted(comparator.reversed()).limit(n).collect(Collectors.toList())}
+     * where {@code comparator} is {@code Comparator.comparingInt(keyExtractor)}, but
+     * the keys are extracted only once per element and stored in the
+     * primitive array, so it's usually much faster than
+     * {@link #greatest(Comparator, int)}. Combining the partial results of
+     * the parallel stream takes O(n) time.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code List} returned.
+     *
+     * <p>
+     * When supplied {@code n} is less or equal to zero, this method returns a
+     * <a href="package-summary.html#ShortCircuitReduction">short-circuiting
+     * collector</a> which ignores the input and produces an empty list.
+     *
+     * @param <T> the type of the input elements
+     * @param keyExtractor a function to extract the int key from the element
+     * @param n maximum number of stream elements to preserve
+     * @return a collector which returns a {@code List} containing the greatest n
+     *         stream elements or less if the stream was shorter.
+     * @throws NullPointerException if keyExtractor is null.
+     * @since 0.7.4
+     */
+    public static <T> Collector<T, ?, List<T>> greatestByInt(ToIntFunction<? super T> keyExtractor, int n) {
+        Objects.requireNonNull(keyExtractor);
+        return leastByKey(n, Comparator.comparingInt(keyExtractor).reversed(), (limiter, t) -> limiter.put(
+            ~(long) keyExtractor.applyAsInt(t), t));
+    }
+
+    /**
+     * Returns a {@code Collector} which collects at most specified number of
+     * the least stream elements according to the long keys extracted by the
+     * supplied function into the {@link List}. The resulting {@code List} is
+     * sorted by key in ascending order (least element is the first). The
+     * order of elements with equal keys is the same as in the input stream.
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted(comparator).limit(n).collect(Collectors.toList())}
+     * where {@code comparator} is {@code Comparator.comparingLong(keyExtractor)}, but
+     * the keys are extracted only once per element and stored in the
+     * primitive array, so it's usually much faster than
+     * {@link #least(Comparator, int)}. Combining the partial results of
+     * the parallel stream takes O(n) time.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code List} returned.
+     *
+     * <p>
+     * When supplied {@code n} is less or equal to zero, this method returns a
+     * <a href="package-summary.html#ShortCircuitReduction">short-circuiting
+     * collector</a> which ignores the input and produces an empty list.
+     *
+     * @param <T> the type of the input elements
+     * @param keyExtractor a function to extract the long key from the element
+     * @param n maximum number of stream elements to preserve
+     * @return a collector which returns a {@code List} containing the least n
+     *         stream elements or less if the stream was shorter.
+     * @throws NullPointerException if keyExtractor is null.
+     * @since 0.7.4
+     */
+    public static <T> Collector<T, ?, List<T>> leastByLong(ToLongFunction<? super T> keyExtractor, int n) {
+        Objects.requireNonNull(keyExtractor);
+        return leastByKey(n, Comparator.comparingLong(keyExtractor), (limiter, t) -> limiter.put(keyExtractor
+                .applyAsLong(t), t));
+    }
+
+    /**
+     * Returns a {@code Collector} which collects at most specified number of
+     * the greatest stream elements according to the long keys extracted by the
+     * supplied function into the {@link List}. The resulting {@code List} is
+     * sorted by key in descending order (greatest element is the first). The
+     * order of elements with equal keys is the same as in the input stream.
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted(comparator.reversed()).limit(n).collect(Collectors.toList())}
+     * where {@code comparator} is {@code Comparator.comparingLong(keyExtractor)}, but
+     * the keys are extracted only once per element and stored in the
+     * primitive array, so it's usually much faster than
+     * {@link #greatest(Comparator, int)}. Combining the partial results of
+     * the parallel stream takes O(n) time.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code List} returned.
+     *
+     * <p>
+     * When supplied {@code n} is less or equal to zero, this method returns a
+     * <a href="package-summary.html#ShortCircuitReduction">short-circuiting
+     * collector</a> which ignores the input and produces an empty list.
+     *
+     * @param <T> the type of the input elements
+     * @param keyExtractor a function to extract the long key from the element
+     * @param n maximum number of stream elements to preserve
+     * @return a collector which returns a {@code List} containing the greatest n
+     *         stream elements or less if the stream was shorter.
+     * @throws NullPointerException if keyExtractor is null.
+     * @since 0.7.4
+     */
+    public static <T> Collector<T, ?, List<T>> greatestByLong(ToLongFunction<? super T> keyExtractor, int n) {
+        Objects.requireNonNull(keyExtractor);
+        return leastByKey(n, Comparator.comparingLong(keyExtractor).reversed(), (limiter, t) -> limiter.put(
+            ~keyExtractor.applyAsLong(t), t));
+    }
+
+    private static <T> Collector<T, ?, List<T>> leastByKey(int n, Comparator<? super T> comparator,
+            BiConsumer<PrimitiveLimiter<T>, T> accumulator) {
+        if (n <= 0 || n >= Integer.MAX_VALUE / 2)
+            return least(comparator, n);
+        return Collector.of(() -> new PrimitiveLimiter<>(n, true), accumulator, PrimitiveLimiter::putAll,
+            PrimitiveLimiter::sortedValues);
+    }
+
     /**
      * Returns a {@code Collector} which finds the index of the minimal stream
      * element according to the specified {@link Comparator}. If there are
@@ -1431,14 +1632,9 @@ public final class MoreCollectors {
                     return;
                 try (Stream<? extends U> stream = mapper.apply(t)) {
                     if (stream != null) {
-                        stream.spliterator().forEachRemaining(u -> {
-                            downstreamAccumulator.accept(acc, u);
-                            if (finished.test(acc))
-                                throw new CancelException();
-                        });
+                        CancellableSpliterator.traverseUntil(stream.spliterator(), u -> downstreamAccumulator.accept(
+                            acc, u), () -> finished.test(acc));
                     }
-                } catch (CancelException ex) {
-                    // ignore
                 }
             }, downstream.combiner(), downstream.finisher(), finished, downstream.characteristics());
         }
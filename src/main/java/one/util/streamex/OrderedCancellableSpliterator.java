@@ -23,7 +23,7 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
-import static one.util.streamex.Internals.CancelException;
+import static one.util.streamex.Internals.CancellableSpliterator;
 import static one.util.streamex.Internals.CloneableSpliterator;
 
 /**
@@ -50,6 +50,14 @@ import static one.util.streamex.Internals.CloneableSpliterator;
         this.cancelPredicate = cancelPredicate;
     }
 
+    private boolean checkCancel(A acc) {
+        if (cancelPredicate.test(acc)) {
+            cancelSuffix();
+            return true;
+        }
+        return localCancelled;
+    }
+
     @Override
     public boolean tryAdvance(Consumer<? super A> action) {
         Spliterator<T> source = this.source;
@@ -58,21 +66,9 @@ import static one.util.streamex.Internals.CloneableSpliterator;
             return false;
         }
         A acc = supplier.get();
-        try {
-            source.forEachRemaining(t -> {
-                accumulator.accept(acc, t);
-                if (cancelPredicate.test(acc)) {
-                    cancelSuffix();
-                    throw new CancelException();
-                }
-                if (localCancelled) {
-                    throw new CancelException();
-                }
-            });
-        } catch (CancelException ex) {
-            if (localCancelled) {
-                return false;
-            }
+        if (CancellableSpliterator.traverseUntil(source, t -> accumulator.accept(acc, t), () -> checkCancel(acc))
+            && localCancelled) {
+            return false;
         }
         this.source = null;
         A result = acc;
@@ -16,8 +16,9 @@
 package one.util.streamex;
 
 import java.util.Spliterator;
-import java.util.function.BiConsumer;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleConsumer;
@@ -30,12 +31,23 @@ import java.util.function.LongBinaryOperator;
 import java.util.function.LongConsumer;
 import java.util.function.LongUnaryOperator;
 
+import static one.util.streamex.Internals.CancellableSpliterator;
 import static one.util.streamex.Internals.CloneableSpliterator;
-import static one.util.streamex.Internals.NONE;
 import static one.util.streamex.Internals.TailSpliterator;
-import static one.util.streamex.Internals.none;
 
 /**
+ * Maps the adjacent pairs of the source elements. Within the part no locks are
+ * taken and nothing is allocated per element: the primitive spliterators keep
+ * the previous element in the primitive field. The pairs which cross the split
+ * boundaries are stitched without locking: every boundary is a
+ * {@link Connector} which is visited exactly twice, once by the spliterator on
+ * the left (with its last element) and once by the spliterator on the right
+ * (with its first element). The first visitor deposits its element via CAS,
+ * the second one takes it and maps the pair. The empty part forwards its left
+ * boundary to its right one. The stream bounds are represented by the
+ * {@link #HEAD} and {@link #TAIL} markers, so the first and the last element
+ * are mapped by the same code as the pairs.
+ *
  * @author Tagir Valeev
  */
 /* package */abstract class PairSpliterator<T, S extends Spliterator<T>, R, SS extends PairSpliterator<T, S, R, SS>>
@@ -45,98 +57,39 @@ import static one.util.streamex.Internals.none;
     static final int MODE_MAP_LAST = 2;
     static final int MODE_MAP_FIRST_OR_ELSE = 3;
     static final int MODE_MAP_LAST_OR_ELSE = 4;
-    
-    static final Sink<?> EMPTY = new Sink<>(null);
-    // Common lock for all the derived spliterators
-    final Object lock = new Object();
-    final int mode;
-    S source;
-    @SuppressWarnings("unchecked")
-    Sink<T> left = (Sink<T>) EMPTY;
-    @SuppressWarnings("unchecked")
-    Sink<T> right = (Sink<T>) EMPTY;
 
-    static final class Sink<T> {
-        Sink<T> other;
-        private T payload = none();
-        private final Object lock;
+    // the left neighbour of the first element and the right neighbour of the last one
+    static final Object HEAD = new Object();
+    static final Object TAIL = new Object();
+    // returned when the element is deposited and the pair is left to the other visitor
+    static final Object DEPOSITED = new Object();
+    // deposited instead of the null element
+    private static final Object NULL = new Object();
 
-        Sink(Object lock) {
-            this.lock = lock;
-        }
+    final int mode;
+    S source;
+    // null connector means the stream head (for left) or the stream tail (for right)
+    Connector left, right;
+    boolean started, finished;
 
-        boolean push(T payload, BiConsumer<T, T> fn, boolean isLeft) {
-            if (lock == null)
-                return false;
-            T otherPayload;
-            synchronized (lock) {
-                Sink<T> that = other;
-                if (that == null)
-                    return false;
-                otherPayload = that.payload;
-                if (otherPayload == NONE) {
-                    this.payload = payload;
-                    return false;
-                }
-                other = null;
-                that.clear();
-            }
-            if (isLeft)
-                fn.accept(payload, otherPayload);
-            else
-                fn.accept(otherPayload, payload);
-            return true;
-        }
+    static final class Connector extends AtomicReference<Object> {
+        private static final long serialVersionUID = 1L;
+    }
 
-        boolean connect(Sink<T> right, BiConsumer<T, T> fn) {
-            if (lock == null)
-                return false;
-            T a, b;
-            synchronized (lock) {
-                Sink<T> leftLeft = this.other;
-                Sink<T> rightRight = right.other;
-                if (leftLeft == null || rightRight == null) {
-                    if (rightRight != null)
-                        rightRight.clear();
-                    if (leftLeft != null)
-                        leftLeft.clear();
-                    return false;
-                }
-                rightRight.other = leftLeft;
-                leftLeft.other = rightRight;
-                if (leftLeft.payload == NONE || rightRight.payload == NONE)
-                    return false;
-                a = leftLeft.payload;
-                b = rightRight.payload;
-                leftLeft.clear();
-                rightRight.clear();
-            }
-            fn.accept(a, b);
-            return true;
-        }
+    // deposited to the left connector by the empty part
+    private static final class Forward {
+        final Connector next;
 
-        void clear() {
-            other = null;
-            payload = none();
+        Forward(Connector next) {
+            this.next = next;
         }
     }
 
-    PairSpliterator(S source, int mode, T headTail) {
+    PairSpliterator(S source, int mode) {
         this.source = source;
         this.mode = mode;
-        if (mode != MODE_PAIRS) {
-            Sink<T> sink = new Sink<>(this.lock);
-            Sink<T> other = new Sink<>(this.lock);
-            sink.other = other;
-            other.other = sink;
-            other.push(headTail, null, true);
-            if (mode == MODE_MAP_FIRST || mode == MODE_MAP_FIRST_OR_ELSE)
-                this.left = sink;
-            else
-                this.right = sink;
-        }
     }
-    
+
     @Override
     public long estimateSize() {
         long size = source.estimateSize();
@@ -148,7 +101,8 @@ import static one.util.streamex.Internals.none;
     @Override
     public int characteristics() {
         return source.characteristics()
-            & ((left == EMPTY && right == EMPTY ? SIZED : 0) | CONCURRENT | IMMUTABLE | ORDERED);
+            & ((mode == MODE_PAIRS && left == null && right == null && !started ? SIZED : 0) | CONCURRENT
+                | IMMUTABLE | ORDERED);
     }
 
     @SuppressWarnings("unchecked")
@@ -158,52 +112,93 @@ import static one.util.streamex.Internals.none;
         if (prefixSource == null)
             return null;
         SS clone = doClone();
-        Sink<T> left = new Sink<>(lock);
-        Sink<T> right = new Sink<>(lock);
+        Connector connector = new Connector();
         clone.source = prefixSource;
-        clone.right = right.other = left;
-        this.left = left.other = right;
+        clone.right = connector;
+        this.left = connector;
         return clone;
     }
 
-    void finish(BiConsumer<T, T> fn, T cur) {
-        Sink<T> r = right, l = left;
-        right = left = null;
-        if (l != null) {
-            l.connect(r, fn);
-        } else if (r != null) {
-            r.push(cur, fn, true);
+    /**
+     * Visits the left boundary with the first element of this part.
+     *
+     * @param first the first element
+     * @return the left neighbour of the element (possibly {@link #HEAD}) or
+     *         {@link #DEPOSITED}
+     */
+    final Object arriveFirst(Object first) {
+        Connector l = left;
+        if (l == null)
+            return HEAD;
+        return l.compareAndSet(null, first == null ? NULL : first) ? DEPOSITED : unmask(l.get());
+    }
+
+    /**
+     * Visits the right boundary with the last element of this part or with the
+     * left neighbour of the empty part.
+     *
+     * @param last the last element
+     * @return the right neighbour of the element (possibly {@link #TAIL}) or
+     *         {@link #DEPOSITED}
+     */
+    final Object arriveLast(Object last) {
+        Object masked = last == null ? NULL : last;
+        Connector r = right;
+        while (r != null) {
+            if (r.compareAndSet(null, masked))
+                return DEPOSITED;
+            Object other = r.get();
+            if (!(other instanceof Forward))
+                return unmask(other);
+            r = ((Forward) other).next;
         }
+        return TAIL;
     }
 
-    static class PSOfRef<T, R> extends PairSpliterator<T, Spliterator<T>, R, PSOfRef<T, R>> implements
-            Consumer<T>, TailSpliterator<R> {
-        private static final Object HEAD_TAIL = new Object();
+    /**
+     * Visits the left boundary of the empty part.
+     *
+     * @return the left neighbour which should be carried to the right boundary
+     *         via {@link #arriveLast(Object)} or {@link #DEPOSITED}
+     */
+    final Object bridge() {
+        Connector l = left;
+        if (l == null)
+            return HEAD;
+        return l.compareAndSet(null, new Forward(right)) ? DEPOSITED : unmask(l.get());
+    }
+
+    private static Object unmask(Object value) {
+        return value == NULL ? null : value;
+    }
 
+    static class PSOfRef<T, R> extends PairSpliterator<T, Spliterator<T>, R, PSOfRef<T, R>> implements
+            Consumer<T>, TailSpliterator<R>, CancellableSpliterator<R> {
+        // maps the inner pairs
         private final BiFunction<? super T, ? super T, ? extends R> mapper;
+        // maps the first or the last element
+        private final Function<? super T, ? extends R> boundMapper;
         private T cur;
 
         PSOfRef(BiFunction<? super T, ? super T, ? extends R> mapper, Spliterator<T> source) {
-            super(source, MODE_PAIRS, null);
+            super(source, MODE_PAIRS);
             this.mapper = mapper;
+            this.boundMapper = null;
         }
 
         // Must be called only if T == R
         @SuppressWarnings("unchecked")
         PSOfRef(Function<? super T, ? extends R> mapper, Spliterator<T> source, boolean first) {
-            super(source, first ? MODE_MAP_FIRST : MODE_MAP_LAST, (T) HEAD_TAIL);
-            BiFunction<? super T, ? super T, ?> m = first ?
-                    ((a, b) -> a == HEAD_TAIL ? mapper.apply(b) : (T) b) :
-                    ((a, b) -> b == HEAD_TAIL ? mapper.apply(a) : (T) a);
-            this.mapper = (BiFunction<? super T, ? super T, ? extends R>) m;
+            super(source, first ? MODE_MAP_FIRST : MODE_MAP_LAST);
+            this.mapper = first ? (a, b) -> (R) b : (a, b) -> (R) a;
+            this.boundMapper = mapper;
         }
 
-        @SuppressWarnings("unchecked")
-        PSOfRef(Function<? super T, ? extends R> boundMapper, Function<? super T, ? extends R> elseMapper, Spliterator<T> source, boolean first) {
-            super(source, first ? MODE_MAP_FIRST_OR_ELSE : MODE_MAP_LAST_OR_ELSE, (T) HEAD_TAIL);
-            this.mapper = first ? 
-                ((a, b) -> a == HEAD_TAIL ? boundMapper.apply(b) : elseMapper.apply(b)) :
-                ((a, b) -> b == HEAD_TAIL ? boundMapper.apply(a) : elseMapper.apply(a));
+        PSOfRef(Function<? super T, ? extends R> boundMapper, Function<? super T, ? extends R> elseMapper,
+                Spliterator<T> source, boolean first) {
+            super(source, first ? MODE_MAP_FIRST_OR_ELSE : MODE_MAP_LAST_OR_ELSE);
+            this.mapper = first ? (a, b) -> elseMapper.apply(b) : (a, b) -> elseMapper.apply(a);
+            this.boundMapper = boundMapper;
         }
 
         @Override
@@ -211,26 +206,48 @@ import static one.util.streamex.Internals.none;
             cur = t;
         }
 
-        private BiConsumer<T, T> fn(Consumer<? super R> action) {
-            return (a, b) -> action.accept(mapper.apply(a, b));
+        @SuppressWarnings("unchecked")
+        private boolean pair(Object a, Object b, Consumer<? super R> action) {
+            if (a == DEPOSITED || b == DEPOSITED)
+                return false;
+            switch (mode) {
+            case MODE_PAIRS:
+                if (a == HEAD || b == TAIL)
+                    return false;
+                action.accept(mapper.apply((T) a, (T) b));
+                return true;
+            case MODE_MAP_FIRST:
+            case MODE_MAP_FIRST_OR_ELSE:
+                if (b == TAIL)
+                    return false;
+                action.accept(a == HEAD ? boundMapper.apply((T) b) : mapper.apply((T) a, (T) b));
+                return true;
+            default:
+                if (a == HEAD)
+                    return false;
+                action.accept(b == TAIL ? boundMapper.apply((T) a) : mapper.apply((T) a, (T) b));
+                return true;
+            }
         }
 
         @Override
         public boolean tryAdvance(Consumer<? super R> action) {
-            Sink<T> l = left, r = right;
-            if (l != null) {
-                left = null;
+            if (!started) {
+                started = true;
                 if (!source.tryAdvance(this)) {
-                    right = null;
-                    return l.connect(r, fn(action));
+                    finished = true;
+                    Object a = bridge();
+                    return pair(a, a == DEPOSITED ? a : arriveLast(a), action);
                 }
-                if (l.push(cur, fn(action), false))
+                if (pair(arriveFirst(cur), cur, action))
                     return true;
             }
+            if (finished)
+                return false;
             T prev = cur;
             if (!source.tryAdvance(this)) {
-                right = null;
-                return r != null && r.push(prev, fn(action), true);
+                finished = true;
+                return pair(prev, arriveLast(prev), action);
             }
             action.accept(mapper.apply(prev, cur));
             return true;
@@ -238,32 +255,45 @@ import static one.util.streamex.Internals.none;
 
         @Override
         public void forEachRemaining(Consumer<? super R> action) {
-            BiConsumer<T, T> fn = fn(action);
-            source.forEachRemaining(next -> {
-                if (left != null) {
-                    left.push(cur = next, fn, false);
-                    left = null;
-                } else {
-                    action.accept(mapper.apply(cur, cur = next));
-                }
-            });
-            finish(fn, cur);
+            if (!started)
+                tryAdvance(action);
+            if (finished)
+                return;
+            source.forEachRemaining(next -> action.accept(mapper.apply(cur, cur = next)));
+            finished = true;
+            pair(cur, arriveLast(cur), action);
+        }
+
+        @Override
+        public boolean forEachUntil(Consumer<? super R> action, BooleanSupplier stop) {
+            if (!started && tryAdvance(action) && stop.getAsBoolean())
+                return true;
+            if (finished)
+                return false;
+            // cur stays consistent, so the traversal may be resumed after stop
+            if (CancellableSpliterator.traverseUntil(source, next -> action.accept(mapper.apply(cur, cur = next)),
+                stop))
+                return true;
+            finished = true;
+            return pair(cur, arriveLast(cur), action) && stop.getAsBoolean();
         }
 
         @Override
         public Spliterator<R> tryAdvanceOrTail(Consumer<? super R> action) {
-            if (mode != MODE_MAP_FIRST || right != EMPTY) {
+            if (mode != MODE_MAP_FIRST || right != null) {
                 return tryAdvance(action) ? this : null;
             }
-            if (left != null) {
-                Sink<T> l = left;
-                left = null;
+            // the last part of mapFirst: only the first element is mapped
+            if (!started) {
+                started = true;
                 source = TailSpliterator.tryAdvanceWithTail(source, this);
                 if (source == null) {
-                    right = null;
+                    // nothing can be emitted before the tail
+                    finished = true;
+                    bridge();
                     return null;
                 }
-                if (l.push(cur, fn(action), false))
+                if (pair(arriveFirst(cur), cur, action))
                     return this;
             }
             @SuppressWarnings("unchecked")
@@ -271,10 +301,10 @@ import static one.util.streamex.Internals.none;
             source = null;
             return s;
         }
-        
+
         @Override
         public Spliterator<R> forEachOrTail(Consumer<? super R> action) {
-            if (mode != MODE_MAP_FIRST || right != EMPTY) {
+            if (mode != MODE_MAP_FIRST || right != null) {
                 forEachRemaining(action);
                 return null;
             }
@@ -293,43 +323,58 @@ import static one.util.streamex.Internals.none;
         private int cur;
 
         PSOfInt(IntBinaryOperator mapper, IntUnaryOperator unaryMapper, Spliterator.OfInt source, int mode) {
-            super(source, mode, null);
+            super(source, mode);
             this.mapper = mapper;
             this.unaryMapper = unaryMapper;
         }
-        
+
         @Override
         public void accept(int t) {
             cur = t;
         }
 
-        private BiConsumer<Integer, Integer> fn(IntConsumer action) {
+        private boolean pair(Object a, Object b, IntConsumer action) {
+            if (a == DEPOSITED || b == DEPOSITED)
+                return false;
             switch (mode) {
             case MODE_MAP_FIRST:
-                return (a, b) -> action.accept(a == null ? unaryMapper.applyAsInt(b) : b);
+                if (b == TAIL)
+                    return false;
+                action.accept(a == HEAD ? unaryMapper.applyAsInt((Integer) b) : (Integer) b);
+                return true;
             case MODE_MAP_LAST:
-                return (a, b) -> action.accept(b == null ? unaryMapper.applyAsInt(a) : a);
+                if (a == HEAD)
+                    return false;
+                action.accept(b == TAIL ? unaryMapper.applyAsInt((Integer) a) : (Integer) a);
+                return true;
             default:
-                return (a, b) -> action.accept(mapper.applyAsInt(a, b));
+                if (a == HEAD || b == TAIL)
+                    return false;
+                action.accept(mapper.applyAsInt((Integer) a, (Integer) b));
+                return true;
             }
         }
 
         @Override
         public boolean tryAdvance(IntConsumer action) {
-            Sink<Integer> l = left, r = right;
-            if (l != null) {
-                left = null;
+            if (!started) {
+                started = true;
                 if (!source.tryAdvance(this)) {
-                    right = null;
-                    return l.connect(r, fn(action));
+                    finished = true;
+                    Object a = bridge();
+                    return pair(a, a == DEPOSITED ? a : arriveLast(a), action);
                 }
-                if (l.push(cur, fn(action), false))
+                Object first = cur;
+                if (pair(arriveFirst(first), first, action))
                     return true;
             }
+            if (finished)
+                return false;
             int prev = cur;
             if (!source.tryAdvance(this)) {
-                right = null;
-                return r != null && r.push(prev, fn(action), true);
+                finished = true;
+                Object last = prev;
+                return pair(last, arriveLast(last), action);
             }
             action.accept(mapper.applyAsInt(prev, cur));
             return true;
@@ -337,16 +382,14 @@ import static one.util.streamex.Internals.none;
 
         @Override
         public void forEachRemaining(IntConsumer action) {
-            BiConsumer<Integer, Integer> fn = fn(action);
-            source.forEachRemaining((int next) -> {
-                if (left != null) {
-                    left.push(cur = next, fn, false);
-                    left = null;
-                } else {
-                    action.accept(mapper.applyAsInt(cur, cur = next));
-                }
-            });
-            finish(fn, cur);
+            if (!started)
+                tryAdvance(action);
+            if (finished)
+                return;
+            source.forEachRemaining((int next) -> action.accept(mapper.applyAsInt(cur, cur = next)));
+            finished = true;
+            Object last = cur;
+            pair(last, arriveLast(last), action);
         }
     }
 
@@ -357,7 +400,7 @@ import static one.util.streamex.Internals.none;
         private long cur;
 
         PSOfLong(LongBinaryOperator mapper, LongUnaryOperator unaryMapper, Spliterator.OfLong source, int mode) {
-            super(source, mode, null);
+            super(source, mode);
             this.mapper = mapper;
             this.unaryMapper = unaryMapper;
         }
@@ -367,33 +410,48 @@ import static one.util.streamex.Internals.none;
             cur = t;
         }
 
-        private BiConsumer<Long, Long> fn(LongConsumer action) {
+        private boolean pair(Object a, Object b, LongConsumer action) {
+            if (a == DEPOSITED || b == DEPOSITED)
+                return false;
             switch (mode) {
             case MODE_MAP_FIRST:
-                return (a, b) -> action.accept(a == null ? unaryMapper.applyAsLong(b) : b);
+                if (b == TAIL)
+                    return false;
+                action.accept(a == HEAD ? unaryMapper.applyAsLong((Long) b) : (Long) b);
+                return true;
             case MODE_MAP_LAST:
-                return (a, b) -> action.accept(b == null ? unaryMapper.applyAsLong(a) : a);
+                if (a == HEAD)
+                    return false;
+                action.accept(b == TAIL ? unaryMapper.applyAsLong((Long) a) : (Long) a);
+                return true;
             default:
-                return (a, b) -> action.accept(mapper.applyAsLong(a, b));
+                if (a == HEAD || b == TAIL)
+                    return false;
+                action.accept(mapper.applyAsLong((Long) a, (Long) b));
+                return true;
             }
         }
 
         @Override
         public boolean tryAdvance(LongConsumer action) {
-            Sink<Long> l = left, r = right;
-            if (l != null) {
-                left = null;
+            if (!started) {
+                started = true;
                 if (!source.tryAdvance(this)) {
-                    right = null;
-                    return l.connect(r, fn(action));
+                    finished = true;
+                    Object a = bridge();
+                    return pair(a, a == DEPOSITED ? a : arriveLast(a), action);
                 }
-                if (l.push(cur, fn(action), false))
+                Object first = cur;
+                if (pair(arriveFirst(first), first, action))
                     return true;
             }
+            if (finished)
+                return false;
             long prev = cur;
             if (!source.tryAdvance(this)) {
-                right = null;
-                return r != null && r.push(prev, fn(action), true);
+                finished = true;
+                Object last = prev;
+                return pair(last, arriveLast(last), action);
             }
             action.accept(mapper.applyAsLong(prev, cur));
             return true;
@@ -401,16 +459,14 @@ import static one.util.streamex.Internals.none;
 
         @Override
         public void forEachRemaining(LongConsumer action) {
-            BiConsumer<Long, Long> fn = fn(action);
-            source.forEachRemaining((long next) -> {
-                if (left != null) {
-                    left.push(cur = next, fn, false);
-                    left = null;
-                } else {
-                    action.accept(mapper.applyAsLong(cur, cur = next));
-                }
-            });
-            finish(fn, cur);
+            if (!started)
+                tryAdvance(action);
+            if (finished)
+                return;
+            source.forEachRemaining((long next) -> action.accept(mapper.applyAsLong(cur, cur = next)));
+            finished = true;
+            Object last = cur;
+            pair(last, arriveLast(last), action);
         }
     }
 
@@ -421,7 +477,7 @@ import static one.util.streamex.Internals.none;
         private double cur;
 
         PSOfDouble(DoubleBinaryOperator mapper, DoubleUnaryOperator unaryMapper, Spliterator.OfDouble source, int mode) {
-            super(source, mode, null);
+            super(source, mode);
             this.mapper = mapper;
             this.unaryMapper = unaryMapper;
         }
@@ -431,33 +487,48 @@ import static one.util.streamex.Internals.none;
             cur = t;
         }
 
-        private BiConsumer<Double, Double> fn(DoubleConsumer action) {
+        private boolean pair(Object a, Object b, DoubleConsumer action) {
+            if (a == DEPOSITED || b == DEPOSITED)
+                return false;
             switch (mode) {
             case MODE_MAP_FIRST:
-                return (a, b) -> action.accept(a == null ? unaryMapper.applyAsDouble(b) : b);
+                if (b == TAIL)
+                    return false;
+                action.accept(a == HEAD ? unaryMapper.applyAsDouble((Double) b) : (Double) b);
+                return true;
             case MODE_MAP_LAST:
-                return (a, b) -> action.accept(b == null ? unaryMapper.applyAsDouble(a) : a);
+                if (a == HEAD)
+                    return false;
+                action.accept(b == TAIL ? unaryMapper.applyAsDouble((Double) a) : (Double) a);
+                return true;
             default:
-                return (a, b) -> action.accept(mapper.applyAsDouble(a, b));
+                if (a == HEAD || b == TAIL)
+                    return false;
+                action.accept(mapper.applyAsDouble((Double) a, (Double) b));
+                return true;
             }
         }
 
         @Override
         public boolean tryAdvance(DoubleConsumer action) {
-            Sink<Double> l = left, r = right;
-            if (l != null) {
-                left = null;
+            if (!started) {
+                started = true;
                 if (!source.tryAdvance(this)) {
-                    right = null;
-                    return l.connect(r, fn(action));
+                    finished = true;
+                    Object a = bridge();
+                    return pair(a, a == DEPOSITED ? a : arriveLast(a), action);
                 }
-                if (l.push(cur, fn(action), false))
+                Object first = cur;
+                if (pair(arriveFirst(first), first, action))
                     return true;
             }
+            if (finished)
+                return false;
             double prev = cur;
             if (!source.tryAdvance(this)) {
-                right = null;
-                return r != null && r.push(prev, fn(action), true);
+                finished = true;
+                Object last = prev;
+                return pair(last, arriveLast(last), action);
             }
             action.accept(mapper.applyAsDouble(prev, cur));
             return true;
@@ -465,16 +536,14 @@ import static one.util.streamex.Internals.none;
 
         @Override
         public void forEachRemaining(DoubleConsumer action) {
-            BiConsumer<Double, Double> fn = fn(action);
-            source.forEachRemaining((double next) -> {
-                if (left != null) {
-                    left.push(cur = next, fn, false);
-                    left = null;
-                } else {
-                    action.accept(mapper.applyAsDouble(cur, cur = next));
-                }
-            });
-            finish(fn, cur);
+            if (!started)
+                tryAdvance(action);
+            if (finished)
+                return;
+            source.forEachRemaining((double next) -> action.accept(mapper.applyAsDouble(cur, cur = next)));
+            finished = true;
+            Object last = cur;
+            pair(last, arriveLast(last), action);
         }
     }
 }
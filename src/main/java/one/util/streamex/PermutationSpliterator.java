@@ -17,9 +17,13 @@
 package one.util.streamex;
 
 import java.util.Spliterator;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
-/* package */ final class PermutationSpliterator implements Spliterator<int[]> {
+import static one.util.streamex.Internals.CancellableSpliterator;
+import static one.util.streamex.Internals.SkippableSpliterator;
+
+/* package */ final class PermutationSpliterator implements SkippableSpliterator<int[]>, CancellableSpliterator<int[]> {
     private static final long[] factorials = { 1L, 1L, 2L, 6L, 24L, 120L, 720L, 5040L, 40320L, 362880L,
             3628800L, 39916800L, 479001600L, 6227020800L, 87178291200L, 1307674368000L, 20922789888000L,
             355687428096000L, 6402373705728000L, 121645100408832000L, 2432902008176640000L };
@@ -59,16 +63,38 @@ import java.util.function.Consumer;
     
     @Override
     public void forEachRemaining(Consumer<? super int[]> action) {
+        forEachRemaining(action, true);
+    }
+
+    /**
+     * @param action action to perform
+     * @param copy if false, the same array is passed to the action every time
+     */
+    void forEachRemaining(Consumer<? super int[]> action, boolean copy) {
         long rs = remainingSize;
         if (rs == 0) 
             return;
         remainingSize = 0;
         int[] value = this.value;
-        action.accept(value.clone());
+        action.accept(copy ? value.clone() : value);
         while (--rs > 0) {
             step(value);
+            action.accept(copy ? value.clone() : value);
+        }
+    }
+
+    @Override
+    public boolean forEachUntil(Consumer<? super int[]> action, BooleanSupplier stop) {
+        int[] value = this.value;
+        while (remainingSize > 0) {
             action.accept(value.clone());
+            if (--remainingSize > 0) {
+                step(value);
+            }
+            if (stop.getAsBoolean())
+                return true;
         }
+        return false;
     }
 
     private static void step(int[] value) {
@@ -92,10 +118,29 @@ import java.util.function.Consumer;
         if (remainingSize <= 1)
             return null;
         int[] newValue = value.clone();
-        int used = -1; // clear bit = used position
         long newRemainingSize = remainingSize / 2;
         long newPos = fence - (remainingSize -= newRemainingSize);
-        long s = newPos;
+        unrank(newPos, value);
+        return new PermutationSpliterator(newValue, newPos, newRemainingSize);
+    }
+
+    @Override
+    public void skip(long n) {
+        if (n >= remainingSize) {
+            remainingSize = 0;
+        } else {
+            remainingSize -= n;
+            unrank(fence - remainingSize, value);
+        }
+    }
+
+    /**
+     * Writes the permutation of given lexicographic rank, decoding the rank
+     * in the factorial number system.
+     */
+    private static void unrank(long rank, int[] value) {
+        int used = -1; // clear bit = used position
+        long s = rank;
         for (int i = 0; i < value.length; i++) {
             long f = factorials[value.length - i - 1];
             int rem = (int) (s / f);
@@ -108,7 +153,6 @@ import java.util.function.Consumer;
             used &= ~(1 << idx);
             value[i] = idx;
         }
-        return new PermutationSpliterator(newValue, newPos, newRemainingSize);
     }
 
     @Override
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Extracts least limit elements from the input by their primitive keys (the
+ * keys are compared as signed longs). The keys and the optional values are
+ * stored in the parallel arrays in the encounter order. When the buffer of
+ * 2*limit elements is full, the limit-th least key is found by quickselect and
+ * the buffer is compacted preserving the order, so the elements with equal keys
+ * retain the encounter order. Works for 0 <= limit < Integer.MAX_VALUE/2.
+ *
+ * @param <T> type of values
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class PrimitiveLimiter<T> {
+    private final int limit;
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    // once limit elements are collected, the keys not less than threshold are rejected
+    private boolean full;
+    private long threshold = Long.MIN_VALUE;
+
+    /**
+     * @param limit number of elements to keep
+     * @param withValues whether the values should be kept along with the keys
+     */
+    PrimitiveLimiter(int limit, boolean withValues) {
+        this.limit = limit;
+        int capacity = Math.min(1000, limit) * 2;
+        this.keys = new long[capacity];
+        this.values = withValues ? new Object[capacity] : null;
+        this.full = limit == 0;
+    }
+
+    void put(long key) {
+        put(key, null);
+    }
+
+    void put(long key, T value) {
+        if (full && key >= threshold)
+            return;
+        if (size == keys.length) {
+            if (size < limit * 2) {
+                int capacity = Math.min(limit, size) * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                if (values != null)
+                    values = Arrays.copyOf(values, capacity);
+            } else {
+                flush();
+                if (key >= threshold)
+                    return;
+            }
+        }
+        keys[size] = key;
+        if (values != null)
+            values[size] = value;
+        size++;
+    }
+
+    /**
+     * Merge other {@code PrimitiveLimiter} which elements follow the elements
+     * of this one in the encounter order.
+     *
+     * @param other other object to merge
+     * @return this object
+     */
+    PrimitiveLimiter<T> putAll(PrimitiveLimiter<T> other) {
+        long[] k = other.keys;
+        Object[] v = other.values;
+        for (int i = 0; i < other.size; i++) {
+            @SuppressWarnings("unchecked")
+            T t = v == null ? null : (T) v[i];
+            put(k[i], t);
+        }
+        return this;
+    }
+
+    private void flush() {
+        long[] selected = Arrays.copyOf(keys, size);
+        Quantiles.select(selected, 0, size, limit - 1);
+        long k = selected[limit - 1];
+        int equal = 1;
+        for (int i = 0; i < limit - 1; i++) {
+            if (selected[i] == k)
+                equal++;
+        }
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            if (key < k || key == k && equal-- > 0) {
+                keys[j] = key;
+                if (values != null)
+                    values[j] = values[i];
+                j++;
+            }
+        }
+        if (values != null)
+            Arrays.fill(values, j, size, null);
+        size = j;
+        threshold = k;
+        full = true;
+    }
+
+    private void finish() {
+        if (size > limit)
+            flush();
+    }
+
+    /**
+     * @return the least keys in ascending order
+     */
+    long[] sortedKeys() {
+        finish();
+        long[] result = Arrays.copyOf(keys, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @return the values which keys are the least, sorted by key; the values
+     *         with equal keys are in the encounter order
+     */
+    List<T> sortedValues() {
+        finish();
+        long[] unsigned = new long[size];
+        for (int i = 0; i < size; i++) {
+            unsigned[i] = keys[i] ^ Long.MIN_VALUE;
+        }
+        int[] order = RadixSort.sortedIndices(unsigned, false);
+        List<T> result = new ArrayList<>(size);
+        for (int idx : order) {
+            @SuppressWarnings("unchecked")
+            T t = (T) values[idx];
+            result.add(t);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongToDoubleFunction;
+
+import static one.util.streamex.Internals.LongBuffer;
+
+/**
+ * Quantiles of primitive values. All the values are encoded as longs which
+ * signed order matches the natural order of the original values, so the same
+ * selection and sketch code serves int, long and double collectors.
+ *
+ * @author Tagir Valeev
+ */
+/* package */interface Quantiles {
+    int MIN_SKETCH_SIZE = 8;
+    int INSERTION_SORT_THRESHOLD = 16;
+
+    static double[] checkProbabilities(double[] probabilities) {
+        for (double p : probabilities) {
+            if (!(p >= 0 && p <= 1))
+                throw new IllegalArgumentException("probability must be between 0 and 1: " + p);
+        }
+        return probabilities.clone();
+    }
+
+    static void checkSketchSize(int k) {
+        if (k < MIN_SKETCH_SIZE)
+            throw new IllegalArgumentException("k must be at least " + MIN_SKETCH_SIZE + ": " + k);
+    }
+
+    static long doubleToKey(double value) {
+        return RadixSort.doubleKey(value) ^ Long.MIN_VALUE;
+    }
+
+    static double keyToDouble(long key) {
+        long k = key ^ Long.MIN_VALUE;
+        return Double.longBitsToDouble(k ^ ((~k >> 63) | Long.MIN_VALUE));
+    }
+
+    static double interpolate(double lo, double hi, double fraction) {
+        // avoid NaN when interpolating between the equal infinities
+        return fraction == 0 || lo == hi ? lo : lo + (hi - lo) * fraction;
+    }
+
+    /**
+     * Computes the exact quantiles interpolating linearly between the closest
+     * ranks. The buffer content is reordered.
+     *
+     * @param buf collected keys
+     * @param probabilities probabilities of the quantiles to compute
+     * @param decoder function to convert the key back to the value
+     * @return an array of quantiles
+     */
+    static double[] exact(LongBuffer buf, double[] probabilities, LongToDoubleFunction decoder) {
+        int n = buf.size;
+        double[] result = new double[probabilities.length];
+        if (n == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        long[] data = buf.data;
+        int[] positions = new int[probabilities.length * 2];
+        int count = 0;
+        for (double p : probabilities) {
+            int lo = (int) ((n - 1) * p);
+            positions[count++] = lo;
+            positions[count++] = Math.min(lo + 1, n - 1);
+        }
+        Arrays.sort(positions, 0, count);
+        // every selection puts the element into its final place, so the next
+        // one needs to look only to the right of it
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int pos = positions[i];
+            if (pos >= from) {
+                select(data, from, n, pos);
+                from = pos + 1;
+            }
+        }
+        for (int i = 0; i < probabilities.length; i++) {
+            double h = (n - 1) * probabilities[i];
+            int lo = (int) h;
+            result[i] = interpolate(decoder.applyAsDouble(data[lo]), decoder.applyAsDouble(data[Math.min(lo + 1,
+                n - 1)]), h - lo);
+        }
+        return result;
+    }
+
+    /**
+     * Reorders the array range, so the element at the position k is the same
+     * as in the sorted range, all the elements before it are not greater and
+     * all the elements after it are not less.
+     *
+     * @param a array to reorder
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @param k position to select
+     */
+    static void select(long[] a, int from, int to, int k) {
+        int lo = from, hi = to - 1;
+        // fall back to sorting if the pivots are unlucky too many times
+        int budget = 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(to - from));
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (--budget < 0) {
+                Arrays.sort(a, lo, hi + 1);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < a[lo])
+                swap(a, mid, lo);
+            if (a[hi] < a[lo])
+                swap(a, hi, lo);
+            if (a[hi] < a[mid])
+                swap(a, hi, mid);
+            long pivot = a[mid];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (a[i] < pivot)
+                    i++;
+                while (a[j] > pivot)
+                    j--;
+                if (i <= j)
+                    swap(a, i++, j--);
+            }
+            if (k <= j)
+                hi = j;
+            else if (k >= i)
+                lo = i;
+            else
+                return;
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            long key = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    static void swap(long[] a, int i, int j) {
+        long tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    /**
+     * Mergeable quantile sketch in the spirit of KLL: the values are kept in
+     * the levels of compactors, an element at level h represents 2<sup>h</sup>
+     * input values. When a level exceeds its capacity it's sorted and every
+     * second element is promoted to the next level. The top level capacity is
+     * k and the lower levels capacities decrease geometrically, so the sketch
+     * retains O(k) values.
+     */
+    final class Sketch {
+        private final int k;
+        private final List<LongBuffer> levels = new ArrayList<>();
+        private int[] capacities;
+        private long count;
+        // extremes are tracked exactly as the compaction may drop them
+        private long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        // per level bits alternating which element of the pair survives the
+        // compaction; a single alternation for all levels biases the tails
+        private long offsets;
+
+        Sketch(int k) {
+            this.k = k;
+            addLevel();
+        }
+
+        private void addLevel() {
+            levels.add(new LongBuffer(MIN_SKETCH_SIZE));
+            int depth = levels.size();
+            capacities = new int[depth];
+            double capacity = k;
+            for (int h = depth - 1; h >= 0; h--) {
+                capacities[h] = Math.max(MIN_SKETCH_SIZE, (int) Math.ceil(capacity));
+                capacity = capacity * 2 / 3;
+            }
+        }
+
+        void add(long key) {
+            LongBuffer level = levels.get(0);
+            level.add(key);
+            count++;
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+            if (level.size >= capacities[0])
+                compress();
+        }
+
+        Sketch merge(Sketch other) {
+            while (levels.size() < other.levels.size()) {
+                addLevel();
+            }
+            for (int h = 0; h < other.levels.size(); h++) {
+                levels.get(h).addAll(other.levels.get(h));
+            }
+            count += other.count;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            compress();
+            return this;
+        }
+
+        private void compress() {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int h = 0; h < levels.size(); h++) {
+                    if (levels.get(h).size >= capacities[h]) {
+                        if (h == levels.size() - 1)
+                            addLevel();
+                        compact(h);
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        private void compact(int h) {
+            LongBuffer level = levels.get(h), next = levels.get(h + 1);
+            long[] data = level.data;
+            int size = level.size;
+            Arrays.sort(data, 0, size);
+            // the odd element stays at the current level
+            int start = size & 1;
+            for (int i = start + (int) (offsets >>> h & 1); i < size; i += 2) {
+                next.add(data[i]);
+            }
+            offsets ^= 1L << h;
+            level.size = start;
+        }
+
+        double[] quantiles(double[] probabilities, LongToDoubleFunction decoder) {
+            double[] result = new double[probabilities.length];
+            if (count == 0) {
+                Arrays.fill(result, Double.NaN);
+                return result;
+            }
+            int size = 0;
+            for (LongBuffer level : levels) {
+                size += level.size;
+            }
+            long[] keys = new long[size];
+            long[] weights = new long[size];
+            int pos = 0;
+            for (int h = 0; h < levels.size(); h++) {
+                LongBuffer level = levels.get(h);
+                for (int i = 0; i < level.size; i++) {
+                    // radix sort orders the keys as unsigned
+                    keys[pos] = level.data[i] ^ Long.MIN_VALUE;
+                    weights[pos++] = 1L << h;
+                }
+            }
+            int[] order = RadixSort.sortedIndices(keys.clone(), false);
+            for (int i = 0; i < probabilities.length; i++) {
+                double rank = (count - 1) * probabilities[i];
+                if (probabilities[i] == 0 || probabilities[i] == 1) {
+                    result[i] = decoder.applyAsDouble(probabilities[i] == 0 ? min : max);
+                    continue;
+                }
+                long cumulative = 0;
+                int idx = order[size - 1];
+                for (int j : order) {
+                    cumulative += weights[j];
+                    if (cumulative > rank) {
+                        idx = j;
+                        break;
+                    }
+                }
+                result[i] = decoder.applyAsDouble(keys[idx] ^ Long.MIN_VALUE);
+            }
+            return result;
+        }
+    }
+}
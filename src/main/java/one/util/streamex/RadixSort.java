@@ -0,0 +1,231 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.IntConsumer;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stable LSD radix sort of stream elements by primitive keys. Keys are
+ * extracted once per element and encoded as longs which unsigned order matches
+ * the natural order of the original keys.
+ *
+ * @author Tagir Valeev
+ */
+/* package */interface RadixSort {
+    int RADIX_BITS = 8;
+    int RADIX = 1 << RADIX_BITS;
+    int INSERTION_SORT_THRESHOLD = 64;
+    int PARALLEL_CHUNK = 1 << 16;
+
+    static long intKey(int key) {
+        return key - (long) Integer.MIN_VALUE;
+    }
+
+    static long longKey(long key) {
+        return key ^ Long.MIN_VALUE;
+    }
+
+    static long doubleKey(double key) {
+        // doubleToLongBits collapses all NaNs into one which is greater than
+        // positive infinity, as Double.compare requires
+        long bits = Double.doubleToLongBits(key);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    static <T> Stream<T> sorted(Stream<T> stream, ToLongFunction<? super T> keyExtractor) {
+        boolean parallel = stream.isParallel();
+        return StreamSupport.stream(() -> {
+            Object[] values = stream.toArray();
+            long[] keys = new long[values.length];
+            setAll(keys, i -> {
+                @SuppressWarnings("unchecked")
+                T t = (T) values[i];
+                return keyExtractor.applyAsLong(t);
+            }, parallel);
+            int[] order = sortedIndices(keys, parallel);
+            Object[] result = new Object[values.length];
+            forEachIndex(values.length, i -> result[i] = values[order[i]], parallel);
+            return Spliterators.spliterator(result, Spliterator.ORDERED);
+        }, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED, parallel);
+    }
+
+    static IntStream sorted(IntStream stream, IntToLongFunction keyExtractor) {
+        boolean parallel = stream.isParallel();
+        return StreamSupport.intStream(() -> {
+            int[] values = stream.toArray();
+            long[] keys = new long[values.length];
+            setAll(keys, i -> keyExtractor.applyAsLong(values[i]), parallel);
+            int[] order = sortedIndices(keys, parallel);
+            int[] result = new int[values.length];
+            forEachIndex(values.length, i -> result[i] = values[order[i]], parallel);
+            return Spliterators.spliterator(result, Spliterator.ORDERED);
+        }, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED, parallel);
+    }
+
+    static LongStream sorted(LongStream stream, LongUnaryOperator keyExtractor) {
+        boolean parallel = stream.isParallel();
+        return StreamSupport.longStream(() -> {
+            long[] values = stream.toArray();
+            long[] keys = new long[values.length];
+            setAll(keys, i -> keyExtractor.applyAsLong(values[i]), parallel);
+            int[] order = sortedIndices(keys, parallel);
+            long[] result = new long[values.length];
+            forEachIndex(values.length, i -> result[i] = values[order[i]], parallel);
+            return Spliterators.spliterator(result, Spliterator.ORDERED);
+        }, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED, parallel);
+    }
+
+    static DoubleStream sorted(DoubleStream stream, DoubleToLongFunction keyExtractor) {
+        boolean parallel = stream.isParallel();
+        return StreamSupport.doubleStream(() -> {
+            double[] values = stream.toArray();
+            long[] keys = new long[values.length];
+            setAll(keys, i -> keyExtractor.applyAsLong(values[i]), parallel);
+            int[] order = sortedIndices(keys, parallel);
+            double[] result = new double[values.length];
+            forEachIndex(values.length, i -> result[i] = values[order[i]], parallel);
+            return Spliterators.spliterator(result, Spliterator.ORDERED);
+        }, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED, parallel);
+    }
+
+    static void setAll(long[] array, IntToLongFunction generator, boolean parallel) {
+        if (parallel && array.length > PARALLEL_CHUNK)
+            Arrays.parallelSetAll(array, generator);
+        else
+            Arrays.setAll(array, generator);
+    }
+
+    static void forEachIndex(int size, IntConsumer action, boolean parallel) {
+        if (parallel && size > PARALLEL_CHUNK)
+            IntStream.range(0, size).parallel().forEach(action);
+        else {
+            for (int i = 0; i < size; i++) {
+                action.accept(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the permutation which stably sorts the keys in unsigned order.
+     * The supplied array is reused as a buffer.
+     *
+     * @param keys keys to sort
+     * @param parallel whether the parallel sort is allowed
+     * @return an array of indices of the original keys in sorted order
+     */
+    static int[] sortedIndices(long[] keys, boolean parallel) {
+        int size = keys.length;
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (size < INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, order);
+            return order;
+        }
+        // bits which differ in at least two keys: other digits need no pass
+        long diff = 0;
+        long first = keys[0];
+        for (long key : keys) {
+            diff |= key ^ first;
+        }
+        int chunks = parallel ? (size - 1) / PARALLEL_CHUNK + 1 : 1;
+        long[] srcKeys = keys, dstKeys = null;
+        int[] srcOrder = order, dstOrder = null;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            if (((diff >>> shift) & (RADIX - 1)) == 0)
+                continue;
+            if (dstKeys == null) {
+                dstKeys = new long[size];
+                dstOrder = new int[size];
+            }
+            pass(srcKeys, srcOrder, dstKeys, dstOrder, shift, chunks);
+            long[] tmpKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tmpKeys;
+            int[] tmpOrder = srcOrder;
+            srcOrder = dstOrder;
+            dstOrder = tmpOrder;
+        }
+        return srcOrder;
+    }
+
+    static void pass(long[] srcKeys, int[] srcOrder, long[] dstKeys, int[] dstOrder, int shift, int chunks) {
+        int size = srcKeys.length;
+        int chunkSize = (size - 1) / chunks + 1;
+        int[][] offsets = new int[chunks][RADIX];
+        IntConsumer histogram = chunk -> {
+            int[] counts = offsets[chunk];
+            for (int i = chunk * chunkSize, to = Math.min(size, i + chunkSize); i < to; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+        };
+        IntConsumer scatter = chunk -> {
+            int[] positions = offsets[chunk];
+            for (int i = chunk * chunkSize, to = Math.min(size, i + chunkSize); i < to; i++) {
+                long key = srcKeys[i];
+                int pos = positions[(int) (key >>> shift) & (RADIX - 1)]++;
+                dstKeys[pos] = key;
+                dstOrder[pos] = srcOrder[i];
+            }
+        };
+        if (chunks == 1) {
+            histogram.accept(0);
+        } else {
+            IntStream.range(0, chunks).parallel().forEach(histogram);
+        }
+        int pos = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            for (int[] counts : offsets) {
+                int count = counts[digit];
+                counts[digit] = pos;
+                pos += count;
+            }
+        }
+        if (chunks == 1) {
+            scatter.accept(0);
+        } else {
+            IntStream.range(0, chunks).parallel().forEach(scatter);
+        }
+    }
+
+    static void insertionSort(long[] keys, int[] order) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int idx = order[i];
+            int j = i - 1;
+            while (j >= 0 && Long.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            order[j + 1] = idx;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Spliterator;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleConsumer;
@@ -27,6 +28,7 @@ import java.util.function.IntConsumer;
 import java.util.function.LongBinaryOperator;
 import java.util.function.LongConsumer;
 
+import static one.util.streamex.Internals.CancellableSpliterator;
 import static one.util.streamex.Internals.CloneableSpliterator;
 import static one.util.streamex.Internals.ObjIntBox;
 
@@ -63,7 +65,8 @@ import static one.util.streamex.Internals.ObjIntBox;
         return null;
     }
 
-    static final class AsEntry<T> extends RangeBasedSpliterator<Entry<Integer, T>, AsEntry<T>> {
+    static final class AsEntry<T> extends RangeBasedSpliterator<Entry<Integer, T>, AsEntry<T>> implements
+            CancellableSpliterator<Entry<Integer, T>> {
         private final List<T> list;
 
         public AsEntry(List<T> list) {
@@ -91,9 +94,26 @@ import static one.util.streamex.Internals.ObjIntBox;
             }
             cur = limit;
         }
+
+        @Override
+        public boolean forEachUntil(Consumer<? super Entry<Integer, T>> action, BooleanSupplier stop) {
+            int l = limit, c = cur;
+            List<T> list = this.list;
+            while (c < l) {
+                action.accept(new ObjIntBox<>(list.get(c), c));
+                if (stop.getAsBoolean()) {
+                    cur = c + 1;
+                    return true;
+                }
+                c++;
+            }
+            cur = limit;
+            return false;
+        }
     }
 
-    static final class OfSubLists<T> extends RangeBasedSpliterator<List<T>, OfSubLists<T>> {
+    static final class OfSubLists<T> extends RangeBasedSpliterator<List<T>, OfSubLists<T>> implements
+            CancellableSpliterator<List<T>> {
         private final List<T> source;
         private final int length;
         private final int shift;
@@ -131,9 +151,28 @@ import static one.util.streamex.Internals.ObjIntBox;
             }
             cur = limit;
         }
+
+        @Override
+        public boolean forEachUntil(Consumer<? super List<T>> action, BooleanSupplier stop) {
+            int l = limit, c = cur, ll = length, sf = shift, ls = listSize;
+            int start = cur * sf;
+            while (c < l) {
+                int end = ls - ll > start ? start + ll : ls;
+                action.accept(source.subList(start, end));
+                if (stop.getAsBoolean()) {
+                    cur = c + 1;
+                    return true;
+                }
+                start += sf;
+                c++;
+            }
+            cur = limit;
+            return false;
+        }
     }
 
-    static final class ZipRef<U, V, T> extends RangeBasedSpliterator<T, ZipRef<U, V, T>> {
+    static final class ZipRef<U, V, T> extends RangeBasedSpliterator<T, ZipRef<U, V, T>> implements
+            CancellableSpliterator<T> {
         private final List<U> l1;
         private final List<V> l2;
         private final BiFunction<? super U, ? super V, ? extends T> mapper;
@@ -165,6 +204,21 @@ import static one.util.streamex.Internals.ObjIntBox;
             }
             cur = limit;
         }
+
+        @Override
+        public boolean forEachUntil(Consumer<? super T> action, BooleanSupplier stop) {
+            int l = limit, c = cur;
+            while (c < l) {
+                action.accept(mapper.apply(l1.get(c), l2.get(c)));
+                if (stop.getAsBoolean()) {
+                    cur = c + 1;
+                    return true;
+                }
+                c++;
+            }
+            cur = limit;
+            return false;
+        }
     }
 
     static final class ZipInt extends RangeBasedSpliterator<Integer, ZipInt> implements Spliterator.OfInt {
@@ -15,14 +15,15 @@
  */
 package one.util.streamex;
 
+import java.util.Spliterator;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
 
 /**
- * This class controls stream execution mode (parallel/sequential), custom FJP
- * and close handlers.
+ * This class controls stream execution mode (parallel/sequential), custom FJP,
+ * close handlers and instrumentation.
  * 
  * Fields are package-private and mutable, but it's forbidden to change them
  * from outside of this class.
@@ -41,6 +42,8 @@ import java.util.stream.BaseStream;
     boolean parallel;
     ForkJoinPool fjp;
     Runnable closeHandler;
+    StreamMetrics metrics;
+    int stages;
 
     private StreamContext(boolean parallel) {
         this.parallel = parallel;
@@ -77,6 +80,29 @@ import java.util.stream.BaseStream;
         return context;
     }
 
+    StreamContext instrumented(StreamMetrics metrics) {
+        StreamContext context = detach();
+        context.metrics = metrics;
+        context.stages = 0;
+        return context;
+    }
+
+    /**
+     * Wraps the spliterator of the new stage if the instrumentation is
+     * enabled.
+     * 
+     * @param spliterator spliterator of the new stage
+     * @param operation name of the operation which created the stage, passed
+     *        by the operation itself
+     * @return the spliterator to use
+     */
+    <T, S extends Spliterator<T>> S instrument(S spliterator, String operation) {
+        if (metrics == null)
+            return spliterator;
+        return InstrumentedSpliterator.wrap(spliterator, new InstrumentedSpliterator.Stage(metrics, stages++,
+                operation == null ? "unknown" : operation));
+    }
+
     StreamContext detach() {
         if (this == PARALLEL || this == SEQUENTIAL)
             return new StreamContext(parallel);
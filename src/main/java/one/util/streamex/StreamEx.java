@@ -20,10 +20,12 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -89,28 +91,37 @@ import static one.util.streamex.Internals.selectFirst;
 public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
 
     StreamEx(Stream<? extends T> stream, StreamContext context) {
-        super(stream, context);
+        this(stream, context, null);
+    }
+
+    StreamEx(Stream<? extends T> stream, StreamContext context, String operation) {
+        super(stream, context, operation);
     }
 
     StreamEx(Spliterator<? extends T> spliterator, StreamContext context) {
-        super(spliterator, context);
+        this(spliterator, context, null);
+    }
+
+    StreamEx(Spliterator<? extends T> spliterator, StreamContext context, String operation) {
+        super(spliterator, context, operation);
     }
 
     @Override
-    StreamEx<T> supply(Stream<T> stream) {
-        return new StreamEx<>(stream, context);
+    StreamEx<T> supply(Stream<T> stream, String operation) {
+        return new StreamEx<>(stream, context, operation);
     }
 
     @Override
-    StreamEx<T> supply(Spliterator<T> spliterator) {
-        return new StreamEx<>(spliterator, context);
+    StreamEx<T> supply(Spliterator<T> spliterator, String operation) {
+        return new StreamEx<>(spliterator, context, operation);
     }
 
     private <R> StreamEx<R> collapseInternal(BiPredicate<? super T, ? super T> collapsible, Function<T, R> mapper,
-                                             BiFunction<R, T, R> accumulator, BinaryOperator<R> combiner) {
+                                             BiFunction<R, T, R> accumulator, BinaryOperator<R> combiner,
+                                             String operation) {
         CollapseSpliterator<T, R> spliterator = new CollapseSpliterator<>(collapsible, mapper, accumulator, combiner,
                 spliterator());
-        return new StreamEx<>(spliterator, context);
+        return new StreamEx<>(spliterator, context, operation);
     }
 
     @SuppressWarnings("EmptyMethod")
@@ -207,7 +218,8 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @return the new stream
      */
     public <V> EntryStream<T, V> mapToEntry(Function<? super T, ? extends V> valueMapper) {
-        return new EntryStream<>(stream().map(e -> new SimpleImmutableEntry<>(e, valueMapper.apply(e))), context);
+        return new EntryStream<>(stream().map(e -> new SimpleImmutableEntry<>(e, valueMapper.apply(e))), context,
+                "mapToEntry");
     }
 
     /**
@@ -230,7 +242,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
     public <K, V> EntryStream<K, V> mapToEntry(Function<? super T, ? extends K> keyMapper,
             Function<? super T, ? extends V> valueMapper) {
         return new EntryStream<>(stream()
-                .map(e -> new SimpleImmutableEntry<>(keyMapper.apply(e), valueMapper.apply(e))), context);
+                .map(e -> new SimpleImmutableEntry<>(keyMapper.apply(e), valueMapper.apply(e))), context, "mapToEntry");
     }
 
     /**
@@ -250,7 +262,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.4.1
      */
     public StreamEx<T> mapFirst(Function<? super T, ? extends T> mapper) {
-        return supply(new PairSpliterator.PSOfRef<>(mapper, spliterator(), true));
+        return supply(new PairSpliterator.PSOfRef<>(mapper, spliterator(), true), "mapFirst");
     }
 
     /**
@@ -277,7 +289,8 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     public <R> StreamEx<R> mapFirstOrElse(Function<? super T, ? extends R> firstMapper,
             Function<? super T, ? extends R> notFirstMapper) {
-        return new StreamEx<>(new PairSpliterator.PSOfRef<>(firstMapper, notFirstMapper, spliterator(), true), context);
+        return new StreamEx<>(new PairSpliterator.PSOfRef<>(firstMapper, notFirstMapper, spliterator(), true), context,
+                "mapFirstOrElse");
     }
 
     /**
@@ -300,7 +313,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.4.1
      */
     public StreamEx<T> mapLast(Function<? super T, ? extends T> mapper) {
-        return supply(new PairSpliterator.PSOfRef<>(mapper, spliterator(), false));
+        return supply(new PairSpliterator.PSOfRef<>(mapper, spliterator(), false), "mapLast");
     }
 
     /**
@@ -327,7 +340,8 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     public <R> StreamEx<R> mapLastOrElse(Function<? super T, ? extends R> notLastMapper,
             Function<? super T, ? extends R> lastMapper) {
-        return new StreamEx<>(new PairSpliterator.PSOfRef<>(lastMapper, notLastMapper, spliterator(), false), context);
+        return new StreamEx<>(new PairSpliterator.PSOfRef<>(lastMapper, notLastMapper, spliterator(), false), context,
+                "mapLastOrElse");
     }
 
     /**
@@ -424,7 +438,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return new EntryStream<>(stream().flatMap(e -> {
             Map<K, V> s = mapper.apply(e);
             return s == null ? null : s.entrySet().stream();
-        }), context);
+        }), context, "flatMapToEntry");
     }
 
     /**
@@ -455,7 +469,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
     @SuppressWarnings("unchecked")
     public <V> EntryStream<T, V> cross(V... other) {
         if (other.length == 0)
-            return new EntryStream<>(Spliterators.emptySpliterator(), context);
+            return new EntryStream<>(Spliterators.emptySpliterator(), context, "cross");
         if (other.length == 1)
             return mapToEntry(e -> other[0]);
         return cross(t -> of(other));
@@ -483,7 +497,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     public <V> EntryStream<T, V> cross(Collection<? extends V> other) {
         if (other.isEmpty())
-            return new EntryStream<>(Spliterators.emptySpliterator(), context);
+            return new EntryStream<>(Spliterators.emptySpliterator(), context, "cross");
         return cross(t -> of(other));
     }
 
@@ -506,7 +520,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.2.3
      */
     public <V> EntryStream<T, V> cross(Function<? super T, ? extends Stream<? extends V>> mapper) {
-        return new EntryStream<>(stream().flatMap(a -> EntryStream.withKey(a, mapper.apply(a))), context);
+        return new EntryStream<>(stream().flatMap(a -> EntryStream.withKey(a, mapper.apply(a))), context, "cross");
     }
 
     /**
@@ -818,6 +832,34 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return map(String::valueOf).rawCollect(Collectors.joining(delimiter, prefix, suffix));
     }
 
+    /**
+     * Appends the results of calling {@link String#valueOf(Object)} on each
+     * element of this stream, separated by the specified delimiter, to the
+     * specified {@link Appendable} in encounter order.
+     *
+     * <p>
+     * The elements are written as soon as they are consumed, so unlike
+     * {@link #joining(CharSequence)} this method does not build the whole
+     * string in memory. The {@code Appendable} is neither flushed nor closed.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param <A> the type of the {@code Appendable}
+     * @param appendable the {@code Appendable} (like {@link java.io.Writer})
+     *        to write to
+     * @param delimiter the delimiter to be used between each element
+     * @return the appendable
+     * @throws java.io.UncheckedIOException if the {@code Appendable} throws
+     *         an {@link java.io.IOException}
+     * @see Joining#to(Appendable)
+     * @since 0.7.4
+     */
+    public <A extends Appendable> A joiningTo(A appendable, CharSequence delimiter) {
+        return map(String::valueOf).collect(Joining.with(delimiter).to(appendable));
+    }
+
     /**
      * Returns an array containing all the stream elements using the supplied
      * element type class to allocate an array.
@@ -1307,7 +1349,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     @SafeVarargs
     public final StreamEx<T> append(T... values) {
-        return appendSpliterator(null, Spliterators.spliterator(values, Spliterator.ORDERED));
+        return appendSpliterator(null, Spliterators.spliterator(values, Spliterator.ORDERED), "append");
     }
 
     /**
@@ -1324,7 +1366,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.5.4
      */
     public StreamEx<T> append(T value) {
-        return appendSpliterator(null, new ConstSpliterator.OfRef<>(value, 1, true));
+        return appendSpliterator(null, new ConstSpliterator.OfRef<>(value, 1, true), "append");
     }
 
     /**
@@ -1343,7 +1385,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.2.1
      */
     public StreamEx<T> append(Collection<? extends T> collection) {
-        return appendSpliterator(null, collection.spliterator());
+        return appendSpliterator(null, collection.spliterator(), "append");
     }
 
     /**
@@ -1363,7 +1405,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     @SafeVarargs
     public final StreamEx<T> prepend(T... values) {
-        return prependSpliterator(null, Spliterators.spliterator(values, Spliterator.ORDERED));
+        return prependSpliterator(null, Spliterators.spliterator(values, Spliterator.ORDERED), "prepend");
     }
 
     /**
@@ -1380,7 +1422,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.5.4
      */
     public StreamEx<T> prepend(T value) {
-        return new StreamEx<>(new PrependSpliterator<>(spliterator(), value), context);
+        return new StreamEx<>(new PrependSpliterator<>(spliterator(), value), context, "prepend");
     }
 
     /**
@@ -1400,7 +1442,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.2.1
      */
     public StreamEx<T> prepend(Collection<? extends T> collection) {
-        return prependSpliterator(null, collection.spliterator());
+        return prependSpliterator(null, collection.spliterator(), "prepend");
     }
 
     /**
@@ -1572,7 +1614,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.3.1
      */
     public StreamEx<T> collapse(BiPredicate<? super T, ? super T> collapsible, BinaryOperator<T> merger) {
-        return collapseInternal(collapsible, Function.identity(), merger, merger);
+        return collapseInternal(collapsible, Function.identity(), merger, merger, "collapse");
     }
 
     /**
@@ -1604,7 +1646,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         }, (acc, t) -> {
             accumulator.accept(acc, t);
             return acc;
-        }, collector.combiner());
+        }, collector.combiner(), "collapse");
         if (collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
             @SuppressWarnings("unchecked")
             StreamEx<R> result = (StreamEx<R>) stream;
@@ -1673,7 +1715,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         }, (e1, e2) -> {
             e1.b += e2.b;
             return e1;
-        }), context);
+        }, "runLengths"), context, "runLengths");
     }
 
     /**
@@ -1715,7 +1757,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             }
             acc1.addAll(acc2);
             return acc1;
-        });
+        }, "groupRuns");
     }
 
     /**
@@ -1754,7 +1796,77 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         }, (left, right) -> {
             left.b = right.b;
             return left;
-        }).map(pair -> mapper.apply(pair.a, pair.b));
+        }, "intervalMap").map(pair -> mapper.apply(pair.a, pair.b));
+    }
+
+    /**
+     * Returns a stream consisting of the sliding windows of this stream
+     * elements: every window is a list of {@code size} adjacent elements and
+     * every next window is shifted by {@code step} elements relative to the
+     * previous one.
+     * 
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     * 
+     * <p>
+     * Unlike {@link #ofSubLists(List, int, int)} this operation works with any
+     * source and retains only the elements of the current window. If the
+     * stream has less than {@code size} elements, the resulting stream is
+     * empty. The trailing elements which don't form the complete window are
+     * not included into any window. If the step is greater than the size, some
+     * elements will not appear in windows at all.
+     * 
+     * <p>
+     * Every window is a new fixed-size {@code List}. There are no other
+     * guarantees on the type, mutability, serializability, or thread-safety
+     * of the {@code List} objects of the resulting stream.
+     * 
+     * @param size the number of elements in each window (must be positive
+     *        number).
+     * @param step the number of elements the next window is shifted relative
+     *        to the previous one (must be positive number).
+     * @return the new stream
+     * @throws IllegalArgumentException if size or step is negative or zero.
+     * @see #tumbling(int)
+     * @see #ofSubLists(List, int, int)
+     * @since 0.7.4
+     */
+    public StreamEx<List<T>> windowed(int size, int step) {
+        WindowSpliterator.checkSize("size", size);
+        WindowSpliterator.checkSize("step", step);
+        return new StreamEx<>(new WindowSpliterator.OfRef<>(spliterator(), size, step, false), context, "windowed");
+    }
+
+    /**
+     * Returns a stream consisting of the non-overlapping lists of
+     * {@code size} adjacent elements of this stream. The last list may be
+     * shorter if the number of stream elements is not divisible by size.
+     * 
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     * 
+     * <p>
+     * Unlike {@link #ofSubLists(List, int)} this operation works with any
+     * source and retains only the elements of the current list.
+     * 
+     * <p>
+     * Every list is a new fixed-size {@code List}. There are no other
+     * guarantees on the type, mutability, serializability, or thread-safety
+     * of the {@code List} objects of the resulting stream.
+     * 
+     * @param size the number of elements in each list except possibly the
+     *        last one (must be positive number).
+     * @return the new stream
+     * @throws IllegalArgumentException if size is negative or zero.
+     * @see #windowed(int, int)
+     * @see #ofSubLists(List, int)
+     * @since 0.7.4
+     */
+    public StreamEx<List<T>> tumbling(int size) {
+        WindowSpliterator.checkSize("size", size);
+        return new StreamEx<>(new WindowSpliterator.OfRef<>(spliterator(), size, size, true), context, "tumbling");
     }
 
     /**
@@ -1780,7 +1892,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     public <R> StreamEx<R> withFirst(BiFunction<? super T, ? super T, ? extends R> mapper) {
         WithFirstSpliterator<T, R> spliterator = new WithFirstSpliterator<>(spliterator(), mapper);
-        return new StreamEx<>(spliterator, context);
+        return new StreamEx<>(spliterator, context, "withFirst");
     }
 
     /**
@@ -1805,7 +1917,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
     public EntryStream<T, T> withFirst() {
         WithFirstSpliterator<T, Entry<T, T>> spliterator = new WithFirstSpliterator<>(spliterator(),
                 SimpleImmutableEntry::new);
-        return new EntryStream<>(spliterator, context);
+        return new EntryStream<>(spliterator, context, "withFirst");
     }
 
     /**
@@ -1884,7 +1996,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     public <V, R> StreamEx<R> zipWith(BaseStream<V, ?> other, BiFunction<? super T, ? super V, ? extends R> mapper) {
         return new StreamEx<>(new ZipSpliterator<>(spliterator(), other.spliterator(), mapper, true), context
-                .combine(other));
+                .combine(other), "zipWith");
     }
 
     /**
@@ -1957,7 +2069,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      */
     public <V> EntryStream<T, V> zipWith(BaseStream<V, ?> other) {
         return new EntryStream<>(new ZipSpliterator<>(spliterator(), other.spliterator(),
-                SimpleImmutableEntry::new, true), context.combine(other));
+                SimpleImmutableEntry::new, true), context.combine(other), "zipWith");
     }
 
     /**
@@ -2074,7 +2186,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             Supplier<? extends Stream<R>> supplier) {
         HeadTailSpliterator<T, R> spliterator = new HeadTailSpliterator<>(spliterator(), mapper, supplier);
         spliterator.context = context = context.detach();
-        return new StreamEx<>(spliterator, context);
+        return new StreamEx<>(spliterator, context, "headTail");
     }
 
     /**
@@ -2194,8 +2306,8 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         if (stream instanceof AbstractStreamEx) {
             AbstractStreamEx<T, ?> ase = (AbstractStreamEx<T, ?>) stream;
             if (ase.spliterator != null)
-                return new StreamEx<>(ase.spliterator(), ase.context);
-            return new StreamEx<>(ase.stream(), ase.context);
+                return new StreamEx<>(ase.spliterator(), ase.context, "of");
+            return new StreamEx<>(ase.stream(), ase.context, "of");
         }
         return new StreamEx<>(stream, StreamContext.of(stream));
     }
@@ -2373,10 +2485,19 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * is also wrapped as an {@code UncheckedIOException}.
      *
      * <p>
-     * The returned stream encapsulates a {@link Reader}. If timely disposal of
-     * file system resources is required, the try-with-resources construct
-     * should be used to ensure that the stream's {@link #close close} method is
-     * invoked after the stream operations are completed.
+     * The returned stream encapsulates a {@link Reader} or a {@link FileChannel}.
+     * If timely disposal of file system resources is required, the
+     * try-with-resources construct should be used to ensure that the stream's
+     * {@link #close close} method is invoked after the stream operations are
+     * completed.
+     *
+     * <p>
+     * For regular files the stream is backed by the memory mapped
+     * {@code FileChannel}. The parallel stream splits such file right after
+     * the first line terminator following the middle of the byte range, so
+     * it's parallelized well even for very large files. Since Java 9
+     * {@link Files#lines(Path)} does the same for files up to 2 GB, so it's
+     * used for them, while larger files are still split by StreamEx.
      *
      * @param path the path to the file
      * @return the lines from the file as a {@code StreamEx}
@@ -2385,7 +2506,7 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @see Files#lines(Path)
      */
     public static StreamEx<String> ofLines(Path path) throws IOException {
-        return of(Files.lines(path));
+        return VerSpec.VER_SPEC.ofLines(path, StandardCharsets.UTF_8);
     }
 
     /**
@@ -2405,10 +2526,20 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * is also wrapped as an {@code UncheckedIOException}.
      *
      * <p>
-     * The returned stream encapsulates a {@link Reader}. If timely disposal of
-     * file system resources is required, the try-with-resources construct
-     * should be used to ensure that the stream's {@link #close close} method is
-     * invoked after the stream operations are completed.
+     * The returned stream encapsulates a {@link Reader} or a {@link FileChannel}.
+     * If timely disposal of file system resources is required, the
+     * try-with-resources construct should be used to ensure that the stream's
+     * {@link #close close} method is invoked after the stream operations are
+     * completed.
+     *
+     * <p>
+     * For regular files the stream is backed by the memory mapped
+     * {@code FileChannel} if the charset is UTF-8, ISO-8859-1 or US-ASCII. The
+     * parallel stream splits such file right after the first line terminator
+     * following the middle of the byte range, so it's parallelized well even
+     * for very large files. Since Java 9 {@link Files#lines(Path, Charset)}
+     * does the same for files up to 2 GB, so it's used for them, while larger
+     * files are still split by StreamEx.
      *
      * @param path the path to the file
      * @param charset the charset to use for decoding
@@ -2418,7 +2549,30 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.5.0
      */
     public static StreamEx<String> ofLines(Path path, Charset charset) throws IOException {
-        return of(Files.lines(path, charset));
+        return VerSpec.VER_SPEC.ofLines(path, charset);
+    }
+
+    static StreamEx<String> ofLines(Path path, Charset charset, int windowSize) throws IOException {
+        if (!LinesSpliterator.isSupported(charset) || !Files.isRegularFile(path))
+            return of(Files.lines(path, charset));
+        FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            LinesSpliterator spliterator = new LinesSpliterator(fc, charset, 0, fc.size(), windowSize);
+            return of(spliterator).onClose(() -> {
+                try {
+                    fc.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException | Error e) {
+            try {
+                fc.close();
+            } catch (IOException ex) {
+                e.addSuppressed(ex);
+            }
+            throw e;
+        }
     }
 
     /**
@@ -2492,7 +2646,10 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @param length length of permutations array. Lengths bigger than 20 are
      *        not supported currently as resulting number of permutations will exceed
      *        {@code Long.MAX_VALUE}.
-     * @return new sequential {@code StreamEx} of possible permutations.
+     * @return new sequential {@code StreamEx} of possible permutations. The
+     *         permutations are computed from their position, so the stream
+     *         splits evenly for parallel processing and {@code skip} jumps
+     *         directly to the required permutation.
      * @since 0.2.2
      * @throws IllegalArgumentException if length is negative or number of possible permutations exceeds
      * {@code Long.MAX_VALUE}.
@@ -2501,6 +2658,32 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return of(new PermutationSpliterator(length));
     }
 
+    /**
+     * Performs an action for all the possible permutations of numbers from 0
+     * to length-1 in lexicographic order.
+     *
+     * <p>
+     * Unlike {@code StreamEx.ofPermutations(length).forEach(action)} this
+     * method allocates nothing per permutation: the same array is passed to
+     * the action every time and updated in place. The action must not modify
+     * the array and should not store it, as its content is valid only during
+     * the action call. Use {@link #ofPermutations(int)} to process the
+     * permutations in parallel.
+     *
+     * @param length length of permutations array. Lengths bigger than 20 are
+     *        not supported as resulting number of permutations will exceed
+     *        {@code Long.MAX_VALUE}.
+     * @param action a non-interfering action to perform on every permutation
+     * @throws IllegalArgumentException if length is negative or number of
+     *         possible permutations exceeds {@code Long.MAX_VALUE}.
+     * @see #ofPermutations(int)
+     * @since 0.7.4
+     */
+    public static void forEachPermutation(int length, Consumer<? super int[]> action) {
+        Objects.requireNonNull(action);
+        new PermutationSpliterator(length).forEachRemaining(action, false);
+    }
+
     /**
      * Returns a new {@code StreamEx} of {@code int[]} arrays containing all the possible combinations of length {@code
      * k} consisting of numbers from 0 to {@code n-1} in lexicographic order.
@@ -2511,7 +2694,8 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @param n number of possible distinct elements
      * @param k number of elements in each combination
      * @return new sequential stream of possible combinations. Returns an empty stream if {@code k} is bigger
-     * than {@code n}.
+     * than {@code n}. The combinations are computed from their position, so the stream splits evenly for parallel
+     * processing and {@code skip} jumps directly to the required combination.
      * @throws IllegalArgumentException if n or k is negative or number of possible combinations exceeds {@code
      *                                  Long.MAX_VALUE}.
      * @since 0.6.7
@@ -2561,6 +2745,12 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * creation until the execution of the terminal stream operation. Otherwise,
      * the result of the terminal stream operation is undefined.
      *
+     * <p>
+     * If the pattern matches a literal string (like {@code ", "} or the
+     * result of {@link Pattern#quote(String)}), the resulting stream is
+     * efficiently splittable for parallel processing, unless the string may
+     * overlap itself (like {@code "--"}).
+     *
      * @param str The character sequence to be split
      * @param pattern The pattern to use for splitting
      *
@@ -2571,6 +2761,10 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
     public static StreamEx<String> split(CharSequence str, Pattern pattern) {
         if (str.length() == 0)
             return of("");
+        String literal = pattern.flags() == Pattern.LITERAL ? pattern.pattern() : pattern.flags() == 0 ? literal(
+            pattern.pattern()) : null;
+        if (literal != null && !literal.isEmpty())
+            return of(new CharSpliterator(str, literal, true));
         return new StreamEx<>(pattern.splitAsStream(str), StreamContext.SEQUENTIAL);
     }
 
@@ -2605,6 +2799,9 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
                 return split(str, ch);
             }
         }
+        String literal = literal(regex);
+        if (literal != null && !literal.isEmpty())
+            return of(new CharSpliterator(str, literal, true));
         return new StreamEx<>(Pattern.compile(regex).splitAsStream(str), StreamContext.SEQUENTIAL);
     }
 
@@ -2613,6 +2810,17 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return ".$|()[{^?*+\\".indexOf(ch) == -1;
     }
 
+    // the string matched by the regex if it's a plain or quoted literal, null otherwise
+    private static String literal(String regex) {
+        if (regex.startsWith("\\Q") && regex.indexOf("\\E") == regex.length() - 2)
+            return regex.substring(2, regex.length() - 2);
+        for (int i = 0; i < regex.length(); i++) {
+            if (!isNotRegexSpecialCaseStarter(regex.charAt(i)))
+                return null;
+        }
+        return regex;
+    }
+
     private static boolean isTransparentlyQuotableCharacter(char ch) {
         /* @see java.util.regex.Pattern#escape(boolean,boolean,boolean) */
         return (ch < '0' || ch > '9') && (ch < 'A' || ch > 'Z') && (ch < 'a' || ch > 'z');
@@ -2968,6 +3176,11 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * it's necessary to close all the created streams, call the {@code close()}
      * method of the resulting stream returned by {@code ofTree()}.
      * 
+     * <p>
+     * The parallel stream publishes the unexpanded subtrees as independent
+     * tasks, so it scales well if the mapper creates splittable streams (e.g.
+     * from the {@code ArrayList}) even though the tree is deep or unbalanced.
+     * 
      * @param <T> the type of tree nodes
      * @param root root node of the tree
      * @param mapper a non-interfering, stateless function to apply to each tree
@@ -2983,6 +3196,74 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return new StreamEx<>(spliterator, StreamContext.SEQUENTIAL.onClose(spliterator));
     }
 
+    /**
+     * Return a new {@link StreamEx} containing the nodes of tree-like data
+     * structure in depth-first order up to the specified depth.
+     *
+     * <p>
+     * The mapper is not called for the nodes at the specified depth, so the
+     * tree is not expanded deeper. The root node has depth 0, its immediate
+     * children have depth 1 and so on.
+     *
+     * <p>
+     * The streams created by mapper may be automatically
+     * {@link java.util.stream.BaseStream#close() closed} after its contents
+     * already consumed and unnecessary anymore. It's not guaranteed that all
+     * created streams will be closed during the stream terminal operation. If
+     * it's necessary to close all the created streams, call the {@code close()}
+     * method of the resulting stream returned by {@code ofTree()}.
+     *
+     * @param <T> the type of tree nodes
+     * @param root root node of the tree
+     * @param maxDepth the maximal depth of the nodes to include. If it's zero,
+     *        only the root node is included.
+     * @param mapper a non-interfering, stateless function to apply to each tree
+     *        node which returns null for leaf nodes or stream of direct
+     *        children for non-leaf nodes.
+     * @return the new sequential ordered stream
+     * @throws IllegalArgumentException if maxDepth is negative
+     * @since 0.7.4
+     * @see #ofTree(Object, Function)
+     * @see EntryStream#ofTree(Object, BiFunction)
+     */
+    public static <T> StreamEx<T> ofTree(T root, int maxDepth, Function<T, Stream<T>> mapper) {
+        checkNonNegative("maxDepth", maxDepth);
+        TreeSpliterator<T, T> spliterator = new TreeSpliterator.Limited<>(root, mapper, maxDepth, 0);
+        return new StreamEx<>(spliterator, StreamContext.SEQUENTIAL.onClose(spliterator));
+    }
+
+    /**
+     * Return a new {@link StreamEx} containing all the nodes of tree-like data
+     * structure in breadth-first order: the root node goes first, then all its
+     * children, then all the children of its children and so on.
+     *
+     * <p>
+     * The stream keeps open the children streams of all the nodes which are
+     * already emitted while their children are not. So in the worst case it
+     * keeps open as many streams as there are nodes at the widest level of
+     * the tree. The resulting stream is not split for parallel processing, as
+     * the breadth-first order cannot be split into contiguous parts.
+     *
+     * <p>
+     * The streams created by mapper are
+     * {@link java.util.stream.BaseStream#close() closed} after its contents
+     * already consumed. If the resulting stream is not fully consumed, call
+     * its {@code close()} method to close the remaining created streams.
+     *
+     * @param <T> the type of tree nodes
+     * @param root root node of the tree
+     * @param mapper a non-interfering, stateless function to apply to each tree
+     *        node which returns null for leaf nodes or stream of direct
+     *        children for non-leaf nodes.
+     * @return the new sequential ordered stream
+     * @since 0.7.4
+     * @see #ofTree(Object, Function)
+     */
+    public static <T> StreamEx<T> ofTreeBreadthFirst(T root, Function<T, Stream<T>> mapper) {
+        TreeSpliterator.BreadthFirst<T> spliterator = new TreeSpliterator.BreadthFirst<>(root, mapper);
+        return new StreamEx<>(spliterator, StreamContext.SEQUENTIAL.onClose(spliterator));
+    }
+
     /**
      * Return a new {@link StreamEx} containing all the nodes of tree-like data
      * structure in depth-first order.
@@ -3244,6 +3525,130 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return of(new CrossSpliterator.Reducing<>(Collections.nCopies(n, source), identity, accumulator));
     }
 
+    /**
+     * Returns a new {@code StreamEx} which elements are the results of
+     * applying the mapper to all possible tuples of the elements of supplied
+     * collection of collections. The whole stream forms an n-fold Cartesian
+     * product (or cross-product) of the input collections.
+     *
+     * <p>
+     * The mapper receives the read-only {@code List} view of the current tuple.
+     * The view is reused and changes as the stream advances, so it's valid
+     * only during the mapper call and must not be stored. This way no object
+     * is allocated per tuple, which matters when the tuples are many and only
+     * some value computed from every tuple is necessary. The tuples are
+     * ordered lexicographically according to the order of the input
+     * collections.
+     *
+     * <p>
+     * This method is equivalent to the following (except that the lists are
+     * not copied):
+     *
+     * <pre>
+     * {@code StreamEx.cartesianProduct(source).map(mapper)}
+     * </pre>
+     *
+     * <p>
+     * The tuples are numbered, so the stream is sized and splits evenly for
+     * parallel processing. The input collections are copied to the arrays
+     * when the stream is created.
+     *
+     * @param <T> the type of the input elements
+     * @param <R> the type of the elements of the resulting stream
+     * @param source the input collection of collections which is used to
+     *        generate the cross-product.
+     * @param mapper a <a
+     *        href="package-summary.html#NonInterference">non-interfering </a>,
+     *        <a href="package-summary.html#Statelessness">stateless</a>
+     *        function to apply to the view of every tuple
+     * @return the new stream.
+     * @see #cartesianProduct(Collection)
+     * @see #cartesianProductIndices(int...)
+     * @since 0.7.4
+     */
+    public static <T, R> StreamEx<R> cartesianProduct(Collection<? extends Collection<T>> source,
+            Function<? super List<T>, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        return of(new MixedRadixSpliterator.Mapping<>(source, mapper));
+    }
+
+    /**
+     * Returns a new {@code StreamEx} which elements are the results of
+     * applying the mapper to all possible n-tuples of the elements of supplied
+     * collection. The whole stream forms an n-fold Cartesian product of input
+     * collection with itself or n-ary Cartesian power of the input collection.
+     *
+     * <p>
+     * The mapper receives the read-only {@code List} view of the current tuple.
+     * The view is reused and changes as the stream advances, so it's valid
+     * only during the mapper call and must not be stored. The tuples are
+     * ordered lexicographically according to the order of the input
+     * collection.
+     *
+     * <p>
+     * This method is equivalent to the following (except that the lists are
+     * not copied):
+     *
+     * <pre>
+     * {@code StreamEx.cartesianPower(n, source).map(mapper)}
+     * </pre>
+     *
+     * <p>
+     * The tuples are numbered, so the stream is sized and splits evenly for
+     * parallel processing.
+     *
+     * @param <T> the type of the input elements
+     * @param <R> the type of the elements of the resulting stream
+     * @param n the size of the tuples.
+     * @param source the input collection which is used to generate the
+     *        Cartesian power.
+     * @param mapper a <a
+     *        href="package-summary.html#NonInterference">non-interfering </a>,
+     *        <a href="package-summary.html#Statelessness">stateless</a>
+     *        function to apply to the view of every tuple
+     * @return the new stream.
+     * @throws IllegalArgumentException if n is negative
+     * @see #cartesianPower(int, Collection)
+     * @since 0.7.4
+     */
+    public static <T, R> StreamEx<R> cartesianPower(int n, Collection<T> source,
+            Function<? super List<T>, ? extends R> mapper) {
+        checkNonNegative("n", n);
+        return cartesianProduct(Collections.nCopies(n, source), mapper);
+    }
+
+    /**
+     * Returns a new {@code StreamEx} of {@code int[]} arrays containing all
+     * possible tuples of indices, where the index at position {@code i} is
+     * between 0 and {@code sizes[i]-1}. The tuples are ordered
+     * lexicographically, so they can be used to enumerate the Cartesian
+     * product of the random access sources of given sizes.
+     *
+     * <p>
+     * Example: {@code StreamEx.cartesianProductIndices(2, 3)} returns the
+     * stream of {@code [0, 0]}, {@code [0, 1]}, {@code [0, 2]},
+     * {@code [1, 0]}, {@code [1, 1]} and {@code [1, 2]} in this order.
+     *
+     * <p>
+     * Every stream element is the distinct array. The tuples are numbered, so
+     * the stream is sized and splits evenly for parallel processing.
+     *
+     * @param sizes the number of possible indices at every position
+     * @return the new stream of index tuples. Returns the stream of single
+     *         empty array if no sizes are supplied and an empty stream if any
+     *         size is zero.
+     * @throws IllegalArgumentException if any size is negative
+     * @see #cartesianProduct(Collection, Function)
+     * @see #ofCombinations(int, int)
+     * @since 0.7.4
+     */
+    public static StreamEx<int[]> cartesianProductIndices(int... sizes) {
+        for (int size : sizes) {
+            checkNonNegative("size", size);
+        }
+        return of(new MixedRadixSpliterator.OfIndices(sizes.clone()));
+    }
+
     /**
      * A helper interface to build a new stream by emitting elements and
      * creating new emitters in a chain.
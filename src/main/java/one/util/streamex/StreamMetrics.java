@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+/**
+ * A receiver of the stream pipeline execution statistics. Pass it to
+ * {@link BaseStreamEx#instrumented(StreamMetrics)} to record how many
+ * elements every subsequent stage produced and how long it took.
+ *
+ * <p>
+ * Stages are numbered in the order they were added to the pipeline: zero is
+ * the stream {@code instrumented} was called on, then every stream operation
+ * which created a new stream adds a new stage. The stage operation is the
+ * name of the StreamEx method which created it (like {@code "map"} or
+ * {@code "groupRuns"}). The methods which are implemented via other methods
+ * add the stages of those methods (e.g. {@code nonNull} adds a
+ * {@code "filter"} stage).
+ *
+ * <p>
+ * In parallel pipelines the methods are called concurrently from different
+ * threads, so the implementation must be thread-safe.
+ *
+ * @author Tagir Valeev
+ * @since 0.7.4
+ */
+public interface StreamMetrics {
+    /**
+     * Called when the part of the stage is split into two parts for parallel
+     * processing.
+     *
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param stage the stage number
+     * @param operation the name of the operation which created the stage
+     */
+    default void split(int stage, String operation) {
+    }
+
+    /**
+     * Called once the part of the stage is traversed. For sequential stream
+     * it's called once per stage, for parallel stream it's called once for
+     * every part the stage was split into. The parts which were not traversed
+     * to the end (due to short-circuiting terminal operation or exception) are
+     * not reported.
+     *
+     * <p>
+     * The reported time is the time spent to produce the elements of this
+     * part, which includes the time spent in the previous stages, but not
+     * the time spent by the subsequent stages and the terminal operation. Thus
+     * the time of the stage itself is the difference between its time and the
+     * time of the previous stage. To keep the overhead low, only a sample of
+     * the elements is timed, so the reported time is an estimate.
+     *
+     * @param stage the stage number
+     * @param operation the name of the operation which created the stage
+     * @param elements number of elements produced by this part
+     * @param nanos time spent to produce the elements in nanoseconds
+     * @param thread the thread which traversed the part
+     */
+    void traversed(int stage, String operation, long elements, long nanos, Thread thread);
+}
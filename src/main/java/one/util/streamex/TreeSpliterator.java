@@ -16,8 +16,10 @@
 package one.util.streamex;
 
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Spliterator;
@@ -31,6 +33,12 @@ import static one.util.streamex.Internals.ObjIntBox;
 import static one.util.streamex.Internals.PairBox;
 
 /**
+ * Depth-first traversal of the tree. The stack keeps a spliterator over the
+ * remaining siblings for every level of the current path. As deeper levels
+ * are traversed first, the parallel split publishes the unexpanded subtrees:
+ * the prefix takes all the levels above the lowest non-empty one along with
+ * the first part of its siblings if they can be split.
+ *
  * @author Tagir Valeev
  *
  */
@@ -41,6 +49,8 @@ import static one.util.streamex.Internals.PairBox;
     List<PairBox<Spliterator<T>, Stream<T>>> spliterators;
     private Runnable closeHandler = null;
     long size = Long.MAX_VALUE;
+    // once split, the children streams are created parallel to be splittable
+    private boolean parallel;
 
     TreeSpliterator(T root) {
         this.cur = root;
@@ -67,10 +77,20 @@ import static one.util.streamex.Internals.PairBox;
 
     boolean append(Stream<T> stream) {
         if (stream != null) {
-            spliterators.add(new PairBox<>(stream.spliterator(), stream));
+            spliterators.add(new PairBox<>((parallel ? stream.parallel() : stream).spliterator(), stream));
         }
         return true;
     }
+
+    /**
+     * Called on the split prefix which stack starts from the given level of
+     * this spliterator stack.
+     *
+     * @param levels number of the stack levels dropped from the bottom
+     */
+    void skipLevels(int levels) {
+        // depth is not tracked by default
+    }
     
     abstract Stream<T> getStart();
     
@@ -78,6 +98,7 @@ import static one.util.streamex.Internals.PairBox;
 
     @Override
     public Spliterator<U> trySplit() {
+        parallel = true;
         if (spliterators == null) {
             spliterators = new ArrayList<>();
             Stream<T> stream = getStart();
@@ -87,18 +108,42 @@ import static one.util.streamex.Internals.PairBox;
             }
             return new ConstSpliterator.OfRef<>(getStartElement(), 1, true);
         }
-        int size = spliterators.size();
-        if (size != 1) {
-            return null;
+        List<PairBox<Spliterator<T>, Stream<T>>> spltrs = spliterators;
+        int depth = spltrs.size();
+        for (int level = 0; level < depth; level++) {
+            PairBox<Spliterator<T>, Stream<T>> pair = spltrs.get(level);
+            List<PairBox<Spliterator<T>, Stream<T>>> upper = spltrs.subList(level + 1, depth);
+            Spliterator<T> prefix = pair.a.trySplit();
+            if (prefix != null) {
+                if (pair.b != null) {
+                    // the prefix may still read the stream when this part is done
+                    closeHandler = StreamContext.compose(closeHandler, pair.b::close);
+                    pair.b = null;
+                }
+                List<PairBox<Spliterator<T>, Stream<T>>> levels = new ArrayList<>(upper.size() + 1);
+                levels.add(new PairBox<>(prefix, null));
+                levels.addAll(upper);
+                upper.clear();
+                return split(levels, level);
+            }
+            if (!upper.isEmpty() && pair.a.estimateSize() > 0) {
+                // siblings at this level cannot be split, but they follow
+                // all the levels above, which can be published as a whole
+                List<PairBox<Spliterator<T>, Stream<T>>> levels = new ArrayList<>(upper);
+                upper.clear();
+                return split(levels, level + 1);
+            }
         }
-        Spliterator<T> prefix = spliterators.get(0).a.trySplit();
-        if (prefix == null)
-            return null;
+        return null;
+    }
+
+    private TreeSpliterator<T, U> split(List<PairBox<Spliterator<T>, Stream<T>>> levels, int skipped) {
         TreeSpliterator<T, U> clone = doClone();
         clone.size /= 2;
         this.size -= clone.size;
-        clone.spliterators = new ArrayList<>();
-        clone.spliterators.add(new PairBox<>(prefix, null));
+        clone.spliterators = levels;
+        clone.closeHandler = null;
+        clone.skipLevels(skipped);
         closeHandler = StreamContext.compose(closeHandler, clone);
         return clone;
     }
@@ -231,6 +276,103 @@ import static one.util.streamex.Internals.PairBox;
         }
     }
     
+    static class LimitedAcceptor<T> implements Consumer<T> {
+        private final Consumer<? super T> action;
+        private final Function<T, Stream<T>> mapper;
+        private final int maxDepth;
+        private int depth;
+
+        public LimitedAcceptor(Consumer<? super T> action, Function<T, Stream<T>> mapper, int maxDepth, int depth) {
+            this.action = action;
+            this.mapper = mapper;
+            this.maxDepth = maxDepth;
+            this.depth = depth;
+        }
+
+        @Override
+        public void accept(T t) {
+            if (depth > MAX_RECURSION_DEPTH) {
+                try (TreeSpliterator<T, T> spliterator = new Limited<>(t, mapper, maxDepth, depth)) {
+                    do { // nothing
+                    } while (spliterator.tryAdvance(action));
+                }
+                return;
+            }
+            action.accept(t);
+            if (depth >= maxDepth)
+                return;
+            depth++;
+            try (Stream<T> stream = mapper.apply(t)) {
+                if (stream != null) {
+                    stream.spliterator().forEachRemaining(this);
+                }
+            } finally {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Like {@link Plain}, but the nodes at the maximal depth are not expanded.
+     * The depth of the current node is the size of the stack, so neither the
+     * depth is boxed nor the node is wrapped.
+     *
+     * @param <T> type of tree nodes
+     */
+    static class Limited<T> extends TreeSpliterator<T, T> {
+        private final Function<T, Stream<T>> mapper;
+        private final int maxDepth;
+        private int initialDepth;
+
+        Limited(T root, Function<T, Stream<T>> mapper, int maxDepth, int depth) {
+            super(root);
+            this.mapper = mapper;
+            this.maxDepth = maxDepth;
+            this.initialDepth = depth;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!advance())
+                return false;
+            T e = this.cur;
+            action.accept(e);
+            return append(initialDepth + spliterators.size() < maxDepth ? mapper.apply(e) : null);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            LimitedAcceptor<T> acceptor = new LimitedAcceptor<>(action, mapper, maxDepth, initialDepth);
+            if (spliterators != null) {
+                for (int i = spliterators.size() - 1; i >= 0; i--) {
+                    PairBox<Spliterator<T>, Stream<T>> pair = spliterators.get(i);
+                    acceptor.depth = initialDepth + i + 1;
+                    pair.a.forEachRemaining(acceptor);
+                    if (pair.b != null)
+                        pair.b.close();
+                }
+            } else {
+                spliterators = Collections.emptyList();
+                acceptor.accept(cur);
+            }
+        }
+
+        @Override
+        void skipLevels(int levels) {
+            initialDepth += levels;
+        }
+
+        @Override
+        Stream<T> getStart() {
+            return maxDepth > 0 ? mapper.apply(cur) : null;
+        }
+
+        @Override
+        T getStartElement() {
+            return cur;
+        }
+    }
+
     static class DepthAcceptor<T> implements Consumer<T> {
         private final Consumer<? super Entry<Integer, T>> action;
         private final BiFunction<Integer, T, Stream<T>> mapper;
@@ -264,7 +406,7 @@ import static one.util.streamex.Internals.PairBox;
 
     static class Depth<T> extends TreeSpliterator<T, Entry<Integer, T>> {
         private final BiFunction<Integer, T, Stream<T>> mapper;
-        private final int initialDepth;
+        private int initialDepth;
 
         Depth(T root, BiFunction<Integer, T, Stream<T>> mapper, int depth) {
             super(root);
@@ -288,7 +430,7 @@ import static one.util.streamex.Internals.PairBox;
             if (spliterators != null) {
                 for (int i = spliterators.size() - 1; i >= 0; i--) {
                     PairBox<Spliterator<T>, Stream<T>> pair = spliterators.get(i);
-                    acceptor.depth = i + 1;
+                    acceptor.depth = initialDepth + i + 1;
                     pair.a.forEachRemaining(acceptor);
                     if (pair.b != null)
                         pair.b.close();
@@ -299,6 +441,11 @@ import static one.util.streamex.Internals.PairBox;
             }
         }
 
+        @Override
+        void skipLevels(int levels) {
+            initialDepth += levels;
+        }
+
         @Override
         Stream<T> getStart() {
             return mapper.apply(0, cur);
@@ -309,4 +456,85 @@ import static one.util.streamex.Internals.PairBox;
             return new ObjIntBox<>(cur, 0);
         }
     }
+
+    /**
+     * Breadth-first traversal of the tree. The queue keeps a spliterator over
+     * the children of every node which is already emitted but whose children
+     * are not yet emitted. The traversal order cannot be split into contiguous
+     * parts, so it's sequential only.
+     *
+     * @param <T> type of tree nodes
+     */
+    static final class BreadthFirst<T> implements Spliterator<T>, Consumer<T>, Runnable {
+        private final Function<T, Stream<T>> mapper;
+        private final Deque<PairBox<Spliterator<T>, Stream<T>>> queue = new ArrayDeque<>();
+        private T cur;
+        private boolean started;
+
+        BreadthFirst(T root, Function<T, Stream<T>> mapper) {
+            this.cur = root;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (started) {
+                while (true) {
+                    PairBox<Spliterator<T>, Stream<T>> head = queue.peek();
+                    if (head == null)
+                        return false;
+                    if (head.a.tryAdvance(this))
+                        break;
+                    queue.poll();
+                    head.b.close();
+                }
+            }
+            started = true;
+            T e = cur;
+            action.accept(e);
+            Stream<T> children = mapper.apply(e);
+            if (children != null)
+                queue.add(new PairBox<>(children.spliterator(), children));
+            return true;
+        }
+
+        @Override
+        public void accept(T t) {
+            cur = t;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED;
+        }
+
+        @Override
+        public void run() {
+            Throwable t = null;
+            for (PairBox<Spliterator<T>, Stream<T>> pair = queue.poll(); pair != null; pair = queue.poll()) {
+                try {
+                    pair.b.close();
+                } catch (Error | RuntimeException e) {
+                    if (t == null)
+                        t = e;
+                    else
+                        t.addSuppressed(e);
+                }
+            }
+            if (t instanceof RuntimeException)
+                throw (RuntimeException) t;
+            if (t instanceof Error)
+                throw (Error) t;
+        }
+    }
 }
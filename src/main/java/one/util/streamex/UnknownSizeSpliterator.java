@@ -19,11 +19,14 @@ package one.util.streamex;
 import java.util.Iterator;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.LongConsumer;
 
+import static one.util.streamex.Internals.CancellableSpliterator;
+
 /* package */abstract class UnknownSizeSpliterator<T, S extends UnknownSizeSpliterator<? extends T, S, I>, I extends Iterator<? extends T>>
         implements Spliterator<T> {
     static final int BATCH_UNIT = 1 << 10; // batch array size increment
@@ -66,7 +69,8 @@ import java.util.function.LongConsumer;
         return ORDERED;
     }
 
-    static class USOfRef<T> extends UnknownSizeSpliterator<T, USOfRef<T>, Iterator<? extends T>> {
+    static class USOfRef<T> extends UnknownSizeSpliterator<T, USOfRef<T>, Iterator<? extends T>> implements
+            CancellableSpliterator<T> {
         Object[] array;
 
         USOfRef(Iterator<? extends T> iterator) {
@@ -116,6 +120,34 @@ import java.util.function.LongConsumer;
             est = 0;
         }
 
+        @Override
+        public boolean forEachUntil(Consumer<? super T> action, BooleanSupplier stop) {
+            if (it != null) {
+                Iterator<? extends T> i = it;
+                while (i.hasNext()) {
+                    action.accept(i.next());
+                    if (stop.getAsBoolean())
+                        return true;
+                }
+                it = null;
+            } else {
+                Object[] a = array;
+                int i = index, hi = fence;
+                while (i < hi) {
+                    @SuppressWarnings("unchecked")
+                    T t = (T) a[i++];
+                    action.accept(t);
+                    if (stop.getAsBoolean()) {
+                        index = i;
+                        return true;
+                    }
+                }
+            }
+            index = fence;
+            est = 0;
+            return false;
+        }
+
         @Override
         public boolean tryAdvance(Consumer<? super T> action) {
             if (it != null) {
@@ -25,7 +25,7 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
-import static one.util.streamex.Internals.CancelException;
+import static one.util.streamex.Internals.CancellableSpliterator;
 import static one.util.streamex.Internals.CloneableSpliterator;
 
 /**
@@ -84,13 +84,7 @@ import static one.util.streamex.Internals.CloneableSpliterator;
         A acc = supplier.get();
         if (checkCancel(acc))
             return handleCancel(action, acc);
-        try {
-            source.forEachRemaining(t -> {
-                accumulator.accept(acc, t);
-                if (checkCancel(acc))
-                    throw new CancelException();
-            });
-        } catch (CancelException ex) {
+        if (CancellableSpliterator.traverseUntil(source, t -> accumulator.accept(acc, t), () -> checkCancel(acc))) {
             return handleCancel(action, acc);
         }
         A result = acc;
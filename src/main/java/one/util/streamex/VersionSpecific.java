@@ -15,7 +15,10 @@
  */
 package one.util.streamex;
 
+import java.io.IOException;
 import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Spliterator;
 import java.util.function.DoublePredicate;
 import java.util.function.IntPredicate;
@@ -32,19 +35,23 @@ import java.util.stream.IntStream;
         Spliterator<T> spltr = stream.spliterator();
         return stream.supply(
                 spltr.hasCharacteristics(Spliterator.ORDERED) ? new TakeDrop.TDOfRef<>(spltr, drop, false, predicate)
-                        : new TakeDrop.UnorderedTDOfRef<T>(spltr, drop, false, predicate));
+                        : new TakeDrop.UnorderedTDOfRef<T>(spltr, drop, false, predicate),
+                drop ? "dropWhile" : "takeWhile");
     }
 
     IntStreamEx callWhile(IntStreamEx stream, IntPredicate predicate, boolean drop) {
-        return stream.delegate(new TakeDrop.TDOfInt(stream.spliterator(), drop, false, predicate));
+        return stream.delegate(new TakeDrop.TDOfInt(stream.spliterator(), drop, false, predicate),
+                drop ? "dropWhile" : "takeWhile");
     }
 
     LongStreamEx callWhile(LongStreamEx stream, LongPredicate predicate, boolean drop) {
-        return stream.delegate(new TakeDrop.TDOfLong(stream.spliterator(), drop, false, predicate));
+        return stream.delegate(new TakeDrop.TDOfLong(stream.spliterator(), drop, false, predicate),
+                drop ? "dropWhile" : "takeWhile");
     }
 
     DoubleStreamEx callWhile(DoubleStreamEx stream, DoublePredicate predicate, boolean drop) {
-        return stream.delegate(new TakeDrop.TDOfDouble(stream.spliterator(), drop, false, predicate));
+        return stream.delegate(new TakeDrop.TDOfDouble(stream.spliterator(), drop, false, predicate),
+                drop ? "dropWhile" : "takeWhile");
     }
 
     IntStream ofChars(CharSequence seq) {
@@ -53,4 +60,10 @@ import java.util.stream.IntStream;
         // In JDK 9 chars() method for most of implementations is much better
         return CharBuffer.wrap(seq).chars();
     }
+
+    StreamEx<String> ofLines(Path path, Charset charset) throws IOException {
+        // In JDK 8 Files.lines() reads the file by BufferedReader which
+        // cannot be split
+        return StreamEx.ofLines(path, charset, LinesSpliterator.WINDOW_SIZE);
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static one.util.streamex.Internals.drainTo;
+import static one.util.streamex.UnknownSizeSpliterator.BATCH_UNIT;
+import static one.util.streamex.UnknownSizeSpliterator.MAX_BATCH;
+import static one.util.streamex.UnknownSizeSpliterator.USOfRef;
+
+/**
+ * Windows over the source elements. Only the last window worth of elements is
+ * retained, so any source is supported. The source is traversed sequentially;
+ * for parallel processing the batches of windows are split off like for the
+ * sources of unknown size.
+ *
+ * @author Tagir Valeev
+ */
+/* package */abstract class WindowSpliterator<T, R> implements Spliterator<R>, Consumer<T> {
+    final Spliterator<T> source;
+    final int size;
+    // number of source elements consumed
+    long position;
+    private Consumer<? super R> action;
+    private boolean emitted, finished;
+    private int batch;
+
+    WindowSpliterator(Spliterator<T> source, int size) {
+        this.source = source;
+        this.size = size;
+    }
+
+    static void checkSize(String name, int value) {
+        if (value <= 0)
+            throw new IllegalArgumentException(name + " = " + value);
+    }
+
+    /**
+     * @param n number of source elements
+     * @return number of windows produced for given number of source elements
+     */
+    abstract long windows(long n);
+
+    /**
+     * Emits the incomplete window if any. Called once after the source is
+     * exhausted.
+     */
+    void finish() {
+    }
+
+    void emit(R window) {
+        emitted = true;
+        action.accept(window);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        this.action = action;
+        emitted = false;
+        while (!emitted && source.tryAdvance(this)) {
+            // advance until the window is complete
+        }
+        if (!emitted && !finished) {
+            finished = true;
+            finish();
+        }
+        this.action = null;
+        return emitted;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        this.action = action;
+        source.forEachRemaining(this);
+        if (!finished) {
+            finished = true;
+            finish();
+        }
+        this.action = null;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        long s = estimateSize();
+        if (s <= 1)
+            return null;
+        int n = batch + BATCH_UNIT;
+        if (n > s)
+            n = (int) s;
+        if (n > MAX_BATCH)
+            n = MAX_BATCH;
+        @SuppressWarnings("unchecked")
+        R[] array = (R[]) new Object[n];
+        int index = drainTo(array, this);
+        if ((batch = index) == 0)
+            return null;
+        USOfRef<R> prefix = new UnknownSizeSpliterator.USOfRef<>(array, 0, index);
+        prefix.est = hasCharacteristics(SUBSIZED) ? index : Math.max(index, s / 2);
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        long rest = source.estimateSize();
+        if (rest > Long.MAX_VALUE - position)
+            return Long.MAX_VALUE;
+        return windows(position + rest) - windows(position);
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & (SIZED | SUBSIZED | ORDERED | IMMUTABLE | CONCURRENT);
+    }
+
+    /**
+     * Windows of given size shifted by step elements. The elements are kept in
+     * the ring buffer and copied to the new list once the window is complete.
+     */
+    static final class OfRef<T> extends WindowSpliterator<T, List<T>> {
+        private final int step;
+        private final boolean partial;
+        private final Object[] ring;
+
+        OfRef(Spliterator<T> source, int size, int step, boolean partial) {
+            super(source, size);
+            this.step = step;
+            this.partial = partial;
+            this.ring = new Object[size];
+        }
+
+        /**
+         * @param n number of source elements
+         * @return start of the first window which is not complete
+         */
+        private long tailStart(long n) {
+            return n < size ? 0 : n - size - (n - size) % step + step;
+        }
+
+        @Override
+        long windows(long n) {
+            long full = n < size ? 0 : (n - size) / step + 1;
+            return partial && tailStart(n) < n ? full + 1 : full;
+        }
+
+        @Override
+        public void accept(T t) {
+            int index = (int) (position % size);
+            ring[index] = t;
+            position++;
+            if (position >= size && (position - size) % step == 0) {
+                Object[] window = new Object[size];
+                int head = index + 1 == size ? 0 : index + 1;
+                System.arraycopy(ring, head, window, 0, size - head);
+                System.arraycopy(ring, 0, window, size - head, head);
+                emit(list(window));
+            }
+        }
+
+        @Override
+        void finish() {
+            long start = tailStart(position);
+            if (!partial || start >= position)
+                return;
+            int length = (int) (position - start);
+            Object[] window = new Object[length];
+            for (int i = 0; i < length; i++) {
+                window[i] = ring[(int) ((start + i) % size)];
+            }
+            emit(list(window));
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<T> list(Object[] window) {
+            return (List<T>) Arrays.asList(window);
+        }
+
+        @Override
+        public int characteristics() {
+            return super.characteristics() | NONNULL;
+        }
+    }
+
+    /**
+     * Sliding windows of collector containers. The source elements are
+     * already accumulated into the single-element containers. The stream is
+     * divided into blocks of window size. Once the block is complete, the
+     * containers in it are merged from right to left, so every container
+     * holds the suffix of the block. Every window is the suffix of the
+     * previous block merged with the prefix of the current one, thus every
+     * element costs a constant number of merges regardless of window size.
+     */
+    static final class OfCollector<A, R> extends WindowSpliterator<A, R> {
+        private final Supplier<A> supplier;
+        private final BiConsumer<A, A> merger;
+        private final Function<A, R> finisher;
+        private Object[] current, suffixes;
+        private A prefix;
+
+        OfCollector(Spliterator<A> source, int size, Supplier<A> supplier, BiConsumer<A, A> merger,
+                Function<A, R> finisher) {
+            super(source, size);
+            this.supplier = supplier;
+            this.merger = merger;
+            this.finisher = finisher;
+            this.current = new Object[size];
+        }
+
+        @Override
+        long windows(long n) {
+            return n < size ? 0 : n - size + 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <A> A get(Object[] array, int index) {
+            return (A) array[index];
+        }
+
+        @Override
+        public void accept(A container) {
+            int offset = (int) (position % size);
+            position++;
+            current[offset] = container;
+            if (offset + 1 < size) {
+                if (offset == 0)
+                    prefix = supplier.get();
+                merger.accept(prefix, container);
+                if (suffixes != null) {
+                    A window = get(suffixes, offset + 1);
+                    merger.accept(window, prefix);
+                    emit(finisher.apply(window));
+                }
+                return;
+            }
+            for (int i = size - 2; i >= 0; i--) {
+                merger.accept(get(current, i), get(current, i + 1));
+            }
+            prefix = null;
+            Object[] block = current;
+            current = suffixes == null ? new Object[size] : suffixes;
+            suffixes = block;
+            emit(finisher.apply(get(block, 0)));
+        }
+    }
+}
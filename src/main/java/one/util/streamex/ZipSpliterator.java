@@ -19,14 +19,24 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static one.util.streamex.Internals.Box;
 import static one.util.streamex.Internals.drainTo;
 import static one.util.streamex.UnknownSizeSpliterator.BATCH_UNIT;
 import static one.util.streamex.UnknownSizeSpliterator.MAX_BATCH;
+import static one.util.streamex.UnknownSizeSpliterator.USOfInt;
 import static one.util.streamex.UnknownSizeSpliterator.USOfRef;
 
 /**
+ * Zips two spliterators. If they cannot be split at the same position, the
+ * pairs are read in growing batches into two arrays. Such chunks are aligned,
+ * so they are split in halves further, and the mapper is applied by the worker
+ * which traverses the chunk rather than by the splitting thread.
+ *
  * @author Tagir Valeev
  */
 /* package */class ZipSpliterator<U, V, R> implements Spliterator<R> {
@@ -34,6 +44,8 @@ import static one.util.streamex.UnknownSizeSpliterator.USOfRef;
     private Spliterator<V> right;
     private final BiFunction<? super U, ? super V, ? extends R> mapper;
     private boolean trySplit;
+    // both sides are known to have the same number of elements and to split at the same positions
+    private boolean aligned;
     private int batch = 0;
     private final Box<U> l = new Box<>();
     private final Box<V> r = new Box<>();
@@ -56,7 +68,7 @@ import static one.util.streamex.UnknownSizeSpliterator.USOfRef;
 
     @Override
     public void forEachRemaining(Consumer<? super R> action) {
-        if (!hasCharacteristics(SIZED)) {
+        if (!aligned && !hasCharacteristics(SIZED)) {
             Spliterator.super.forEachRemaining(action);
             return;
         }
@@ -79,6 +91,14 @@ import static one.util.streamex.UnknownSizeSpliterator.USOfRef;
 
     @Override
     public Spliterator<R> trySplit() {
+        if (aligned) {
+            Spliterator<U> leftPrefix = left.trySplit();
+            if (leftPrefix == null)
+                return null;
+            ZipSpliterator<U, V, R> prefix = new ZipSpliterator<>(leftPrefix, right.trySplit(), mapper, false);
+            prefix.aligned = true;
+            return prefix;
+        }
         if (trySplit && hasCharacteristics(SIZED | SUBSIZED)) {
             Spliterator<U> leftPrefix = left.trySplit();
             if (leftPrefix == null)
@@ -119,27 +139,49 @@ import static one.util.streamex.UnknownSizeSpliterator.USOfRef;
     private Spliterator<R> arraySplit() {
         long s = estimateSize();
         if (s <= 1) return null;
-        int n = batch + BATCH_UNIT;
-        if (n > s)
-            n = (int) s;
-        if (n > MAX_BATCH)
-            n = MAX_BATCH;
-        @SuppressWarnings("unchecked")
-        R[] array = (R[]) new Object[n];
-        int index = drainTo(array, this);
+        int n = batchSize(batch, s);
+        Object[] leftArray = new Object[n];
+        Object[] rightArray = new Object[n];
+        int index = 0;
+        while (index < n && left.tryAdvance(l) && right.tryAdvance(r)) {
+            leftArray[index] = l.a;
+            rightArray[index++] = r.a;
+        }
         if ((batch = index) == 0)
             return null;
-        long s2 = estimateSize();
-        USOfRef<R> prefix = new UnknownSizeSpliterator.USOfRef<>(array, 0, index);
-        if (hasCharacteristics(SUBSIZED))
-            prefix.est = index;
-        else if (s == s2)
-            prefix.est = Math.max(index, s / 2);
-        else
-            prefix.est = Math.max(index, s2 - s);
+        USOfRef<U> leftPrefix = new USOfRef<>(leftArray, 0, index);
+        USOfRef<V> rightPrefix = new USOfRef<>(rightArray, 0, index);
+        leftPrefix.est = rightPrefix.est = chunkEstimate(hasCharacteristics(SUBSIZED), s, estimateSize(), index);
+        ZipSpliterator<U, V, R> prefix = new ZipSpliterator<>(leftPrefix, rightPrefix, mapper, false);
+        prefix.aligned = true;
         return prefix;
     }
 
+    static int batchSize(int batch, long size) {
+        int n = batch + BATCH_UNIT;
+        if (n > size)
+            n = (int) size;
+        if (n > MAX_BATCH)
+            n = MAX_BATCH;
+        return n;
+    }
+
+    /**
+     * @param subSized whether the source sizes are exact
+     * @param before estimated size before the chunk was read
+     * @param after estimated size after the chunk was read
+     * @param index number of pairs in the chunk
+     * @return size estimate of the chunk which makes the fork-join framework
+     *         split it further if the source size is unknown
+     */
+    static long chunkEstimate(boolean subSized, long before, long after, int index) {
+        if (subSized)
+            return index;
+        if (before == after)
+            return Math.max(index, before / 2);
+        return Math.max(index, after - before);
+    }
+
     @Override
     public long estimateSize() {
         return Math.min(left.estimateSize(), right.estimateSize());
@@ -150,4 +192,131 @@ import static one.util.streamex.UnknownSizeSpliterator.USOfRef;
         // Remove SORTED, NONNULL, DISTINCT
         return left.characteristics() & right.characteristics() & (SIZED | SUBSIZED | ORDERED | IMMUTABLE | CONCURRENT);
     }
+
+    /**
+     * Zip of two int spliterators which never boxes the elements.
+     */
+    static final class OfInt implements Spliterator.OfInt, IntConsumer {
+        private Spliterator.OfInt left, right;
+        private final IntBinaryOperator mapper;
+        // cleared once the sources failed to split at the same point
+        private boolean trySplit = true;
+        private boolean aligned;
+        private int batch = 0;
+        private int cur;
+
+        OfInt(Spliterator.OfInt left, Spliterator.OfInt right, IntBinaryOperator mapper) {
+            this.left = left;
+            this.right = right;
+            this.mapper = mapper;
+        }
+
+        private static Spliterator.OfInt concat(Spliterator.OfInt prefix, Spliterator.OfInt suffix) {
+            return IntStream.concat(StreamSupport.intStream(prefix, false), StreamSupport.intStream(suffix, false))
+                    .spliterator();
+        }
+
+        @Override
+        public void accept(int value) {
+            cur = value;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (left.tryAdvance(this)) {
+                int l = cur;
+                if (right.tryAdvance(this)) {
+                    action.accept(mapper.applyAsInt(l, cur));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (!aligned && !hasCharacteristics(SIZED)) {
+                Spliterator.OfInt.super.forEachRemaining(action);
+                return;
+            }
+            if (left.estimateSize() <= right.estimateSize()) {
+                left.forEachRemaining((int l) -> {
+                    if (right.tryAdvance(this)) {
+                        action.accept(mapper.applyAsInt(l, cur));
+                    }
+                });
+            } else {
+                right.forEachRemaining((int r) -> {
+                    if (left.tryAdvance(this)) {
+                        action.accept(mapper.applyAsInt(cur, r));
+                    }
+                });
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (aligned) {
+                Spliterator.OfInt leftPrefix = left.trySplit();
+                if (leftPrefix == null)
+                    return null;
+                ZipSpliterator.OfInt prefix = new ZipSpliterator.OfInt(leftPrefix, right.trySplit(), mapper);
+                prefix.aligned = true;
+                return prefix;
+            }
+            if (trySplit && hasCharacteristics(SIZED | SUBSIZED)) {
+                Spliterator.OfInt leftPrefix = left.trySplit();
+                if (leftPrefix == null)
+                    return arraySplit();
+                Spliterator.OfInt rightPrefix = right.trySplit();
+                if (rightPrefix == null) {
+                    trySplit = false;
+                    left = concat(leftPrefix, left);
+                    return arraySplit();
+                }
+                if (leftPrefix.getExactSizeIfKnown() == rightPrefix.getExactSizeIfKnown())
+                    return new ZipSpliterator.OfInt(leftPrefix, rightPrefix, mapper);
+                trySplit = false;
+                left = concat(leftPrefix, left);
+                right = concat(rightPrefix, right);
+            }
+            return arraySplit();
+        }
+
+        private Spliterator.OfInt arraySplit() {
+            long s = estimateSize();
+            if (s <= 1)
+                return null;
+            int n = batchSize(batch, s);
+            int[] leftArray = new int[n];
+            int[] rightArray = new int[n];
+            int index = 0;
+            while (index < n && left.tryAdvance(this)) {
+                int l = cur;
+                if (!right.tryAdvance(this))
+                    break;
+                leftArray[index] = l;
+                rightArray[index++] = cur;
+            }
+            if ((batch = index) == 0)
+                return null;
+            USOfInt leftPrefix = new USOfInt(leftArray, 0, index);
+            USOfInt rightPrefix = new USOfInt(rightArray, 0, index);
+            leftPrefix.est = rightPrefix.est = chunkEstimate(hasCharacteristics(SUBSIZED), s, estimateSize(), index);
+            ZipSpliterator.OfInt prefix = new ZipSpliterator.OfInt(leftPrefix, rightPrefix, mapper);
+            prefix.aligned = true;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.min(left.estimateSize(), right.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return left.characteristics() & right.characteristics()
+                & (SIZED | SUBSIZED | ORDERED | IMMUTABLE | CONCURRENT);
+        }
+    }
 }
@@ -18,8 +18,12 @@ package one.util.streamex;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -121,4 +125,74 @@ public class BaseStreamExTest {
             s -> s.flatMapToLong(LongStreamEx::range)).chain(s -> s.filter(n -> n % 2 != 0).asDoubleStream()).chain(
             s -> s.map(x -> x * 2)).toArray(), 0.0);
     }
+
+    @Test
+    public void testInstrumented() {
+        List<String> log = new ArrayList<>();
+        StreamMetrics metrics = (stage, operation, elements, nanos, thread) -> {
+            assertTrue(nanos >= 0);
+            assertSame(Thread.currentThread(), thread);
+            log.add(stage + ":" + operation + ":" + elements);
+        };
+        assertEquals(Arrays.asList(14, 18, 22), StreamEx.of(1, 2, 3, 4, 5, 6).instrumented(metrics).map(x -> x * 2)
+                .filter(x -> x > 4).pairMap(Integer::sum).toList());
+        log.sort(null);
+        assertEquals(Arrays.asList("0:source:6", "1:map:6", "2:filter:4", "3:pairMap:3"), log);
+
+        log.clear();
+        assertEquals(Arrays.asList(0, 2, 4), IntStreamEx.range(3).instrumented(metrics).map(x -> x * 2).boxed()
+                .toList());
+        log.sort(null);
+        assertEquals(Arrays.asList("0:source:3", "1:map:3", "2:boxed:3"), log);
+
+        log.clear();
+        assertEquals(Arrays.asList("a", "b"), StreamEx.of("a", "a", "b").instrumented(metrics).collapse(
+            String::equals).toList());
+        log.sort(null);
+        assertEquals(Arrays.asList("0:source:3", "1:collapse:2"), log);
+
+        log.clear();
+        assertEquals(Arrays.asList(2, 3), StreamEx.of(StreamEx.of(1, null, 2, 3).instrumented(metrics).nonNull())
+                .dropWhile(x -> x < 2).toList());
+        log.sort(null);
+        assertEquals(Arrays.asList("0:source:4", "1:filter:3", "2:of:3", "3:dropWhile:2"), log);
+
+        log.clear();
+        assertEquals(Arrays.asList(1, 2, 3), EntryStream.of(1, "a", 2, "bb", 3, "ccc").instrumented(metrics)
+                .mapValues(String::length).values().sorted().toList());
+        log.sort(null);
+        assertEquals(Arrays.asList("0:source:3", "1:mapValues:3", "2:map:3", "3:sorted:3"), log);
+
+        log.clear();
+        assertEquals(6, StreamEx.of(1, 2, 3).map(x -> x * 2).instrumented(metrics).findFirst(x -> x > 4).get()
+                .intValue());
+        assertEquals(Arrays.asList(), log);
+    }
+
+    @Test
+    public void testInstrumentedParallel() {
+        Map<String, LongAdder> elements = new ConcurrentHashMap<>();
+        Map<String, LongAdder> splits = new ConcurrentHashMap<>();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        StreamMetrics metrics = new StreamMetrics() {
+            @Override
+            public void split(int stage, String operation) {
+                splits.computeIfAbsent(stage + ":" + operation, k -> new LongAdder()).increment();
+            }
+
+            @Override
+            public void traversed(int stage, String operation, long count, long nanos, Thread thread) {
+                elements.computeIfAbsent(stage + ":" + operation, k -> new LongAdder()).add(count);
+                threads.add(thread);
+            }
+        };
+        assertEquals(4999900000L, LongStreamEx.range(100000).parallel().instrumented(metrics).filter(x -> x % 2 == 0)
+                .map(x -> x * 2).sum());
+        assertEquals(100000, elements.get("0:source").sum());
+        assertEquals(50000, elements.get("1:filter").sum());
+        assertEquals(50000, elements.get("2:map").sum());
+        assertEquals(splits.get("0:source").sum(), splits.get("2:map").sum());
+        assertTrue(splits.get("0:source").sum() > 0);
+        assertFalse(threads.isEmpty());
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static one.util.streamex.TestHelpers.checkSpliterator;
+import static one.util.streamex.TestHelpers.withRandom;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Tagir Valeev
+ */
+public class BytesSpliteratorTest {
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private static List<Integer> expected(byte[] data, int from, int to) {
+        return IntStreamEx.of(data, from, to).map(b -> b & 0xFF).boxed().toList();
+    }
+
+    @Test
+    public void testByteBuffer() {
+        withRandom(r -> {
+            for (int size : new int[] { 0, 1, 10, 1000 }) {
+                byte[] data = new byte[size];
+                r.nextBytes(data);
+                int from = size / 3, to = size - size / 4;
+                ByteBuffer heap = ByteBuffer.wrap(data, from, to - from);
+                checkSpliterator("heap #" + size, expected(data, from, to), () -> new BytesSpliterator(heap));
+                ByteBuffer direct = ByteBuffer.allocateDirect(size);
+                direct.put(data).flip();
+                checkSpliterator("direct #" + size, expected(data, 0, size), () -> new BytesSpliterator(direct));
+                assertEquals(0, direct.position());
+            }
+        });
+    }
+
+    @Test
+    public void testFileChannel() throws IOException {
+        byte[] data = IntStreamEx.range(1000).toByteArray();
+        Path path = tmp.newFile().toPath();
+        Files.write(path, data);
+        try (FileChannel fc = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int windowSize : new int[] { 100, 333, BytesSpliterator.WINDOW_SIZE }) {
+                checkSpliterator("window #" + windowSize, expected(data, 10, 1000), () -> new BytesSpliterator(fc,
+                        10, 1000, windowSize));
+            }
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        byte[] data = IntStreamEx.range(1000).toByteArray();
+        Path path = tmp.newFile().toPath();
+        Files.write(path, data);
+        try (FileChannel fc = FileChannel.open(path, StandardOpenOption.READ)) {
+            BytesSpliterator spliterator = new BytesSpliterator(fc, 0, 1000, 300);
+            byte[] buf = new byte[1000];
+            assertEquals(100, spliterator.read(buf, 0, 100));
+            // reads up to the window end
+            assertEquals(200, spliterator.read(buf, 100, 900));
+            assertEquals(700, spliterator.read(buf, 300, 700) + spliterator.read(buf, 600, 400) + spliterator.read(
+                buf, 900, 100));
+            assertEquals(-1, spliterator.read(buf, 0, 1));
+            assertArrayEquals(data, buf);
+        }
+    }
+}
@@ -17,6 +17,7 @@ package one.util.streamex;
 
 import java.util.Arrays;
 import java.util.Spliterator;
+import java.util.regex.Pattern;
 
 import org.junit.Test;
 
@@ -25,6 +26,7 @@ import static one.util.streamex.TestHelpers.consumeElement;
 import static one.util.streamex.TestHelpers.withRandom;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -82,4 +84,33 @@ public class CharSpliteratorTest {
         consumeElement(prefix, "e");
         consumeElement(prefix, "f");
     }
+
+    @Test
+    public void testStringDelimiter() {
+        withRandom(r -> {
+            for (String delimiter : new String[] { ",a", "ab,", "\r\n", "aa", ",,", "aba" }) {
+                String input = IntStreamEx.of(r, 0, 4).limit(r.nextInt(1000) + 1).elements(
+                    new int[] { ',', 'a', 'b', '\n' }).charsToString().replace("\n", "\r\n");
+                String[] expected = input.split(Pattern.quote(delimiter));
+                String[] expectedFull = input.split(Pattern.quote(delimiter), -1);
+                checkSpliterator(input, Arrays.asList(expected), () -> new CharSpliterator(input, delimiter, true));
+                checkSpliterator(input, Arrays.asList(expectedFull), () -> new CharSpliterator(input, delimiter,
+                        false));
+                checkSpliterator(input, Arrays.asList(expected), () -> new CharSpliterator(new StringBuilder(input),
+                        delimiter, true));
+            }
+        });
+        // overlapping delimiter is not split
+        assertNull(new CharSpliterator("a--b--c--d--e--f", "--", false).trySplit());
+    }
+
+    @Test
+    public void testSplitNearest() {
+        // no delimiters after the middle
+        CharSpliterator spliterator = new CharSpliterator("a,bcdefghijklmnop", ',', true);
+        Spliterator<String> prefix = spliterator.trySplit();
+        consumeElement(prefix, "a");
+        consumeElement(spliterator, "bcdefghijklmnop");
+        assertNull(new CharSpliterator("abcdefghijklmnop", ',', true).trySplit());
+    }
 }
@@ -131,4 +131,19 @@ public class CollapseSpliteratorTest {
             assertEquals(6, result.size());
         }));
     }
+
+    @Test
+    public void testParallelRuns() {
+        withRandom(r -> repeat(10, n -> {
+            // short runs make most of the splits hit the middle of the run
+            List<Integer> input = IntStreamEx.of(r, 100000, 0, 3).boxed().toList();
+            List<List<Integer>> expected = StreamEx.of(input).groupRuns(Integer::equals).toList();
+            assertEquals(expected, StreamEx.of(input).parallel().groupRuns(Integer::equals).toList());
+            // long runs make many splits transparent
+            List<Integer> sorted = StreamEx.of(input).sorted().toList();
+            assertEquals(Arrays.asList(0, 1, 2), StreamEx.of(sorted).parallel().collapse(Integer::equals).toList());
+            assertEquals(StreamEx.of(sorted).runLengths().toList(), StreamEx.of(sorted).parallel().runLengths()
+                    .toList());
+        }));
+    }
 }
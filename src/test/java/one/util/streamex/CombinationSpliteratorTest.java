@@ -15,6 +15,8 @@
  */
 package one.util.streamex;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Spliterator;
 
 import org.junit.Test;
@@ -91,4 +93,15 @@ public class CombinationSpliteratorTest {
         assertEquals(1, spliterator.estimateSize());
         assertNull(spliterator.trySplit());
     }
+    @Test
+    public void testSkip() {
+        List<String> expected = StreamEx.ofCombinations(7, 3).map(Arrays::toString).toList();
+        for (int skip = 1; skip <= 36; skip++) {
+            Spliterator<int[]> spliterator = StreamEx.ofCombinations(7, 3).spliterator();
+            ((CombinationSpliterator) spliterator).skip(skip);
+            assertEquals(Math.max(0, 35 - skip), spliterator.estimateSize());
+            assertEquals(expected.subList(Math.min(35, skip), 35), StreamEx.of(spliterator).map(Arrays::toString)
+                    .toList());
+        }
+    }
 }
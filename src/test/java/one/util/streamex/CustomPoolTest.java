@@ -129,6 +129,11 @@ public class CustomPoolTest {
 
         assertEquals(Collections.singletonMap(1, 3L), StreamEx.of(1, 1, 1).parallel(pool).peek(this::checkThread)
                 .runLengths().toMap());
+        assertEquals(Arrays.asList("a", "ab", "abc"), StreamEx.of("a", "b", "c").parallel(pool).peek(this::checkThread)
+                .toPrefixList((a, b) -> {
+                    checkThread(b);
+                    return a + b;
+                }));
     }
 
     @Test
@@ -216,6 +221,11 @@ public class CustomPoolTest {
                     checkThread(b);
                     return a + b;
                 }));
+        assertArrayEquals(new int[] { 1, 3, 6, 10 }, IntStreamEx.of(1, 2, 3, 4).parallel(pool).peek(this::checkThread)
+                .toPrefixArray((a, b) -> {
+                    checkThread(b);
+                    return a + b;
+                }));
     }
 
     @Test
@@ -251,6 +261,11 @@ public class CustomPoolTest {
                     checkThread(b);
                     return a + b;
                 }));
+        assertArrayEquals(new long[] { 1, 3, 6, 10 }, LongStreamEx.of(1, 2, 3, 4).parallel(pool)
+                .peek(this::checkThread).toPrefixArray((a, b) -> {
+                    checkThread(b);
+                    return a + b;
+                }));
     }
 
     @Test
@@ -288,6 +303,11 @@ public class CustomPoolTest {
             checkThread(b);
             return a + b;
         }), 0.0);
+        assertArrayEquals(new double[] { 1, 3, 6, 10 }, DoubleStreamEx.of(1, 2, 3, 4).parallel(pool).peek(
+            this::checkThread).toPrefixArray((a, b) -> {
+            checkThread(b);
+            return a + b;
+        }), 0.0);
     }
 
     @Test
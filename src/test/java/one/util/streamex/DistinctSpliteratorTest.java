@@ -16,14 +16,18 @@
 package one.util.streamex;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import org.junit.Test;
 
 import static one.util.streamex.TestHelpers.checkSpliterator;
+import static one.util.streamex.TestHelpers.withRandom;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -46,6 +50,38 @@ public class DistinctSpliteratorTest {
                 .characteristics());
         assertEquals(100, new DistinctSpliterator<>(IntStream.range(0, 100).spliterator(), 3).estimateSize());
     }
+
+    @Test
+    public void testPrimitive() {
+        checkSpliterator("DistinctInt", Arrays.asList(2), () -> new DistinctSpliterator.OfInt(IntStream.of(1, 2, 3,
+            2, 1, 4, 2).spliterator(), 3));
+        checkSpliterator("DistinctInt34", Arrays.asList(0), () -> new DistinctSpliterator.OfInt(IntStream.range(0,
+            100).map(x -> x % 3).spliterator(), 34));
+        checkSpliterator("DistinctLong", Arrays.asList(Long.MIN_VALUE), () -> new DistinctSpliterator.OfLong(
+            LongStream.of(Long.MIN_VALUE, 0, 1, Long.MAX_VALUE, Long.MIN_VALUE).spliterator(), 2));
+        checkSpliterator("DistinctLong3000", Arrays.asList(7L), () -> new DistinctSpliterator.OfLong(LongStream
+                .range(0, 3000).map(x -> x % 1000 == 7 ? 7 : x).spliterator(), 3));
+
+        assertEquals(Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.SORTED
+            | Spliterator.NONNULL, new DistinctSpliterator.OfInt(IntStream.range(0, 100).spliterator(), 3)
+                .characteristics());
+        assertEquals(100, new DistinctSpliterator.OfLong(LongStream.range(0, 100).spliterator(), 3).estimateSize());
+    }
+
+    @Test
+    public void testCounts() {
+        withRandom(r -> {
+            int[] keys = IntStreamEx.of(r, 100000, -5000, 5000).toArray();
+            DistinctSpliterator.IntCounts ints = new DistinctSpliterator.IntCounts(2);
+            DistinctSpliterator.LongCounts longs = new DistinctSpliterator.LongCounts(2);
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int key : keys) {
+                int count = expected.merge(key, 1, Integer::sum);
+                assertEquals(count == 10, ints.increment(key, 10));
+                assertEquals(count == 10, longs.increment(key * 0x100000001L, 10));
+            }
+        });
+    }
     
     @Test
     public void testAdvanceSplit() {
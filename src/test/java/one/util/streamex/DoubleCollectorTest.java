@@ -171,4 +171,23 @@ public class DoubleCollectorTest {
         assertArrayEquals(expected, DoubleStreamEx.of(1.0, 1.5, 2.7, 3.0).parallel().collect(
             DoubleCollector.toBooleanArray(x -> Math.floor(x) == x)));
     }
+
+    @Test
+    public void testQuantiles() {
+        assertArrayEquals(new double[] { Double.NaN }, DoubleStreamEx.empty().collect(DoubleCollector.quantiles(0.5)),
+            0);
+        assertArrayEquals(new double[] { 1, 2.5, 4, 3.25 }, DoubleStreamEx.of(4, 1, 3, 2).collect(DoubleCollector
+                .quantiles(0, 0.5, 1, 0.75)), 1e-12);
+        assertArrayEquals(new double[] { Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NaN },
+            DoubleStreamEx.of(Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY)
+                    .collect(DoubleCollector.quantiles(0, 0.6, 1)), 0);
+        double[] input = IntStreamEx.range(1001).asDoubleStream().map(x -> x / 10).toArray();
+        assertArrayEquals(new double[] { 50, 99, 0.05 }, DoubleStreamEx.of(input).parallel().collect(
+            DoubleCollector.quantiles(0.5, 0.99, 0.0005)), 1e-12);
+        double[] approx = DoubleStreamEx.of(input).parallel().collect(DoubleCollector.approxQuantiles(100, 0.5, 0.99));
+        assertEquals(50, approx[0], 3);
+        assertEquals(99, approx[1], 3);
+        assertArrayEquals(new double[] { Double.NaN }, DoubleStreamEx.empty().collect(DoubleCollector
+                .approxQuantiles(100, 0.5)), 0);
+    }
 }
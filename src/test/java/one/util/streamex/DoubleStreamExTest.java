@@ -331,6 +331,15 @@ public class DoubleStreamExTest {
         maxFns.forEach(fn -> assertEquals(120, fn.apply(s.get().parallel()).getAsDouble(), 0.0));
     }
 
+    @Test
+    public void testWindowed() {
+        streamEx(() -> Arrays.asList(1.0, 2.0, 3.0, 4.0).stream(), s -> assertEquals(Arrays.asList(3.0, 5.0, 7.0), s.get()
+                .mapToDouble(x -> x).windowed(2, DoubleCollector.summing()).toList()));
+        assertEquals(Arrays.asList(OptionalDouble.of(2), OptionalDouble.of(3)), DoubleStreamEx.of(1, 2, 3, 4)
+                .windowed(3, DoubleCollector.averaging()).toList());
+        assertEquals(0, DoubleStreamEx.of(1, 2).windowed(3, DoubleCollector.summing()).count());
+    }
+
     @Test
     public void testPairMap() {
         assertEquals(0, DoubleStreamEx.of().pairMap(Double::sum).count());
@@ -527,6 +536,19 @@ public class DoubleStreamExTest {
         assertEquals(OptionalDouble.of(10), DoubleStreamEx.of(1, 2, 3, 4, 10).prefix(Double::sum).findFirst(x -> x > 7));
         assertEquals(OptionalDouble.empty(), DoubleStreamEx.of(1, 2, 3, 4, 10).prefix(Double::sum).findFirst(x -> x > 20));
     }
+
+    @Test
+    public void testToPrefixArray() {
+        assertArrayEquals(new double[] { 1, 3, 6, 10, 20 }, DoubleStreamEx.of(1, 2, 3, 4, 10).toPrefixArray(
+            Double::sum), 0.0);
+        assertArrayEquals(new double[0], DoubleStreamEx.empty().parallel().toPrefixArray(Double::sum), 0.0);
+        double[] input = IntStreamEx.range(10000).asDoubleStream().toArray();
+        double[] expected = DoubleStreamEx.of(input).scanLeft(Double::sum);
+        assertArrayEquals(expected, DoubleStreamEx.of(input).toPrefixArray(Double::sum), 0.0);
+        assertArrayEquals(expected, DoubleStreamEx.of(input).parallel().toPrefixArray(Double::sum), 0.0);
+        assertArrayEquals(expected, IntStreamEx.range(10000).parallel().asDoubleStream().toPrefixArray(Double::sum),
+            0.0);
+    }
     
     @Test
     public void testIntersperse() {
@@ -20,6 +20,7 @@ import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -814,4 +815,71 @@ public class EntryStreamTest {
         Map<String, Integer> map = EntryStream.of("a", 1, "b", 2, "c", 3, "d", 4).prefixKeys(String::concat).toMap();
         assertEquals(EntryStream.of("a", 1, "ab", 2, "abc", 3, "abcd", 4).toMap(), map);
     }
+
+    @Test
+    public void testHashJoin() {
+        List<Entry<String, String>> expected = EntryStream.of("b", "2x", "b", "2w", "c", "3y", "b", "4x", "b", "4w")
+                .toList();
+        entryStream(() -> EntryStream.of("a", 1, "b", 2, "c", 3, "b", 4), supplier -> assertEquals(expected, supplier
+                .get().join(EntryStream.of("b", "x", "c", "y", "d", "z", "b", "w"), (v, vv) -> v + vv).toList()));
+        // this stream is smaller, so it's used to build the table
+        assertEquals(EntryStream.of("b", "2x", "c", "3y", "b", "2w").toList(), EntryStream.of("b", 2, "c", 3).join(
+            EntryStream.of("b", "x", "c", "y", "d", "z", "b", "w"), (v, vv) -> v + vv).toList());
+        assertEquals(Collections.emptyList(), EntryStream.of("a", 1).join(EntryStream.empty(), (v, vv) -> v).toList());
+        assertEquals(asList(new SimpleEntry<>(null, "1x")), EntryStream.of(null, 1, "a", 2).join(EntryStream.of(
+            null, "x"), (v, vv) -> v + vv).toList());
+        withRandom(r -> {
+            List<Entry<Integer, Integer>> left = StreamEx.of(r.ints(1000, 0, 50).boxed()).mapToEntry(k -> r
+                    .nextInt()).toList();
+            List<Entry<Integer, Integer>> right = StreamEx.of(r.ints(300, 0, 80).boxed()).mapToEntry(k -> r
+                    .nextInt()).toList();
+            List<String> naive = new ArrayList<>();
+            for (Entry<Integer, Integer> l : left) {
+                for (Entry<Integer, Integer> rr : right) {
+                    if (l.getKey().equals(rr.getKey()))
+                        naive.add(l.getKey() + ":" + l.getValue() + ":" + rr.getValue());
+                }
+            }
+            entryStream(left::stream, supplier -> assertEquals(naive, supplier.get().join(right.stream(), (v,
+                    vv) -> v + ":" + vv).join(":").toList()));
+            entryStream(left::stream, supplier -> assertEquals(naive, supplier.get().join(StreamEx.of(right)
+                    .parallel(), (v, vv) -> v + ":" + vv).join(":").toList()));
+        });
+    }
+
+    @Test
+    public void testLeftJoin() {
+        List<Entry<String, String>> expected = EntryStream.of("a", "1null", "b", "2x", "b", "2w", "c", "3y", "b",
+            "4x", "b", "4w").toList();
+        entryStream(() -> EntryStream.of("a", 1, "b", 2, "c", 3, "b", 4), supplier -> assertEquals(expected, supplier
+                .get().leftJoin(EntryStream.of("b", "x", "c", "y", "d", "z", "b", "w"), (v, vv) -> v + vv)
+                .toList()));
+        entryStream(() -> EntryStream.of("a", 1, "b", 2), supplier -> assertEquals(EntryStream.of("a", "1null", "b",
+            "2null").toList(), supplier.get().leftJoin(Stream.<Entry<String, String>>empty(), (v, vv) -> v + vv)
+                .toList()));
+    }
+
+    @Test
+    public void testMergeJoin() {
+        entryStream(() -> EntryStream.of("a", 1, "b", 2, "b", 3, "d", 4, "e", 5), supplier -> assertEquals(EntryStream
+                .of("b", "2x", "b", "2y", "b", "3x", "b", "3y", "e", "5z").toList(), supplier.get().mergeJoin(
+                    EntryStream.of("b", "x", "b", "y", "c", "q", "e", "z"), Comparator.naturalOrder(),
+                    (v, vv) -> v + vv).toList()));
+        assertEquals(Collections.emptyList(), EntryStream.of("a", 1).mergeJoin(EntryStream.<String, String>empty(),
+            Comparator.naturalOrder(), (v, vv) -> v + vv).toList());
+        withRandom(r -> {
+            List<Entry<Integer, Integer>> left = StreamEx.of(r.ints(1000, 0, 500).boxed()).sorted().mapToEntry(k -> r
+                    .nextInt()).toList();
+            List<Entry<Integer, Integer>> right = IntStreamEx.range(0, 1000, 3).boxed().mapToEntry(k -> k * 2)
+                    .toList();
+            List<Entry<Integer, Integer>> expected = EntryStream.of(left.stream()).join(right.stream(), Integer::sum)
+                    .toList();
+            entryStream(left::stream, supplier -> assertEquals(expected, supplier.get().mergeJoin(right.stream(),
+                Comparator.naturalOrder(), Integer::sum).toList()));
+            List<Entry<Integer, Integer>> reversed = EntryStream.of(right.stream()).reverseSorted(Entry.comparingByKey())
+                    .toList();
+            assertEquals(StreamEx.ofReversed(expected).toList(), StreamEx.ofReversed(left).mapToEntry(Entry::getKey,
+                Entry::getValue).mergeJoin(reversed.stream(), Comparator.reverseOrder(), Integer::sum).toList());
+        });
+    }
 }
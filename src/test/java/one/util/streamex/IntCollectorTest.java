@@ -19,6 +19,7 @@ import java.util.BitSet;
 import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -26,6 +27,8 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import static one.util.streamex.TestHelpers.assertThrows;
+import static one.util.streamex.TestHelpers.intStreamEx;
 import static one.util.streamex.TestHelpers.withRandom;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -192,6 +195,27 @@ public class IntCollectorTest {
         assertEquals("{2, 5, 8}", mapBitSet.get(2).toString());
     }
 
+    @Test
+    public void testGroupingByInt() {
+        withRandom(r -> {
+            int[] input = r.ints(10000, -1000, 1000).toArray();
+            Map<Integer, Long> expected = IntStreamEx.of(input).boxed().groupingBy(i -> i % 7, TreeMap::new,
+                Collectors.counting());
+            intStreamEx(() -> IntStreamEx.of(input), s -> assertEquals(expected.toString(), s.collect(IntCollector
+                    .groupingByInt(i -> i % 7, IntCollector.counting())).toString()));
+        });
+        IntKeyMap<int[]> collected = IntStreamEx.range(2000).parallel().collect(IntCollector.groupingByInt(i -> i % 3));
+        assertArrayEquals(new int[] { 0, 1, 2 }, collected.keys().toArray());
+        for (int i = 0; i < 3; i++) {
+            int rem = i;
+            assertArrayEquals(IntStream.range(0, 2000).filter(a -> a % 3 == rem).toArray(), collected.get(i));
+        }
+        assertNull(collected.get(3));
+        IntKeyMap<BitSet> mapBitSet = IntStreamEx.range(10).collect(IntCollector.groupingByInt(i -> -(i % 3),
+            IntCollector.toBitSet()));
+        assertEquals("{-2={2, 5, 8}, -1={1, 4, 7}, 0={0, 3, 6, 9}}", mapBitSet.toString());
+    }
+
     @Test
     public void testByDigit() {
         withRandom(r -> {
@@ -242,4 +266,70 @@ public class IntCollectorTest {
         assertArrayEquals(expected, IntStreamEx.of(-1, 2, 3, -4).parallel().collect(
             IntCollector.toBooleanArray(x -> x < 0)));
     }
+
+    @Test
+    public void testApproxDistinctCount() {
+        assertThrows(IllegalArgumentException.class, () -> IntCollector.approxDistinctCount(3));
+        assertThrows(IllegalArgumentException.class, () -> IntCollector.approxDistinctCount(19));
+        assertEquals(0L, (long) IntStreamEx.empty().collect(IntCollector.approxDistinctCount(10)));
+        assertEquals(3L, (long) IntStreamEx.of(1, 2, 1, 3, 2).collect(IntCollector.approxDistinctCount(10)));
+        for (int precision : new int[] { 8, 12, 16 }) {
+            double error = 5 * 1.04 / Math.sqrt(1 << precision);
+            IntCollector<?, Long> collector = IntCollector.approxDistinctCount(precision);
+            for (int n : new int[] { 100, 10000, 1000000 }) {
+                long sequential = IntStreamEx.range(n).append(IntStreamEx.range(n)).collect(collector);
+                long parallel = IntStreamEx.range(n).append(IntStreamEx.range(n)).parallel().collect(collector);
+                assertEquals(sequential, parallel);
+                assertEquals(n, sequential, n * error);
+            }
+        }
+    }
+
+    @Test
+    public void testLeastGreatest() {
+        assertArrayEquals(new int[0], IntStreamEx.of(1, 2, 3).collect(IntCollector.least(0)));
+        assertArrayEquals(new int[0], IntStreamEx.of(1, 2, 3).collect(IntCollector.greatest(-1)));
+        int[] extremesGreatest = IntStreamEx.of(1, Integer.MAX_VALUE, 3, Integer.MIN_VALUE).collect(IntCollector
+                .greatest(3));
+        assertArrayEquals(new int[] { Integer.MAX_VALUE, 3, 1 }, extremesGreatest);
+        int[] extremesLeast = IntStreamEx.of(1, Integer.MAX_VALUE, 1, Integer.MIN_VALUE).collect(IntCollector.least(3));
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, 1, 1 }, extremesLeast);
+        assertArrayEquals(new int[] { 3, 2, 1 }, IntStreamEx.of(1, 2, 3).collect(IntCollector.greatest(
+            Integer.MAX_VALUE)));
+        assertArrayEquals(new int[] { 1, 2 }, IntStreamEx.of(2, 1).collect(IntCollector.least(Integer.MAX_VALUE)));
+        withRandom(r -> {
+            int[] input = IntStreamEx.of(r, 100000, 0, 1000).toArray();
+            for (int n : new int[] { 1, 10, 1000, 200000 }) {
+                int[] least = IntStreamEx.of(input).sorted().limit(n).toArray();
+                int[] greatest = IntStreamEx.of(input).reverseSorted().limit(n).toArray();
+                intStreamEx(() -> IntStreamEx.of(input), s -> assertArrayEquals(least, s.collect(IntCollector
+                        .least(n))));
+                intStreamEx(() -> IntStreamEx.of(input), s -> assertArrayEquals(greatest, s.collect(
+                    IntCollector.greatest(n))));
+            }
+        });
+    }
+
+    @Test
+    public void testQuantiles() {
+        assertThrows(IllegalArgumentException.class, () -> IntCollector.quantiles(1.5));
+        assertThrows(IllegalArgumentException.class, () -> IntCollector.quantiles(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> IntCollector.approxQuantiles(7, 0.5));
+        assertArrayEquals(new double[0], IntStreamEx.of(1, 2, 3).collect(IntCollector.quantiles()), 0);
+        assertArrayEquals(new double[] { 5, Integer.MIN_VALUE, Integer.MAX_VALUE }, IntStreamEx.of(Integer.MAX_VALUE,
+            5, Integer.MIN_VALUE).collect(IntCollector.quantiles(0.5, 0, 1)), 0);
+        withRandom(r -> {
+            int[] input = IntStreamEx.of(r, 100000, 0, 1000).toArray();
+            int[] sorted = IntStreamEx.of(input).sorted().toArray();
+            double[] exact = IntStreamEx.of(input).parallel().collect(IntCollector.quantiles(0.01, 0.5, 0.9));
+            assertArrayEquals(new double[] { sorted[999] + (sorted[1000] - sorted[999]) * 0.99, sorted[49999]
+                + (sorted[50000] - sorted[49999]) * 0.5, sorted[89999] + (sorted[90000] - sorted[89999]) * 0.1 },
+                exact, 1e-9);
+            double[] approx = IntStreamEx.of(input).parallel().collect(IntCollector.approxQuantiles(200, 0.01,
+                0.5, 0.9));
+            assertEquals(10, approx[0], 20);
+            assertEquals(500, approx[1], 20);
+            assertEquals(900, approx[2], 20);
+        });
+    }
 }
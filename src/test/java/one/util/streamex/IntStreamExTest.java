@@ -20,6 +20,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -28,12 +32,14 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.PrimitiveIterator.OfInt;
 import java.util.Random;
 import java.util.Scanner;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -48,7 +54,9 @@ import java.util.stream.IntStream;
 import java.util.stream.IntStream.Builder;
 
 import org.junit.FixMethodOrder;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runners.MethodSorters;
 
 import static one.util.streamex.TestHelpers.assertThrows;
@@ -59,6 +67,7 @@ import static one.util.streamex.TestHelpers.withRandom;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -69,6 +78,9 @@ import static org.junit.Assert.assertTrue;
 public class IntStreamExTest {
     private static final byte[] EVEN_BYTES = new byte[] { 2, 4, 6, 8, 10 };
 
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
     @Test
     public void testCreate() {
         assertArrayEquals(new int[] {}, IntStreamEx.empty().toArray());
@@ -416,6 +428,32 @@ public class IntStreamExTest {
         assertEquals("{0, 2, 3, 4, 10}", IntStreamEx.of(0, 2, 0, 3, 0, 4, 0, 10).parallel().toBitSet().toString());
     }
 
+    @Test
+    public void testGroupingToCounts() {
+        withRandom(r -> {
+            int[] input = r.ints(10000, -100, 100).toArray();
+            Map<Integer, Long> expected = IntStreamEx.of(input).boxed().groupingBy(Function.identity(), TreeMap::new,
+                Collectors.counting());
+            intStreamEx(() -> IntStream.of(input), s -> {
+                IntKeyMap<Long> counts = s.groupingToCounts();
+                assertEquals(expected, counts);
+                assertEquals(expected.toString(), counts.toString());
+            });
+        });
+        IntKeyMap<Long> counts = IntStreamEx.of(5, Integer.MIN_VALUE, 0, 5, Integer.MAX_VALUE, 0, 5).groupingToCounts();
+        assertEquals("{-2147483648=1, 0=2, 5=3, 2147483647=1}", counts.toString());
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, 0, 5, Integer.MAX_VALUE }, counts.keys().toArray());
+        assertEquals(3L, (long) counts.get(5));
+        assertEquals(3L, (long) counts.get((Object) 5));
+        assertNull(counts.get(1));
+        assertNull(counts.get(5L));
+        assertEquals(0L, (long) counts.getOrDefault(1, 0L));
+        assertTrue(counts.containsKey(Integer.MIN_VALUE));
+        assertFalse(counts.containsKey("0"));
+        assertThrows(UnsupportedOperationException.class, () -> counts.put(1, 1L));
+        assertTrue(IntStreamEx.empty().groupingToCounts().isEmpty());
+    }
+
     @Test
     public void testAs() {
         assertEquals(4, IntStreamEx.range(0, 5).asLongStream().findAny(x -> x > 3).getAsLong());
@@ -775,6 +813,52 @@ public class IntStreamExTest {
         assertTrue(flag.get());
     }
 
+    @Test
+    public void testOfBytes() throws IOException {
+        byte[] data = IntStreamEx.range(-1000, 1000).toByteArray();
+        int[] expected = IntStreamEx.of(data).map(b -> b & 0xFF).toArray();
+        java.nio.ByteBuffer buf = java.nio.ByteBuffer.wrap(data);
+        intStreamEx(() -> IntStreamEx.ofBytes(buf), s -> assertArrayEquals(expected, s.toArray()));
+        assertEquals(2000, IntStreamEx.ofBytes(buf).count());
+        assertEquals(0, buf.position());
+
+        Path path = tmp.newFile().toPath();
+        Files.write(path, data);
+        for (int windowSize : new int[] { 300, 1000 }) {
+            intStreamEx(() -> {
+                try {
+                    FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+                    fc.position(1000);
+                    return IntStreamEx.ofBytes(fc, windowSize);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, s -> {
+                try (IntStreamEx stream = s) {
+                    assertArrayEquals(Arrays.copyOfRange(expected, 1000, 2000), stream.toArray());
+                }
+            });
+        }
+        FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+        IntStreamEx.ofBytes(fc).close();
+        assertFalse(fc.isOpen());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ); InputStream is = IntStreamEx
+                .ofBytes(channel, 100).asByteInputStream()) {
+            byte[] read = new byte[2000];
+            assertEquals(data[0], (byte) is.read());
+            int pos = 1;
+            for (int n = is.read(read, pos, 2000 - pos); n > 0; n = is.read(read, pos, 2000 - pos)) {
+                pos += n;
+            }
+            read[0] = data[0];
+            assertArrayEquals(data, read);
+            assertEquals(-1, is.read());
+            assertEquals(0, is.read(read, 0, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> is.read(read, 1999, 2));
+        }
+    }
+
     @Test
     public void testPrefix() {
         assertArrayEquals(new int[] { 1, 3, 6, 10, 20 }, IntStreamEx.of(1, 2, 3, 4, 10).prefix(Integer::sum).toArray());
@@ -792,7 +876,75 @@ public class IntStreamExTest {
         intStreamEx(() -> IntStreamEx.constant(1, 5),
                 s -> assertEquals(OptionalInt.empty(), s.prefix(Integer::sum).findFirst(x -> x > 6)));
     }
+
+    @Test
+    public void testToPrefixArray() {
+        assertArrayEquals(new int[] { 1, 3, 6, 10, 20 }, IntStreamEx.of(1, 2, 3, 4, 10).toPrefixArray(Integer::sum));
+        assertArrayEquals(new int[0], IntStreamEx.empty().parallel().toPrefixArray(Integer::sum));
+        int[] expected = IntStreamEx.range(10000).scanLeft(Integer::sum);
+        intStreamEx(() -> IntStreamEx.range(10000), s -> assertArrayEquals(expected, s.toPrefixArray(Integer::sum)));
+        int[] input = IntStreamEx.range(10000).toArray();
+        assertArrayEquals(expected, IntStreamEx.of(input).parallel().toPrefixArray(Integer::sum));
+        // the source array is not modified
+        assertArrayEquals(IntStreamEx.range(10000).toArray(), input);
+        assertThrows(NullPointerException.class, () -> IntStreamEx.of(1).toPrefixArray(null));
+    }
     
+    @Test
+    public void testZipWith() {
+        assertArrayEquals(new int[] { 4, 2, 0, -2, -4 }, IntStreamEx.of(5, 4, 3, 2, 1).zipWith(IntStreamEx.range(1,
+            10), (a, b) -> a - b).toArray());
+        int[] expected = IntStreamEx.range(10000).map(x -> x * x + x).toArray();
+        intStreamEx(() -> IntStreamEx.range(10000), s -> assertArrayEquals(expected, s.zipWith(IntStreamEx.range(
+            10000).map(x -> x * x), Integer::sum).toArray()));
+        intStreamEx(() -> IntStreamEx.range(20000), s -> assertArrayEquals(expected, s.zipWith(IntStreamEx.range(
+            10000).map(x -> x * x).filter(x -> true), Integer::sum).toArray()));
+        intStreamEx(() -> IntStreamEx.iterate(0, x -> x + 1).takeWhile(x -> x < 10000), s -> assertArrayEquals(
+            expected, s.zipWith(IntStreamEx.range(10000).map(x -> x * x).parallel(), Integer::sum).toArray()));
+        AtomicBoolean closed = new AtomicBoolean();
+        IntStreamEx.of(1, 2).zipWith(IntStreamEx.of(3).onClose(() -> closed.set(true)), Integer::sum).close();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testWindowed() {
+        intStreamEx(() -> IntStreamEx.of(1, 2, 3, 4, 5), s -> assertEquals(Arrays.asList(6, 9, 12), s.windowed(3,
+            IntCollector.summing()).toList()));
+        intStreamEx(() -> IntStreamEx.of(1, 2, 3, 4, 5), s -> assertEquals(Arrays.asList("1,2,3", "2,3,4", "3,4,5"), s
+                .windowed(3, IntCollector.joining(",")).toList()));
+        intStreamEx(() -> IntStreamEx.of(1, 2), s -> assertEquals(0, s.windowed(3, IntCollector.summing()).count()));
+        withRandom(r -> {
+            int[] input = IntStreamEx.of(r, 1000, 0, 100).toArray();
+            for (int size : new int[] { 1, 2, 7, 100, 1000 }) {
+                List<OptionalDouble> expected = IntStreamEx.range(input.length - size + 1).mapToObj(i -> IntStreamEx
+                        .of(input, i, i + size).average()).toList();
+                intStreamEx(() -> IntStreamEx.of(input), s -> assertEquals(expected, s.windowed(size, IntCollector
+                        .averaging()).toList()));
+            }
+        });
+        assertThrows(IllegalArgumentException.class, () -> IntStreamEx.of(1).windowed(0, IntCollector.summing()));
+    }
+
+    @Test
+    public void testDistinctAtLeast() {
+        assertArrayEquals(new int[] { 1, 2, 3 }, IntStreamEx.of(1, 2, 1, 3, 2).distinct(1).toArray());
+        assertArrayEquals(new int[] { 2, 1 }, IntStreamEx.of(1, 2, 3, 2, 1, 1, 4, 2).distinct(2).toArray());
+        assertArrayEquals(new int[] { 2 }, IntStreamEx.of(1, 2, 3, 2, 1, 4, 2).distinct(3).toArray());
+        assertEquals(0, IntStreamEx.range(100).distinct(2).count());
+        assertEquals(0, IntStreamEx.constant(1, 100).distinct(Integer.MAX_VALUE + 1L).count());
+        withRandom(r -> {
+            int[] input = IntStreamEx.of(r, 10000, -100, 100).toArray();
+            for (int atLeast : new int[] { 2, 50, 70 }) {
+                int[] expected = IntStreamEx.of(input).boxed().distinct(atLeast).mapToInt(Integer::intValue)
+                        .toArray();
+                assertArrayEquals(expected, IntStreamEx.of(input).distinct(atLeast).toArray());
+                int[] expectedSorted = IntStreamEx.of(expected).sorted().toArray();
+                intStreamEx(() -> IntStreamEx.of(input), s -> assertArrayEquals(expectedSorted, s.distinct(atLeast)
+                        .sorted().toArray()));
+            }
+        });
+    }
+
     @Test
     public void testIntersperse() {
         assertArrayEquals(new int[] { 1, 0, 10, 0, 100, 0, 1000 }, IntStreamEx.of(1, 10, 100, 1000).intersperse(0)
@@ -15,17 +15,22 @@
  */
 package one.util.streamex;
 
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Supplier;
 
 import one.util.streamex.Internals.PairBox;
 import org.junit.Test;
 
 import static one.util.streamex.Internals.ArrayCollection;
+import static one.util.streamex.Internals.CancellableSpliterator;
 import static one.util.streamex.Internals.PartialCollector;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -73,4 +78,51 @@ public class InternalsTest {
         assertNotEquals(boxOneTwo, boxOneOne);
         assertEquals(boxTwoOne, boxOneOne);
     }
+
+    @Test
+    public void testCancellableSpliterator() {
+        checkCancellable(Arrays.asList("a", "b", "", "c"), () -> StreamEx.split("a,b,,c", ',').spliterator());
+        checkCancellable(Arrays.asList("ab", "bc", "cd"), () -> StreamEx.split("a,b,c,d", ',').pairMap(
+            String::concat).spliterator());
+        checkCancellable(Arrays.asList("a", "b", "C"), () -> StreamEx.split("a,b,c", ',').mapLast(String::toUpperCase)
+                .spliterator());
+        checkCancellable(Arrays.asList("x", "x", "x"), () -> StreamEx.constant("x", 3).spliterator());
+        checkCancellable(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), () -> StreamEx
+                .ofSubLists(Arrays.asList(1, 2, 3, 4, 5), 2).spliterator());
+        checkCancellable(Arrays.asList(4, 6), () -> StreamEx.zip(Arrays.asList(1, 2), Arrays.asList(3, 4),
+            Integer::sum).spliterator());
+        checkCancellable(Arrays.asList(1, 2, 3), () -> StreamEx.of(Arrays.asList(1, 2, 3).iterator()).spliterator());
+        checkCancellable(Arrays.asList(2, 3), () -> {
+            // the iterator is buffered into the array by trySplit
+            Spliterator<Integer> spliterator = StreamEx.of(Arrays.asList(1, 2, 3).iterator()).spliterator();
+            spliterator.trySplit();
+            return spliterator;
+        });
+        checkCancellable(Arrays.asList(new SimpleEntry<>(0, "a"), new SimpleEntry<>(1, "b")), () -> EntryStream.of(
+            Arrays.asList("a", "b")).spliterator());
+        checkCancellable(Arrays.asList("ac", "ad", "bc", "bd"), () -> StreamEx.cartesianProduct(Arrays.asList(Arrays
+                .asList("a", "b"), Arrays.asList("c", "d")), list -> String.join("", list)).spliterator());
+        checkCancellable(Arrays.asList(new int[] { 0, 1, 2 }, new int[] { 0, 2, 1 }, new int[] { 1, 0, 2 },
+            new int[] { 1, 2, 0 }, new int[] { 2, 0, 1 }, new int[] { 2, 1, 0 }), () -> StreamEx.ofPermutations(3)
+                .spliterator());
+        checkCancellable(Arrays.asList(new int[] { 0, 1 }, new int[] { 0, 2 }, new int[] { 1, 2 }), () -> StreamEx
+                .ofCombinations(3, 2).spliterator());
+    }
+
+    private static <T> void checkCancellable(List<T> expected, Supplier<Spliterator<T>> supplier) {
+        for (int n = 1; n <= expected.size(); n++) {
+            Spliterator<T> spliterator = supplier.get();
+            assertTrue(spliterator instanceof CancellableSpliterator);
+            List<T> list = new ArrayList<>();
+            int limit = n;
+            assertTrue(CancellableSpliterator.traverseUntil(spliterator, list::add, () -> list.size() == limit));
+            assertEquals(n, list.size());
+            // the traversal can be resumed
+            spliterator.forEachRemaining(list::add);
+            assertEquals(Arrays.deepToString(expected.toArray()), Arrays.deepToString(list.toArray()));
+        }
+        List<T> list = new ArrayList<>();
+        assertFalse(CancellableSpliterator.traverseUntil(supplier.get(), list::add, () -> false));
+        assertEquals(Arrays.deepToString(expected.toArray()), Arrays.deepToString(list.toArray()));
+    }
 }
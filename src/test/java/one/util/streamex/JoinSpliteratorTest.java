@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.checkSpliterator;
+import static one.util.streamex.TestHelpers.withRandom;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Tagir Valeev
+ */
+public class JoinSpliteratorTest {
+    @Test
+    public void testHash() {
+        withRandom(r -> {
+            List<Entry<Integer, Integer>> probe = StreamEx.of(r.ints(200, 0, 20).boxed()).mapToEntry(k -> r.nextInt(
+                100)).toList();
+            List<Entry<Integer, String>> build = StreamEx.of(r.ints(30, 0, 30).boxed()).mapToEntry(k -> "v" + r
+                    .nextInt(100)).toList();
+            for (boolean outer : new boolean[] { false, true }) {
+                List<Entry<Integer, String>> expected = new ArrayList<>();
+                for (Entry<Integer, Integer> p : probe) {
+                    int size = expected.size();
+                    for (Entry<Integer, String> b : build) {
+                        if (b.getKey().equals(p.getKey()))
+                            expected.add(new SimpleImmutableEntry<>(p.getKey(), p.getValue() + b.getValue()));
+                    }
+                    if (outer && size == expected.size())
+                        expected.add(new SimpleImmutableEntry<>(p.getKey(), p.getValue() + "null"));
+                }
+                checkSpliterator("hash/" + outer, expected, () -> new JoinSpliterator<>(probe.spliterator(), build
+                        .spliterator(), false, outer, (Integer a, String b) -> a + b));
+            }
+        });
+    }
+
+    @Test
+    public void testMerge() {
+        List<Entry<Integer, Integer>> probe = IntStreamEx.range(100).boxed().mapToEntry(k -> k / 3, k -> k).toList();
+        List<Entry<Integer, Integer>> build = IntStreamEx.range(0, 100, 5).boxed().flatMapToEntry(k -> Collections
+                .singletonMap(k, -k)).append(IntStreamEx.range(0, 100, 5).boxed().mapToEntry(k -> k)).sorted(Entry
+                        .comparingByKey()).toList();
+        List<Entry<Integer, Integer>> expected = EntryStream.of(probe.stream()).join(build.stream(), Integer::sum)
+                .toList();
+        assertEquals(42, expected.size());
+        checkSpliterator("merge", expected, () -> new JoinSpliterator.Merge<>(probe.spliterator(), build
+                .spliterator(), Comparator.<Integer>naturalOrder(), Integer::sum));
+        assertNull(new JoinSpliterator.Merge<>(probe.spliterator(), build.spliterator(), Comparator
+                .<Integer>naturalOrder(), Integer::sum).trySplit());
+    }
+}
@@ -15,10 +15,14 @@
  */
 package one.util.streamex;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -30,6 +34,7 @@ import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
 import static one.util.streamex.TestHelpers.StreamExSupplier;
+import static one.util.streamex.TestHelpers.assertThrows;
 import static one.util.streamex.TestHelpers.checkCollector;
 import static one.util.streamex.TestHelpers.checkShortCircuitCollector;
 import static one.util.streamex.TestHelpers.streamEx;
@@ -301,4 +306,78 @@ public class JoiningTest {
         checkShortCircuitCollector("maxElements", "one, two, three...", 4, input::stream, Joining.with(", ").maxElements(3).cutBeforeDelimiter());
         checkShortCircuitCollector("maxElements", "one, two, three, four", 4, input::stream, Joining.with(", ").maxElements(4).cutBeforeDelimiter());
     }
+
+    @Test
+    public void testTo() {
+        List<String> input = Arrays.asList("one two", "three four", "", "five", "six seven", "\ud801\udc14\u0301x");
+        List<Function<Joining, Joining>> limits = Arrays.asList(Function.identity(), j -> j.maxChars(0),
+            j -> j.maxChars(4), j -> j.maxChars(11), j -> j.maxChars(25), j -> j.maxChars(100), j -> j
+                    .maxCodePoints(20), j -> j.maxGraphemes(30), j -> j.maxElements(0), j -> j.maxElements(3));
+        List<Function<Joining, Joining>> cuts = Arrays.asList(Joining::cutAnywhere, Joining::cutAtCodePoint,
+            Joining::cutAtGrapheme, Joining::cutAtWord, Joining::cutBeforeDelimiter, Joining::cutAfterDelimiter);
+        for (Joining base : Arrays.asList(Joining.with(", "), Joining.with("").wrap("[", "]"), Joining.with(" | ")
+                .ellipsis("~"))) {
+            for (Function<Joining, Joining> limit : limits) {
+                for (Function<Joining, Joining> cut : cuts) {
+                    Joining joining = cut.apply(limit.apply(base));
+                    String expected = input.stream().collect(joining);
+                    streamEx(input::stream, supplier -> {
+                        assertEquals(expected, supplier.get().collect(joining.to(new StringBuilder(">")))
+                                .substring(1));
+                        assertEquals(expected, supplier.get().parallel().collect(joining.to(new StringBuilder()))
+                                .toString());
+                    });
+                }
+            }
+        }
+        assertEquals("1, 2, 3", StreamEx.of(1, 2, 3).joiningTo(new StringWriter(), ", ").toString());
+        assertEquals("", StreamEx.empty().joiningTo(new StringBuilder(), ", ").toString());
+        // the parallel traversal stops as well
+        assertEquals("abc,abc...", StreamEx.constant("abc", Long.MAX_VALUE).parallel().collect(
+            Joining.with(",").maxChars(10).to(new StringBuilder())).toString());
+        Joining limited = Joining.with(",").maxChars(15);
+        assertEquals(IntStreamEx.range(100).mapToObj(String::valueOf).collect(limited), IntStreamEx.range(
+            Integer.MAX_VALUE).mapToObj(String::valueOf).parallel().collect(limited.to(new StringBuilder()))
+                .toString());
+    }
+
+    @Test
+    public void testToStreaming() {
+        StringBuilder sb = new StringBuilder();
+        StreamEx.of("a", "b", "c", "d").peek(s -> assertEquals(s.equals("a") ? "[" : "[a", sb.substring(0, Math
+                .min(2, sb.length())))).collect(Joining.with(",").wrap("[", "]").to(sb));
+        assertEquals("[a,b,c,d]", sb.toString());
+        // the elements which may be replaced with the ellipsis are held
+        sb.setLength(0);
+        StreamEx.of("aaa", "bbb", "cc", "ddd").peek(s -> {
+            if (s.equals("ddd"))
+                assertEquals("aaa,bbb", sb.toString());
+        }).collect(Joining.with(",").maxChars(10).to(sb));
+        assertEquals("aaa,bbb...", sb.toString());
+
+        Appendable failing = new StringWriter() {
+            @Override
+            public StringWriter append(CharSequence csq) {
+                throw new UncheckedIOException(new IOException("fail"));
+            }
+        };
+        assertThrows(UncheckedIOException.class, () -> StreamEx.of("a").joiningTo(failing, ","));
+        Appendable failingChecked = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) throws IOException {
+                throw new IOException("fail");
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) throws IOException {
+                throw new IOException("fail");
+            }
+
+            @Override
+            public Appendable append(char c) throws IOException {
+                throw new IOException("fail");
+            }
+        };
+        assertThrows(UncheckedIOException.class, () -> StreamEx.of("a").joiningTo(failingChecked, ","));
+    }
 }
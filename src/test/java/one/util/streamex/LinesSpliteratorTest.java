@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static one.util.streamex.TestHelpers.checkSpliterator;
+import static one.util.streamex.TestHelpers.streamEx;
+import static one.util.streamex.TestHelpers.withRandom;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Tagir Valeev
+ */
+public class LinesSpliteratorTest {
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private Path write(String content) throws IOException {
+        Path path = tmp.newFile().toPath();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private static List<String> expected(String content) {
+        return StreamEx.ofLines(new BufferedReader(new StringReader(content))).toList();
+    }
+
+    @Test
+    public void testSpliterator() throws IOException {
+        for (String content : Arrays.asList("", "\n", "a", "a\n", "a\r\nb", "a\rb\r", "\r\n\r\n\n\r", "été\n中文",
+            "first\nsecond\r\nthird\rfourth\n\nsixth", "a line which is longer than the window\r\nb")) {
+            Path path = write(content);
+            List<String> expected = expected(content);
+            try (FileChannel fc = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = fc.size();
+                for (int windowSize : new int[] { 7, 8, 100, LinesSpliterator.WINDOW_SIZE }) {
+                    checkSpliterator(content, expected, () -> new LinesSpliterator(fc, StandardCharsets.UTF_8, 0,
+                            size, windowSize));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        withRandom(r -> {
+            String content = StreamEx.generate(() -> IntStreamEx.of(r, r.nextInt(20), 0, 6).map(i -> "ab\n\ré"
+                    .charAt(Math.min(i, 4))).charsToString()).limit(2000).joining(r.nextBoolean() ? "\n" : "\r\n");
+            Path path;
+            try {
+                path = write(content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            List<String> expected = expected(content);
+            streamEx(() -> {
+                try {
+                    return StreamEx.ofLines(path, StandardCharsets.UTF_8, 32);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, s -> assertEquals(expected, s.get().toList()));
+        });
+    }
+
+    @Test
+    public void testSplit() throws IOException {
+        Path path = write(StreamEx.constant("line", 1000).joining("\n"));
+        try (FileChannel fc = FileChannel.open(path, StandardOpenOption.READ)) {
+            LinesSpliterator spliterator = new LinesSpliterator(fc, StandardCharsets.UTF_8, 0, fc.size(),
+                    LinesSpliterator.WINDOW_SIZE);
+            LinesSpliterator prefix = (LinesSpliterator) spliterator.trySplit();
+            assertEquals(2500, prefix.estimateSize());
+            assertEquals(fc.size() - 2500, spliterator.estimateSize());
+            assertTrue(prefix.tryAdvance(line -> assertEquals("line", line)));
+            assertTrue(spliterator.tryAdvance(line -> assertEquals("line", line)));
+        }
+        path = write("single line");
+        try (FileChannel fc = FileChannel.open(path, StandardOpenOption.READ)) {
+            assertEquals(null, new LinesSpliterator(fc, StandardCharsets.UTF_8, 0, fc.size(), 100).trySplit());
+        }
+    }
+
+    @Test
+    public void testForEachUntil() throws IOException {
+        Path path = write("a\nb\nc\nd");
+        try (FileChannel fc = FileChannel.open(path, StandardOpenOption.READ)) {
+            LinesSpliterator spliterator = new LinesSpliterator(fc, StandardCharsets.UTF_8, 0, fc.size(), 3);
+            List<String> lines = new ArrayList<>();
+            assertTrue(spliterator.forEachUntil(lines::add, () -> lines.size() == 2));
+            assertEquals(Arrays.asList("a", "b"), lines);
+            assertFalse(spliterator.forEachUntil(lines::add, () -> false));
+            assertEquals(Arrays.asList("a", "b", "c", "d"), lines);
+        }
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        Path path = tmp.newFile().toPath();
+        Files.write(path, new byte[] { 'a', '\n', (byte) 0xFF, '\n' });
+        try (StreamEx<String> lines = StreamEx.ofLines(path)) {
+            lines.toList();
+            fail("No exception");
+        } catch (UncheckedIOException e) {
+            assertTrue(e.getCause() instanceof MalformedInputException);
+        }
+        path = write("a\nlong line\nb");
+        try (StreamEx<String> lines = StreamEx.ofLines(path, StandardCharsets.UTF_8, 5)) {
+            assertEquals(Arrays.asList("a", "long line", "b"), lines.toList());
+        }
+        assertFalse(LinesSpliterator.isSupported(StandardCharsets.UTF_16));
+    }
+}
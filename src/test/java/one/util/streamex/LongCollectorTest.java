@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.OptionalLong;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
@@ -26,10 +27,12 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import static one.util.streamex.TestHelpers.longStreamEx;
 import static one.util.streamex.TestHelpers.withRandom;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 
 /**
  * @author Tagir Valeev
@@ -151,6 +154,25 @@ public class LongCollectorTest {
         }
     }
 
+    @Test
+    public void testGroupingByLong() {
+        withRandom(r -> {
+            long[] input = r.longs(10000, -1000, 1000).toArray();
+            Map<Long, Long> expected = LongStreamEx.of(input).boxed().groupingBy(i -> (i % 7) << 40, TreeMap::new,
+                Collectors.counting());
+            longStreamEx(() -> LongStreamEx.of(input), s -> assertEquals(expected.toString(), s.collect(
+                LongCollector.groupingByLong(i -> (i % 7) << 40, LongCollector.counting())).toString()));
+        });
+        LongKeyMap<long[]> collected = LongStreamEx.range(2000).parallel().collect(LongCollector.groupingByLong(
+            i -> i % 3));
+        assertArrayEquals(new long[] { 0, 1, 2 }, collected.keys().toArray());
+        for (long i = 0; i < 3; i++) {
+            long rem = i;
+            assertArrayEquals(LongStream.range(0, 2000).filter(a -> a % 3 == rem).toArray(), collected.get(i));
+        }
+        assertNull(collected.get(3));
+    }
+
     @Test
     public void testAsCollector() {
         assertEquals(10000499500L, (long) LongStream.range(10000000, 10001000).boxed().collect(LongCollector.summing()));
@@ -186,4 +208,51 @@ public class LongCollectorTest {
             Long.MAX_VALUE).parallel().collect(
             LongCollector.toBooleanArray(x -> x < Integer.MIN_VALUE || x > Integer.MAX_VALUE)));
     }
+
+    @Test
+    public void testApproxDistinctCount() {
+        withRandom(r -> {
+            long[] input = LongStreamEx.of(r, 100000).toArray();
+            LongCollector<?, Long> collector = LongCollector.approxDistinctCount(14);
+            long sequential = LongStreamEx.of(input).collect(collector);
+            assertEquals(sequential, (long) LongStreamEx.of(input).parallel().collect(collector));
+            assertEquals(100000, sequential, 100000 * 5 * 1.04 / 128);
+        });
+    }
+
+    @Test
+    public void testLeastGreatest() {
+        assertArrayEquals(new long[0], LongStreamEx.of(1, 2, 3).collect(LongCollector.least(0)));
+        assertArrayEquals(new long[0], LongStreamEx.of(1, 2, 3).collect(LongCollector.greatest(-1)));
+        long[] extremesGreatest = LongStreamEx.of(1, Long.MAX_VALUE, 3, Long.MIN_VALUE).collect(LongCollector
+                .greatest(3));
+        assertArrayEquals(new long[] { Long.MAX_VALUE, 3, 1 }, extremesGreatest);
+        long[] extremesLeast = LongStreamEx.of(1, Long.MAX_VALUE, 1, Long.MIN_VALUE).collect(LongCollector.least(3));
+        assertArrayEquals(new long[] { Long.MIN_VALUE, 1, 1 }, extremesLeast);
+        assertArrayEquals(new long[] { 3, 2, 1 }, LongStreamEx.of(1, 2, 3).collect(LongCollector.greatest(
+            Integer.MAX_VALUE)));
+        assertArrayEquals(new long[] { 1, 2 }, LongStreamEx.of(2, 1).collect(LongCollector.least(Integer.MAX_VALUE)));
+        withRandom(r -> {
+            long[] input = LongStreamEx.of(r, 100000, 0, 1000).toArray();
+            for (int n : new int[] { 1, 10, 1000, 200000 }) {
+                long[] least = LongStreamEx.of(input).sorted().limit(n).toArray();
+                long[] greatest = LongStreamEx.of(input).reverseSorted().limit(n).toArray();
+                longStreamEx(() -> LongStreamEx.of(input), s -> assertArrayEquals(least, s.collect(LongCollector
+                        .least(n))));
+                longStreamEx(() -> LongStreamEx.of(input), s -> assertArrayEquals(greatest, s.collect(
+                    LongCollector.greatest(n))));
+            }
+        });
+    }
+
+    @Test
+    public void testQuantiles() {
+        assertArrayEquals(new double[] { 2, 1.5, 1 }, LongStreamEx.of(3, 1, 2).collect(LongCollector.quantiles(0.5,
+            0.25, 0)), 0);
+        long[] input = LongStreamEx.range(1000000).map(x -> x * 1000).toArray();
+        double[] approx = LongStreamEx.of(input).parallel().collect(LongCollector.approxQuantiles(200, 0, 0.5, 1));
+        assertEquals(0, approx[0], 0);
+        assertEquals(500000000, approx[1], 20000000);
+        assertEquals(999999000, approx[2], 0);
+    }
 }
@@ -28,6 +28,7 @@ import java.util.Random;
 import java.util.Scanner;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -50,9 +51,11 @@ import static one.util.streamex.TestHelpers.assertThrows;
 import static one.util.streamex.TestHelpers.checkSpliterator;
 import static one.util.streamex.TestHelpers.longStreamEx;
 import static one.util.streamex.TestHelpers.streamEx;
+import static one.util.streamex.TestHelpers.withRandom;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -623,6 +626,59 @@ public class LongStreamExTest {
                 s -> assertEquals(OptionalLong.empty(), s.prefix(Long::sum).findFirst(x -> x > 6)));
     }
 
+    @Test
+    public void testToPrefixArray() {
+        assertArrayEquals(new long[] { 1, 3, 6, 10, 20 }, LongStreamEx.of(1, 2, 3, 4, 10).toPrefixArray(Long::sum));
+        assertArrayEquals(new long[0], LongStreamEx.empty().parallel().toPrefixArray(Long::sum));
+        long[] expected = LongStreamEx.range(10000).scanLeft(Long::sum);
+        longStreamEx(() -> LongStreamEx.range(10000), s -> assertArrayEquals(expected, s.toPrefixArray(Long::sum)));
+        assertArrayEquals(expected, LongStreamEx.of(LongStreamEx.range(10000).toArray()).parallel().toPrefixArray(
+            Long::sum));
+        assertThrows(NullPointerException.class, () -> LongStreamEx.of(1).toPrefixArray(null));
+    }
+
+    @Test
+    public void testDistinctAtLeast() {
+        assertArrayEquals(new long[] { 1, 2, 3 }, LongStreamEx.of(1, 2, 1, 3, 2).distinct(1).toArray());
+        assertArrayEquals(new long[] { 2, 1 }, LongStreamEx.of(1, 2, 3, 2, 1, 1, 4, 2).distinct(2).toArray());
+        assertArrayEquals(new long[] { Long.MIN_VALUE }, LongStreamEx.of(Long.MIN_VALUE, 0, Long.MAX_VALUE,
+            Long.MIN_VALUE).distinct(2).toArray());
+        assertEquals(0, LongStreamEx.range(100).distinct(2).count());
+        assertEquals(0, LongStreamEx.constant(1, 100).distinct(Long.MAX_VALUE).count());
+        longStreamEx(() -> LongStreamEx.range(10000).map(x -> (x % 100) << 40), s -> assertEquals(100, s
+                .distinct(100).count()));
+    }
+
+    @Test
+    public void testGroupingToCounts() {
+        withRandom(r -> {
+            long[] input = r.longs(10000, -100, 100).map(x -> x << 40).toArray();
+            Map<Long, Long> expected = LongStreamEx.of(input).boxed().groupingBy(Function.identity(), TreeMap::new,
+                Collectors.counting());
+            longStreamEx(() -> LongStream.of(input), s -> {
+                LongKeyMap<Long> counts = s.groupingToCounts();
+                assertEquals(expected, counts);
+                assertEquals(expected.toString(), counts.toString());
+            });
+        });
+        LongKeyMap<Long> counts = LongStreamEx.of(5, Long.MIN_VALUE, 0, 5, Long.MAX_VALUE, 0, 5).groupingToCounts();
+        assertArrayEquals(new long[] { Long.MIN_VALUE, 0, 5, Long.MAX_VALUE }, counts.keys().toArray());
+        assertEquals(2L, (long) counts.get(0));
+        assertEquals(3L, (long) counts.get((Object) 5L));
+        assertNull(counts.get((Object) 5));
+        assertFalse(counts.containsKey(1));
+        assertThrows(UnsupportedOperationException.class, () -> counts.put(1L, 1L));
+    }
+
+    @Test
+    public void testWindowed() {
+        longStreamEx(() -> LongStream.of(1, 2, 3, 4, 5), s -> assertEquals(Arrays.asList(6L, 9L, 12L), s.windowed(3,
+            LongCollector.summing()).toList()));
+        longStreamEx(() -> LongStream.range(0, 1000), s -> assertEquals(LongStreamEx.range(999).map(x -> 2 * x + 1)
+                .boxed().toList(), s.windowed(2, LongCollector.summing()).toList()));
+        assertThrows(IllegalArgumentException.class, () -> LongStreamEx.of(1).windowed(0, LongCollector.summing()));
+    }
+
     @Test
     public void testIntersperse() {
         assertArrayEquals(new long[] { 1, 0, 10, 0, 100, 0, 1000 }, LongStreamEx.of(1, 10, 100, 1000).intersperse(0)
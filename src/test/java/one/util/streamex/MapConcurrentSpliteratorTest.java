@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.assertThrows;
+import static one.util.streamex.TestHelpers.checkSpliterator;
+import static one.util.streamex.TestHelpers.consumeElement;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Tagir Valeev
+ */
+public class MapConcurrentSpliteratorTest {
+    @Test
+    public void testSpliterator() {
+        checkSpliterator("mapConcurrent", IntStreamEx.rangeClosed(1, 100).boxed().toList(),
+            () -> new MapConcurrentSpliterator<>(IntStreamEx.range(100).boxed().spliterator(), 10, Runnable::run,
+                    x -> x + 1));
+        checkSpliterator("mapConcurrentFJP", IntStreamEx.rangeClosed(1, 100).boxed().toList(),
+            () -> new MapConcurrentSpliterator<>(IntStreamEx.range(100).boxed().spliterator(), 10, ForkJoinPool
+                    .commonPool(), x -> x + 1));
+    }
+
+    @Test
+    public void testCharacteristics() {
+        MapConcurrentSpliterator<Integer, Integer> spltr = new MapConcurrentSpliterator<>(IntStreamEx.range(10)
+                .boxed().spliterator(), 3, Runnable::run, x -> x * 2);
+        assertTrue(spltr.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(spltr.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(10, spltr.getExactSizeIfKnown());
+        consumeElement(spltr, 0);
+        assertEquals(9, spltr.getExactSizeIfKnown());
+        consumeElement(spltr, 2);
+        assertEquals(8, spltr.getExactSizeIfKnown());
+
+        spltr = new MapConcurrentSpliterator<>(StreamEx.of(IntStreamEx.range(10).boxed().iterator()).spliterator(),
+                3, Runnable::run, x -> x * 2);
+        assertFalse(spltr.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(Long.MAX_VALUE, spltr.estimateSize());
+    }
+
+    @Test
+    public void testUnordered() throws InterruptedException {
+        Set<Integer> input = new HashSet<>(IntStreamEx.range(100).boxed().toList());
+        checkSpliterator("unordered", StreamEx.of(input).map(x -> x + 1).toList(),
+            () -> new MapConcurrentSpliterator<>(input.spliterator(), 10, Runnable::run, x -> x + 1));
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            CountDownLatch started = new CountDownLatch(3);
+            CountDownLatch never = new CountDownLatch(1);
+            AtomicInteger interrupted = new AtomicInteger();
+            MapConcurrentSpliterator<Integer, Integer> spltr = new MapConcurrentSpliterator<>(new HashSet<>(
+                    IntStreamEx.rangeClosed(1, 4).boxed().toList()).spliterator(), 4, executor, x -> {
+                        try {
+                            if (x == 1) {
+                                started.await();
+                            } else {
+                                started.countDown();
+                                never.await();
+                            }
+                        } catch (InterruptedException e) {
+                            interrupted.incrementAndGet();
+                        }
+                        return x;
+                    });
+            assertFalse(spltr.hasCharacteristics(Spliterator.ORDERED));
+            consumeElement(spltr, 1);
+            spltr.run();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(3, interrupted.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejected() {
+        for (Spliterator<Integer> source : Arrays.<Spliterator<Integer>>asList(IntStreamEx.range(10).boxed()
+                .spliterator(), new HashSet<>(IntStreamEx.range(10).boxed().toList()).spliterator())) {
+            List<Future<?>> accepted = new ArrayList<>();
+            MapConcurrentSpliterator<Integer, Integer> spltr = new MapConcurrentSpliterator<>(source, 5, task -> {
+                if (accepted.size() == 2)
+                    throw new RejectedExecutionException();
+                accepted.add((Future<?>) task);
+            }, x -> x);
+            assertThrows(RejectedExecutionException.class, () -> spltr.tryAdvance(x -> fail()));
+            assertEquals(2, accepted.size());
+            assertTrue(accepted.stream().allMatch(Future::isCancelled));
+            // no task is left in flight
+            assertEquals(source.estimateSize(), spltr.estimateSize());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.checkSpliterator;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Tagir Valeev
+ */
+public class MixedRadixSpliteratorTest {
+    @Test
+    public void testMapping() {
+        for (int limit : new int[] { 1, 2, 4, 9 }) {
+            List<List<Integer>> input = Collections.nCopies(3, IntStreamEx.range(limit).boxed().toList());
+            List<List<Integer>> expected = IntStreamEx.range(limit * limit * limit).mapToObj(
+                i -> Arrays.asList(i / limit / limit, i / limit % limit, i % limit)).toList();
+            checkSpliterator("mixedRadix", expected, () -> new MixedRadixSpliterator.Mapping<>(input,
+                    ArrayList::new));
+        }
+        List<List<String>> input = Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("d"), Arrays.asList(
+            "e", "f", "g", "h", "i"));
+        List<String> expected = StreamEx.cartesianProduct(input).map(list -> String.join("", list)).toList();
+        checkSpliterator("mixedRadix", expected, () -> new MixedRadixSpliterator.Mapping<String, String>(input,
+                list -> String.join("", list)));
+    }
+
+    @Test
+    public void testIndices() {
+        Spliterator<int[]> spliterator = new MixedRadixSpliterator.OfIndices(new int[] { 3, 5, 7 });
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(105, spliterator.estimateSize());
+        Spliterator<int[]> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        // the halves are balanced regardless of the first dimension size
+        assertEquals(52, prefix.estimateSize());
+        assertEquals(53, spliterator.estimateSize());
+        assertTrue(spliterator.tryAdvance(t -> assertArrayEquals(new int[] { 1, 2, 3 }, t)));
+        List<int[]> list = new ArrayList<>();
+        prefix.forEachRemaining(list::add);
+        assertEquals(52, list.size());
+        assertArrayEquals(new int[] { 0, 0, 0 }, list.get(0));
+        assertArrayEquals(new int[] { 1, 2, 2 }, list.get(51));
+    }
+
+    @Test
+    public void testBigSize() {
+        int[] sizes = new int[64];
+        Arrays.fill(sizes, 2);
+        Spliterator<int[]> spliterator = new MixedRadixSpliterator.OfIndices(sizes);
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+        assertNull(spliterator.trySplit());
+        int[] next = new int[64];
+        assertTrue(spliterator.tryAdvance(t -> assertArrayEquals(next, t)));
+        next[63] = 1;
+        assertTrue(spliterator.tryAdvance(t -> assertArrayEquals(next, t)));
+
+        sizes[5] = 0;
+        spliterator = new MixedRadixSpliterator.OfIndices(sizes);
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(0, spliterator.estimateSize());
+        assertFalse(spliterator.tryAdvance(t -> fail()));
+    }
+}
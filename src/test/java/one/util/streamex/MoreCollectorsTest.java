@@ -42,6 +42,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collector.Characteristics;
 import java.util.stream.Collectors;
@@ -144,6 +145,24 @@ public class MoreCollectorsTest {
         });
     }
 
+    @Test
+    public void testApproxDistinctCount() {
+        assertThrows(NullPointerException.class, () -> MoreCollectors.approxDistinctCount(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> MoreCollectors.approxDistinctCount(x -> x, 0));
+        List<String> input = asList("a", "bb", "c", "cc", "eee", "bb", "bc", "ddd", null);
+        streamEx(input::stream, supplier -> {
+            Map<Integer, Long> result = supplier.get().groupingBy(s -> s == null ? 0 : s.length(), HashMap::new,
+                MoreCollectors.approxDistinctCount(s -> s, 10));
+            assertEquals(1L, (long) result.get(0));
+            assertEquals(2L, (long) result.get(1));
+            assertEquals(3L, (long) result.get(2));
+            assertEquals(2L, (long) result.get(3));
+        });
+        List<String> strings = IntStreamEx.range(200000).mapToObj(i -> "str" + i % 50000).toList();
+        streamEx(strings::stream, supplier -> assertEquals(50000, supplier.get().collect(MoreCollectors
+                .approxDistinctCount(Function.identity(), 12)), 50000 * 5 * 1.04 / 64));
+    }
+
     @Test
     public void testDistinctBy() {
         assertThrows(NullPointerException.class, () -> MoreCollectors.distinctBy(null));
@@ -285,6 +304,35 @@ public class MoreCollectorsTest {
         }
     }
 
+    @Test
+    public void testLeastByKey() {
+        assertThrows(NullPointerException.class, () -> MoreCollectors.leastByInt(null, 1));
+        assertThrows(NullPointerException.class, () -> MoreCollectors.greatestByLong(null, 1));
+        withRandom(r -> {
+            List<String> strings = IntStreamEx.of(r, 2000, 0, 1000).mapToObj(x -> x + ":" + r.nextInt(10)).toList();
+            ToIntFunction<String> key = str -> Integer.parseInt(str.substring(0, str.indexOf(':'))) / 10;
+            for (int n : new int[] { 1, 5, 200, 3000 }) {
+                List<String> least = StreamEx.of(strings).sorted(Comparator.comparingInt(key)).limit(n).toList();
+                List<String> greatest = StreamEx.of(strings).sorted(Comparator.comparingInt(key).reversed()).limit(n)
+                        .toList();
+                checkCollector("leastByInt(" + n + ")", least, strings::stream, MoreCollectors.leastByInt(key, n));
+                checkCollector("leastByLong(" + n + ")", least, strings::stream, MoreCollectors.leastByLong(
+                    key::applyAsInt, n));
+                checkCollector("greatestByInt(" + n + ")", greatest, strings::stream, MoreCollectors.greatestByInt(
+                    key, n));
+                checkCollector("greatestByLong(" + n + ")", greatest, strings::stream, MoreCollectors.greatestByLong(
+                    key::applyAsInt, n));
+            }
+        });
+        checkShortCircuitCollector("leastByInt(0)", Collections.emptyList(), 0, () -> Stream.of(1, 2),
+            MoreCollectors.leastByInt(x -> x, 0));
+        checkCollector("greatestByInt(MAX)", asList(Integer.MAX_VALUE, 0, Integer.MIN_VALUE),
+            () -> Stream.of(0, Integer.MIN_VALUE, Integer.MAX_VALUE), MoreCollectors.greatestByInt(x -> x,
+                Integer.MAX_VALUE));
+        checkCollector("greatestByLong", asList(Long.MAX_VALUE, Long.MIN_VALUE), () -> Stream.of(
+            Long.MIN_VALUE, Long.MAX_VALUE), MoreCollectors.greatestByLong(x -> x, 2));
+    }
+
     @Test
     public void testGreatest() {
         assertThrows(NullPointerException.class, () -> MoreCollectors.greatest(null, 0));
@@ -24,6 +24,7 @@ import one.util.streamex.PairSpliterator.PSOfRef;
 
 import static one.util.streamex.TestHelpers.checkSpliterator;
 import static one.util.streamex.TestHelpers.withRandom;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -73,4 +74,26 @@ public class PairSpliteratorTest {
         assertTrue(ps.hasCharacteristics(Spliterator.IMMUTABLE));
         assertEquals(99, ps.getExactSizeIfKnown());
     }
+
+    @Test
+    public void testEmptyParts() {
+        withRandom(r -> {
+            int[] ints = IntStreamEx.of(r, 1000, 0, 100).toArray();
+            // most of the split parts contain no elements
+            IntStreamEx sparse = IntStreamEx.of(ints).filter(x -> x < 2);
+            int[] expected = IntStreamEx.of(ints).filter(x -> x < 2).toArray();
+            assertArrayEquals(IntStreamEx.of(expected).pairMap((a, b) -> a * 2 + b).toArray(),
+                sparse.parallel().pairMap((a, b) -> a * 2 + b).toArray());
+            assertArrayEquals(IntStreamEx.of(expected).boxed().mapFirst(x -> x + 10).mapToInt(x -> x).toArray(),
+                IntStreamEx.of(ints).parallel().filter(x -> x < 2).mapFirst(x -> x + 10).toArray());
+            assertArrayEquals(IntStreamEx.of(expected).boxed().mapLast(x -> x + 10).mapToInt(x -> x).toArray(),
+                IntStreamEx.of(ints).parallel().filter(x -> x < 2).mapLast(x -> x + 10).toArray());
+            assertArrayEquals(new long[0], LongStreamEx.of(1, 2, 3).parallel().filter(x -> x > 3).pairMap(
+                (a, b) -> a + b).toArray());
+            assertArrayEquals(new long[] { 6 }, LongStreamEx.of(1, 2, 3).parallel().filter(x -> x > 1).pairMap(
+                (a, b) -> a * b).toArray());
+            assertEquals(StreamEx.of(1, 2, 3).mapFirst(x -> x * 10).toList(), StreamEx.of(-1, 1, -2, 2, -3, 3)
+                    .parallel().filter(x -> x > 0).mapFirst(x -> x * 10).toList());
+        });
+    }
 }
@@ -27,6 +27,7 @@ import static one.util.streamex.TestHelpers.withRandom;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 public class PermutationSpliteratorTest {
@@ -121,4 +122,38 @@ public class PermutationSpliteratorTest {
             assertEquals(String.valueOf(i), PERMUTATIONS_4, String.join(",", strings));
         }));
     }
+    @Test
+    public void testSkip() {
+        List<String> expected = collect(new PermutationSpliterator(4));
+        for (int skip = 1; skip <= 25; skip++) {
+            PermutationSpliterator spliterator = new PermutationSpliterator(4);
+            spliterator.skip(skip);
+            assertEquals(Math.max(0, 24 - skip), spliterator.estimateSize());
+            assertEquals(expected.subList(Math.min(24, skip), 24), collect(spliterator));
+        }
+        PermutationSpliterator spliterator = new PermutationSpliterator(4);
+        PermutationSpliterator prefix = (PermutationSpliterator) spliterator.trySplit();
+        spliterator.skip(5);
+        prefix.tryAdvance(is -> {});
+        prefix.skip(2);
+        List<String> strings = collect(prefix);
+        strings.addAll(collect(spliterator));
+        assertEquals(StreamEx.of(expected.subList(3, 12)).append(expected.subList(17, 24)).toList(), strings);
+    }
+
+    @Test
+    public void testSharedArray() {
+        List<String> strings = new ArrayList<>();
+        int[][] last = { null };
+        StreamEx.forEachPermutation(4, is -> {
+            if (last[0] != null)
+                assertSame(last[0], is);
+            last[0] = is;
+            strings.add(IntStreamEx.of(is).mapToObj(String::valueOf).joining());
+        });
+        assertEquals(PERMUTATIONS_4, String.join(",", strings));
+        strings.clear();
+        StreamEx.forEachPermutation(0, is -> strings.add(String.valueOf(is.length)));
+        assertEquals("0", String.join(",", strings));
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.withRandom;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Tagir Valeev
+ */
+public class PrimitiveLimiterTest {
+    @Test
+    public void testLimiter() {
+        withRandom(r -> {
+            for (int size : new int[] { 0, 1, 10, 1000, 10000 }) {
+                for (int bound : new int[] { 3, 1000, Integer.MAX_VALUE }) {
+                    int[] keys = IntStreamEx.of(r, size, 0, bound).toArray();
+                    List<Integer> indices = IntStreamEx.ofIndices(keys).boxed().toList();
+                    for (int limit : new int[] { 0, 1, 2, 5, 100, 5000, 20000 }) {
+                        List<Integer> expected = StreamEx.of(indices).sortedByInt(i -> keys[i]).limit(limit).toList();
+                        // split the input at the random points to check the merge
+                        PrimitiveLimiter<Integer> limiter = new PrimitiveLimiter<>(limit, true);
+                        int from = 0;
+                        while (from < size) {
+                            int to = Math.min(size, from + r.nextInt(size));
+                            PrimitiveLimiter<Integer> part = new PrimitiveLimiter<>(limit, true);
+                            for (int i = from; i < to + 1 && i < size; i++) {
+                                part.put(keys[i], i);
+                            }
+                            limiter.putAll(part);
+                            from = to + 1;
+                        }
+                        String msg = "size=" + size + ", bound=" + bound + ", limit=" + limit;
+                        assertEquals(msg, expected, limiter.sortedValues());
+
+                        PrimitiveLimiter<Void> keysOnly = new PrimitiveLimiter<>(limit, false);
+                        for (int key : keys) {
+                            keysOnly.put(key);
+                        }
+                        assertArrayEquals(msg, StreamEx.of(expected).mapToLong(i -> keys[i]).toArray(), keysOnly
+                                .sortedKeys());
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testExtremeKeys() {
+        PrimitiveLimiter<String> limiter = new PrimitiveLimiter<>(3, true);
+        for (long key : new long[] { Long.MAX_VALUE, 0, Long.MIN_VALUE, -1, Long.MIN_VALUE, 1 }) {
+            limiter.put(key, String.valueOf(key));
+        }
+        assertEquals(Arrays.asList(String.valueOf(Long.MIN_VALUE), String.valueOf(Long.MIN_VALUE), "-1"), limiter
+                .sortedValues());
+    }
+}
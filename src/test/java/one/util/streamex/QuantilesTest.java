@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.withRandom;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Tagir Valeev
+ */
+public class QuantilesTest {
+    @Test
+    public void testDoubleKeys() {
+        double[] values = { Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1, -Double.MIN_VALUE, -0.0, 0.0,
+                Double.MIN_VALUE, 1, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN };
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.doubleToLongBits(values[i]), Double.doubleToLongBits(Quantiles.keyToDouble(
+                Quantiles.doubleToKey(values[i]))));
+            if (i > 0)
+                assertTrue(Quantiles.doubleToKey(values[i - 1]) < Quantiles.doubleToKey(values[i]));
+        }
+    }
+
+    @Test
+    public void testSelect() {
+        withRandom(r -> {
+            for (int size : new int[] { 1, 2, 10, 17, 100, 10000 }) {
+                for (int bound : new int[] { 2, 100, Integer.MAX_VALUE }) {
+                    long[] data = LongStreamEx.of(r, size, 0, bound).toArray();
+                    long[] sorted = data.clone();
+                    Arrays.sort(sorted);
+                    int k = r.nextInt(size);
+                    Quantiles.select(data, 0, size, k);
+                    assertEquals(sorted[k], data[k]);
+                    for (int i = 0; i < size; i++) {
+                        assertTrue(i < k ? data[i] <= data[k] : data[i] >= data[k]);
+                    }
+                }
+            }
+        });
+        long[] sorted = LongStreamEx.range(100000).toArray();
+        Quantiles.select(sorted, 0, sorted.length, 12345);
+        assertEquals(12345, sorted[12345]);
+    }
+
+    @Test
+    public void testSketch() {
+        withRandom(r -> {
+            long[] data = LongStreamEx.of(r, 100000, 0, 1000000).toArray();
+            double[] probabilities = { 0, 0.01, 0.25, 0.5, 0.9, 0.99, 1 };
+            Quantiles.Sketch sketch = new Quantiles.Sketch(200);
+            Quantiles.Sketch left = new Quantiles.Sketch(200);
+            Quantiles.Sketch right = new Quantiles.Sketch(200);
+            for (int i = 0; i < data.length; i++) {
+                sketch.add(data[i]);
+                (i < data.length / 3 ? left : right).add(data[i]);
+            }
+            long[] sorted = data.clone();
+            Arrays.sort(sorted);
+            for (Quantiles.Sketch s : new Quantiles.Sketch[] { sketch, left.merge(right) }) {
+                double[] result = s.quantiles(probabilities, key -> key);
+                for (int i = 0; i < probabilities.length; i++) {
+                    int rank = Arrays.binarySearch(sorted, (long) result[i]);
+                    assertTrue(rank >= 0);
+                    assertEquals(probabilities[i] * data.length, rank, data.length * 0.02);
+                }
+            }
+        });
+        Quantiles.Sketch sketch = new Quantiles.Sketch(8);
+        assertTrue(Double.isNaN(sketch.quantiles(new double[] { 0.5 }, key -> key)[0]));
+        sketch.add(5);
+        assertArrayEquals(new double[] { 5, 5 }, sketch.quantiles(new double[] { 0, 1 }, key -> key), 0);
+    }
+}
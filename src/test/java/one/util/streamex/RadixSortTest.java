@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.streamEx;
+import static one.util.streamex.TestHelpers.withRandom;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Tagir Valeev
+ */
+public class RadixSortTest {
+    @Test
+    public void testKeys() {
+        long[] ints = IntStreamEx.of(Integer.MIN_VALUE, -100, -1, 0, 1, 100, Integer.MAX_VALUE).asLongStream()
+                .map(x -> RadixSort.intKey((int) x)).toArray();
+        long[] longs = LongStreamEx.of(Long.MIN_VALUE, -100, -1, 0, 1, 100, Long.MAX_VALUE).map(RadixSort::longKey)
+                .toArray();
+        long[] doubles = DoubleStreamEx.of(Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1, -Double.MIN_VALUE, -0.0,
+            0.0, Double.MIN_VALUE, 1, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN).mapToLong(
+            RadixSort::doubleKey).toArray();
+        for (long[] keys : new long[][] { ints, longs, doubles }) {
+            for (int i = 1; i < keys.length; i++) {
+                assertTrue(Long.compareUnsigned(keys[i - 1], keys[i]) < 0);
+            }
+        }
+        assertEquals(RadixSort.doubleKey(Double.NaN), RadixSort.doubleKey(Double.longBitsToDouble(0xfff0000000000001L)));
+    }
+
+    @Test
+    public void testSortedIndices() {
+        withRandom(r -> {
+            for (int size : new int[] { 0, 1, 10, 63, 64, 65, 1000, 200_000 }) {
+                for (int bits : new int[] { 1, 8, 20, 64 }) {
+                    long[] keys = LongStreamEx.of(r, size).map(x -> x >>> (64 - bits)).toArray();
+                    int[] expected = IntStreamEx.range(size).boxed().sorted(Comparator.comparing(i -> keys[i],
+                        Long::compareUnsigned)).mapToInt(Integer::intValue).toArray();
+                    assertArrayEquals(expected, RadixSort.sortedIndices(keys.clone(), false));
+                    assertArrayEquals(expected, RadixSort.sortedIndices(keys.clone(), true));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testSortedBy() {
+        withRandom(r -> {
+            List<Integer> input = IntStreamEx.of(r, 10_000, -1000, 1000).boxed().toList();
+            List<Integer> expected = StreamEx.of(input).sorted(Comparator.comparingInt(x -> x % 100)).toList();
+            streamEx(input::stream, s -> assertEquals(s.toString(), expected, s.get().sortedByInt(x -> x % 100)
+                    .toList()));
+            streamEx(input::stream, s -> assertEquals(s.toString(), expected, s.get().sortedByLong(x -> x % 100)
+                    .toList()));
+            streamEx(input::stream, s -> assertEquals(s.toString(), expected, s.get().sortedByDouble(x -> x % 100)
+                    .toList()));
+            int[] ints = IntStreamEx.of(input).toArray();
+            int[] expectedInts = IntStreamEx.of(expected).toArray();
+            assertArrayEquals(expectedInts, IntStreamEx.of(ints).sortedByInt(x -> x % 100).toArray());
+            assertArrayEquals(expectedInts, IntStreamEx.of(ints).parallel().sortedByLong(x -> x % 100).toArray());
+            assertArrayEquals(expectedInts, IntStreamEx.of(ints).parallel().sortedByDouble(x -> x % 100)
+                    .toArray());
+        });
+    }
+}
@@ -53,7 +53,10 @@ import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Exchanger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -167,6 +170,10 @@ public class StreamExTest {
         assertEquals(input, StreamEx.ofLines(f.toPath()).toList());
         Files.write(f.toPath(), input, StandardCharsets.UTF_16);
         assertEquals(input, StreamEx.ofLines(f.toPath(), StandardCharsets.UTF_16).toList());
+        Files.write(f.toPath(), input, StandardCharsets.ISO_8859_1);
+        assertEquals(input, StreamEx.ofLines(f.toPath(), StandardCharsets.ISO_8859_1).parallel().toList());
+        Files.write(f.toPath(), new byte[0]);
+        assertEquals(0, StreamEx.ofLines(f.toPath()).count());
     }
 
     private static Reader getReader() {
@@ -526,6 +533,86 @@ public class StreamExTest {
         streamEx(original::stream, s -> assertEquals(expected, s.get().mapPartial(literalOf).toList()));
     }
 
+    @Test
+    public void testMapConcurrent() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            List<Integer> input = IntStreamEx.range(100).boxed().toList();
+            List<String> expected = StreamEx.of(input).map(String::valueOf).toList();
+            streamEx(input::stream, s -> assertEquals(s.toString(), expected, s.get().mapConcurrent(8, executor,
+                String::valueOf).toList()));
+            // later elements complete earlier
+            assertEquals(expected, StreamEx.of(input).mapConcurrent(10, executor, x -> {
+                sleep(100 - x);
+                return String.valueOf(x);
+            }).toList());
+            assertEquals(new HashSet<>(expected), StreamEx.of(input).unordered().mapConcurrent(10, executor,
+                String::valueOf).toSet());
+
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            assertEquals(4950, StreamEx.of(input).parallel().mapConcurrent(3, executor, x -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(1);
+                running.decrementAndGet();
+                return x;
+            }).mapToInt(Integer::intValue).sum());
+            assertTrue(maxRunning.get() <= 3);
+
+            assertEquals(asList("0", "1"), StreamEx.of(input).mapConcurrent(1, Runnable::run, String::valueOf)
+                    .limit(2).toList());
+            assertThrows(IllegalStateException.class, "42"::equals, () -> StreamEx.of(input).mapConcurrent(4,
+                executor, x -> {
+                    if (x == 42)
+                        throw new IllegalStateException("42");
+                    return x;
+                }).toList());
+            assertThrows(IllegalArgumentException.class, () -> StreamEx.of(input).mapConcurrent(0, executor,
+                Function.identity()));
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testMapConcurrentClose() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            CountDownLatch started = new CountDownLatch(3);
+            CountDownLatch never = new CountDownLatch(1);
+            AtomicInteger interrupted = new AtomicInteger();
+            try (StreamEx<Integer> stream = StreamEx.of(1, 2, 3, 4).mapConcurrent(4, executor, x -> {
+                try {
+                    if (x == 1) {
+                        started.await();
+                    } else {
+                        started.countDown();
+                        never.await();
+                    }
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                }
+                return x;
+            })) {
+                assertEquals(Optional.of(1), stream.findFirst());
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(3, interrupted.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Test
     public void testAppend() {
         assertEquals(asList("a", "b", "c", "d", "e"), StreamEx.of("a", "b", "c", "dd").remove(s -> s.length() > 1)
@@ -731,6 +818,29 @@ public class StreamExTest {
         emptyStreamEx(Integer.class, supplier -> assertFalse(supplier.get().foldRight(accumulator).isPresent()));
     }
 
+    @Test
+    public void testFoldRightLarge() {
+        List<Integer> input = IntStreamEx.range(10000).boxed().toList();
+        // non-associative
+        BinaryOperator<Integer> accumulator = (x, y) -> x * 31 - y;
+        int expected = 0;
+        for (int i = input.size() - 1; i >= 0; i--)
+            expected = accumulator.apply(input.get(i), expected);
+        int expectedNoSeed = input.get(input.size() - 1);
+        for (int i = input.size() - 2; i >= 0; i--)
+            expectedNoSeed = accumulator.apply(input.get(i), expectedNoSeed);
+        List<Supplier<StreamEx<Integer>>> suppliers = asList(() -> StreamEx.of(input), () -> StreamEx.of(input
+                .toArray(new Integer[0])), () -> IntStreamEx.range(10000).boxed(), () -> StreamEx.of(new LinkedList<>(
+                    input)), () -> StreamEx.iterate(0, x -> x + 1).limit(10000), () -> StreamEx.of(input).parallel());
+        for (Supplier<StreamEx<Integer>> supplier : suppliers) {
+            assertEquals(expected, (int) supplier.get().foldRight(0, accumulator));
+            assertEquals(expectedNoSeed, (int) supplier.get().foldRight(accumulator).get());
+        }
+        List<Integer> seen = new ArrayList<>();
+        assertEquals(expected, (int) StreamEx.of(input).peek(seen::add).foldRight(0, accumulator));
+        assertEquals(input, seen);
+    }
+
     @Test
     public void testDistinctAtLeast() {
         assertEquals(0, StreamEx.of("a", "b", "c").distinct(2).count());
@@ -986,6 +1096,29 @@ public class StreamExTest {
                 .mapToLong(x -> x).sum());
     }
 
+    @Test
+    public void testScanRightLarge() {
+        List<Integer> input = IntStreamEx.range(10000).boxed().toList();
+        List<Integer> expected = new ArrayList<>(input);
+        expected.add(0);
+        for (int i = input.size() - 1; i >= 0; i--)
+            expected.set(i, expected.get(i) * 31 - expected.get(i + 1));
+        List<Integer> expectedNoSeed = new ArrayList<>(input);
+        for (int i = input.size() - 2; i >= 0; i--)
+            expectedNoSeed.set(i, expectedNoSeed.get(i) * 31 - expectedNoSeed.get(i + 1));
+        List<Supplier<StreamEx<Integer>>> suppliers = asList(() -> StreamEx.of(input), () -> IntStreamEx.range(10000)
+                .boxed(), () -> StreamEx.of(input).filter(x -> true), () -> StreamEx.of(input).parallel());
+        for (Supplier<StreamEx<Integer>> supplier : suppliers) {
+            List<Integer> result = supplier.get().scanRight(0, (x, y) -> x * 31 - y);
+            assertEquals(expected, result);
+            // mutable
+            result.add(1);
+            result = supplier.get().scanRight((x, y) -> x * 31 - y);
+            assertEquals(expectedNoSeed, result);
+            result.add(1);
+        }
+    }
+
     @Test
     public void testPermutations() {
         assertEquals("[]", StreamEx.ofPermutations(0).map(Arrays::toString).joining(";"));
@@ -994,6 +1127,22 @@ public class StreamExTest {
         assertEquals(720, StreamEx.ofPermutations(7).parallel().filter(i -> i[3] == 5).count());
     }
 
+    @Test
+    public void testSkipJump() {
+        // too many elements to generate the skipped ones
+        assertEquals("[19, 18, 17, 16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0]", StreamEx
+                .ofPermutations(20).skip(2432902008176639999L).map(Arrays::toString).joining());
+        assertEquals(0, StreamEx.ofPermutations(20).skip(Long.MAX_VALUE).count());
+        assertEquals("[31, 32, 33];[31, 32, 34];[31, 33, 34];[32, 33, 34]", StreamEx.ofCombinations(35, 3)
+                .skip(6545 - 4).map(Arrays::toString).joining(";"));
+        assertEquals("[9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 9, 8]", StreamEx.cartesianProductIndices(IntStreamEx
+                .constant(10, 16).toArray()).skip(9_999_999_999_999_998L).limit(1).map(Arrays::toString).joining());
+        streamEx(() -> StreamEx.ofPermutations(5), supplier -> assertEquals(supplier.get().toList().subList(100, 120)
+                .stream().map(Arrays::toString).collect(Collectors.toList()), supplier.get().skip(100).map(
+                    Arrays::toString).toList()));
+        assertThrows(IllegalArgumentException.class, () -> StreamEx.ofPermutations(3).skip(-1));
+    }
+
     static class TreeNode {
         final String title;
 
@@ -1078,6 +1227,49 @@ public class StreamExTest {
                 .count());
     }
 
+    @Test
+    public void testOfTreeDepthLimit() {
+        Function<String, Stream<String>> mapper = s -> Stream.of("a", "b").map(s::concat);
+        streamEx(() -> StreamEx.ofTree("", 2, mapper), s -> assertEquals(Arrays.asList("", "a", "aa", "ab", "b", "ba",
+            "bb"), s.get().toList()));
+        assertEquals(Collections.singletonList(""), StreamEx.ofTree("", 0, mapper).toList());
+        assertEquals(1023, StreamEx.ofTree("", 9, mapper).parallel().count());
+        List<String> expected = EntryStream.ofTree("", (depth, s) -> depth < 5 ? mapper.apply(s) : null).values()
+                .toList();
+        streamEx(() -> StreamEx.ofTree("", 5, mapper), s -> assertEquals(expected, s.get().toList()));
+        checkSpliterator("ofTree", expected, () -> StreamEx.ofTree("", 5, mapper).spliterator());
+        // deeper than the recursion limit of the bulk traversal
+        assertEquals(IntStreamEx.rangeClosed(0, 1000).boxed().toList(), StreamEx.ofTree(0, 1000, n -> Stream.of(
+            n + 1)).toList());
+        assertThrows(IllegalArgumentException.class, () -> StreamEx.ofTree("", -1, mapper));
+    }
+
+    @Test
+    public void testOfTreeBreadthFirst() {
+        TreeNode r = CompositeNode.createTestData();
+        streamEx(() -> StreamEx.ofTreeBreadthFirst(r, t -> t instanceof CompositeNode ? ((CompositeNode) t)
+                .elements() : null), s -> assertEquals("root,childA,childB,childC,grandA1,grandA2,grandB1", s.get()
+                        .map(tn -> tn.title).joining(",")));
+        Set<String> closed = new HashSet<>();
+        try (StreamEx<TreeNode> stream = StreamEx.ofTreeBreadthFirst(r, t -> t instanceof CompositeNode
+            ? ((CompositeNode) t).elements().onClose(() -> closed.add(t.title)) : null)) {
+            assertEquals("childA", stream.skip(1).findFirst().get().title);
+            assertEquals(Collections.emptySet(), closed);
+        }
+        assertEquals(StreamEx.of("root", "childA").toSet(), closed);
+        assertEquals(10000, StreamEx.ofTreeBreadthFirst(1, n -> n >= 10000 ? null : Stream.of(n + 1)).count());
+    }
+
+    @Test
+    public void testOfTreeParallel() {
+        List<String> expected = StreamEx.ofTree("", s -> s.length() == 12 ? null : Stream.of("a", "b").map(
+            s::concat)).toList();
+        assertEquals(expected, StreamEx.ofTree("", s -> s.length() == 12 ? null : Arrays.asList(s + "a", s + "b")
+                .stream()).parallel().toList());
+        assertEquals(expected.size(), StreamEx.ofTree("", s -> s.length() == 12 ? null : Stream.of("a", "b").map(
+            s::concat)).parallel().count());
+    }
+
     @Test
     public void testOfTreeClose() {
         CompositeNode r = CompositeNode.createTestData();
@@ -1377,6 +1569,33 @@ public class StreamExTest {
                     .groupRuns((a, b) -> !start.matcher(b).find()).toList()));
     }
 
+    @Test
+    public void testWindowed() {
+        streamEx(() -> StreamEx.of(1, 2, 3, 4, 5), s -> assertEquals(asList(asList(1, 2, 3), asList(2, 3, 4),
+            asList(3, 4, 5)), s.get().windowed(3, 1).toList()));
+        streamEx(() -> StreamEx.of(1, 2, 3, 4, 5, 6), s -> assertEquals(asList(asList(1, 2), asList(4, 5)), s.get()
+                .windowed(2, 3).toList()));
+        streamEx(() -> StreamEx.of(1, 2), s -> assertEquals(0, s.get().windowed(3, 1).count()));
+        streamEx(() -> IntStreamEx.range(1000).boxed(), s -> assertEquals(StreamEx.ofSubLists(IntStreamEx.range(1000)
+                .boxed().toList(), 10, 3).filter(l -> l.size() == 10).toList(), s.get().windowed(10, 3).toList()));
+        Iterator<String> it = asList("a", "b", "c", "d").iterator();
+        assertEquals(asList("ab", "bc", "cd"), StreamEx.of(it).windowed(2, 1).map(l -> String.join("", l)).toList());
+        assertThrows(IllegalArgumentException.class, () -> StreamEx.of(1).windowed(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> StreamEx.of(1).windowed(1, 0));
+    }
+
+    @Test
+    public void testTumbling() {
+        streamEx(() -> StreamEx.of(1, 2, 3, 4, 5), s -> assertEquals(asList(asList(1, 2), asList(3, 4), asList(5)), s
+                .get().tumbling(2).toList()));
+        streamEx(() -> StreamEx.of(1, 2, 3, 4), s -> assertEquals(asList(asList(1, 2), asList(3, 4)), s.get()
+                .tumbling(2).toList()));
+        streamEx(() -> StreamEx.empty(), s -> assertEquals(0, s.get().tumbling(2).count()));
+        streamEx(() -> IntStreamEx.range(1001).boxed(), s -> assertEquals(StreamEx.ofSubLists(IntStreamEx.range(1001)
+                .boxed().toList(), 7).toList(), s.get().tumbling(7).toList()));
+        assertThrows(IllegalArgumentException.class, () -> StreamEx.of(1).tumbling(0));
+    }
+
     private static String format(StreamEx<Integer> ints) {
         return ints.distinct().sorted().intervalMap((i, j) -> j == i + 1, (i, j) -> j.equals(i) ? i.toString()
                 : j == i + 1 ? i + "," + j : i + ".." + j).joining(",");
@@ -1765,6 +1984,42 @@ public class StreamExTest {
         assertEquals(asList(""), StreamEx.cartesianPower(0, asList(1, 2, 3), "", (a, b) -> a + b).toList());
     }
 
+    @Test
+    public void testCartesianMapping() {
+        List<List<Integer>> input = asList(asList(1, 2), asList(3), asList(4, 5));
+        streamEx(() -> StreamEx.cartesianProduct(input, list -> list.toString()), supplier -> assertEquals(
+            "[1, 3, 4],[1, 3, 5],[2, 3, 4],[2, 3, 5]", supplier.get().joining(",")));
+        List<List<Integer>> input2 = asList(asList(1, 2, 3), asList(), asList(4, 5, 6));
+        streamEx(() -> StreamEx.cartesianProduct(input2, List::size), supplier -> assertFalse(supplier.get()
+                .findAny().isPresent()));
+
+        Set<Integer> input3 = IntStreamEx.range(10).boxed().toCollection(TreeSet::new);
+        streamEx(() -> StreamEx.cartesianPower(4, input3, list -> list.get(0) * 1000 + list.get(1) * 100 + list.get(
+            2) * 10 + list.get(3)), supplier -> assertEquals(IntStreamEx.range(10000).boxed().toList(), supplier.get()
+                    .toList()));
+        // the view is reused
+        assertEquals(1, StreamEx.cartesianPower(2, asList(1, 2), list -> list).distinct(System::identityHashCode)
+                .count());
+
+        assertEquals(asList(0), StreamEx.cartesianProduct(Collections.<List<String>>emptyList(), List::size)
+                .toList());
+        assertEquals(asList(0), StreamEx.cartesianPower(0, asList(1, 2, 3), List::size).toList());
+        assertThrows(IllegalArgumentException.class, () -> StreamEx.cartesianPower(-1, asList(1, 2, 3),
+            List::size));
+    }
+
+    @Test
+    public void testCartesianProductIndices() {
+        streamEx(() -> StreamEx.cartesianProductIndices(2, 3), supplier -> assertEquals(
+            "[0, 0],[0, 1],[0, 2],[1, 0],[1, 1],[1, 2]", supplier.get().map(Arrays::toString).joining(",")));
+        streamEx(() -> StreamEx.cartesianProductIndices(10, 10, 10), supplier -> assertEquals(IntStreamEx.range(
+            1000).boxed().toList(), supplier.get().map(t -> t[0] * 100 + t[1] * 10 + t[2]).toList()));
+        assertEquals(1000, StreamEx.cartesianProductIndices(10, 10, 10).count());
+        assertEquals(0, StreamEx.cartesianProductIndices(10, 0, 10).count());
+        assertEquals(1, StreamEx.cartesianProductIndices().count());
+        assertThrows(IllegalArgumentException.class, () -> StreamEx.cartesianProductIndices(1, -1));
+    }
+
     @Test
     public void testDistinct() {
         List<String> input = asList("str", "a", "foo", "", "bbbb", null, "abcd", "s");
@@ -1916,6 +2171,27 @@ public class StreamExTest {
         }));
     }
 
+    @Test
+    public void testSplitLiteral() {
+        withRandom(r -> repeat(10, iter -> {
+            StringBuilder source = new StringBuilder(IntStreamEx.of(r, 0, 4).limit(r.nextInt(10000)).elements(
+                new int[] { ',', ' ', 'a', 'b' }).charsToString());
+            for (String delimiter : asList(", ", "ab", "a,", " ")) {
+                String[] expected = source.toString().split(Pattern.quote(delimiter));
+                streamEx(() -> StreamEx.split(source, delimiter), s -> assertArrayEquals(expected, s.get().toArray(
+                    String[]::new)));
+                streamEx(() -> StreamEx.split(source, Pattern.compile(Pattern.quote(delimiter))),
+                    s -> assertArrayEquals(expected, s.get().toArray(String[]::new)));
+                streamEx(() -> StreamEx.split(source, Pattern.compile(delimiter, Pattern.LITERAL)),
+                    s -> assertArrayEquals(expected, s.get().toArray(String[]::new)));
+            }
+        }));
+        assertEquals(CharSpliterator.class, StreamEx.split("a, b", Pattern.compile(", ")).spliterator().getClass());
+        assertEquals(asList("a", "b"), StreamEx.split("a.*b", Pattern.compile(".*", Pattern.LITERAL)).toList());
+        assertEquals(asList("a", "b"), StreamEx.split("aXb", Pattern.compile("x", Pattern.CASE_INSENSITIVE))
+                .toList());
+    }
+
     @Test
     public void testWithFirst() {
         repeat(10, i -> {
@@ -2057,6 +2333,25 @@ public class StreamExTest {
             Integer::sum).mapToInt(Integer::intValue).max().getAsInt()));
     }
 
+    @Test
+    public void testToPrefixList() {
+        List<String> input = asList("a", "b", "c", "d", "e");
+        streamEx(input::stream, s -> assertEquals(asList("a", "ab", "abc", "abcd", "abcde"), s.get().toPrefixList(
+            String::concat)));
+        emptyStreamEx(String.class, s -> assertEquals(asList(), s.get().toPrefixList(String::concat)));
+
+        List<Integer> expected = IntStreamEx.range(10000).boxed().scanLeft(Integer::sum);
+        streamEx(() -> IntStreamEx.range(10000).boxed(), s -> assertEquals(expected, s.get().toPrefixList(
+            Integer::sum)));
+        List<Integer> list = StreamEx.of(1, 2, 3).parallel().toPrefixList(Integer::sum);
+        list.add(4);
+        assertEquals(asList(1, 3, 6, 4), list);
+        list = StreamEx.of(1, 2, 3).toPrefixList(Integer::sum);
+        list.add(4);
+        assertEquals(asList(1, 3, 6, 4), list);
+        assertThrows(NullPointerException.class, () -> StreamEx.of(1).toPrefixList(null));
+    }
+
     /**
      * Returns maximal stream value short-circuiting when stopValue is reached
      *
@@ -15,14 +15,19 @@
  */
 package one.util.streamex;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.junit.Test;
 
 import static one.util.streamex.TestHelpers.checkSpliterator;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 /**
  * @author Tagir Valeev
@@ -45,4 +50,41 @@ public class TreeSpliteratorTest {
         checkSpliterator("tree", expected, () -> new TreeSpliterator.Depth<>("", (depth, s) -> depth == 2 ? null
                 : Stream.of("a", "b", "c").map(s::concat), 0));
     }
+
+    @Test
+    public void testSplitSubtrees() {
+        Function<String, Stream<String>> mapper = s -> s.length() == 6 ? null : Arrays.asList(s + "a", s + "b")
+                .stream();
+        List<String> expected = new ArrayList<>();
+        TreeSpliterator<String, String> spliterator = new TreeSpliterator.Plain<>("", mapper);
+        spliterator.forEachRemaining(expected::add);
+        checkSpliterator("subtrees", expected, () -> new TreeSpliterator.Plain<>("", mapper));
+        // in the middle of the traversal the unexpanded subtrees are published
+        spliterator = new TreeSpliterator.Plain<>("", mapper);
+        List<String> actual = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            spliterator.tryAdvance(actual::add);
+        }
+        assertEquals(Arrays.asList("", "a", "aa", "aaa"), actual);
+        Spliterator<String> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        prefix.forEachRemaining(actual::add);
+        // the prefix contains the rest of the first child subtree
+        assertEquals("abbbbb", actual.get(actual.size() - 1));
+        spliterator.forEachRemaining(actual::add);
+        assertEquals(expected, actual);
+
+        List<Entry<Integer, String>> expectedEntries = StreamEx.of(expected).mapToEntry(String::length).invert()
+                .toList();
+        checkSpliterator("depth subtrees", expectedEntries, () -> new TreeSpliterator.Depth<>("", (depth,
+                s) -> mapper.apply(s), 0));
+    }
+
+    @Test
+    public void testBreadthFirst() {
+        List<String> expected = StreamEx.of("", "a", "b", "aa", "ab", "ba", "bb", "aaa", "aab", "aba", "abb",
+            "baa", "bab", "bba", "bbb").toList();
+        checkSpliterator("bfs", expected, () -> new TreeSpliterator.BreadthFirst<>("", s -> s.length() == 3 ? null
+                : Stream.of("a", "b").map(s::concat)));
+    }
 }
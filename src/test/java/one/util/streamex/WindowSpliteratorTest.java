@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015, 2019 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.checkSpliterator;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Tagir Valeev
+ */
+public class WindowSpliteratorTest {
+    @Test
+    public void testOfRef() {
+        for (int n : new int[] { 0, 1, 2, 5, 10, 37 }) {
+            List<Integer> input = IntStreamEx.range(n).boxed().toList();
+            for (int size = 1; size <= 6; size++) {
+                int sz = size;
+                for (int step = 1; step <= 7; step++) {
+                    int st = step;
+                    List<List<Integer>> expected = n == 0 ? StreamEx.<List<Integer>>empty().toList() : StreamEx
+                            .ofSubLists(input, size, step).filter(list -> list.size() == sz).toList();
+                    checkSpliterator("windowed/" + n + "/" + size + "/" + step, expected,
+                        () -> new WindowSpliterator.OfRef<>(input.spliterator(), sz, st, false));
+                }
+                List<List<Integer>> expected = n == 0 ? StreamEx.<List<Integer>>empty().toList() : StreamEx.ofSubLists(
+                    input, size).toList();
+                checkSpliterator("tumbling/" + n + "/" + size, expected,
+                    () -> new WindowSpliterator.OfRef<>(input.spliterator(), sz, sz, true));
+            }
+        }
+    }
+
+    @Test
+    public void testOfCollector() {
+        long[] input = LongStreamEx.range(100).map(x -> x * x).toArray();
+        for (int size = 1; size <= 12; size++) {
+            int sz = size;
+            List<Long> expected = IntStreamEx.range(input.length - size + 1).mapToObj(i -> LongStreamEx.of(input, i,
+                i + sz).sum()).toList();
+            checkSpliterator("sum/" + size, expected, () -> new WindowSpliterator.OfCollector<long[], Long>(
+                    LongStreamEx.of(input).mapToObj(x -> new long[] { x }).spliterator(), sz, () -> new long[1],
+                    (a, b) -> a[0] += b[0], a -> a[0]));
+        }
+    }
+
+    @Test
+    public void testEstimateSize() {
+        List<Integer> input = IntStreamEx.range(10).boxed().toList();
+        WindowSpliterator.OfRef<Integer> spliterator = new WindowSpliterator.OfRef<>(input.spliterator(), 3, 2,
+                false);
+        assertEquals(4, spliterator.estimateSize());
+        spliterator.tryAdvance(list -> assertEquals(IntStreamEx.range(3).boxed().toList(), list));
+        assertEquals(3, spliterator.estimateSize());
+        spliterator = new WindowSpliterator.OfRef<>(input.spliterator(), 3, 3, true);
+        assertEquals(4, spliterator.estimateSize());
+    }
+}
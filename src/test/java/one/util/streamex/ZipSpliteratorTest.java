@@ -23,6 +23,9 @@ import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 
 import static one.util.streamex.TestHelpers.checkSpliterator;
@@ -96,7 +99,7 @@ public class ZipSpliteratorTest {
             .spliterator(), new TreeSet<>(Arrays.asList("a", "b", "c", "d")).spliterator(),
             (a, b) -> a + b, true);
         prefix = spliterator.trySplit();
-        assertTrue(prefix instanceof UnknownSizeSpliterator.USOfRef);
+        assertTrue(prefix instanceof ZipSpliterator);
         assertEquals(4, prefix.estimateSize());
         consumeElement(prefix, "1a");
         consumeElement(prefix, "2b");
@@ -113,7 +116,7 @@ public class ZipSpliteratorTest {
             new ConstSpliterator.OfRef<>("a", 4000, true), (a, b) -> a + b, true);
         assertEquals(1000, spliterator.getExactSizeIfKnown());
         prefix = spliterator.trySplit();
-        assertTrue(prefix instanceof UnknownSizeSpliterator.USOfRef);
+        assertTrue(prefix instanceof ZipSpliterator);
         assertEquals(1000, prefix.estimateSize());
         assertEquals(0, spliterator.estimateSize());
 
@@ -133,8 +136,111 @@ public class ZipSpliteratorTest {
         assertEquals(550, prefix.getExactSizeIfKnown());
         assertEquals(450, spliterator.getExactSizeIfKnown());
         prefix = spliterator.trySplit();
-        assertTrue(prefix instanceof UnknownSizeSpliterator.USOfRef);
+        assertTrue(prefix instanceof ZipSpliterator);
         assertEquals(450, prefix.estimateSize());
         assertEquals(0, spliterator.estimateSize());
     }
+
+    @Test
+    public void testChunksMappedByWorker() {
+        AtomicReference<Thread> mapperThread = new AtomicReference<>();
+        ZipSpliterator<Integer, Integer, Integer> spliterator = new ZipSpliterator<>(Spliterators
+                .spliteratorUnknownSize(IntStreamEx.range(5000).boxed().iterator(), Spliterator.ORDERED),
+                Spliterators.spliteratorUnknownSize(IntStreamEx.range(5000).boxed().iterator(), Spliterator.ORDERED),
+                (a, b) -> {
+                    mapperThread.set(Thread.currentThread());
+                    return a + b;
+                }, true);
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertNull(mapperThread.get());
+        assertEquals(Long.MAX_VALUE / 2, prefix.estimateSize());
+        Spliterator<Integer> prefixPrefix = prefix.trySplit();
+        assertEquals(512, StreamEx.of(prefixPrefix).count());
+        assertEquals(512, StreamEx.of(prefix).count());
+        consumeElement(spliterator, 2048);
+    }
+
+    @Test
+    public void testOfInt() {
+        int[] expected = IntStreamEx.range(200).map(x -> x * 2 + 1).toArray();
+        List<Integer> expectedList = IntStreamEx.of(expected).boxed().toList();
+        checkSpliterator("even", expectedList, () -> new ZipSpliterator.OfInt(IntStreamEx.range(200).spliterator(),
+                IntStreamEx.range(1, 201).spliterator(), Integer::sum));
+        checkSpliterator("unevenRight", expectedList, () -> new ZipSpliterator.OfInt(IntStreamEx.range(200)
+                .spliterator(), IntStreamEx.range(90).append(IntStreamEx.range(90, 200)).map(x -> x + 1)
+                .spliterator(), Integer::sum));
+        checkSpliterator("unevenLeft", expectedList, () -> new ZipSpliterator.OfInt(IntStreamEx.range(90).append(
+            IntStreamEx.range(90, 200)).spliterator(), IntStreamEx.range(1, 300).spliterator(), Integer::sum));
+        checkSpliterator("unknownSize", expectedList, () -> new ZipSpliterator.OfInt(Spliterators
+                .spliteratorUnknownSize(IntStreamEx.range(200).iterator(), Spliterator.ORDERED), IntStreamEx.range(1,
+            201).filter(x -> true).spliterator(), Integer::sum));
+
+        ZipSpliterator.OfInt spliterator = new ZipSpliterator.OfInt(IntStreamEx.range(1000).spliterator(),
+                IntStreamEx.range(1000, 2000).spliterator(), Integer::sum);
+        Spliterator.OfInt prefix = spliterator.trySplit();
+        assertTrue(prefix instanceof ZipSpliterator.OfInt);
+        assertEquals(500, prefix.getExactSizeIfKnown());
+        assertEquals(500, spliterator.getExactSizeIfKnown());
+        assertTrue(prefix.tryAdvance((int x) -> assertEquals(1000, x)));
+        assertTrue(spliterator.tryAdvance((int x) -> assertEquals(2000, x)));
+
+        spliterator = new ZipSpliterator.OfInt(IntStreamEx.range(1000).spliterator(), IntStreamEx.range(1100)
+                .spliterator(), Integer::sum);
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        prefix = spliterator.trySplit();
+        assertEquals(1000, prefix.estimateSize());
+        assertEquals(0, spliterator.getExactSizeIfKnown());
+        assertEquals(999000, IntStreamEx.of(prefix).sum());
+
+        assertNull(new ZipSpliterator.OfInt(IntStreamEx.of(1).spliterator(), IntStreamEx.of(1).spliterator(),
+                Integer::sum).trySplit());
+
+        // after the sources failed to split at the same point, they are not
+        // split again, so the concatenations don't pile up
+        AtomicInteger splits = new AtomicInteger();
+        spliterator = new ZipSpliterator.OfInt(new CountingSpliterator(IntStreamEx.range(10000).spliterator(),
+                splits), IntStreamEx.range(12000).spliterator(), Integer::sum);
+        long sum = 0;
+        int prefixes = 0;
+        for (Spliterator.OfInt p = spliterator.trySplit(); p != null; p = spliterator.trySplit()) {
+            sum += IntStreamEx.of(p).asLongStream().sum();
+            prefixes++;
+        }
+        assertTrue(prefixes > 1);
+        assertEquals(1, splits.get());
+        sum += IntStreamEx.of(spliterator).asLongStream().sum();
+        assertEquals(IntStreamEx.range(10000).asLongStream().map(x -> x * 2).sum(), sum);
+    }
+
+    private static final class CountingSpliterator implements Spliterator.OfInt {
+        private final Spliterator.OfInt source;
+        private final AtomicInteger splits;
+
+        CountingSpliterator(Spliterator.OfInt source, AtomicInteger splits) {
+            this.source = source;
+            this.splits = splits;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            return source.tryAdvance(action);
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            splits.incrementAndGet();
+            Spliterator.OfInt prefix = source.trySplit();
+            return prefix == null ? null : new CountingSpliterator(prefix, splits);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~SORTED;
+        }
+    }
 }